@@ -0,0 +1,110 @@
+package org.chaiware.acommander;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/** Generated files and folders under a temp folder, the same for every run (fixed seed) */
+public final class SyntheticFiles {
+    private static final String[] WORDS = {
+            "report", "invoice", "photo", "backup", "notes", "draft", "final", "archive", "config", "data",
+            "readme", "setup", "music", "video", "scan", "budget", "plan", "log", "export", "summary"};
+    private static final String[] EXTENSIONS = {".txt", ".pdf", ".jpg", ".docx", ".zip", ".log", ".csv", ".mp3", ".java", ""};
+
+    private SyntheticFiles() {
+    }
+
+    public static Path tempFolder(String prefix) {
+        try {
+            return Files.createTempDirectory("acommander-jmh-" + prefix);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /** A folder of {@code files} files (small, of varying sizes) and {@code files / 20} sub folders */
+    public static Path flatFolder(Path parent, String name, int files, long seed) {
+        Random random = new Random(seed);
+        Path folder = parent.resolve(name);
+        try {
+            Files.createDirectories(folder);
+            for (int i = 0; i < files / 20; i++) {
+                Files.createDirectories(folder.resolve("dir_" + fileName(random, i, "")));
+            }
+            for (int i = 0; i < files; i++) {
+                Files.write(folder.resolve(fileName(random, i, extension(random))), new byte[random.nextInt(4096)]);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return folder;
+    }
+
+    /**
+     * A tree {@code depth} folders deep with {@code fanOut} sub folders ({@code folder-N}) and {@code filesPerFolder}
+     * files ({@code file-N}, with the extension {@code N} picks: file-0.txt, file-1.pdf, ..., file-10.txt) in each
+     */
+    public static Path tree(Path parent, String name, int depth, int fanOut, int filesPerFolder, long seed) {
+        Path root = parent.resolve(name);
+        fillTree(root, depth, fanOut, filesPerFolder, new Random(seed));
+        return root;
+    }
+
+    private static void fillTree(Path folder, int depth, int fanOut, int filesPerFolder, Random random) {
+        try {
+            Files.createDirectories(folder);
+            for (int i = 0; i < filesPerFolder; i++) {
+                Files.write(folder.resolve("file-" + i + EXTENSIONS[i % EXTENSIONS.length]), new byte[random.nextInt(2048)]);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (depth > 0) {
+            for (int i = 0; i < fanOut; i++) {
+                fillTree(folder.resolve("folder-" + i), depth - 1, fanOut, filesPerFolder, random);
+            }
+        }
+    }
+
+    /** Copies a tree, so two trees can be compared */
+    public static Path copyTree(Path source, Path target) {
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path copy = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(path, copy);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return target;
+    }
+
+    public static void deleteRecursively(Path root) {
+        if (root == null || !Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public static String fileName(Random random, int index, String extension) {
+        return WORDS[random.nextInt(WORDS.length)] + "_" + WORDS[random.nextInt(WORDS.length)] + "_" + index + extension;
+    }
+
+    private static String extension(Random random) {
+        return EXTENSIONS[random.nextInt(EXTENSIONS.length)];
+    }
+}
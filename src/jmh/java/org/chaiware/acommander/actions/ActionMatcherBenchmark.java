@@ -0,0 +1,61 @@
+package org.chaiware.acommander.actions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranking the palette's actions for a keystroke: an exact-ish query, an acronym and a scattered subsequence. A
+ * keystroke should stay well under 1 ms for the shipped actions and within a frame for thousands of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionMatcherBenchmark {
+    private static final String[] VERBS = {"Open", "Copy", "Move", "Delete", "Compare", "Convert", "Extract", "Pack",
+            "Rename", "Search", "View", "Edit", "Sync", "Sort", "Toggle", "Show", "Calculate", "Verify", "Split", "Merge"};
+    private static final String[] OBJECTS = {"Files", "Folder", "Archive", "Image", "Audio", "PDF", "Checksum",
+            "Bookmark", "Terminal", "Pane", "Selection", "Attributes", "Duplicates", "Hidden Files", "Quick View"};
+
+    @Param({"300", "5000"})
+    int actionCount;
+
+    @Param({"copy", "cf", "cnvimg"})
+    String query;
+
+    private final ActionMatcher matcher = new ActionMatcher();
+    private final ActionContext context = new ActionContext(null);
+    private List<AppAction> actions;
+
+    @Setup
+    public void createActions() {
+        Random random = new Random(3);
+        actions = new ArrayList<>();
+        for (int i = 0; i < actionCount; i++) {
+            String title = VERBS[random.nextInt(VERBS.length)] + " " + OBJECTS[random.nextInt(OBJECTS.length)] + (i < 50 ? "" : " " + i);
+            actions.add(new AppAction("action" + i, title, "", List.of(title.toLowerCase(Locale.ROOT).replace(" ", "")), ctx -> true, ctx -> {}));
+        }
+    }
+
+    @Benchmark
+    public List<AppAction> rank() {
+        return matcher.rank(query, actions, context);
+    }
+}
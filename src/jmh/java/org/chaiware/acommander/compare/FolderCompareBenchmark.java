@@ -0,0 +1,64 @@
+package org.chaiware.acommander.compare;
+
+import org.chaiware.acommander.SyntheticFiles;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparing two copies of a synthetic tree that differ in a few places, by size and date and by content (checksum);
+ * the trees stay in the OS cache between iterations
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FolderCompareBenchmark {
+
+    @Param({"false", "true"})
+    boolean checksum;
+
+    private Path root;
+    private Path left;
+    private Path right;
+
+    @Setup(Level.Trial)
+    public void createTrees() throws IOException {
+        root = SyntheticFiles.tempFolder("compare");
+        left = SyntheticFiles.tree(root, "left", 3, 4, 20, 6);
+        right = SyntheticFiles.copyTree(left, root.resolve("right"));
+        Files.writeString(right.resolve("folder-1/folder-2/file-0.txt"), "changed");
+        Files.delete(right.resolve("folder-0/file-10.txt"));
+        Files.writeString(left.resolve("folder-3/only-left.txt"), "left");
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteTrees() {
+        SyntheticFiles.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public FolderCompare.Summary compare(Blackhole blackhole) throws Exception {
+        return new FolderCompare(left, right, new FolderCompare.Options(false, checksum, true, false),
+                (path, difference) -> blackhole.consume(path))
+                .start().get(5, TimeUnit.MINUTES);
+    }
+}
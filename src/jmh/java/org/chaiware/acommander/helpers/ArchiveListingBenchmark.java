@@ -0,0 +1,62 @@
+package org.chaiware.acommander.helpers;
+
+import org.chaiware.acommander.model.VirtualFileItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Parsing the output of {@code 7z l -ba -slt} of a large archive into its listing index, and listing a folder of it */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArchiveListingBenchmark {
+
+    @Param({"50000"})
+    int entries;
+
+    private List<String> lines;
+    private ArchiveListingIndex index;
+
+    @Setup
+    public void generateListing() {
+        lines = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            boolean folder = i % 25 == 0;
+            String path = "project/module-" + (i % 40) + "/src/" + (folder ? "package-" + i : "package-" + (i / 25 * 25) + "/File" + i + ".java");
+            lines.add("Path = " + path);
+            lines.add("Folder = " + (folder ? "+" : "-"));
+            lines.add("Size = " + (folder ? 0 : 1000 + i));
+            lines.add("Packed Size = " + (folder ? 0 : 400 + i));
+            lines.add("Modified = 2024-03-0" + (1 + i % 9) + " 12:34:56");
+            lines.add("Attr = " + (folder ? "D" : "A"));
+            lines.add("CRC = 1A2B3C4D");
+            lines.add("");
+        }
+        index = ArchiveListingIndex.parse("bench.zip", 1, 1, lines);
+    }
+
+    @Benchmark
+    public ArchiveListingIndex parse() {
+        return ArchiveListingIndex.parse("bench.zip", 1, 1, lines);
+    }
+
+    @Benchmark
+    public List<VirtualFileItem> listFolder() {
+        return index.listChildren("project/module-7/src");
+    }
+}
@@ -0,0 +1,66 @@
+package org.chaiware.acommander.helpers;
+
+import org.chaiware.acommander.SyntheticFiles;
+import org.chaiware.acommander.model.FileItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** The text/binary check of the viewer and the content search, on a text file and a binary one */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileHelperBenchmark {
+
+    private Path root;
+    private FileItem textFile;
+    private FileItem binaryFile;
+
+    @Setup(Level.Trial)
+    public void createFiles() throws IOException {
+        root = SyntheticFiles.tempFolder("text");
+        StringBuilder text = new StringBuilder();
+        Random random = new Random(4);
+        while (text.length() < 64 * 1024) {
+            text.append(SyntheticFiles.fileName(random, text.length(), ".txt")).append(random.nextBoolean() ? ' ' : '\n');
+        }
+        byte[] binary = new byte[64 * 1024];
+        random.nextBytes(binary);
+        textFile = new FileItem(Files.writeString(root.resolve("notes.txt"), text, StandardCharsets.UTF_8).toFile());
+        binaryFile = new FileItem(Files.write(root.resolve("photo.jpg"), binary).toFile());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() {
+        SyntheticFiles.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public boolean textFile() {
+        return FileHelper.isTextFile(textFile);
+    }
+
+    @Benchmark
+    public boolean binaryFile() {
+        return FileHelper.isTextFile(binaryFile);
+    }
+}
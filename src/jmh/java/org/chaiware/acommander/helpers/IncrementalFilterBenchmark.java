@@ -0,0 +1,55 @@
+package org.chaiware.acommander.helpers;
+
+import org.chaiware.acommander.SyntheticFiles;
+import org.chaiware.acommander.model.FileItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** The in-pane filter run on every typed letter, over a large pane (the items are not read from disk) */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncrementalFilterBenchmark {
+
+    @Param({"20000"})
+    int files;
+
+    @Param({"r", "rep", "report_notes"})
+    String prefix;
+
+    private List<FileItem> items;
+
+    @Setup
+    public void createItems() {
+        Random random = new Random(5);
+        File folder = new File("C:\\data");
+        items = new ArrayList<>();
+        items.add(new FileItem(folder, ".."));
+        for (int i = 0; i < files; i++) {
+            items.add(new FileItem(new File(folder, SyntheticFiles.fileName(random, i, ".txt"))));
+        }
+    }
+
+    @Benchmark
+    public List<FileItem> filter() {
+        return FileHelper.filterByNamePrefix(items, prefix);
+    }
+}
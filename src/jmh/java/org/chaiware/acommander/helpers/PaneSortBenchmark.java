@@ -0,0 +1,66 @@
+package org.chaiware.acommander.helpers;
+
+import org.chaiware.acommander.SyntheticFiles;
+import org.chaiware.acommander.model.FileItem;
+import org.chaiware.acommander.vfs.LocalFileSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Sorting a listed pane by each column with the pane's comparators (size and date read the files as they compare) */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaneSortBenchmark {
+
+    @Param({"5000"})
+    int files;
+
+    @Param({"NAME", "SIZE", "MODIFIED"})
+    FilesPanesHelper.SortColumn column;
+
+    private Path root;
+    private List<FileItem> items;
+    private Comparator<FileItem> comparator;
+
+    @Setup(Level.Trial)
+    public void listFolder() throws IOException {
+        root = SyntheticFiles.tempFolder("sort");
+        Path folder = SyntheticFiles.flatFolder(root, "folder", files, 2);
+        items = new LocalFileSystem("").listContents(folder.toString());
+        items.removeIf(item -> "..".equals(item.getPresentableFilename()));
+        comparator = FilesPanesHelper.comparator(column, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFolder() {
+        SyntheticFiles.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public List<FileItem> sort() {
+        List<FileItem> sorted = new ArrayList<>(items);
+        sorted.sort(comparator);
+        return sorted;
+    }
+}
@@ -0,0 +1,67 @@
+package org.chaiware.acommander.tools;
+
+import org.chaiware.acommander.helpers.FilesPanesHelper;
+import org.chaiware.acommander.model.FileItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Expanding an apps.json command line over a selection (the panes are stubbed, no JavaFX toolkit is started) */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToolCommandBuilderBenchmark {
+    private static final List<String> ARGS = List.of("-o${targetFolderQuoted}", "--name", "${selectedName}",
+            "--from", "${focusedPath}", "--joined", "${selectedFilesJoined}", "${selectedFiles}");
+
+    @Param({"1", "500"})
+    int selected;
+
+    private FilesPanesHelper panes;
+
+    @Setup
+    public void selectFiles() {
+        List<FileItem> selection = new ArrayList<>();
+        for (int i = 0; i < selected; i++) {
+            selection.add(new FileItem(new File("C:\\data\\projects\\report_" + i + ".txt")));
+        }
+        panes = new FilesPanesHelper(null, null, null, null) {
+            @Override
+            public List<FileItem> getSelectedItems() {
+                return selection;
+            }
+
+            @Override
+            public String getFocusedPath() {
+                return "C:\\data\\projects";
+            }
+
+            @Override
+            public String getUnfocusedPath() {
+                return "D:\\backup";
+            }
+        };
+    }
+
+    @Benchmark
+    public List<String> buildCommand() {
+        return ToolCommandBuilder.buildCommand("tool.exe", ARGS, panes, Map.of("${extra}", "value"), null);
+    }
+}
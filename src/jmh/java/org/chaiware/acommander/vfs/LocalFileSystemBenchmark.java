@@ -0,0 +1,55 @@
+package org.chaiware.acommander.vfs;
+
+import org.chaiware.acommander.SyntheticFiles;
+import org.chaiware.acommander.model.FileItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Listing a local folder into pane items (a warm OS cache, as when re-entering a folder) */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalFileSystemBenchmark {
+
+    @Param({"1000", "10000"})
+    int files;
+
+    private Path root;
+    private String folder;
+    private final LocalFileSystem fileSystem = new LocalFileSystem("");
+
+    @Setup(Level.Trial)
+    public void createFolder() {
+        root = SyntheticFiles.tempFolder("listing");
+        folder = SyntheticFiles.flatFolder(root, "folder", files, 1).toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFolder() {
+        SyntheticFiles.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public List<FileItem> listContents() throws IOException {
+        return fileSystem.listContents(folder);
+    }
+}
@@ -1,7 +1,9 @@
 package org.chaiware.acommander;
 
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.collections.ListChangeListener;
+import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
@@ -10,29 +12,63 @@ import javafx.scene.Cursor;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.scene.control.skin.VirtualFlow;
 import javafx.scene.input.Clipboard;
 import javafx.scene.input.ClipboardContent;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.*;
+import javafx.stage.Modality;
 import javafx.stage.Popup;
 import javafx.stage.Window;
 import org.chaiware.acommander.actions.ActionContext;
 import org.chaiware.acommander.actions.ActionExecutor;
+import org.chaiware.acommander.actions.ActionMatcher;
 import org.chaiware.acommander.actions.ActionRegistry;
+import org.chaiware.acommander.actions.ActionUsage;
+import org.chaiware.acommander.checksum.ChecksumFile;
+import org.chaiware.acommander.checksum.ChecksumStore;
+import org.chaiware.acommander.checksum.ChecksumVerifier;
+import org.chaiware.acommander.checksum.FolderChecksum;
+import org.chaiware.acommander.checksum.HashAlgorithm;
+import org.chaiware.acommander.checksum.HashEngine;
 import org.chaiware.acommander.commands.ACommands;
 import org.chaiware.acommander.commands.CommandsAdvancedImpl;
 import org.chaiware.acommander.commands.ExternalCommandListener;
+import org.chaiware.acommander.compare.CompareResultTree;
+import org.chaiware.acommander.compare.DuplicateActions;
+import org.chaiware.acommander.compare.DuplicateFinder;
+import org.chaiware.acommander.compare.FolderCompare;
+import org.chaiware.acommander.compare.FolderSync;
+import org.chaiware.acommander.config.AppConfig;
 import org.chaiware.acommander.config.AppConfigLoader;
+import org.chaiware.acommander.config.AppConfigWatcher;
 import org.chaiware.acommander.config.AppRegistry;
 import org.chaiware.acommander.helpers.*;
 import org.chaiware.acommander.keybinding.KeyBindingManager;
 import org.chaiware.acommander.keybinding.KeyBindingManager.KeyContext;
+import org.chaiware.acommander.metrics.Counter;
+import org.chaiware.acommander.metrics.FlightRecording;
+import org.chaiware.acommander.metrics.Metrics;
+import org.chaiware.acommander.metrics.PerformanceOverlay;
 import org.chaiware.acommander.model.ArchiveMode;
 import org.chaiware.acommander.model.ArchiveSession;
 import org.chaiware.acommander.model.FileItem;
 import org.chaiware.acommander.model.Folder;
+import org.chaiware.acommander.model.VirtualFileItem;
+import org.chaiware.acommander.palette.ActionProvider;
 import org.chaiware.acommander.palette.CommandPaletteController;
+import org.chaiware.acommander.palette.IndexedFileProvider;
+import org.chaiware.acommander.palette.PaletteSearch;
+import org.chaiware.acommander.palette.PaneFileProvider;
+import org.chaiware.acommander.palette.PathProvider;
+import org.chaiware.acommander.search.CancellableSearch;
+import org.chaiware.acommander.search.ContentSearch;
+import org.chaiware.acommander.search.FileNameIndexService;
+import org.chaiware.acommander.search.FileNamePattern;
+import org.chaiware.acommander.viewer.FileViewerPane;
+import org.chaiware.acommander.viewer.MappedTextFile;
+import org.chaiware.acommander.viewer.QuickViewPane;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,14 +78,18 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.security.DigestInputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 
 import static java.awt.Desktop.getDesktop;
@@ -61,7 +101,13 @@ public class Commander {
     private static final String LEFT_FOLDER_KEY = "left_folder";
     private static final String RIGHT_FOLDER_KEY = "right_folder";
     private static final String THEME_MODE_KEY = "theme_mode";
+    private static final String QUICK_VIEW_KEY = "quick_view";
+    private static final int MAX_RECENT_FOLDERS = 50;
     private static final String BOOKMARK_KEY_PREFIX = "bookmark.";
+    private static final String RECENT_FOLDER_KEY_PREFIX = "recent_folder.";
+    private static final String SEARCH_INDEX_ENABLED_KEY = "search.index.enabled";
+    private static final String SEARCH_INDEX_ROOTS_KEY = "search.index.roots";
+    private static final String SEARCH_INDEX_RESCAN_MINUTES_KEY = "search.index.rescan_minutes";
     private static final String THEME_DARK_CLASS = "theme-dark";
     private static final String THEME_LIGHT_CLASS = "theme-light";
 
@@ -99,8 +145,27 @@ public class Commander {
     Properties properties = new Properties();
     ACommands commands;
     private AppRegistry appRegistry;
+    private ActionRegistry actionRegistry;
+    private AppConfigWatcher appConfigWatcher;
     private ActionExecutor actionExecutor;
     private final Map<String, String> bookmarks = new LinkedHashMap<>();
+    /** Visited folders, most recent first (persisted as recent_folder.N) */
+    private final Deque<String> recentFolders = new ArrayDeque<>();
+    private final Map<FilesPanesHelper.FocusSide, NavigationHistory> histories = new EnumMap<>(Map.of(
+            LEFT, new NavigationHistory(), RIGHT, new NavigationHistory()));
+    /** Set while back/forward moves a pane, so the move itself is not recorded as navigation */
+    private boolean navigatingHistory;
+    /** Started in the background after the first frame, null until it has loaded */
+    private volatile FileNameIndexService fileNameIndex;
+    private final DriveProbe driveProbe = new DriveProbe(Platform::runLater);
+    /** How long a saved start folder may take to answer before the pane falls back to the default root */
+    private static final long INITIAL_PATH_TIMEOUT_MILLIS = 500;
+    /**
+     * Scripted runs of build.gradle: "train" exercises the panes and the palette for the AppCDS archive (cdsArchive),
+     * "benchmark" prints the first-frame time (startupBenchmark); both exit by themselves
+     */
+    private static final String STARTUP_MODE_PROPERTY = "acommander.startup";
+    private static final Counter CELL_RENDERS = Metrics.APPLICATION.counter("pane.cell-renders");
 
     private static final Logger logger = LoggerFactory.getLogger(Commander.class);
     public FilesPanesHelper filesPanesHelper;
@@ -111,49 +176,135 @@ public class Commander {
     private volatile boolean restoreFileListFocusAfterSettingsEdit = false;
     private final Map<FilesPanesHelper.FocusSide, String> incrementalCharFilters = new EnumMap<>(FilesPanesHelper.FocusSide.class);
     private final Map<FilesPanesHelper.FocusSide, List<FileItem>> incrementalFilterBases = new EnumMap<>(FilesPanesHelper.FocusSide.class);
-    private final Map<FilesPanesHelper.FocusSide, Map<String, FolderCompareMark>> folderCompareMarks = new EnumMap<>(FilesPanesHelper.FocusSide.class);
+    private volatile ComparedFolders comparedFolders;
+    private FolderCompare activeFolderCompare;
+    private FolderSync activeFolderSync;
+    private ChecksumStore checksumStore;
+    private QuickViewPane quickViewPane;
+    private PerformanceOverlay performanceOverlay;
+    private final FlightRecording flightRecording = new FlightRecording(Paths.get(System.getProperty("user.dir"), "logs"));
+    private ActionUsage actionUsage;
     private Popup incrementalFilterPopup;
     private Label incrementalFilterPopupLabel;
 
 
+    /**
+     * Builds only what the first frame needs; services nobody sees before then (the file name index, the apps.json
+     * watcher) start from {@link #finishStartupAfterFirstFrame(Scene)}, and drive space is read in the background.
+     */
     @FXML
     public void initialize() {
+        StartupProfile startup = StartupProfile.APPLICATION;
+        startup.phaseDone("FXML loading");
         logger.debug("Loading Properties");
         loadConfigFile();
+        startup.phaseDone("properties");
 
         // Configure left & right defaults
         filesPanesHelper = new FilesPanesHelper(leftFileList, leftPathComboBox, rightFileList, rightPathComboBox);
         appRegistry = loadAppRegistry();
-        actionExecutor = new ActionExecutor(this, appRegistry);
+        actionUsage = new ActionUsage(Paths.get(System.getProperty("user.dir"), "config", "action-usage.properties"));
+        actionExecutor = new ActionExecutor(this, appRegistry, actionUsage);
         commands = new CommandsAdvancedImpl(filesPanesHelper, appRegistry);
         configureExternalProgressUi();
         commands.setExternalCommandListener(buildExternalCommandListener());
         configMouseDoubleClick();
+        startup.phaseDone("actions");
 
         logger.debug("Loading file lists into the double panes file views");
-        ComboBoxSetup setup = new ComboBoxSetup();
+        ComboBoxSetup setup = new ComboBoxSetup(driveProbe);
         setup.setupComboBox(leftPathComboBox);
         setup.setupComboBox(rightPathComboBox);
+        setup.addRecentFolders(leftPathComboBox, () -> List.copyOf(recentFolders));
+        setup.addRecentFolders(rightPathComboBox, () -> List.copyOf(recentFolders));
+        startup.phaseDone("path boxes");
         filesPanesHelper.setFileListPath(LEFT, resolveInitialPath(LEFT_FOLDER_KEY));
         filesPanesHelper.setFileListPath(RIGHT, resolveInitialPath(RIGHT_FOLDER_KEY));
-        folderCompareMarks.put(LEFT, new HashMap<>());
-        folderCompareMarks.put(RIGHT, new HashMap<>());
-        leftPathComboBox.valueProperty().addListener((observable, oldValue, newValue) -> onPathChanged(LEFT, newValue));
-        rightPathComboBox.valueProperty().addListener((observable, oldValue, newValue) -> onPathChanged(RIGHT, newValue));
+        leftPathComboBox.valueProperty().addListener((observable, oldValue, newValue) -> onPathChanged(LEFT, oldValue, newValue));
+        rightPathComboBox.valueProperty().addListener((observable, oldValue, newValue) -> onPathChanged(RIGHT, oldValue, newValue));
+        startup.phaseDone("folder listings");
 
         configListViewLookAndBehavior(LEFT, leftFileList);
         configListViewLookAndBehavior(RIGHT, rightFileList);
         configSortHeaders();
         configFileListsFocus();
         configurePaneSummary();
-        commandPaletteController.configure(new ActionRegistry(appRegistry, actionExecutor), new ActionContext(this));
+        registerMetricGauges();
+        actionRegistry = new ActionRegistry(appRegistry, actionExecutor);
+        commandPaletteController.configure(new PaletteSearch(List.of(
+                new ActionProvider(actionRegistry, new ActionContext(this), new ActionMatcher(actionUsage)),
+                PathProvider.bookmarks(() -> new LinkedHashMap<>(bookmarks), this::navigateTo),
+                PathProvider.recentFolders(() -> List.copyOf(recentFolders), this::navigateTo),
+                new PaneFileProvider(() -> List.copyOf(filesPanesHelper.getFileList(true).getItems()), this::selectInFocusedPane),
+                new IndexedFileProvider(() -> fileNameIndex, this::navigateTo)), Platform::runLater));
+        startup.phaseDone("panes and palette");
 
         updateBottomButtons(null);
         filesPanesHelper.refreshFileListViews();
         updatePaneSummary(LEFT);
         updatePaneSummary(RIGHT);
         filesPanesHelper.getFileList(true).getSelectionModel().selectFirst();
+        if (Boolean.parseBoolean(properties.getProperty(QUICK_VIEW_KEY, "false"))) {
+            toggleQuickView();
+        }
         Platform.runLater(() -> leftFileList.requestFocus());
+        startup.phaseDone("first selection");
+    }
+
+    /**
+     * Once the first frame has been laid out: logs the startup breakdown and starts the services that were left out
+     * of {@link #initialize()}
+     */
+    public void finishStartupAfterFirstFrame(Scene scene) {
+        Runnable onFirstFrame = new Runnable() {
+            private boolean done;
+
+            @Override
+            public void run() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this)); // not while the pulse iterates
+                StartupProfile.APPLICATION.finish("first frame");
+                String startupMode = System.getProperty(STARTUP_MODE_PROPERTY, "");
+                if ("benchmark".equals(startupMode)) {
+                    System.out.println(StartupProfile.FIRST_FRAME_MARKER + StartupProfile.APPLICATION.millisSinceJvmStart());
+                    Platform.exit();
+                    return;
+                }
+                startAppConfigWatcher();
+                startFileNameIndex();
+                if ("train".equals(startupMode)) {
+                    runStartupTraining();
+                }
+            }
+        };
+        scene.addPostLayoutPulseListener(onFirstFrame);
+    }
+
+    /**
+     * What a usual session does first (palette search, switching panes, a folder listing), so the classes it loads
+     * end up in the AppCDS archive the JVM writes when this run exits
+     */
+    private void runStartupTraining() {
+        logger.info("Training run for the AppCDS archive");
+        openCommandPalette();
+        commandPaletteController.setQuery("co");
+        PauseTransition searched = new PauseTransition(javafx.util.Duration.millis(800));
+        searched.setOnFinished(event -> {
+            selectNextCommandPaletteAction();
+            closeCommandPalette();
+            requestUnfocusedFileListFocus();
+            filesPanesHelper.refreshFileListViews();
+            PauseTransition settled = new PauseTransition(javafx.util.Duration.millis(1500));
+            settled.setOnFinished(done -> {
+                shutdownBackgroundServices();
+                Platform.exit();
+            });
+            settled.play();
+        });
+        searched.play();
     }
 
     private void configureExternalProgressUi() {
@@ -279,6 +430,12 @@ public class Commander {
 
     @FXML
     public void stopExternalTasks() {
+        if (activeFolderCompare != null) {
+            activeFolderCompare.cancel();
+        }
+        if (activeFolderSync != null) {
+            activeFolderSync.cancel();
+        }
         int stopped = commands.stopRunningExternalCommands();
         logger.info("Stop requested for running external tasks. Requested stops: {}", stopped);
         if (externalStopButton != null) {
@@ -385,18 +542,117 @@ public class Commander {
         return ascending ? " ▲" : " ▼";
     }
 
-    private void onPathChanged(FilesPanesHelper.FocusSide side, Folder newValue) {
+    private void onPathChanged(FilesPanesHelper.FocusSide side, Folder oldValue, Folder newValue) {
         if (newValue == null) {
             return;
         }
+        if (!navigatingHistory && isNavigable(oldValue) && !oldValue.getPath().equals(newValue.getPath())) {
+            // the pane still shows the folder being left
+            histories.get(side).leave(currentVisit(side, oldValue.getPath()));
+        }
 
         properties.setProperty(side == LEFT ? LEFT_FOLDER_KEY : RIGHT_FOLDER_KEY, newValue.getPath());
+        if (isNavigable(newValue)) {
+            rememberRecentFolder(newValue.getPath());
+        }
         saveConfigFile();
         clearCharFilter(side);
-        clearFolderCompareHighlights(false);
+        ComparedFolders compared = comparedFolders;
+        if (compared != null && !isUnder(newValue.getPath(), side == LEFT ? compared.leftRoot() : compared.rightRoot())) {
+            clearFolderCompareHighlights(false); // left the compared tree
+        }
         filesPanesHelper.refreshFileListView(side);
     }
 
+    /** Archive folders show a display path, not one that can be navigated back to */
+    private static boolean isNavigable(Folder folder) {
+        return folder != null && folder.getPath() != null && !(folder instanceof FilesPanesHelper.ArchiveFolder);
+    }
+
+    /** Goes to the folder the focused pane showed before, with its selection and scroll position */
+    public void navigateBack() {
+        FilesPanesHelper.FocusSide side = filesPanesHelper.getFocusedSide();
+        restoreVisit(side, histories.get(side).back(currentVisit(side, filesPanesHelper.getPath(side))));
+    }
+
+    /** Undoes a {@link #navigateBack()} */
+    public void navigateForward() {
+        FilesPanesHelper.FocusSide side = filesPanesHelper.getFocusedSide();
+        restoreVisit(side, histories.get(side).forward(currentVisit(side, filesPanesHelper.getPath(side))));
+    }
+
+    private void restoreVisit(FilesPanesHelper.FocusSide side, Optional<NavigationHistory.Visit> visit) {
+        if (visit.isEmpty()) {
+            return;
+        }
+        if (!Files.isDirectory(Path.of(visit.get().path()))) {
+            showError("Navigation History", "Folder no longer exists: " + visit.get().path());
+            return;
+        }
+        navigatingHistory = true;
+        try {
+            filesPanesHelper.restoreFileListPath(side, visit.get().path());
+        } finally {
+            navigatingHistory = false;
+        }
+        ListView<FileItem> listView = side == LEFT ? leftFileList : rightFileList;
+        String selectedName = visit.get().selectedName();
+        listView.getItems().stream()
+                .filter(item -> item.getPresentableFilename().equals(selectedName))
+                .findFirst()
+                .ifPresent(item -> {
+                    listView.getSelectionModel().clearSelection();
+                    listView.getSelectionModel().select(item);
+                    listView.getFocusModel().focus(listView.getSelectionModel().getSelectedIndex());
+                });
+        listView.scrollTo(Math.min(visit.get().firstVisibleRow(), Math.max(0, listView.getItems().size() - 1)));
+        requestFocusedFileListFocus();
+    }
+
+    private NavigationHistory.Visit currentVisit(FilesPanesHelper.FocusSide side, String path) {
+        ListView<FileItem> listView = side == LEFT ? leftFileList : rightFileList;
+        FileItem selected = listView.getSelectionModel().getSelectedItem();
+        int firstVisibleRow = 0;
+        if (listView.lookup(".virtual-flow") instanceof VirtualFlow<?> flow && flow.getFirstVisibleCell() != null) {
+            firstVisibleRow = flow.getFirstVisibleCell().getIndex();
+        }
+        return new NavigationHistory.Visit(path, selected == null ? null : selected.getPresentableFilename(), firstVisibleRow);
+    }
+
+    private void rememberRecentFolder(String path) {
+        recentFolders.remove(path);
+        recentFolders.addFirst(path);
+        if (recentFolders.size() > MAX_RECENT_FOLDERS) {
+            recentFolders.removeLast();
+        }
+    }
+
+    /**
+     * Shows a folder, or the folder of a file with the file selected, in the focused pane (palette results)
+     */
+    public void navigateTo(Path target) {
+        try {
+            if (Files.isDirectory(target)) {
+                filesPanesHelper.setFocusedFileListPath(target.toString());
+            } else if (Files.exists(target) && target.getParent() != null) {
+                filesPanesHelper.setFocusedFileListPath(target.getParent().toString());
+                filesPanesHelper.selectFileItem(true, new FileItem(target.toFile()));
+            } else {
+                showError("Go to", "Path does not exist: " + target);
+            }
+        } finally {
+            requestFocusedFileListFocus();
+        }
+    }
+
+    private void selectInFocusedPane(FileItem item) {
+        ListView<FileItem> fileList = filesPanesHelper.getFileList(true);
+        fileList.getSelectionModel().clearSelection();
+        fileList.getSelectionModel().select(item);
+        fileList.scrollTo(item);
+        requestFocusedFileListFocus();
+    }
+
     /** Setup all of the keyboard bindings */
     public void setupBindings() {
         Scene scene = rootPane.getScene();
@@ -493,6 +749,7 @@ public class Commander {
         try (FileInputStream input = new FileInputStream(configFile.toFile())) {
             properties.load(input);
             loadBookmarksFromProperties();
+            loadRecentFoldersFromProperties();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -504,20 +761,78 @@ public class Commander {
 
     private String resolveInitialPath(String key) {
         String configuredPath = properties.getProperty(key);
-        if (configuredPath != null && new File(configuredPath).exists())
+        if (configuredPath != null && DriveProbe.existsWithin(configuredPath, INITIAL_PATH_TIMEOUT_MILLIS))
             return configuredPath;
         return getDefaultRootPath();
     }
 
+    private static Path getAppConfigPath() {
+        return Paths.get(System.getProperty("user.dir"), "config", "apps.json");
+    }
+
+    /**
+     * Loads apps.json at startup. A configuration that fails validation is still loaded as far as it binds (the
+     * application must start), and its problems are shown once the window is up.
+     */
     private AppRegistry loadAppRegistry() {
-        Path appConfig = Paths.get(System.getProperty("user.dir"), "config", "apps.json");
+        Path appConfig = getAppConfigPath();
         try {
-            return new AppRegistry(new AppConfigLoader().load(appConfig));
+            AppConfigLoader loader = new AppConfigLoader();
+            AppConfigLoader.Validated validated = loader.loadValidated(appConfig);
+            if (validated.isValid()) {
+                return new AppRegistry(validated.config());
+            }
+            validated.problems().forEach(problem -> logger.warn("apps.json: {}", problem));
+            Platform.runLater(() -> showAppConfigProblems("Loaded with problems", validated.problems()));
+            return new AppRegistry(loader.load(appConfig));
         } catch (IOException ex) {
             throw new IllegalStateException("Failed loading actions config from: " + appConfig, ex);
         }
     }
 
+    /** Applies edits of apps.json while running: valid ones replace the actions and shortcuts, bad ones are reported */
+    private void startAppConfigWatcher() {
+        appConfigWatcher = new AppConfigWatcher(getAppConfigPath(), new AppConfigWatcher.Listener() {
+            @Override
+            public void onReloaded(AppConfig config) {
+                Platform.runLater(() -> applyAppConfig(config));
+            }
+
+            @Override
+            public void onRejected(List<String> problems) {
+                Platform.runLater(() -> showAppConfigProblems("Changes not applied", problems));
+            }
+        });
+        try {
+            appConfigWatcher.start();
+        } catch (IOException ex) {
+            logger.warn("Cannot watch apps.json, edits apply after a restart", ex);
+        }
+    }
+
+    private void applyAppConfig(AppConfig config) {
+        appRegistry.replace(config);
+        actionRegistry.reload();
+        if (isCommandPaletteOpen()) {
+            commandPaletteController.open(); // re-resolves the shown actions
+        }
+    }
+
+    /** Reports apps.json problems without blocking (the session carries on with the previous actions) */
+    private void showAppConfigProblems(String header, List<String> problems) {
+        int shownProblems = 15;
+        String details = String.join("\n", problems.subList(0, Math.min(problems.size(), shownProblems)))
+                + (problems.size() > shownProblems ? "\n... and " + (problems.size() - shownProblems) + " more" : "");
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("apps.json");
+        alert.setHeaderText(header);
+        alert.setContentText(details);
+        alert.setResizable(true);
+        alert.getDialogPane().setMinHeight(Region.USE_PREF_SIZE);
+        applyThemeToDialog(alert);
+        alert.show();
+    }
+
     private String getDefaultRootPath() {
         File[] roots = File.listRoots();
         if (roots != null && roots.length > 0)
@@ -529,6 +844,7 @@ public class Commander {
         Path configFile = getConfigFilePath();
         try {
             syncBookmarksToProperties();
+            syncRecentFoldersToProperties();
             Files.createDirectories(configFile.getParent());
             try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
                 properties.store(output, null);
@@ -542,6 +858,69 @@ public class Commander {
         }
     }
 
+    /**
+     * Starts the optional background file name index (search.index.enabled), over search.index.roots
+     * (';' separated) or, when none are configured, over the bookmarked folders.
+     */
+    private void startFileNameIndex() {
+        if (!Boolean.parseBoolean(properties.getProperty(SEARCH_INDEX_ENABLED_KEY, "false"))) {
+            return;
+        }
+        String configuredRoots = properties.getProperty(SEARCH_INDEX_ROOTS_KEY, "").trim();
+        List<Path> roots = configuredRoots.isEmpty()
+                ? bookmarks.values().stream().map(Paths::get).toList()
+                : Arrays.stream(configuredRoots.split(";")).map(String::trim).filter(s -> !s.isEmpty()).map(Paths::get).toList();
+        if (roots.isEmpty()) {
+            logger.info("File name index is enabled but there are no roots (nor bookmarks) to index");
+            return;
+        }
+        long rescanMinutes = 60;
+        try {
+            rescanMinutes = Math.max(1, Long.parseLong(properties.getProperty(SEARCH_INDEX_RESCAN_MINUTES_KEY, "60").trim()));
+        } catch (NumberFormatException ex) {
+            logger.warn("Invalid {}, using {} minutes", SEARCH_INDEX_RESCAN_MINUTES_KEY, rescanMinutes);
+        }
+        FileNameIndexService index = new FileNameIndexService(Paths.get(System.getProperty("user.dir"), "index"), Duration.ofMinutes(rescanMinutes));
+        Thread starter = new Thread(() -> {
+            index.start(roots); // reads the saved index and checks the roots, which may be slow drives
+            fileNameIndex = index;
+            Platform.runLater(() -> commands.setFileNameIndex(index));
+        }, "filename-index-start");
+        starter.setDaemon(true);
+        starter.start();
+    }
+
+    /** The persistent checksum store (index/checksums.bin), loaded on first use */
+    private synchronized ChecksumStore getChecksumStore() {
+        if (checksumStore == null) {
+            checksumStore = ChecksumStore.open(Paths.get(System.getProperty("user.dir"), "index", "checksums.bin"));
+        }
+        return checksumStore;
+    }
+
+    /** Stops background services (called when the main window closes) */
+    public void shutdownBackgroundServices() {
+        if (fileNameIndex != null) {
+            fileNameIndex.close();
+        }
+        if (appConfigWatcher != null) {
+            appConfigWatcher.close();
+        }
+        synchronized (this) {
+            if (checksumStore != null) {
+                checksumStore.close();
+            }
+        }
+        if (actionUsage != null) {
+            actionUsage.flush();
+        }
+        try {
+            flightRecording.stop();
+        } catch (IOException ex) {
+            logger.warn("Failed saving the flight recording", ex);
+        }
+    }
+
     public void persistCurrentPaths() {
         if (filesPanesHelper == null)
             return;
@@ -638,6 +1017,7 @@ public class Commander {
                 if (empty || item == null) {
                     setGraphic(null);
                 } else {
+                    CELL_RENDERS.increment();
                     IconSpec iconSpec = resolveIconSpec(item);
                     iconLabel.setText(iconSpec.glyph());
                     iconLabel.setStyle("-fx-text-fill: " + iconSpec.textColor() + ";");
@@ -658,23 +1038,22 @@ public class Commander {
     }
 
     private void applyFolderCompareStyle(FilesPanesHelper.FocusSide side, FileItem item, ListCell<FileItem> cell) {
-        if (item == null || "..".equals(item.getPresentableFilename())) {
+        ComparedFolders compared = comparedFolders;
+        if (compared == null || item == null || "..".equals(item.getPresentableFilename())) {
             return;
         }
-        Map<String, FolderCompareMark> marks = folderCompareMarks.get(side);
-        if (marks == null || marks.isEmpty()) {
+        Path root = side == LEFT ? compared.leftRoot() : compared.rightRoot();
+        Path path = item.getFile().toPath().toAbsolutePath().normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
             return;
         }
-        String key = normalizePathKey(item.getFile().toPath());
-        FolderCompareMark mark = marks.get(key);
-        if (mark == null) {
-            return;
-        }
-        switch (mark) {
-            case LEFT_ONLY -> cell.getStyleClass().add("compare-left-only");
-            case RIGHT_ONLY -> cell.getStyleClass().add("compare-right-only");
-            case DIFFERENT -> cell.getStyleClass().add("compare-different");
-        }
+        compared.differences().mark(root.relativize(path).toString(), side == LEFT).ifPresent(difference -> {
+            switch (difference) {
+                case LEFT_ONLY -> cell.getStyleClass().add("compare-left-only");
+                case RIGHT_ONLY -> cell.getStyleClass().add("compare-right-only");
+                case DIFFERENT -> cell.getStyleClass().add("compare-different");
+            }
+        });
     }
 
     private record IconSpec(String glyph, String textColor) {}
@@ -763,11 +1142,19 @@ public class Commander {
     private void configFileListsFocus() {
         logger.debug("Configure focus setting (so we will know where focus was last been)");
         leftFileList.focusedProperty().addListener((obs, wasFocused, isNowFocused) -> {
-            if (isNowFocused) filesPanesHelper.setFocusedFileList(LEFT);
+            if (isNowFocused) {
+                filesPanesHelper.setFocusedFileList(LEFT);
+                updateQuickView();
+            }
         });
         rightFileList.focusedProperty().addListener((obs, wasFocused, isNowFocused) -> {
-            if (isNowFocused) filesPanesHelper.setFocusedFileList(RIGHT);
+            if (isNowFocused) {
+                filesPanesHelper.setFocusedFileList(RIGHT);
+                updateQuickView();
+            }
         });
+        leftFileList.getSelectionModel().selectedItemProperty().addListener((obs, oldValue, newValue) -> updateQuickView());
+        rightFileList.getSelectionModel().selectedItemProperty().addListener((obs, oldValue, newValue) -> updateQuickView());
         leftFileList.requestFocus();
     }
 
@@ -1095,6 +1482,10 @@ public class Commander {
 
         try {
             List<FileItem> selectedItems = filesPanesHelper.getSelectedItems();
+            if (!Files.exists(getViewerPath())) {
+                viewInternal();
+                return;
+            }
             for (FileItem selectedItem : selectedItems)
                 commands.view(selectedItem);
         } catch (Exception ex) {
@@ -1102,6 +1493,164 @@ public class Commander {
         }
     }
 
+    /**
+     * Shows or hides the quick view panel, which previews the focused item (text head, reduced image, archive or
+     * folder entries) as the selection moves.
+     */
+    public void toggleQuickView() {
+        boolean show = quickViewPane == null || rootPane.getRight() != quickViewPane;
+        if (show) {
+            if (quickViewPane == null) {
+                quickViewPane = new QuickViewPane();
+            }
+            rootPane.setRight(quickViewPane);
+            updateQuickView();
+        } else {
+            quickViewPane.clear();
+            rootPane.setRight(null);
+        }
+        properties.setProperty(QUICK_VIEW_KEY, String.valueOf(show));
+        saveConfigFile();
+        requestFocusedFileListFocus();
+    }
+
+    /**
+     * Shows or hides the performance overlay: listing, sort and external tool timings, cell render rate and cache hit
+     * rates. The metrics are only read while it is shown.
+     */
+    public void togglePerformanceOverlay() {
+        StackPane windowRoot = (StackPane) rootPane.getParent();
+        if (performanceOverlay != null && windowRoot.getChildren().contains(performanceOverlay)) {
+            performanceOverlay.stop();
+            windowRoot.getChildren().remove(performanceOverlay);
+        } else {
+            if (performanceOverlay == null) {
+                performanceOverlay = new PerformanceOverlay(Metrics.APPLICATION);
+            }
+            windowRoot.getChildren().add(1, performanceOverlay); // over the panes, under the palette
+            performanceOverlay.start();
+        }
+        requestFocusedFileListFocus();
+    }
+
+    /** Writes the current metrics to logs/metrics-&lt;time&gt;.json */
+    public void dumpMetrics() {
+        String time = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = Paths.get(System.getProperty("user.dir"), "logs", "metrics-" + time + ".json");
+        try {
+            Metrics.APPLICATION.dump(file);
+            showInfo("Metrics", "Metrics written to " + file);
+        } catch (IOException ex) {
+            error("Failed writing the metrics", ex);
+        }
+        requestFocusedFileListFocus();
+    }
+
+    /**
+     * Starts a JDK Flight Recorder recording (the JDK's profile settings plus the file operation, archive, external
+     * tool and palette events), or stops the running one and saves it to logs/acommander-&lt;time&gt;.jfr
+     */
+    public void toggleFlightRecording() {
+        try {
+            if (flightRecording.isRecording()) {
+                showInfo("Flight Recording", "Recording saved to " + flightRecording.stop());
+            } else {
+                flightRecording.start();
+                showInfo("Flight Recording", "Recording started; run Flight Recording again to stop and save it");
+            }
+        } catch (Exception ex) {
+            error("Flight recording failed", ex);
+        }
+        requestFocusedFileListFocus();
+    }
+
+    /** Saves what the running flight recording holds so far, and keeps recording */
+    public void dumpFlightRecording() {
+        try {
+            Path file = flightRecording.dump();
+            if (file == null) {
+                showInfo("Flight Recording", "No recording is running");
+            } else {
+                showInfo("Flight Recording", "Recording so far saved to " + file);
+            }
+        } catch (IOException ex) {
+            error("Failed saving the flight recording", ex);
+        }
+        requestFocusedFileListFocus();
+    }
+
+    private void registerMetricGauges() {
+        Metrics.APPLICATION.gauge("pane.left.items", () -> leftFileList.getItems().size());
+        Metrics.APPLICATION.gauge("pane.right.items", () -> rightFileList.getItems().size());
+        Metrics.APPLICATION.gauge("process.running", runningExternalCommands::get);
+        Metrics.APPLICATION.gauge("jvm.heap-used-mb", () -> {
+            Runtime runtime = Runtime.getRuntime();
+            return (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+        });
+    }
+
+    private void updateQuickView() {
+        if (quickViewPane == null || rootPane.getRight() != quickViewPane) {
+            return;
+        }
+        FileItem item = filesPanesHelper.getSelectedItem();
+        boolean previewable = item != null && !(item instanceof VirtualFileItem) && !"..".equals(item.getPresentableFilename());
+        quickViewPane.show(previewable ? item.getFile().toPath() : null);
+    }
+
+    private Path getViewerPath() {
+        return Paths.get(System.getProperty("user.dir"), "apps", "view", "UniversalViewer", "Viewer.exe");
+    }
+
+    /**
+     * Opens the selected file in the built-in viewer: memory-mapped, so it opens at once whatever the size, with the
+     * line index built in the background. Binary files open as a hex dump.
+     */
+    public void viewInternal() {
+        logger.info("View (Built-in)");
+
+        FileItem selectedItem = filesPanesHelper.getSelectedItem();
+        if (selectedItem == null || selectedItem.isDirectory() || "..".equals(selectedItem.getPresentableFilename())) {
+            showInfo("View", "Select a file to view.");
+            return;
+        }
+
+        Path file = selectedItem.getFile().toPath();
+        MappedTextFile mapped;
+        try {
+            mapped = MappedTextFile.open(file);
+        } catch (Exception ex) {
+            error("Failed opening file for viewing: " + file, ex);
+            return;
+        }
+        // Only UTF-8 (and ASCII) is decoded, anything else is easier to read as hex
+        byte[] head = mapped.read(0, 4);
+        boolean binary = !FileHelper.isTextFile(selectedItem) || FileHelper.isUtf16Bom(head, head.length);
+        FileViewerPane viewerPane = new FileViewerPane(mapped, binary);
+
+        Dialog<Void> dialog = new Dialog<>();
+        dialog.setTitle("View - " + file);
+        dialog.initModality(Modality.NONE);
+        DialogPane pane = dialog.getDialogPane();
+        pane.setContent(viewerPane);
+        pane.getButtonTypes().add(ButtonType.CLOSE);
+        pane.setPrefSize(1100, 720);
+        dialog.setResizable(true);
+        dialog.setOnHidden(event -> {
+            viewerPane.close();
+            requestFocusedFileListFocus();
+        });
+        pane.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == KeyCode.ESCAPE) {
+                dialog.close();
+                event.consume();
+            }
+        });
+
+        applyThemeToDialog(dialog);
+        dialog.show();
+    }
+
     public void calculateDirSpace() {
         logger.info("calculateDirSpace (F3 (on folder))");
 
@@ -1298,17 +1847,44 @@ public class Commander {
     public void search() {
         logger.info("Search Files (F10)");
 
-        Optional<String> result = getUserFeedback("", "Search for File/s", "Enter (partial/wildcard) filename");
+        Optional<FileSearchRequest> result = promptFileSearch();
         if (result.isPresent()) {
             String searchFromPath = filesPanesHelper.getFocusedPath();
+            String pattern = result.get().pattern();
+            boolean explicitPattern = pattern.contains("*") || pattern.startsWith("glob:") || pattern.startsWith("re:");
             try {
-                commands.searchFiles(searchFromPath, result.get().contains("*") ? result.get() : "*" + result.get() + "*");
+                commands.searchFiles(searchFromPath, explicitPattern ? pattern : "*" + pattern + "*", result.get().includeArchives());
             } catch (Exception e) {
-                error("Failed searching for: " + result.get(), e);
+                error("Failed searching for: " + pattern, e);
             }
         }
     }
 
+    private Optional<FileSearchRequest> promptFileSearch() {
+        Dialog<FileSearchRequest> dialog = new Dialog<>();
+        dialog.setTitle("Search for File/s");
+        dialog.setHeaderText(null);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+
+        TextField patternField = new TextField();
+        patternField.setPromptText("Enter (partial/wildcard) filename, or glob:/re: pattern");
+        patternField.setPrefColumnCount(40);
+        CheckBox includeArchives = new CheckBox("Search inside archives (zip, tar, 7z...)");
+
+        VBox content = new VBox(10, patternField, includeArchives);
+        content.setPadding(new Insets(12));
+        dialog.getDialogPane().setContent(content);
+        applyThemeToDialog(dialog);
+
+        Button okButton = (Button) dialog.getDialogPane().lookupButton(ButtonType.OK);
+        okButton.disableProperty().bind(patternField.textProperty().isEmpty());
+        dialog.setOnShown(event -> Platform.runLater(patternField::requestFocus));
+        dialog.setResultConverter(button -> button == ButtonType.OK
+                ? new FileSearchRequest(patternField.getText().trim(), includeArchives.isSelected())
+                : null);
+        return dialog.showAndWait().filter(request -> !request.pattern().isEmpty());
+    }
+
     @FXML
     public void handleF10Button() {
         if (bottomButtonModifier == KeyCode.ALT) {
@@ -1351,6 +1927,22 @@ public class Commander {
         });
 
         CheckBox includeHiddenAndIgnored = new CheckBox("Search including hidden & ignored files");
+        CheckBox searchArchives = new CheckBox("Search inside archives (built-in engine)");
+
+        boolean ripgrepAvailable = Files.isRegularFile(getRipgrepPath());
+        ToggleGroup engineGroup = new ToggleGroup();
+        RadioButton ripgrepEngine = new RadioButton(ripgrepAvailable ? "ripgrep" : "ripgrep (not found)");
+        RadioButton builtInEngine = new RadioButton("Built-in (shows matching lines)");
+        ripgrepEngine.setToggleGroup(engineGroup);
+        builtInEngine.setToggleGroup(engineGroup);
+        ripgrepEngine.setDisable(!ripgrepAvailable);
+        engineGroup.selectToggle(ripgrepAvailable ? ripgrepEngine : builtInEngine);
+        searchArchives.selectedProperty().addListener((obs, oldValue, selected) -> {
+            if (selected) {
+                engineGroup.selectToggle(builtInEngine);
+            }
+            ripgrepEngine.setDisable(selected || !ripgrepAvailable);
+        });
 
         VBox content = new VBox(10,
                 new Label("Find text in: " + filesPanesHelper.getFocusedPath()),
@@ -1358,7 +1950,9 @@ public class Commander {
                 caseInsensitive,
                 findInSpecificExtension,
                 extensionField,
-                includeHiddenAndIgnored
+                includeHiddenAndIgnored,
+                searchArchives,
+                new HBox(12, new Label("Engine:"), ripgrepEngine, builtInEngine)
         );
         content.setPadding(new Insets(12));
         dialog.getDialogPane().setContent(content);
@@ -1388,17 +1982,23 @@ public class Commander {
                     caseInsensitive.isSelected(),
                     findInSpecificExtension.isSelected(),
                     extension,
-                    includeHiddenAndIgnored.isSelected()
+                    includeHiddenAndIgnored.isSelected(),
+                    builtInEngine.isSelected(),
+                    searchArchives.isSelected()
             );
         });
         return dialog.showAndWait();
     }
 
+    private Path getRipgrepPath() {
+        return Paths.get(System.getProperty("user.dir"), "apps", "search_in_files", "rg.exe");
+    }
+
     private void runFindInFiles(FindInFilesOptions options) {
         String sourcePath = filesPanesHelper.getFocusedPath();
-        Path rgPath = Paths.get(System.getProperty("user.dir"), "apps", "search_in_files", "rg.exe");
-        if (!Files.isRegularFile(rgPath)) {
-            showError("Find in Files", "Ripgrep executable was not found at: " + rgPath);
+        Path rgPath = getRipgrepPath();
+        if (options.builtInEngine() || options.searchArchives() || !Files.isRegularFile(rgPath)) {
+            runBuiltInFindInFiles(options, sourcePath);
             return;
         }
 
@@ -1422,8 +2022,10 @@ public class Commander {
         command.add(options.query());
         command.add(sourcePath);
 
+        Stopwatch stopwatch = new Stopwatch();
         runExternal(command, false)
                 .thenAccept(output -> Platform.runLater(() -> {
+                    logger.info("ripgrep search for '{}' under {} finished in {}", options.query(), sourcePath, stopwatch);
                     if (output == null || output.isEmpty()) {
                         Alert alert = new Alert(Alert.AlertType.INFORMATION, "No files found :-(");
                         alert.setHeaderText(null);
@@ -1459,41 +2061,188 @@ public class Commander {
                 });
     }
 
-    private FileItem showFileResultsDialog(List<String> files) {
-        List<FileItem> fileItems = files.stream().map(filename -> new FileItem(new File(filename))).toList();
-        ListView<FileItem> fileList = new ListView<>();
-        fileList.getItems().setAll(fileItems);
-        fileList.setCellFactory(list -> new ListCell<>() {
-            @Override
-            protected void updateItem(FileItem item, boolean empty) {
-                super.updateItem(item, empty);
-                setText(empty || item == null ? null : item.getFullPath());
+    /**
+     * Find in Files without ripgrep: matching lines stream into the dialog while the search runs.
+     */
+    private void runBuiltInFindInFiles(FindInFilesOptions options, String sourcePath) {
+        FileNamePattern fileNamePattern = options.findInSpecificExtension()
+                ? FileNamePattern.compile("*." + options.extension().replaceFirst("^\\.+", ""))
+                : null;
+        ContentSearch.Options searchOptions = new ContentSearch.Options(
+                options.query(),
+                options.caseInsensitive(),
+                fileNamePattern,
+                options.includeHiddenAndIgnored(),
+                options.searchArchives(),
+                2,
+                100_000
+        );
+
+        ListView<ContentSearch.Match> matchList = new ListView<>();
+        Label status = new Label("Searching...");
+        FxBatcher<ContentSearch.Match> matchBatcher = new FxBatcher<>(batch -> {
+            boolean wasEmpty = matchList.getItems().isEmpty();
+            matchList.getItems().addAll(batch);
+            if (wasEmpty) {
+                matchList.getSelectionModel().selectFirst();
             }
+            status.setText("Searching... " + matchList.getItems().size() + " match(es)");
         });
-        fileList.getSelectionModel().selectFirst();
-        fileList.getFocusModel().focus(0);
-        fileList.setPrefSize(980, 420);
 
-        Dialog<FileItem> dialog = new Dialog<>();
-        dialog.setTitle("Files Found");
-        DialogPane pane = dialog.getDialogPane();
-        pane.setContent(fileList);
-        ButtonType goToFileButton = new ButtonType("Go to File", ButtonBar.ButtonData.OK_DONE);
-        pane.getButtonTypes().addAll(goToFileButton, ButtonType.CANCEL);
-        pane.setPrefSize(1020, 480);
-        dialog.setResizable(true);
-        dialog.setResultConverter(buttonType -> buttonType == goToFileButton ? fileList.getSelectionModel().getSelectedItem() : null);
-        dialog.setOnShown(event -> Platform.runLater(() -> {
-            fileList.requestFocus();
-            fileList.getSelectionModel().selectFirst();
-            fileList.getFocusModel().focus(0);
+        ContentSearch search = new ContentSearch(Paths.get(sourcePath), searchOptions, matchBatcher);
+        Stopwatch stopwatch = new Stopwatch();
+        search.start().whenComplete((count, ex) -> Platform.runLater(() -> {
+            matchBatcher.flush();
+            if (ex != null) {
+                logger.error("Built-in find in files failed under: {}", sourcePath, ex);
+                status.setText("Search failed: " + ex.getMessage());
+            } else if (count == 0) {
+                status.setText(search.isCancelled() ? "Search cancelled" : "No files found :-(");
+            } else {
+                status.setText((search.isCancelled() ? "Stopped after " : "Found ") + count + " match(es) in " + stopwatch);
+            }
         }));
 
-        pane.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
-            if (event.getCode() == KeyCode.ESCAPE) {
-                dialog.setResult(null);
-                dialog.close();
-                event.consume();
+        ContentSearch.Match selected = showContentMatchesDialog(matchList, status, search);
+        search.cancel();
+        if (selected == null) {
+            return;
+        }
+        if (selected.archiveEntry() != null) {
+            openArchiveEntry(selected.file().toString(), selected.archiveEntry());
+            return;
+        }
+        FileItem selectedFile = new FileItem(selected.file().toFile());
+        filesPanesHelper.setFocusedFileListPath(selectedFile.getFile().getParent());
+        filesPanesHelper.selectFileItem(true, selectedFile);
+        requestFocusedFileListFocus();
+    }
+
+    /**
+     * Opens the archive in the focused pane (extracting it in the background) and selects the entry.
+     */
+    private void openArchiveEntry(String archivePath, String entryPath) {
+        FilesPanesHelper.FocusSide focusedSide = filesPanesHelper.getFocusedSide();
+        int active = runningExternalCommands.incrementAndGet();
+        showExternalProgress(active, "VFS: Opening " + Paths.get(archivePath).getFileName());
+        CompletableFuture.runAsync(() -> filesPanesHelper.openArchiveAt(focusedSide, archivePath, entryPath))
+                .whenComplete((ignored, ex) -> {
+                    if (ex != null) {
+                        logger.error("Failed to open archive entry: {}://{}", archivePath, entryPath, ex);
+                    }
+                    int remaining = runningExternalCommands.updateAndGet(current -> Math.max(0, current - 1));
+                    Platform.runLater(() -> {
+                        hideOrUpdateExternalProgress(remaining);
+                        focusCurrentFileList();
+                    });
+                });
+    }
+
+    private ContentSearch.Match showContentMatchesDialog(ListView<ContentSearch.Match> matchList, Label status, ContentSearch search) {
+        matchList.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(ContentSearch.Match item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : item.displayPath() + ":" + item.lineNumber() + ":  " + item.line().strip());
+            }
+        });
+        matchList.setPrefSize(980, 360);
+
+        TextArea contextArea = new TextArea();
+        contextArea.setEditable(false);
+        contextArea.setPrefRowCount(6);
+        contextArea.setStyle("-fx-font-family: 'Consolas', 'monospace';");
+        matchList.getSelectionModel().selectedItemProperty().addListener((obs, oldValue, match) -> {
+            if (match == null) {
+                contextArea.clear();
+                return;
+            }
+            StringBuilder context = new StringBuilder();
+            long lineNumber = match.lineNumber() - match.before().size();
+            for (String line : match.before()) {
+                context.append(String.format("%6d   %s%n", lineNumber++, line));
+            }
+            context.append(String.format("%6d > %s%n", lineNumber++, match.line()));
+            for (String line : match.after()) {
+                context.append(String.format("%6d   %s%n", lineNumber++, line));
+            }
+            contextArea.setText(context.toString());
+        });
+
+        VBox content = new VBox(8, status, matchList, contextArea);
+        VBox.setVgrow(matchList, Priority.ALWAYS);
+
+        Dialog<ContentSearch.Match> dialog = new Dialog<>();
+        dialog.setTitle("Find in Files");
+        DialogPane pane = dialog.getDialogPane();
+        pane.setContent(content);
+        ButtonType goToFileButton = new ButtonType("Go to File", ButtonBar.ButtonData.OK_DONE);
+        ButtonType stopButton = new ButtonType("Stop", ButtonBar.ButtonData.OTHER);
+        pane.getButtonTypes().addAll(goToFileButton, stopButton, ButtonType.CANCEL);
+        pane.setPrefSize(1020, 620);
+        dialog.setResizable(true);
+        dialog.setResultConverter(buttonType -> buttonType == goToFileButton ? matchList.getSelectionModel().getSelectedItem() : null);
+        dialog.setOnShown(event -> Platform.runLater(matchList::requestFocus));
+
+        Button stop = (Button) pane.lookupButton(stopButton);
+        stop.addEventFilter(ActionEvent.ACTION, event -> {
+            search.cancel();
+            event.consume();
+        });
+
+        pane.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == KeyCode.ESCAPE) {
+                dialog.setResult(null);
+                dialog.close();
+                event.consume();
+                return;
+            }
+            if (event.getCode() == KeyCode.ENTER) {
+                dialog.setResult(matchList.getSelectionModel().getSelectedItem());
+                dialog.close();
+                event.consume();
+            }
+        });
+
+        applyThemeToDialog(dialog);
+        return dialog.showAndWait().orElse(null);
+    }
+
+    private FileItem showFileResultsDialog(List<String> files) {
+        List<FileItem> fileItems = files.stream().map(filename -> new FileItem(new File(filename))).toList();
+        ListView<FileItem> fileList = new ListView<>();
+        fileList.getItems().setAll(fileItems);
+        fileList.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(FileItem item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : item.getFullPath());
+            }
+        });
+        fileList.getSelectionModel().selectFirst();
+        fileList.getFocusModel().focus(0);
+        fileList.setPrefSize(980, 420);
+
+        Dialog<FileItem> dialog = new Dialog<>();
+        dialog.setTitle("Files Found");
+        DialogPane pane = dialog.getDialogPane();
+        pane.setContent(fileList);
+        ButtonType goToFileButton = new ButtonType("Go to File", ButtonBar.ButtonData.OK_DONE);
+        pane.getButtonTypes().addAll(goToFileButton, ButtonType.CANCEL);
+        pane.setPrefSize(1020, 480);
+        dialog.setResizable(true);
+        dialog.setResultConverter(buttonType -> buttonType == goToFileButton ? fileList.getSelectionModel().getSelectedItem() : null);
+        dialog.setOnShown(event -> Platform.runLater(() -> {
+            fileList.requestFocus();
+            fileList.getSelectionModel().selectFirst();
+            fileList.getFocusModel().focus(0);
+        }));
+
+        pane.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == KeyCode.ESCAPE) {
+                dialog.setResult(null);
+                dialog.close();
+                event.consume();
                 return;
             }
             if (event.getCode() == KeyCode.ENTER) {
@@ -2452,20 +3201,53 @@ public class Commander {
             requestFocusedFileListFocus();
             return;
         }
+        if (options.get().builtInEngine()) {
+            runBuiltInChecksumFile(selectedItem, options.get());
+            return;
+        }
 
-        Path rhashPath = Paths.get(System.getProperty("user.dir"), "apps", "checksum", "rhash.exe");
+        Path rhashPath = getRhashPath();
         if (!Files.exists(rhashPath)) {
             showError("Checksum File", "rhash executable was not found at: " + rhashPath);
             requestFocusedFileListFocus();
             return;
         }
 
+        // Plain hex digests are served from (and recorded in) the checksum store
+        Path file = selectedItem.getFile().toPath();
+        boolean storable = !options.get().includeFileNames() && !options.get().base32() && !options.get().base64();
+        ChecksumStore.FileStamp stamp = null;
+        if (storable) {
+            Optional<byte[]> cached = getChecksumStore().get(file, options.get().algorithmLabel());
+            if (cached.isPresent()) {
+                logger.debug("Checksum of {} served from the checksum store", file);
+                showChecksumResultDialog("Checksum File", selectedItem.getName(), options.get().algorithmLabel(),
+                        HexFormat.of().formatHex(cached.get()), selectedItem.getFile().getParentFile().toPath(), false);
+                requestFocusedFileListFocus();
+                return;
+            }
+            try {
+                stamp = ChecksumStore.FileStamp.of(file);
+            } catch (IOException ex) {
+                logger.debug("Could not stat {}, its checksum will not be stored", file, ex);
+            }
+        }
+        ChecksumStore.FileStamp stampBeforeHashing = stamp;
+
         List<String> command = buildChecksumCommand(rhashPath, selectedItem.getFullPath(), options.get(), false);
         runExternal(command, false)
                 .thenAccept(output -> Platform.runLater(() -> {
                     String checksumValue = options.get().includeFileNames()
                             ? String.join(System.lineSeparator(), output)
                             : extractDigestValue(output);
+                    if (stampBeforeHashing != null && checksumValue != null && !checksumValue.isBlank()) {
+                        try {
+                            getChecksumStore().put(file, options.get().algorithmLabel(), stampBeforeHashing,
+                                    HexFormat.of().parseHex(checksumValue.trim()));
+                        } catch (IllegalArgumentException ex) {
+                            logger.debug("Unexpected rhash output, not storing the checksum: {}", checksumValue);
+                        }
+                    }
                     if (checksumValue == null || checksumValue.isBlank()) {
                         showError("Checksum File", "No checksum value was returned by rhash.");
                     } else {
@@ -2510,8 +3292,12 @@ public class Commander {
             requestFocusedFileListFocus();
             return;
         }
+        if (options.get().builtInEngine()) {
+            runBuiltInChecksumFolder(selectedItem, options.get());
+            return;
+        }
 
-        Path rhashPath = Paths.get(System.getProperty("user.dir"), "apps", "checksum", "rhash.exe");
+        Path rhashPath = getRhashPath();
         if (!Files.exists(rhashPath)) {
             showError("Checksum Folder Contents", "rhash executable was not found at: " + rhashPath);
             requestFocusedFileListFocus();
@@ -2545,6 +3331,198 @@ public class Commander {
                 });
     }
 
+    private Path getRhashPath() {
+        return Paths.get(System.getProperty("user.dir"), "apps", "checksum", "rhash.exe");
+    }
+
+    /**
+     * Checksum File without rhash: one read pass computes the chosen type (or all of them).
+     */
+    private void runBuiltInChecksumFile(FileItem selectedItem, ChecksumOptions options) {
+        Path file = selectedItem.getFile().toPath();
+        Set<HashAlgorithm> algorithms = options.allAlgorithms()
+                ? EnumSet.allOf(HashAlgorithm.class)
+                : EnumSet.of(HashAlgorithm.fromLabel(options.algorithmLabel()).orElse(HashAlgorithm.SHA256));
+        int active = runningExternalCommands.incrementAndGet();
+        showExternalProgress(active, "Checksum " + selectedItem.getName());
+        Stopwatch stopwatch = new Stopwatch();
+        CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return HashEngine.hash(file, algorithms, getChecksumStore(), null);
+                    } catch (IOException ex) {
+                        throw new CompletionException(ex);
+                    }
+                })
+                .whenComplete((digests, throwable) -> Platform.runLater(() -> {
+                    int remaining = runningExternalCommands.updateAndGet(current -> Math.max(0, current - 1));
+                    hideOrUpdateExternalProgress(remaining);
+                    if (throwable != null) {
+                        Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                        showError("Checksum File", "Failed hashing file: " + cause.getMessage());
+                        requestFocusedFileListFocus();
+                        return;
+                    }
+                    logger.info("Hashed {} ({}) in {}", file, algorithms, stopwatch);
+                    List<String> lines = new ArrayList<>();
+                    digests.forEach((algorithm, digest) -> {
+                        String value = HashEngine.encode(digest, options.encoding());
+                        String line = options.includeFileNames() ? ChecksumFile.line(value, selectedItem.getName()) : value;
+                        lines.add(algorithms.size() > 1 ? algorithm.getLabel() + ": " + line : line);
+                    });
+                    showChecksumResultDialog(
+                            "Checksum File",
+                            selectedItem.getName(),
+                            options.allAlgorithms() ? "ALL" : options.algorithmLabel(),
+                            String.join(System.lineSeparator(), lines),
+                            selectedItem.getFile().getParentFile().toPath(),
+                            false
+                    );
+                    requestFocusedFileListFocus();
+                }));
+    }
+
+    /**
+     * Checksum Folder Contents without rhash: files are hashed in parallel and each line shows up as it is ready.
+     * Names are relative to the folder, so the saved file can be verified from there.
+     */
+    private void runBuiltInChecksumFolder(FileItem selectedItem, ChecksumOptions options) {
+        HashAlgorithm algorithm = HashAlgorithm.fromLabel(options.algorithmLabel()).orElse(HashAlgorithm.SHA256);
+        Path folder = selectedItem.getFile().toPath();
+        TextArea output = new TextArea();
+        TextAreaLineStreamer streamer = new TextAreaLineStreamer(output);
+        Label status = new Label("Hashing...");
+        FolderChecksum run = new FolderChecksum(folder, algorithm, getChecksumStore(), result -> {
+            if (result.error() != null) {
+                streamer.accept("# " + result.relativeName() + ": " + result.error());
+                return;
+            }
+            String value = HashEngine.encode(result.digest(), options.encoding());
+            streamer.accept(options.includeFileNames() ? ChecksumFile.line(value, result.relativeName()) : value);
+        });
+        Stopwatch stopwatch = new Stopwatch();
+        run.start().whenComplete((count, throwable) -> Platform.runLater(() -> {
+            streamer.flush();
+            if (throwable != null) {
+                logger.error("Folder checksum failed under: {}", folder, throwable);
+                status.setText("Failed: " + throwable.getMessage());
+            } else {
+                status.setText((run.isCancelled() ? "Stopped after " : "Hashed ") + count + " file(s) in " + stopwatch);
+            }
+        }));
+        showStreamingChecksumDialog("Checksum Folder Contents",
+                "Item: " + selectedItem.getName() + " | Type: " + algorithm.getLabel(), status, output, run,
+                buildChecksumOutputPath(folder, selectedItem.getName(), algorithm.getLabel(), true));
+        run.cancel();
+        requestFocusedFileListFocus();
+    }
+
+    /**
+     * Verifies the selected checksum file (GNU or BSD format) by re-hashing the listed files in parallel.
+     */
+    public void verifyChecksums() {
+        logger.info("Verify Checksums");
+        List<FileItem> selectedItems = commands.filterValidItems(new ArrayList<>(filesPanesHelper.getSelectedItems()));
+        if (selectedItems.size() != 1 || selectedItems.getFirst().isDirectory()) {
+            showError("Verify Checksums", "Select exactly one checksum file (e.g. file.sha256, SHA256SUMS).");
+            requestFocusedFileListFocus();
+            return;
+        }
+        Path checksumPath = selectedItems.getFirst().getFile().toPath();
+        List<ChecksumFile.Entry> entries;
+        try {
+            entries = ChecksumFile.parse(checksumPath);
+        } catch (IOException ex) {
+            error("Failed reading checksum file: " + checksumPath, ex);
+            return;
+        }
+        Optional<HashAlgorithm> algorithm = ChecksumFile.detectAlgorithm(checksumPath, entries);
+        if (entries.isEmpty() || algorithm.isEmpty()) {
+            showError("Verify Checksums", "No checksum lines were found in: " + checksumPath.getFileName());
+            requestFocusedFileListFocus();
+            return;
+        }
+
+        TextArea output = new TextArea();
+        TextAreaLineStreamer streamer = new TextAreaLineStreamer(output);
+        Label status = new Label("Verifying " + entries.size() + " file(s)...");
+        ChecksumVerifier verifier = new ChecksumVerifier(checksumPath.getParent(), entries, algorithm.get(),
+                result -> streamer.accept(result.name() + ": " + result.status()));
+        Stopwatch stopwatch = new Stopwatch();
+        verifier.start().whenComplete((notOk, throwable) -> Platform.runLater(() -> {
+            streamer.flush();
+            if (throwable != null) {
+                logger.error("Checksum verification failed: {}", checksumPath, throwable);
+                status.setText("Failed: " + throwable.getMessage());
+            } else if (verifier.isCancelled()) {
+                status.setText("Verification stopped");
+            } else {
+                status.setText(notOk == 0
+                        ? "All " + entries.size() + " file(s) OK (" + stopwatch + ")"
+                        : notOk + " of " + entries.size() + " file(s) FAILED, MISSING or UNREADABLE (" + stopwatch + ")");
+            }
+        }));
+        showStreamingChecksumDialog("Verify Checksums",
+                "Item: " + checksumPath.getFileName() + " | Type: " + algorithm.get().getLabel(), status, output, verifier, null);
+        verifier.cancel();
+        requestFocusedFileListFocus();
+    }
+
+    /**
+     * Shows the lines of a running checksum job; Stop cancels it, closing the dialog is up to the caller.
+     *
+     * @param savePath where "Save Value As File" writes the lines, null hides the button
+     */
+    private void showStreamingChecksumDialog(String titleText, String details, Label status, TextArea output,
+                                             CancellableSearch run, Path savePath) {
+        Dialog<Void> dialog = new Dialog<>();
+        dialog.setTitle(titleText);
+        dialog.setHeaderText(null);
+        ButtonType stopType = new ButtonType("Stop", ButtonBar.ButtonData.OTHER);
+        ButtonType closeType = new ButtonType("Close", ButtonBar.ButtonData.OK_DONE);
+        dialog.getDialogPane().getButtonTypes().addAll(stopType, closeType);
+
+        Label title = new Label(titleText);
+        title.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
+        output.setEditable(false);
+        output.setWrapText(false);
+        output.setPrefRowCount(16);
+
+        Button copyButton = new Button("Copy Value");
+        copyButton.setOnAction(event -> {
+            ClipboardContent content = new ClipboardContent();
+            content.putString(output.getText());
+            Clipboard.getSystemClipboard().setContent(content);
+        });
+        HBox actions = new HBox(8, copyButton);
+        if (savePath != null) {
+            Button saveAsButton = new Button("Save Value As File");
+            saveAsButton.setOnAction(event -> {
+                try {
+                    Files.createDirectories(savePath.getParent());
+                    Files.writeString(savePath, output.getText(), StandardCharsets.UTF_8);
+                    showInfo(titleText, "Saved checksum value as:\n" + savePath);
+                } catch (Exception ex) {
+                    showError(titleText, "Failed saving checksum file: " + ex.getMessage());
+                }
+            });
+            actions.getChildren().add(saveAsButton);
+        }
+
+        VBox content = new VBox(10, title, new Label(details), status, output, actions);
+        VBox.setVgrow(output, Priority.ALWAYS);
+        content.setPadding(new Insets(12));
+        dialog.getDialogPane().setContent(content);
+        dialog.getDialogPane().setPrefSize(860, 520);
+        dialog.setResizable(true);
+        Button stop = (Button) dialog.getDialogPane().lookupButton(stopType);
+        stop.addEventFilter(ActionEvent.ACTION, event -> {
+            run.cancel();
+            event.consume();
+        });
+        applyThemeToDialog(dialog);
+        dialog.showAndWait();
+    }
+
     @FXML
     public void unpackFile() {
         logger.info("UnPack (F12)");
@@ -2669,32 +3647,58 @@ public class Commander {
             return;
         }
 
-        Optional<CompareFoldersOptions> options = promptCompareFoldersOptions(leftRoot, rightRoot);
+        Optional<FolderCompare.Options> options = promptCompareFoldersOptions(leftRoot, rightRoot);
         if (options.isEmpty()) {
             return;
         }
 
-        try {
-            FolderCompareResult result = compareFolderTrees(leftRoot, rightRoot, options.get());
-            folderCompareMarks.put(LEFT, new HashMap<>(result.leftMarks()));
-            folderCompareMarks.put(RIGHT, new HashMap<>(result.rightMarks()));
-            filesPanesHelper.refreshFileListViews();
-            showInfo(
-                    "Compare Folders",
-                    "Only left: " + result.onlyLeftCount()
-                            + "\nOnly right: " + result.onlyRightCount()
-                            + "\nDifferent: " + result.differentCount()
-            );
-            requestFocusedFileListFocus();
-        } catch (Exception ex) {
-            showError("Compare Folders", "Failed comparing folders: " + ex.getMessage());
-            logger.warn("Failed comparing folders", ex);
-            requestFocusedFileListFocus();
+        clearFolderCompareHighlights(true);
+        CompareResultTree differences = new CompareResultTree(options.get().caseSensitiveNames());
+        comparedFolders = new ComparedFolders(leftRoot.toAbsolutePath().normalize(), rightRoot.toAbsolutePath().normalize(), differences);
+        AtomicBoolean refreshScheduled = new AtomicBoolean();
+        // Differences arrive from the compare workers; the panes are repainted in batches, one FX pulse at a time
+        Runnable refreshPanes = () -> {
+            refreshScheduled.set(false);
+            leftFileList.refresh();
+            rightFileList.refresh();
+        };
+
+        FolderCompare compare = new FolderCompare(leftRoot, rightRoot, options.get(), (relativePath, difference) -> {
+            differences.add(relativePath, difference);
+            if (refreshScheduled.compareAndSet(false, true)) {
+                Platform.runLater(refreshPanes);
+            }
+        });
+        if (options.get().checksum()) {
+            compare.withChecksumStore(getChecksumStore());
         }
+        activeFolderCompare = compare;
+        int active = runningExternalCommands.incrementAndGet();
+        showExternalProgress(active, "Compare Folders");
+        compare.start().whenComplete((summary, ex) -> Platform.runLater(() -> {
+            int remaining = runningExternalCommands.updateAndGet(current -> Math.max(0, current - 1));
+            hideOrUpdateExternalProgress(remaining);
+            if (activeFolderCompare == compare) {
+                activeFolderCompare = null;
+            }
+            if (ex != null) {
+                showError("Compare Folders", "Failed comparing folders: " + ex.getMessage());
+                logger.warn("Failed comparing folders", ex);
+            } else if (!summary.cancelled()) {
+                refreshPanes.run();
+                showInfo(
+                        "Compare Folders",
+                        "Only left: " + summary.onlyLeft()
+                                + "\nOnly right: " + summary.onlyRight()
+                                + "\nDifferent: " + summary.different()
+                );
+            }
+            requestFocusedFileListFocus();
+        }));
     }
 
-    private Optional<CompareFoldersOptions> promptCompareFoldersOptions(Path leftRoot, Path rightRoot) {
-        Dialog<CompareFoldersOptions> dialog = new Dialog<>();
+    private Optional<FolderCompare.Options> promptCompareFoldersOptions(Path leftRoot, Path rightRoot) {
+        Dialog<FolderCompare.Options> dialog = new Dialog<>();
         dialog.setTitle("Compare Folders");
         dialog.setHeaderText(null);
 
@@ -2741,7 +3745,7 @@ public class Commander {
             if (button != compareType) {
                 return null;
             }
-            return new CompareFoldersOptions(
+            return new FolderCompare.Options(
                     compareByDate.isSelected(),
                     checksum.isSelected(),
                     recursive.isSelected(),
@@ -2751,175 +3755,500 @@ public class Commander {
         return dialog.showAndWait();
     }
 
-    private FolderCompareResult compareFolderTrees(Path leftRoot, Path rightRoot, CompareFoldersOptions options) throws IOException {
-        Map<String, FolderEntry> leftEntries = collectFolderEntries(leftRoot, options);
-        Map<String, FolderEntry> rightEntries = collectFolderEntries(rightRoot, options);
+    /**
+     * Synchronizes the two pane folders: compares them, previews the resulting plan and runs it with a parallel copy.
+     */
+    public void syncFolders() {
+        logger.info("Synchronize Folders");
 
-        Set<String> allKeys = new TreeSet<>();
-        allKeys.addAll(leftEntries.keySet());
-        allKeys.addAll(rightEntries.keySet());
+        Path leftRoot = Paths.get(filesPanesHelper.getPath(LEFT));
+        Path rightRoot = Paths.get(filesPanesHelper.getPath(RIGHT));
+        if (!Files.isDirectory(leftRoot) || !Files.isDirectory(rightRoot) || leftRoot.equals(rightRoot)) {
+            showError("Synchronize Folders", "Both panel paths must be valid, different folders.");
+            return;
+        }
+        if (activeFolderSync != null) {
+            showError("Synchronize Folders", "A synchronization is already running.");
+            return;
+        }
 
-        Map<String, FolderCompareMark> leftMarks = new HashMap<>();
-        Map<String, FolderCompareMark> rightMarks = new HashMap<>();
-        int onlyLeft = 0;
-        int onlyRight = 0;
-        int different = 0;
-        Map<String, String> checksumCache = new HashMap<>();
+        Optional<FolderSync.Options> options = promptSyncFoldersOptions(leftRoot, rightRoot);
+        if (options.isEmpty()) {
+            requestFocusedFileListFocus();
+            return;
+        }
 
-        for (String key : allKeys) {
-            FolderEntry left = leftEntries.get(key);
-            FolderEntry right = rightEntries.get(key);
+        FolderSync sync = new FolderSync(leftRoot, rightRoot);
+        activeFolderSync = sync;
+        int active = runningExternalCommands.incrementAndGet();
+        showExternalProgress(active, "Synchronize Folders (comparing)");
+        sync.plan(options.get(), options.get().compare().checksum() ? getChecksumStore() : null)
+                .whenComplete((plan, ex) -> Platform.runLater(() -> {
+                    int remaining = runningExternalCommands.updateAndGet(current -> Math.max(0, current - 1));
+                    hideOrUpdateExternalProgress(remaining);
+                    if (ex != null || sync.isCancelled()) {
+                        activeFolderSync = null;
+                        if (ex != null) {
+                            logger.warn("Failed comparing folders for sync", ex);
+                            showError("Synchronize Folders", "Failed comparing folders: " + ex.getMessage());
+                        }
+                        requestFocusedFileListFocus();
+                        return;
+                    }
+                    if (!confirmSyncPlan(plan, leftRoot, rightRoot)) {
+                        activeFolderSync = null;
+                        requestFocusedFileListFocus();
+                        return;
+                    }
+                    executeSync(sync, plan);
+                }));
+    }
 
-            if (left == null) {
-                onlyRight++;
-                mark(rightMarks, right.topLevelPath(), FolderCompareMark.RIGHT_ONLY);
-                continue;
-            }
-            if (right == null) {
-                onlyLeft++;
-                mark(leftMarks, left.topLevelPath(), FolderCompareMark.LEFT_ONLY);
-                continue;
-            }
-            if (left.directory() != right.directory()) {
-                different++;
-                mark(leftMarks, left.topLevelPath(), FolderCompareMark.DIFFERENT);
-                mark(rightMarks, right.topLevelPath(), FolderCompareMark.DIFFERENT);
-                continue;
+    private void executeSync(FolderSync sync, List<FolderSync.Step> plan) {
+        int active = runningExternalCommands.incrementAndGet();
+        showExternalProgress(active, "Synchronize Folders");
+        AtomicBoolean progressScheduled = new AtomicBoolean();
+        AtomicReference<String> progressText = new AtomicReference<>("");
+        AtomicReference<Double> progressFraction = new AtomicReference<>(0.0);
+        sync.execute(plan, (doneFiles, totalFiles, doneBytes, totalBytes) -> {
+            progressText.set("Synchronizing: " + doneFiles + "/" + totalFiles + " files, " + humanSize(doneBytes) + " of " + humanSize(totalBytes));
+            progressFraction.set(totalBytes > 0 ? (double) doneBytes / totalBytes : (double) doneFiles / Math.max(1, totalFiles));
+            if (progressScheduled.compareAndSet(false, true)) {
+                Platform.runLater(() -> {
+                    progressScheduled.set(false);
+                    if (runningExternalCommands.get() == 1 && externalProgressLabel != null && externalProgressBar != null) {
+                        externalProgressLabel.setText(progressText.get());
+                        externalProgressBar.setProgress(progressFraction.get());
+                    }
+                });
             }
-            if (left.directory()) {
-                continue;
+        }).whenComplete((summary, ex) -> Platform.runLater(() -> {
+            activeFolderSync = null;
+            int remaining = runningExternalCommands.updateAndGet(current -> Math.max(0, current - 1));
+            hideOrUpdateExternalProgress(remaining);
+            filesPanesHelper.refreshFileListViews();
+            if (ex != null) {
+                logger.warn("Folder sync failed", ex);
+                showError("Synchronize Folders", "Synchronization failed: " + ex.getMessage());
+            } else {
+                StringBuilder message = new StringBuilder((summary.cancelled() ? "Stopped." : "Done.")
+                        + "\nCopied: " + summary.copiedFiles() + " file(s), " + humanSize(summary.copiedBytes())
+                        + "\nDeleted: " + summary.deleted());
+                if (!summary.problems().isEmpty()) {
+                    message.append("\nProblems: ").append(summary.problems().size());
+                    summary.problems().stream().limit(10).forEach(problem -> message.append("\n  ").append(problem));
+                }
+                if (summary.problems().isEmpty()) {
+                    showInfo("Synchronize Folders", message.toString());
+                } else {
+                    showError("Synchronize Folders", message.toString());
+                }
             }
-            if (left.size() != right.size()) {
-                different++;
-                mark(leftMarks, left.topLevelPath(), FolderCompareMark.DIFFERENT);
-                mark(rightMarks, right.topLevelPath(), FolderCompareMark.DIFFERENT);
-                continue;
+            requestFocusedFileListFocus();
+        }));
+    }
+
+    private Optional<FolderSync.Options> promptSyncFoldersOptions(Path leftRoot, Path rightRoot) {
+        Dialog<FolderSync.Options> dialog = new Dialog<>();
+        dialog.setTitle("Synchronize Folders");
+        dialog.setHeaderText(null);
+
+        ButtonType compareType = new ButtonType("Compare", ButtonBar.ButtonData.OK_DONE);
+        dialog.getDialogPane().getButtonTypes().addAll(compareType, ButtonType.CANCEL);
+
+        Label title = new Label("Synchronize Folders");
+        title.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
+        Label subtitle = new Label("Left: " + leftRoot + " | Right: " + rightRoot);
+        subtitle.setWrapText(true);
+
+        ToggleGroup directionGroup = new ToggleGroup();
+        RadioButton leftToRight = new RadioButton("Left \u2192 Right");
+        leftToRight.setToggleGroup(directionGroup);
+        RadioButton rightToLeft = new RadioButton("Right \u2192 Left");
+        rightToLeft.setToggleGroup(directionGroup);
+        RadioButton both = new RadioButton("Both ways (newer file wins)");
+        both.setToggleGroup(directionGroup);
+        leftToRight.setSelected(true);
+        CheckBox deleteOrphans = new CheckBox("Delete files that exist on the target side only (mirror)");
+        CheckBox onlyNewer = new CheckBox("Overwrite only when the source file is newer");
+        onlyNewer.setSelected(true);
+        directionGroup.selectedToggleProperty().addListener((obs, oldValue, newValue) -> {
+            deleteOrphans.setDisable(newValue == both);
+            onlyNewer.setDisable(newValue == both);
+        });
+        CheckBox compareByDate = new CheckBox("Compare also by date");
+        compareByDate.setSelected(true);
+        CheckBox checksum = new CheckBox("Checksum same-size files for comparison (slower)");
+        CheckBox caseSensitive = new CheckBox("Case-sensitive filename matching");
+
+        VBox content = new VBox(
+                10,
+                title,
+                subtitle,
+                new Separator(),
+                new HBox(16, leftToRight, rightToLeft, both),
+                deleteOrphans,
+                onlyNewer,
+                new Separator(),
+                compareByDate,
+                checksum,
+                caseSensitive
+        );
+        content.setPadding(new Insets(12));
+        dialog.getDialogPane().setContent(content);
+        dialog.getDialogPane().setPrefSize(700, 400);
+        applyThemeToDialog(dialog);
+        Button compareButton = (Button) dialog.getDialogPane().lookupButton(compareType);
+        dialog.getDialogPane().addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() != KeyCode.ENTER) {
+                return;
             }
-            if (options.compareByDate() && left.modifiedMillis() != right.modifiedMillis()) {
-                different++;
-                mark(leftMarks, left.topLevelPath(), FolderCompareMark.DIFFERENT);
-                mark(rightMarks, right.topLevelPath(), FolderCompareMark.DIFFERENT);
-                continue;
+            if (compareButton != null && !compareButton.isDisabled()) {
+                compareButton.fire();
             }
-            if (options.checksum()) {
-                String leftChecksum = getOrComputeChecksum(checksumCache, left.absolutePath());
-                String rightChecksum = getOrComputeChecksum(checksumCache, right.absolutePath());
-                if (!Objects.equals(leftChecksum, rightChecksum)) {
-                    different++;
-                    mark(leftMarks, left.topLevelPath(), FolderCompareMark.DIFFERENT);
-                    mark(rightMarks, right.topLevelPath(), FolderCompareMark.DIFFERENT);
-                }
+            event.consume();
+        });
+
+        dialog.setResultConverter(button -> {
+            if (button != compareType) {
+                return null;
             }
+            FolderSync.Direction direction = both.isSelected() ? FolderSync.Direction.BOTH
+                    : rightToLeft.isSelected() ? FolderSync.Direction.RIGHT_TO_LEFT : FolderSync.Direction.LEFT_TO_RIGHT;
+            return new FolderSync.Options(
+                    direction,
+                    direction != FolderSync.Direction.BOTH && deleteOrphans.isSelected(),
+                    direction != FolderSync.Direction.BOTH && onlyNewer.isSelected(),
+                    new FolderCompare.Options(compareByDate.isSelected(), checksum.isSelected(), true, caseSensitive.isSelected())
+            );
+        });
+        return dialog.showAndWait();
+    }
+
+    /**
+     * Previews the sync plan.
+     *
+     * @return whether to run it
+     */
+    private boolean confirmSyncPlan(List<FolderSync.Step> plan, Path leftRoot, Path rightRoot) {
+        Map<FolderSync.Operation, Long> counts = new EnumMap<>(FolderSync.Operation.class);
+        long bytes = 0;
+        for (FolderSync.Step step : plan) {
+            counts.merge(step.operation(), 1L, Long::sum);
+            bytes += step.bytes();
+        }
+        long actionable = plan.size() - counts.getOrDefault(FolderSync.Operation.CONFLICT, 0L);
+        if (plan.isEmpty()) {
+            showInfo("Synchronize Folders", "The folders are already in sync.");
+            return false;
         }
 
-        return new FolderCompareResult(leftMarks, rightMarks, onlyLeft, onlyRight, different);
+        ListView<FolderSync.Step> stepList = new ListView<>();
+        stepList.getItems().setAll(plan);
+        stepList.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(FolderSync.Step item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setText(null);
+                    return;
+                }
+                String operation = switch (item.operation()) {
+                    case COPY_TO_RIGHT -> "copy \u2192   ";
+                    case COPY_TO_LEFT -> "copy   \u2190 ";
+                    case DELETE_LEFT -> "delete left ";
+                    case DELETE_RIGHT -> "delete right";
+                    case CONFLICT -> "conflict    ";
+                };
+                String size = item.operation() == FolderSync.Operation.COPY_TO_LEFT || item.operation() == FolderSync.Operation.COPY_TO_RIGHT
+                        ? "  (" + humanSize(item.bytes()) + ")" : "";
+                setText(operation + "  " + item.relativePath() + (item.directory() ? "/" : "") + size);
+            }
+        });
+        stepList.setStyle("-fx-font-family: 'Consolas', 'monospace';");
+        stepList.setPrefSize(980, 420);
+
+        Label summary = new Label("Left: " + leftRoot + " | Right: " + rightRoot
+                + "\nCopy \u2192: " + counts.getOrDefault(FolderSync.Operation.COPY_TO_RIGHT, 0L)
+                + " | Copy \u2190: " + counts.getOrDefault(FolderSync.Operation.COPY_TO_LEFT, 0L)
+                + " | Delete left: " + counts.getOrDefault(FolderSync.Operation.DELETE_LEFT, 0L)
+                + " | Delete right: " + counts.getOrDefault(FolderSync.Operation.DELETE_RIGHT, 0L)
+                + " | Conflicts (skipped): " + counts.getOrDefault(FolderSync.Operation.CONFLICT, 0L)
+                + " | To copy: " + humanSize(bytes));
+        summary.setWrapText(true);
+
+        VBox content = new VBox(8, summary, stepList);
+        VBox.setVgrow(stepList, Priority.ALWAYS);
+
+        Dialog<Boolean> dialog = new Dialog<>();
+        dialog.setTitle("Synchronize Folders");
+        DialogPane pane = dialog.getDialogPane();
+        pane.setContent(content);
+        ButtonType syncType = new ButtonType("Synchronize", ButtonBar.ButtonData.OK_DONE);
+        pane.getButtonTypes().addAll(syncType, ButtonType.CANCEL);
+        pane.setPrefSize(1020, 560);
+        pane.lookupButton(syncType).setDisable(actionable == 0);
+        dialog.setResizable(true);
+        dialog.setResultConverter(buttonType -> buttonType == syncType);
+        applyThemeToDialog(dialog);
+        return dialog.showAndWait().orElse(false);
     }
 
-    private Map<String, FolderEntry> collectFolderEntries(Path root, CompareFoldersOptions options) throws IOException {
-        Map<String, FolderEntry> entries = new HashMap<>();
-        if (!options.recursive()) {
-            try (var stream = Files.list(root)) {
-                stream.forEach(path -> addFolderEntry(entries, root, path, options));
-            }
-            return entries;
+    /**
+     * Finds files with identical content under the pane folders; groups stream into a results view offering
+     * bulk actions that keep the newest copy of each group.
+     */
+    public void findDuplicates() {
+        logger.info("Find Duplicates");
+        Path focusedRoot = Paths.get(filesPanesHelper.getFocusedPath());
+        Path otherRoot = Paths.get(filesPanesHelper.getUnfocusedPath());
+        if (!Files.isDirectory(focusedRoot)) {
+            showError("Find Duplicates", "The focused panel path must be a valid folder.");
+            return;
         }
-        try (var stream = Files.walk(root)) {
-            stream
-                    .filter(path -> !path.equals(root))
-                    .forEach(path -> addFolderEntry(entries, root, path, options));
+
+        Optional<DuplicateSearchRequest> request = promptDuplicateSearch(focusedRoot, Files.isDirectory(otherRoot) ? otherRoot : null);
+        if (request.isEmpty()) {
+            requestFocusedFileListFocus();
+            return;
         }
-        return entries;
-    }
 
-    private void addFolderEntry(Map<String, FolderEntry> entries, Path root, Path path, CompareFoldersOptions options) {
-        String relative = root.relativize(path).toString().replace('\\', '/');
-        String key = options.caseSensitiveNames() ? relative : relative.toLowerCase(Locale.ROOT);
-        String topLevelName = extractTopLevelName(relative);
-        boolean directory = Files.isDirectory(path);
-        long size = 0L;
-        long modified = 0L;
-        if (!directory) {
-            try {
-                size = Files.size(path);
-            } catch (IOException ignored) {
-                size = 0L;
+        TreeItem<DuplicateRow> treeRoot = new TreeItem<>();
+        TreeView<DuplicateRow> tree = new TreeView<>(treeRoot);
+        Label status = new Label("Searching...");
+        FxBatcher<DuplicateRow> groupBatcher = new FxBatcher<>(headers -> {
+            for (DuplicateRow header : headers) {
+                TreeItem<DuplicateRow> groupItem = new TreeItem<>(header);
+                for (Path file : header.group().files()) {
+                    groupItem.getChildren().add(new TreeItem<>(new DuplicateRow(header.group(), file, header.kept())));
+                }
+                groupItem.setExpanded(true);
+                treeRoot.getChildren().add(groupItem);
             }
-        }
-        try {
-            modified = Files.getLastModifiedTime(path).toMillis();
-        } catch (IOException ignored) {
-            modified = 0L;
-        }
-        entries.putIfAbsent(
-                key,
-                new FolderEntry(path.toAbsolutePath().normalize(), root.resolve(topLevelName).toAbsolutePath().normalize(), directory, size, modified)
-        );
-    }
+            status.setText("Searching... " + treeRoot.getChildren().size() + " group(s) of duplicates");
+        });
 
-    private String extractTopLevelName(String relativePath) {
-        int slash = relativePath.indexOf('/');
-        if (slash < 0) {
-            return relativePath;
+        DuplicateFinder finder = new DuplicateFinder(request.get().roots(), request.get().options(), group -> {
+            // the finder's thread reads the modification times, so rendering a row never touches the disk
+            groupBatcher.accept(new DuplicateRow(group, null, DuplicateActions.newest(group.files())));
+        }).withChecksumStore(getChecksumStore());
+        int active = runningExternalCommands.incrementAndGet();
+        showExternalProgress(active, "Find Duplicates");
+        Stopwatch stopwatch = new Stopwatch();
+        finder.start().whenComplete((count, ex) -> Platform.runLater(() -> {
+            int remaining = runningExternalCommands.updateAndGet(current -> Math.max(0, current - 1));
+            hideOrUpdateExternalProgress(remaining);
+            groupBatcher.flush();
+            if (ex != null) {
+                logger.error("Duplicate search failed under: {}", request.get().roots(), ex);
+                status.setText("Search failed: " + ex.getMessage());
+            } else if (count == 0) {
+                status.setText(finder.isCancelled() ? "Search cancelled" : "No duplicates found :-)");
+            } else {
+                status.setText((finder.isCancelled() ? "Stopped after " : "Found ") + count + " group(s), "
+                        + humanSize(finder.getWastedBytes()) + " reclaimable, in " + stopwatch);
+            }
+        }));
+
+        Path selected = showDuplicatesDialog(tree, status, finder, Paths.get(filesPanesHelper.getUnfocusedPath()).toAbsolutePath().normalize());
+        finder.cancel();
+        filesPanesHelper.refreshFileListViews();
+        if (selected == null) {
+            requestFocusedFileListFocus();
+            return;
         }
-        return relativePath.substring(0, slash);
+        FileItem selectedFile = new FileItem(selected.toFile());
+        filesPanesHelper.setFocusedFileListPath(selectedFile.getFile().getParent());
+        filesPanesHelper.selectFileItem(true, selectedFile);
+        requestFocusedFileListFocus();
     }
 
-    private String getOrComputeChecksum(Map<String, String> cache, Path file) throws IOException {
-        String cacheKey = normalizePathKey(file);
-        String existing = cache.get(cacheKey);
-        if (existing != null) {
-            return existing;
-        }
-        String computed = checksumSha256(file);
-        cache.put(cacheKey, computed);
-        return computed;
+    private Optional<DuplicateSearchRequest> promptDuplicateSearch(Path focusedRoot, Path otherRoot) {
+        Dialog<DuplicateSearchRequest> dialog = new Dialog<>();
+        dialog.setTitle("Find Duplicates");
+        dialog.setHeaderText(null);
+
+        ButtonType searchType = new ButtonType("Search", ButtonBar.ButtonData.OK_DONE);
+        dialog.getDialogPane().getButtonTypes().addAll(searchType, ButtonType.CANCEL);
+
+        Label title = new Label("Find Duplicates");
+        title.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
+        ToggleGroup scope = new ToggleGroup();
+        RadioButton focusedOnly = new RadioButton("Focused panel: " + focusedRoot);
+        focusedOnly.setToggleGroup(scope);
+        RadioButton bothPanes = new RadioButton("Both panels: " + focusedRoot + " + " + otherRoot);
+        bothPanes.setToggleGroup(scope);
+        bothPanes.setDisable(otherRoot == null || otherRoot.equals(focusedRoot));
+        focusedOnly.setSelected(true);
+        CheckBox skipEmpty = new CheckBox("Ignore empty files");
+        skipEmpty.setSelected(true);
+        CheckBox includeHidden = new CheckBox("Include hidden files and folders");
+
+        VBox content = new VBox(10, title, new Separator(), focusedOnly, bothPanes, new Separator(), skipEmpty, includeHidden);
+        content.setPadding(new Insets(12));
+        dialog.getDialogPane().setContent(content);
+        dialog.getDialogPane().setPrefSize(700, 300);
+        applyThemeToDialog(dialog);
+        Button searchButton = (Button) dialog.getDialogPane().lookupButton(searchType);
+        dialog.getDialogPane().addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() != KeyCode.ENTER) {
+                return;
+            }
+            if (searchButton != null && !searchButton.isDisabled()) {
+                searchButton.fire();
+            }
+            event.consume();
+        });
+
+        dialog.setResultConverter(button -> {
+            if (button != searchType) {
+                return null;
+            }
+            List<Path> roots = bothPanes.isSelected() ? List.of(focusedRoot, otherRoot) : List.of(focusedRoot);
+            return new DuplicateSearchRequest(roots, new DuplicateFinder.Options(skipEmpty.isSelected() ? 1 : 0, includeHidden.isSelected()));
+        });
+        return dialog.showAndWait();
     }
 
-    private String checksumSha256(Path file) throws IOException {
-        MessageDigest digest;
-        try {
-            digest = MessageDigest.getInstance("SHA-256");
-        } catch (NoSuchAlgorithmException ex) {
-            throw new IllegalStateException("SHA-256 algorithm is not available", ex);
-        }
-        try (DigestInputStream dis = new DigestInputStream(Files.newInputStream(file), digest)) {
-            byte[] buffer = new byte[8192];
-            while (dis.read(buffer) != -1) {
-                // consume stream
+    /**
+     * Shows the duplicate groups as they arrive; bulk actions apply to the groups of the selected rows.
+     *
+     * @return the file to go to, or null
+     */
+    private Path showDuplicatesDialog(TreeView<DuplicateRow> tree, Label status, DuplicateFinder finder, Path moveTarget) {
+        tree.setShowRoot(false);
+        tree.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        tree.setCellFactory(view -> new TreeCell<>() {
+            @Override
+            protected void updateItem(DuplicateRow item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setText(null);
+                } else if (item.file() == null) {
+                    setText(item.group().files().size() + " x " + humanSize(item.group().size())
+                            + "  (" + humanSize(item.group().wastedBytes()) + " reclaimable)");
+                } else {
+                    boolean kept = item.file().equals(item.kept());
+                    setText((kept ? "[keep] " : "       ") + item.file());
+                }
             }
-        }
-        byte[] hash = digest.digest();
-        StringBuilder sb = new StringBuilder(hash.length * 2);
-        for (byte b : hash) {
-            sb.append(String.format("%02x", b));
-        }
-        return sb.toString();
+        });
+        tree.setPrefSize(980, 420);
+
+        Button deleteButton = new Button("Delete All But Newest");
+        deleteButton.setOnAction(event -> runDuplicateAction(tree, status, DuplicateActions.Action.DELETE, moveTarget));
+        Button hardLinkButton = new Button("Hard-Link to Newest");
+        hardLinkButton.setOnAction(event -> runDuplicateAction(tree, status, DuplicateActions.Action.HARD_LINK, moveTarget));
+        Button moveButton = new Button("Move All But Newest to " + moveTarget);
+        moveButton.setOnAction(event -> runDuplicateAction(tree, status, DuplicateActions.Action.MOVE, moveTarget));
+        HBox actions = new HBox(8, deleteButton, hardLinkButton, moveButton);
+
+        VBox content = new VBox(8, status, tree, new Label("Select rows (Ctrl+A for all) and pick an action:"), actions);
+        VBox.setVgrow(tree, Priority.ALWAYS);
+
+        Dialog<Path> dialog = new Dialog<>();
+        dialog.setTitle("Find Duplicates");
+        DialogPane pane = dialog.getDialogPane();
+        pane.setContent(content);
+        ButtonType goToFileButton = new ButtonType("Go to File", ButtonBar.ButtonData.OK_DONE);
+        ButtonType stopButton = new ButtonType("Stop", ButtonBar.ButtonData.OTHER);
+        pane.getButtonTypes().addAll(goToFileButton, stopButton, ButtonType.CANCEL);
+        pane.setPrefSize(1020, 620);
+        dialog.setResizable(true);
+        dialog.setResultConverter(buttonType -> buttonType == goToFileButton ? selectedDuplicateFile(tree) : null);
+        dialog.setOnShown(event -> Platform.runLater(tree::requestFocus));
+
+        Button stop = (Button) pane.lookupButton(stopButton);
+        stop.addEventFilter(ActionEvent.ACTION, event -> {
+            finder.cancel();
+            event.consume();
+        });
+
+        pane.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == KeyCode.ESCAPE) {
+                dialog.setResult(null);
+                dialog.close();
+                event.consume();
+                return;
+            }
+            if (event.getCode() == KeyCode.ENTER && selectedDuplicateFile(tree) != null) {
+                dialog.setResult(selectedDuplicateFile(tree));
+                dialog.close();
+                event.consume();
+            }
+        });
+
+        applyThemeToDialog(dialog);
+        return dialog.showAndWait().orElse(null);
     }
 
-    private void mark(Map<String, FolderCompareMark> marks, Path topLevelPath, FolderCompareMark mark) {
-        if (topLevelPath == null) {
-            return;
-        }
-        String key = normalizePathKey(topLevelPath);
-        FolderCompareMark existing = marks.get(key);
-        if (existing == FolderCompareMark.DIFFERENT || existing == mark) {
+    private Path selectedDuplicateFile(TreeView<DuplicateRow> tree) {
+        TreeItem<DuplicateRow> selected = tree.getSelectionModel().getSelectedItem();
+        return selected == null || selected.getValue() == null ? null : selected.getValue().file();
+    }
+
+    private void runDuplicateAction(TreeView<DuplicateRow> tree, Label status, DuplicateActions.Action action, Path moveTarget) {
+        List<TreeItem<DuplicateRow>> groupItems = tree.getSelectionModel().getSelectedItems().stream()
+                .filter(Objects::nonNull)
+                .map(item -> item.getValue() != null && item.getValue().file() == null ? item : item.getParent())
+                .filter(item -> item != null && item.getValue() != null)
+                .distinct()
+                .toList();
+        if (groupItems.isEmpty()) {
+            showInfo("Find Duplicates", "Select the groups (or files of the groups) to apply the action to.");
             return;
         }
-        if ((existing == FolderCompareMark.LEFT_ONLY && mark == FolderCompareMark.RIGHT_ONLY)
-                || (existing == FolderCompareMark.RIGHT_ONLY && mark == FolderCompareMark.LEFT_ONLY)) {
-            marks.put(key, FolderCompareMark.DIFFERENT);
+        List<DuplicateFinder.Group> groups = groupItems.stream().map(item -> item.getValue().group()).toList();
+        int copies = groups.stream().mapToInt(group -> group.files().size() - 1).sum();
+        String what = switch (action) {
+            case DELETE -> "Delete " + copies + " duplicate file(s)";
+            case HARD_LINK -> "Replace " + copies + " duplicate file(s) with hard links";
+            case MOVE -> "Move " + copies + " duplicate file(s) to " + moveTarget;
+        };
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION, what + " in " + groups.size()
+                + " group(s), keeping the newest copy of each?", ButtonType.OK, ButtonType.CANCEL);
+        confirm.setTitle("Find Duplicates");
+        confirm.setHeaderText(null);
+        applyThemeToDialog(confirm);
+        if (confirm.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) {
             return;
         }
-        marks.put(key, mark);
+
+        status.setText("Working on " + copies + " duplicate file(s)...");
+        int active = runningExternalCommands.incrementAndGet();
+        showExternalProgress(active, "Duplicates: " + action.name().toLowerCase(Locale.ROOT).replace('_', ' '));
+        CompletableFuture.supplyAsync(() -> DuplicateActions.apply(groups, action, moveTarget, getChecksumStore()))
+                .whenComplete((result, ex) -> Platform.runLater(() -> {
+                    int remaining = runningExternalCommands.updateAndGet(current -> Math.max(0, current - 1));
+                    hideOrUpdateExternalProgress(remaining);
+                    if (ex != null) {
+                        showError("Find Duplicates", "Failed: " + ex.getMessage());
+                        return;
+                    }
+                    tree.getSelectionModel().clearSelection();
+                    tree.getRoot().getChildren().removeAll(groupItems);
+                    status.setText("Handled " + result.handled() + " duplicate file(s), " + result.problems().size() + " skipped or failed");
+                    if (!result.problems().isEmpty()) {
+                        showError("Find Duplicates", String.join("\n", result.problems().subList(0, Math.min(20, result.problems().size())))
+                                + (result.problems().size() > 20 ? "\n..." : ""));
+                    }
+                }));
     }
 
-    private String normalizePathKey(Path path) {
-        return path.toAbsolutePath().normalize().toString().toLowerCase(Locale.ROOT);
+    private boolean isUnder(String path, Path root) {
+        try {
+            return Paths.get(path).toAbsolutePath().normalize().startsWith(root);
+        } catch (InvalidPathException ex) {
+            return false; // e.g. a path inside an archive
+        }
     }
 
     private void clearFolderCompareHighlights(boolean refresh) {
-        folderCompareMarks.computeIfAbsent(LEFT, unused -> new HashMap<>()).clear();
-        folderCompareMarks.computeIfAbsent(RIGHT, unused -> new HashMap<>()).clear();
+        if (activeFolderCompare != null) {
+            activeFolderCompare.cancel();
+            activeFolderCompare = null;
+        }
+        comparedFolders = null;
         if (refresh) {
             filesPanesHelper.refreshFileListViews();
         }
@@ -3099,10 +4428,7 @@ public class Commander {
 
     private void applyIncrementalFilter(FilesPanesHelper.FocusSide side, String prefix) {
         List<FileItem> baseItems = incrementalFilterBases.getOrDefault(side, List.of());
-        List<FileItem> filteredItems = baseItems.stream()
-                .filter(item -> "..".equals(item.getPresentableFilename())
-                        || item.getPresentableFilename().toLowerCase(Locale.ROOT).startsWith(prefix))
-                .toList();
+        List<FileItem> filteredItems = FileHelper.filterByNamePrefix(baseItems, prefix);
 
         ListView<FileItem> listView = side == LEFT ? leftFileList : rightFileList;
         listView.getItems().setAll(filteredItems);
@@ -3128,11 +4454,7 @@ public class Commander {
             return currentItems.equals(baseItems);
         }
 
-        List<FileItem> expectedItems = baseItems.stream()
-                .filter(item -> "..".equals(item.getPresentableFilename())
-                        || item.getPresentableFilename().toLowerCase(Locale.ROOT).startsWith(prefix))
-                .toList();
-        return currentItems.equals(expectedItems);
+        return currentItems.equals(FileHelper.filterByNamePrefix(baseItems, prefix));
     }
 
     private void showIncrementalFilterPopup(String prefix) {
@@ -3399,6 +4721,38 @@ public class Commander {
         }
     }
 
+    private void loadRecentFoldersFromProperties() {
+        recentFolders.clear();
+        properties.stringPropertyNames().stream()
+                .filter(key -> key.startsWith(RECENT_FOLDER_KEY_PREFIX))
+                .sorted(Comparator.comparingInt(key -> parseIntOrMax(key.substring(RECENT_FOLDER_KEY_PREFIX.length()))))
+                .map(key -> properties.getProperty(key, "").trim())
+                .filter(path -> !path.isEmpty() && !recentFolders.contains(path))
+                .limit(MAX_RECENT_FOLDERS)
+                .forEach(recentFolders::addLast);
+    }
+
+    private void syncRecentFoldersToProperties() {
+        List<String> keysToRemove = properties.stringPropertyNames().stream()
+                .filter(key -> key.startsWith(RECENT_FOLDER_KEY_PREFIX))
+                .toList();
+        for (String key : keysToRemove) {
+            properties.remove(key);
+        }
+        int index = 0;
+        for (String path : recentFolders) {
+            properties.setProperty(RECENT_FOLDER_KEY_PREFIX + index++, path);
+        }
+    }
+
+    private static int parseIntOrMax(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
     public CompletableFuture<List<String>> runExternal(List<String> command, boolean refreshAfter) {
         return commands.runExternal(command, refreshAfter);
     }
@@ -3766,11 +5120,13 @@ public class Commander {
         RadioButton sha256 = new RadioButton("SHA256");
         RadioButton sha512 = new RadioButton("SHA512");
         RadioButton crc32 = new RadioButton("CRC32");
+        RadioButton crc32c = new RadioButton("CRC32C");
         md5.setToggleGroup(hashToggle);
         sha1.setToggleGroup(hashToggle);
         sha256.setToggleGroup(hashToggle);
         sha512.setToggleGroup(hashToggle);
         crc32.setToggleGroup(hashToggle);
+        crc32c.setToggleGroup(hashToggle);
         sha256.setSelected(true);
 
         GridPane hashGrid = new GridPane();
@@ -3781,12 +5137,34 @@ public class Commander {
         hashGrid.add(sha256, 0, 1);
         hashGrid.add(sha512, 1, 1);
         hashGrid.add(crc32, 0, 2);
+        hashGrid.add(crc32c, 1, 2);
 
         CheckBox outputBase32 = new CheckBox("Output as Base32");
         CheckBox outputBase64 = new CheckBox("Output as Base64");
         CheckBox includeFileNames = new CheckBox("Include file names in output");
         includeFileNames.setSelected(includeNamesByDefault);
 
+        boolean folderMode = includeNamesByDefault;
+        CheckBox allAlgorithms = new CheckBox("Compute all types in one pass (built-in)");
+        allAlgorithms.setVisible(!folderMode);
+        allAlgorithms.setManaged(!folderMode);
+
+        boolean rhashAvailable = Files.isRegularFile(getRhashPath());
+        ToggleGroup engineGroup = new ToggleGroup();
+        RadioButton rhashEngine = new RadioButton(rhashAvailable ? "rhash" : "rhash (not found)");
+        RadioButton builtInEngine = new RadioButton(folderMode ? "Built-in (parallel, streams results)" : "Built-in");
+        rhashEngine.setToggleGroup(engineGroup);
+        builtInEngine.setToggleGroup(engineGroup);
+        rhashEngine.setDisable(!rhashAvailable);
+        engineGroup.selectToggle(rhashAvailable ? rhashEngine : builtInEngine);
+        allAlgorithms.selectedProperty().addListener((obs, oldValue, selected) -> {
+            if (selected) {
+                engineGroup.selectToggle(builtInEngine);
+            }
+            rhashEngine.setDisable(selected || !rhashAvailable);
+            hashGrid.setDisable(selected);
+        });
+
         outputBase32.selectedProperty().addListener((obs, oldValue, selected) -> {
             if (selected) {
                 outputBase64.setSelected(false);
@@ -3809,7 +5187,9 @@ public class Commander {
                 new Label("Options:"),
                 outputBase32,
                 outputBase64,
-                includeFileNames
+                includeFileNames,
+                allAlgorithms,
+                new HBox(12, new Label("Engine:"), rhashEngine, builtInEngine)
         );
         content.setPadding(new Insets(12));
         dialog.getDialogPane().setContent(content);
@@ -3824,13 +5204,16 @@ public class Commander {
                 return null;
             }
 
-            return switch (selectedButton.getText()) {
-                case "MD5" -> new ChecksumOptions("--md5", "MD5", outputBase32.isSelected(), outputBase64.isSelected(), includeFileNames.isSelected());
-                case "SHA1" -> new ChecksumOptions("--sha1", "SHA1", outputBase32.isSelected(), outputBase64.isSelected(), includeFileNames.isSelected());
-                case "SHA512" -> new ChecksumOptions("--sha512", "SHA512", outputBase32.isSelected(), outputBase64.isSelected(), includeFileNames.isSelected());
-                case "CRC32" -> new ChecksumOptions("--crc32", "CRC32", outputBase32.isSelected(), outputBase64.isSelected(), includeFileNames.isSelected());
-                default -> new ChecksumOptions("--sha256", "SHA256", outputBase32.isSelected(), outputBase64.isSelected(), includeFileNames.isSelected());
-            };
+            String label = selectedButton.getText();
+            return new ChecksumOptions(
+                    "--" + label.toLowerCase(Locale.ROOT),
+                    label,
+                    outputBase32.isSelected(),
+                    outputBase64.isSelected(),
+                    includeFileNames.isSelected(),
+                    builtInEngine.isSelected(),
+                    allAlgorithms.isSelected()
+            );
         });
         return dialog.showAndWait();
     }
@@ -3942,13 +5325,32 @@ public class Commander {
     }
 
     private record SplitSize(boolean valid, long bytes, String sevenZipArg, String message) {}
+
+    /** Appends lines produced on worker threads to a text area in batches, one FX pulse at a time */
+    private static final class TextAreaLineStreamer extends FxBatcher<String> {
+        private TextAreaLineStreamer(TextArea target) {
+            super(lines -> {
+                StringBuilder batch = new StringBuilder();
+                for (String line : lines) {
+                    batch.append(line).append(System.lineSeparator());
+                }
+                target.appendText(batch.toString());
+            });
+        }
+    }
     private record ChecksumOptions(
             String algorithmFlag,
             String algorithmLabel,
             boolean base32,
             boolean base64,
-            boolean includeFileNames
-    ) {}
+            boolean includeFileNames,
+            boolean builtInEngine,
+            boolean allAlgorithms
+    ) {
+        HashEngine.Encoding encoding() {
+            return base32 ? HashEngine.Encoding.BASE32 : base64 ? HashEngine.Encoding.BASE64 : HashEngine.Encoding.HEX;
+        }
+    }
     private enum WhiteSpaceCompareMode {
         NONE("Do not ignore whitespace"),
         ALL("Ignore all whitespace"),
@@ -3972,31 +5374,13 @@ public class Commander {
             WhiteSpaceCompareMode whitespaceMode,
             boolean differencesOnly
     ) {}
-    private enum FolderCompareMark {
-        LEFT_ONLY,
-        RIGHT_ONLY,
-        DIFFERENT
-    }
-    private record CompareFoldersOptions(
-            boolean compareByDate,
-            boolean checksum,
-            boolean recursive,
-            boolean caseSensitiveNames
-    ) {}
-    private record FolderEntry(
-            Path absolutePath,
-            Path topLevelPath,
-            boolean directory,
-            long size,
-            long modifiedMillis
-    ) {}
-    private record FolderCompareResult(
-            Map<String, FolderCompareMark> leftMarks,
-            Map<String, FolderCompareMark> rightMarks,
-            int onlyLeftCount,
-            int onlyRightCount,
-            int differentCount
-    ) {}
+    /** The last folder compare; the panes mark entries under these roots at any depth */
+    private record ComparedFolders(Path leftRoot, Path rightRoot, CompareResultTree differences) {}
+
+    /** A row of the duplicates view: a group header (no file) or one of its files, with the copy the actions keep */
+    private record DuplicateRow(DuplicateFinder.Group group, Path file, Path kept) {}
+
+    private record DuplicateSearchRequest(List<Path> roots, DuplicateFinder.Options options) {}
     private enum ImageCompressionMode {
         QUALITY,
         LOSSLESS,
@@ -4042,9 +5426,13 @@ public class Commander {
             boolean caseInsensitive,
             boolean findInSpecificExtension,
             String extension,
-            boolean includeHiddenAndIgnored
+            boolean includeHiddenAndIgnored,
+            boolean builtInEngine,
+            boolean searchArchives
     ) {}
 
+    private record FileSearchRequest(String pattern, boolean includeArchives) {}
+
     private Optional<FileAttributesHelper.AttributeChangeRequest> promptAttributes(List<FileItem> selectedItems) {
         Dialog<FileAttributesHelper.AttributeChangeRequest> dialog = new Dialog<>();
         dialog.setTitle("Change Attributes");
@@ -6,6 +6,7 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
+import org.chaiware.acommander.helpers.StartupProfile;
 
 import java.util.Objects;
 
@@ -13,6 +14,7 @@ public class Main extends Application {
 
     @Override
     public void start(Stage stage) throws Exception {
+        StartupProfile startup = StartupProfile.APPLICATION;
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/Commander.fxml"));
         Parent root = loader.load();
         Scene scene = new Scene(root, 800, 600);
@@ -27,10 +29,13 @@ public class Main extends Application {
 
         Commander commander = loader.getController();
         commander.initializeTheme(scene);
+        commander.finishStartupAfterFirstFrame(scene);
         stage.show();
+        startup.phaseDone("window shown");
         stage.setOnCloseRequest(event -> {
             commander.persistCurrentPaths();
             commander.filesPanesHelper.cleanup();  // Clean up archive sessions
+            commander.shutdownBackgroundServices();
         });
         commander.setupBindings();
     }
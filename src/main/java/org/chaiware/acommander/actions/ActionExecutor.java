@@ -15,10 +15,16 @@ public class ActionExecutor {
     private static final Logger logger = LoggerFactory.getLogger(ActionExecutor.class);
     private final Commander commander;
     private final AppRegistry appRegistry;
+    private final ActionUsage usage;
 
     public ActionExecutor(Commander commander, AppRegistry appRegistry) {
+        this(commander, appRegistry, null);
+    }
+
+    public ActionExecutor(Commander commander, AppRegistry appRegistry, ActionUsage usage) {
         this.commander = commander;
         this.appRegistry = appRegistry;
+        this.usage = usage;
     }
 
     public void execute(ActionDefinition action) {
@@ -34,6 +40,9 @@ public class ActionExecutor {
             return;
         }
 
+        if (usage != null) {
+            usage.record(action.getId());
+        }
         String type = action.getType();
         if ("external".equalsIgnoreCase(type)) {
             executeExternal(action);
@@ -99,6 +108,12 @@ public class ActionExecutor {
             case "settings" -> commander.openSettings();
             case "rename" -> commander.renameFile();
             case "view" -> commander.viewFile();
+            case "viewInternal" -> commander.viewInternal();
+            case "toggleQuickView" -> commander.toggleQuickView();
+            case "togglePerformanceOverlay" -> commander.togglePerformanceOverlay();
+            case "dumpMetrics" -> commander.dumpMetrics();
+            case "toggleFlightRecording" -> commander.toggleFlightRecording();
+            case "dumpFlightRecording" -> commander.dumpFlightRecording();
             case "edit" -> commander.editFile();
             case "copy" -> commander.copyFile();
             case "move" -> commander.moveFile();
@@ -117,12 +132,15 @@ public class ActionExecutor {
             case "convertAudioFiles" -> commander.convertAudioFiles();
             case "checksumFile" -> commander.checksumFile();
             case "checksumFolderContents" -> commander.checksumFolderContents();
+            case "verifyChecksums" -> commander.verifyChecksums();
             case "unpack" -> commander.unpackFile();
             case "extractAll" -> commander.extractAll();
             case "mergePdf" -> commander.mergePDFFiles();
             case "extractPdfPages" -> commander.extractPDFPages();
             case "compareFiles" -> commander.compareFiles();
             case "compareFolders" -> commander.compareFolders();
+            case "syncFolders" -> commander.syncFolders();
+            case "findDuplicates" -> commander.findDuplicates();
             case "changeAttributes" -> commander.changeAttributes();
             case "refresh" -> commander.filesPanesHelper.refreshFileListViews();
             case "openCommandPalette" -> commander.openCommandPalette();
@@ -137,6 +155,8 @@ public class ActionExecutor {
             case "sortBySize" -> commander.sortBySize();
             case "sortByDate" -> commander.sortByDate();
             case "bookmarkThisPath" -> commander.bookmarkCurrentPath();
+            case "navigateBack" -> commander.navigateBack();
+            case "navigateForward" -> commander.navigateForward();
             case "gotoBookmark" -> commander.gotoBookmark();
             case "removeBookmark" -> commander.removeBookmark();
             default -> logger.warn("Unknown builtin action id: {}", builtin);
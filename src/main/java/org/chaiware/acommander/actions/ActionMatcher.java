@@ -9,27 +9,60 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 
+/**
+ * Ranks the command palette actions for a query.
+ * Enablement (which walks the selection) is resolved once per palette opening by {@link #enabledInOrder}; each
+ * keystroke then only runs {@link #match} over the actions' pre-normalized titles and aliases. Exact and prefix hits
+ * rank first, then acronyms ("cf" for Compare Files), substrings and finally {@link FuzzyMatcher subsequences}.
+ * Within a kind of match, and for an empty query, actions run often and lately ({@link ActionUsage}) come first.
+ */
 public class ActionMatcher {
+    private static final int TIER = 100_000;
+    private static final int[] NO_POSITIONS = new int[0];
+    /** Frecency bonus per doubling of the score; capped below a tier so usage reorders within a kind of match */
+    private static final int USAGE_WEIGHT = 4_000;
+
+    private final ActionUsage usage;
+
+    public ActionMatcher() {
+        this(null);
+    }
+
+    public ActionMatcher(ActionUsage usage) {
+        this.usage = usage;
+    }
+
+    /** A ranked action, its score and the title characters the query matched (none when an alias matched) */
+    public record Ranked(AppAction action, int score, int[] titlePositions) {
+    }
 
     public List<AppAction> rank(String query, List<AppAction> actions, ActionContext context) {
-        String q = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
-        List<AppAction> enabledActions = actions.stream()
+        return match(query, enabledInOrder(actions, context)).stream().map(Ranked::action).toList();
+    }
+
+    /** The enabled actions in the order shown for an empty query (selection-specific actions pinned first) */
+    public List<AppAction> enabledInOrder(List<AppAction> actions, ActionContext context) {
+        return actions.stream()
                 .filter(a -> a.isEnabled(context))
+                .sorted(Comparator
+                        .comparingInt((AppAction action) -> pinnedConversionPriority(action, context))
+                        .thenComparing(Comparator.comparingInt(this::usageBonus).reversed())
+                        .thenComparing(AppAction::title))
                 .toList();
+    }
 
+    /** Ranks already enabled actions, best first; a blank query keeps their order */
+    public List<Ranked> match(String query, List<AppAction> enabledActions) {
+        String q = normalize(query);
         if (q.isEmpty()) {
-            return enabledActions.stream()
-                    .sorted(Comparator
-                            .comparingInt((AppAction action) -> pinnedConversionPriority(action, context))
-                            .thenComparing(AppAction::title))
-                    .toList();
+            return enabledActions.stream().map(action -> new Ranked(action, 0, NO_POSITIONS)).toList();
         }
 
         List<ScoredAction> scored = new ArrayList<>();
         for (AppAction action : enabledActions) {
-            int score = score(action, q);
-            if (score > 0) {
-                scored.add(new ScoredAction(action, score));
+            ScoredAction match = score(action, q);
+            if (match != null) {
+                scored.add(new ScoredAction(action, match.score() + usageBonus(action), match.positions()));
             }
         }
 
@@ -37,39 +70,110 @@ public class ActionMatcher {
                 .comparingInt(ScoredAction::score).reversed()
                 .thenComparing(sa -> sa.action().title()));
 
-        return scored.stream().map(ScoredAction::action).toList();
+        return scored.stream().map(sa -> new Ranked(sa.action(), sa.score(), sa.positions())).toList();
+    }
+
+    /** The query as matched: trimmed and lower-cased */
+    public static String normalize(String query) {
+        return query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
     }
 
-    private int score(AppAction action, String query) {
-        String title = action.title().toLowerCase(Locale.ROOT);
-        if (title.equals(query)) {
-            return 1000;
+    /**
+     * Scores a {@link #normalize normalized} query against a plain name (a bookmark, a folder, a file) on the same
+     * scale as action titles, so the palette can merge them into one list; null when it does not match.
+     */
+    public static FuzzyMatcher.Match scoreName(String query, FuzzyMatcher.Term name) {
+        if (query.isEmpty()) {
+            return null;
+        }
+        if (name.text().equals(query)) {
+            return new FuzzyMatcher.Match(10 * TIER, run(0, query.length()));
         }
-        for (String alias : action.aliases()) {
-            String a = alias.toLowerCase(Locale.ROOT);
-            if (a.equals(query)) {
-                return 900;
+        if (name.text().startsWith(query)) {
+            return new FuzzyMatcher.Match(7 * TIER, run(0, query.length()));
+        }
+        if (name.acronym().length() > 1 && name.acronym().startsWith(query)) {
+            return new FuzzyMatcher.Match(6 * TIER, wordStarts(name, query.length()));
+        }
+        int contained = name.text().indexOf(query);
+        if (contained >= 0) {
+            return new FuzzyMatcher.Match(4 * TIER - contained, run(contained, query.length()));
+        }
+        FuzzyMatcher.Match fuzzy = FuzzyMatcher.match(query, name);
+        return fuzzy == null ? null : new FuzzyMatcher.Match(2 * TIER + fuzzy.score(), fuzzy.positions());
+    }
+
+    private ScoredAction score(AppAction action, String query) {
+        FuzzyMatcher.Term title = action.titleTerm();
+        if (title.text().equals(query)) {
+            return new ScoredAction(action, 10 * TIER, run(0, query.length()));
+        }
+        int aliasTier = 0;
+        for (FuzzyMatcher.Term alias : action.aliasTerms()) {
+            if (alias.text().equals(query)) {
+                aliasTier = Math.max(aliasTier, 9);
+            } else if (alias.text().startsWith(query)) {
+                aliasTier = Math.max(aliasTier, 8);
+            } else if (alias.text().contains(query)) {
+                aliasTier = Math.max(aliasTier, 3);
             }
         }
-        if (title.startsWith(query)) {
-            return 700;
+        if (aliasTier >= 8) {
+            return new ScoredAction(action, aliasTier * TIER, NO_POSITIONS);
+        }
+        if (title.text().startsWith(query)) {
+            return new ScoredAction(action, 7 * TIER, run(0, query.length()));
+        }
+        if (title.acronym().length() > 1 && title.acronym().startsWith(query)) {
+            return new ScoredAction(action, 6 * TIER, wordStarts(title, query.length()));
         }
-        if (title.contains(query)) {
-            return 400;
+        int contained = title.text().indexOf(query);
+        if (contained >= 0) {
+            return new ScoredAction(action, 4 * TIER - contained, run(contained, query.length()));
         }
-        for (String alias : action.aliases()) {
-            String a = alias.toLowerCase(Locale.ROOT);
-            if (a.startsWith(query)) {
-                return 800;
+        if (aliasTier > 0) {
+            return new ScoredAction(action, aliasTier * TIER, NO_POSITIONS);
+        }
+        FuzzyMatcher.Match fuzzy = FuzzyMatcher.match(query, title);
+        if (fuzzy != null) {
+            return new ScoredAction(action, 2 * TIER + fuzzy.score(), fuzzy.positions());
+        }
+        for (FuzzyMatcher.Term alias : action.aliasTerms()) {
+            FuzzyMatcher.Match aliasFuzzy = FuzzyMatcher.match(query, alias);
+            if (aliasFuzzy != null) {
+                return new ScoredAction(action, TIER + aliasFuzzy.score(), NO_POSITIONS);
             }
-            if (a.contains(query)) {
-                return 300;
+        }
+        return null;
+    }
+
+    private int usageBonus(AppAction action) {
+        if (usage == null) {
+            return 0;
+        }
+        double frecency = usage.frecency(action.id());
+        return frecency <= 0 ? 0 : (int) Math.min(TIER / 2, USAGE_WEIGHT * (Math.log1p(frecency) / Math.log(2)));
+    }
+
+    private static int[] run(int start, int length) {
+        int[] positions = new int[length];
+        for (int i = 0; i < length; i++) {
+            positions[i] = start + i;
+        }
+        return positions;
+    }
+
+    private static int[] wordStarts(FuzzyMatcher.Term term, int count) {
+        int[] positions = new int[count];
+        for (int j = 0, found = 0; j < term.chars().length && found < count; j++) {
+            if (term.wordStarts()[j]) {
+                positions[found++] = j;
             }
         }
-        return 0;
+        return positions;
     }
 
-    private record ScoredAction(AppAction action, int score) {
+    private record ScoredAction(AppAction action, int score, int[] positions) {
     }
 
     private int pinnedConversionPriority(AppAction action, ActionContext context) {
@@ -12,12 +12,21 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 public class ActionRegistry {
-    private final List<AppAction> actions;
+    private final AppRegistry appRegistry;
+    private final ActionExecutor executor;
+    private volatile List<AppAction> actions;
 
     public ActionRegistry(AppRegistry appRegistry, ActionExecutor executor) {
+        this.appRegistry = appRegistry;
+        this.executor = executor;
+        reload();
+    }
+
+    /** Rebuilds the palette actions from the app registry (after apps.json was reloaded) */
+    public void reload() {
         actions = appRegistry.actionsForScope(ActionScope.COMMAND_PALETTE).stream()
                 .map(action -> toAppAction(action, executor))
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
     }
 
     private AppAction toAppAction(ActionDefinition action, ActionExecutor executor) {
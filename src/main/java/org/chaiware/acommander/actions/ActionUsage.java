@@ -0,0 +1,130 @@
+package org.chaiware.acommander.actions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * How often and how recently each action was run, as one decaying "frecency" score per action id: every run adds 1,
+ * and the score halves every {@link #HALF_LIFE_DAYS} days without use.
+ * Stored as {@code id=score,lastUsedMillis} lines next to acommander.properties. Recording only touches memory; the
+ * file is written by a background thread a few seconds after the last change (and on {@link #flush()}).
+ */
+public class ActionUsage {
+    private static final Logger logger = LoggerFactory.getLogger(ActionUsage.class);
+
+    static final double HALF_LIFE_DAYS = 7;
+    private static final double HALF_LIFE_MILLIS = HALF_LIFE_DAYS * 24 * 60 * 60 * 1000;
+    private static final long SAVE_DELAY_SECONDS = 5;
+    /** Scores decayed below this are dropped when saving */
+    private static final double FORGET_BELOW = 0.01;
+
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "action-usage-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record Entry(double score, long lastUsed) {
+    }
+
+    private final Path file;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+
+    public ActionUsage(Path file) {
+        this(file, System::currentTimeMillis);
+    }
+
+    ActionUsage(Path file, LongSupplier clock) {
+        this.file = file;
+        this.clock = clock;
+        load();
+    }
+
+    /** Counts a run of an action */
+    public void record(String actionId) {
+        long now = clock.getAsLong();
+        entries.compute(actionId, (id, entry) -> new Entry((entry == null ? 0 : decayed(entry, now)) + 1, now));
+        if (file != null && saveScheduled.compareAndSet(false, true)) {
+            WRITER.schedule(this::save, SAVE_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /** The decayed score of an action, 0 when never run */
+    public double frecency(String actionId) {
+        Entry entry = entries.get(actionId);
+        return entry == null ? 0 : decayed(entry, clock.getAsLong());
+    }
+
+    /** Writes pending changes now (at shutdown) */
+    public void flush() {
+        if (saveScheduled.get()) {
+            save();
+        }
+    }
+
+    private static double decayed(Entry entry, long now) {
+        long age = Math.max(0, now - entry.lastUsed());
+        return entry.score() * Math.pow(0.5, age / HALF_LIFE_MILLIS);
+    }
+
+    private void load() {
+        if (file == null || !Files.isRegularFile(file)) {
+            return;
+        }
+        Properties stored = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            stored.load(reader);
+        } catch (IOException ex) {
+            logger.warn("Failed reading action usage from {}", file, ex);
+            return;
+        }
+        for (String id : stored.stringPropertyNames()) {
+            String[] parts = stored.getProperty(id).split(",");
+            try {
+                entries.put(id, new Entry(Double.parseDouble(parts[0]), Long.parseLong(parts[1])));
+            } catch (RuntimeException ex) {
+                logger.debug("Skipping malformed action usage entry: {}", id);
+            }
+        }
+    }
+
+    private synchronized void save() {
+        saveScheduled.set(false);
+        long now = clock.getAsLong();
+        Properties stored = new Properties();
+        entries.forEach((id, entry) -> {
+            if (decayed(entry, now) >= FORGET_BELOW) {
+                stored.setProperty(id, String.format(Locale.ROOT, "%.4f,%d", entry.score(), entry.lastUsed()));
+            }
+        });
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                stored.store(writer, "Action usage: score,last used (epoch millis)");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            logger.warn("Failed saving action usage to {}", file, ex);
+        }
+    }
+}
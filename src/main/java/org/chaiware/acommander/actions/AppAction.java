@@ -12,6 +12,8 @@ public class AppAction {
     private final List<String> aliases;
     private final Predicate<ActionContext> enabled;
     private final Consumer<ActionContext> execute;
+    private final FuzzyMatcher.Term titleTerm;
+    private final List<FuzzyMatcher.Term> aliasTerms;
 
     public AppAction(
             String id,
@@ -27,6 +29,8 @@ public class AppAction {
         this.aliases = aliases == null ? List.of() : List.copyOf(aliases);
         this.enabled = enabled == null ? ctx -> true : enabled;
         this.execute = Objects.requireNonNull(execute);
+        this.titleTerm = FuzzyMatcher.Term.of(this.title);
+        this.aliasTerms = this.aliases.stream().map(FuzzyMatcher.Term::of).toList();
     }
 
     public String id() {
@@ -45,6 +49,15 @@ public class AppAction {
         return aliases;
     }
 
+    /** The title, normalized once for matching */
+    FuzzyMatcher.Term titleTerm() {
+        return titleTerm;
+    }
+
+    List<FuzzyMatcher.Term> aliasTerms() {
+        return aliasTerms;
+    }
+
     public boolean isEnabled(ActionContext context) {
         return enabled.test(context);
     }
@@ -0,0 +1,123 @@
+package org.chaiware.acommander.actions;
+
+import java.util.Locale;
+
+/**
+ * Subsequence matching for the command palette: every query character must appear in order, and the best alignment
+ * is the one that lands on word starts and keeps characters together ("cf" scores high on "Compare Files", "cmpfl"
+ * still matches it). Candidates are normalized once into {@link Term}s so a keystroke only runs the scorer.
+ */
+public final class FuzzyMatcher {
+    private static final int MATCH = 16;
+    private static final int WORD_START_BONUS = 24;
+    private static final int FIRST_CHAR_BONUS = 16;
+    private static final int CONSECUTIVE_BONUS = 20;
+    private static final int GAP_PENALTY = 2;
+    private static final int NO_MATCH = Integer.MIN_VALUE / 2;
+
+    private FuzzyMatcher() {
+    }
+
+    /** A candidate string, lower-cased once, with its word starts and acronym */
+    public record Term(String text, char[] chars, boolean[] wordStarts, String acronym) {
+        public static Term of(String text) {
+            String lower = text.toLowerCase(Locale.ROOT);
+            char[] chars = lower.toCharArray();
+            boolean[] wordStarts = new boolean[chars.length];
+            StringBuilder acronym = new StringBuilder();
+            for (int i = 0; i < chars.length; i++) {
+                boolean letterOrDigit = Character.isLetterOrDigit(chars[i]);
+                boolean afterSeparator = i == 0 || !Character.isLetterOrDigit(chars[i - 1]);
+                boolean camelHump = i > 0 && text.length() == chars.length && Character.isUpperCase(text.charAt(i)) && Character.isLowerCase(text.charAt(i - 1));
+                wordStarts[i] = letterOrDigit && (afterSeparator || camelHump);
+                if (wordStarts[i]) {
+                    acronym.append(chars[i]);
+                }
+            }
+            return new Term(lower, chars, wordStarts, acronym.toString());
+        }
+    }
+
+    /** The score of the best alignment and the matched positions in the term */
+    public record Match(int score, int[] positions) {
+    }
+
+    /**
+     * Aligns a lower-cased query on a term, or returns null when the query is not a subsequence of it.
+     */
+    public static Match match(String query, Term term) {
+        char[] q = query.toCharArray();
+        char[] s = term.chars();
+        int n = q.length;
+        int m = s.length;
+        if (n == 0 || n > m || !isSubsequence(q, s)) {
+            return null;
+        }
+
+        // score[i][j]: best alignment of q[0..i] with q[i] on s[j]; from[i][j]: where q[i-1] went
+        int[][] score = new int[n][m];
+        int[][] from = new int[n][m];
+        for (int i = 0; i < n; i++) {
+            // best earlier position of q[i-1] that leaves a gap before j, with the gap already paid for
+            int gapped = NO_MATCH;
+            int gappedFrom = -1;
+            for (int j = 0; j < m; j++) {
+                if (i > 0) {
+                    if (gapped != NO_MATCH) {
+                        gapped -= GAP_PENALTY;
+                    }
+                    if (j >= 2 && score[i - 1][j - 2] != NO_MATCH && score[i - 1][j - 2] - GAP_PENALTY > gapped) {
+                        gapped = score[i - 1][j - 2] - GAP_PENALTY;
+                        gappedFrom = j - 2;
+                    }
+                }
+                score[i][j] = NO_MATCH;
+                if (q[i] != s[j] || j < i) {
+                    continue;
+                }
+                int bonus = MATCH + (term.wordStarts()[j] ? WORD_START_BONUS : 0) + (j == 0 ? FIRST_CHAR_BONUS : 0);
+                if (i == 0) {
+                    score[i][j] = bonus - j;
+                    continue;
+                }
+                int consecutive = score[i - 1][j - 1] == NO_MATCH ? NO_MATCH : score[i - 1][j - 1] + CONSECUTIVE_BONUS;
+                if (consecutive == NO_MATCH && gapped == NO_MATCH) {
+                    continue;
+                }
+                if (consecutive >= gapped) {
+                    score[i][j] = consecutive + bonus;
+                    from[i][j] = j - 1;
+                } else {
+                    score[i][j] = gapped + bonus;
+                    from[i][j] = gappedFrom;
+                }
+            }
+        }
+
+        int end = -1;
+        for (int j = n - 1; j < m; j++) {
+            if (score[n - 1][j] != NO_MATCH && (end < 0 || score[n - 1][j] > score[n - 1][end])) {
+                end = j;
+            }
+        }
+        if (end < 0) {
+            return null;
+        }
+        int[] positions = new int[n];
+        for (int i = n - 1, j = end; i >= 0; i--) {
+            positions[i] = j;
+            j = from[i][j];
+        }
+        return new Match(score[n - 1][end], positions);
+    }
+
+    private static boolean isSubsequence(char[] q, char[] s) {
+        int i = 0;
+        for (int j = 0; j < s.length && i < q.length; j++) {
+            if (s[j] == q[i]) {
+                i++;
+            }
+        }
+        return i == q.length;
+    }
+}
@@ -0,0 +1,80 @@
+package org.chaiware.acommander.checksum;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads and writes standard checksum files: GNU ("digest  name", "digest *name") and BSD ("SHA256 (name) = digest").
+ */
+public final class ChecksumFile {
+    private static final Pattern GNU_LINE = Pattern.compile("^\\\\?([0-9A-Fa-f]{8,128}) [ *](.+)$");
+    private static final Pattern BSD_LINE = Pattern.compile("^([A-Za-z0-9-]+) \\((.+)\\) = ([0-9A-Fa-f]{8,128})$");
+
+    /** One line of a checksum file, the digest is lower-case hex */
+    public record Entry(String name, String digest) {
+    }
+
+    private ChecksumFile() {
+    }
+
+    /** A GNU style line ("digest  name") */
+    public static String line(String digest, String name) {
+        return digest + "  " + name;
+    }
+
+    public static List<Entry> parse(Path file) throws IOException {
+        return parse(Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    public static List<Entry> parse(List<String> lines) {
+        List<Entry> entries = new ArrayList<>();
+        for (String raw : lines) {
+            String line = raw.replace("\uFEFF", "").strip();
+            if (line.isEmpty() || line.startsWith("#") || line.startsWith(";")) {
+                continue;
+            }
+            Matcher bsd = BSD_LINE.matcher(line);
+            if (bsd.matches()) {
+                entries.add(new Entry(bsd.group(2), bsd.group(3).toLowerCase(Locale.ROOT)));
+                continue;
+            }
+            Matcher gnu = GNU_LINE.matcher(line);
+            if (gnu.matches()) {
+                entries.add(new Entry(gnu.group(2), gnu.group(1).toLowerCase(Locale.ROOT)));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * The algorithm of a checksum file: from its name (x.sha256, SHA1SUMS, folder.MD5SUMS...), else from the
+     * digest length.
+     */
+    public static Optional<HashAlgorithm> detectAlgorithm(Path file, List<Entry> entries) {
+        Optional<HashAlgorithm> byName = algorithmFromName(file);
+        if (byName.isPresent()) {
+            return byName;
+        }
+        return entries.isEmpty() ? Optional.empty() : HashAlgorithm.fromHexLength(entries.getFirst().digest().length());
+    }
+
+    /** Whether the file name looks like a checksum file */
+    public static boolean isChecksumFile(Path file) {
+        return algorithmFromName(file).isPresent();
+    }
+
+    private static Optional<HashAlgorithm> algorithmFromName(Path file) {
+        String name = file.getFileName().toString().toUpperCase(Locale.ROOT);
+        int dot = name.lastIndexOf('.');
+        String suffix = (dot >= 0 ? name.substring(dot + 1) : name).replace("SUMS", "").replace("SUM", "");
+        return HashAlgorithm.fromLabel(suffix);
+    }
+}
@@ -0,0 +1,243 @@
+package org.chaiware.acommander.checksum;
+
+import org.chaiware.acommander.helpers.FileHelper;
+import org.chaiware.acommander.metrics.CacheMeter;
+import org.chaiware.acommander.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent file checksums, keyed by normalized path + algorithm and valid while the file's size and
+ * modification time are unchanged, so re-hashing an unchanged file reads no content.
+ * Kept in memory and persisted as an append-only log of records; the log is compacted on close when it holds
+ * many stale records.
+ */
+public class ChecksumStore implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ChecksumStore.class);
+    private static final int MAGIC = 0x41435331; // "ACS1"
+    private static final CacheMeter LOOKUPS = Metrics.APPLICATION.cache("cache.checksum");
+
+    /** Size and modification time of a file, read before hashing it */
+    public record FileStamp(long size, long modifiedMillis) {
+        public static FileStamp of(Path file) throws IOException {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            return new FileStamp(attrs.size(), attrs.lastModifiedTime().toMillis());
+        }
+    }
+
+    private record Entry(FileStamp stamp, byte[] digest) {
+    }
+
+    private final Path logFile;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private DataOutputStream log;
+    private long logRecords;
+
+    private ChecksumStore(Path logFile) {
+        this.logFile = logFile;
+    }
+
+    /**
+     * Loads (or creates) the store persisted at the given file.
+     */
+    public static ChecksumStore open(Path logFile) {
+        ChecksumStore store = new ChecksumStore(logFile);
+        store.load();
+        return store;
+    }
+
+    /** A store that is never persisted */
+    public static ChecksumStore inMemory() {
+        return new ChecksumStore(null);
+    }
+
+    /**
+     * The cached digest of the file, when the file still has the size and modification time it was hashed with.
+     */
+    public Optional<byte[]> get(Path file, String algorithm) {
+        Optional<byte[]> digest = lookup(file, algorithm);
+        LOOKUPS.record(digest.isPresent());
+        return digest;
+    }
+
+    private Optional<byte[]> lookup(Path file, String algorithm) {
+        Entry entry = entries.get(key(file, algorithm));
+        if (entry == null) {
+            return Optional.empty();
+        }
+        try {
+            return entry.stamp().equals(FileStamp.of(file)) ? Optional.of(entry.digest().clone()) : Optional.empty();
+        } catch (IOException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores a digest; {@code stamp} must be read before the file was hashed so a concurrent change invalidates it.
+     */
+    public void put(Path file, String algorithm, FileStamp stamp, byte[] digest) {
+        String key = key(file, algorithm);
+        Entry entry = new Entry(stamp, digest.clone());
+        Entry previous = entries.put(key, entry);
+        if (previous != null && previous.stamp().equals(stamp) && Arrays.equals(previous.digest(), digest)) {
+            return;
+        }
+        append(key, entry);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (log == null) {
+            return;
+        }
+        try {
+            log.close();
+            log = null;
+            if (logRecords > 2L * entries.size() + 1024) {
+                compact();
+            }
+        } catch (IOException ex) {
+            logger.warn("Failed closing checksum store: {}", logFile, ex);
+        }
+    }
+
+    private static String key(Path file, String algorithm) {
+        return algorithm.toUpperCase(Locale.ROOT) + '|' + FileHelper.pathKey(file.toAbsolutePath().normalize().toString());
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(logFile)) {
+            return;
+        }
+        long validLength = 0; // the end of the last complete record; appends must start there
+        try (CountingInputStream counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(logFile), 1 << 16));
+             DataInputStream in = new DataInputStream(counter)) {
+            if (in.readInt() != MAGIC) {
+                logger.warn("Ignoring checksum store with unknown format: {}", logFile);
+            } else {
+                validLength = counter.count;
+                while (true) {
+                    String key = in.readUTF();
+                    FileStamp stamp = new FileStamp(in.readLong(), in.readLong());
+                    byte[] digest = new byte[in.readUnsignedShort()];
+                    in.readFully(digest);
+                    entries.put(key, new Entry(stamp, digest));
+                    logRecords++;
+                    validLength = counter.count;
+                }
+            }
+        } catch (EOFException ignored) {
+            // end of log (a torn last record is dropped below)
+        } catch (IOException ex) {
+            logger.warn("Failed reading checksum store, continuing with {} entries: {}", entries.size(), logFile, ex);
+        }
+        truncate(validLength);
+        logger.debug("Loaded {} checksums from {}", entries.size(), logFile);
+    }
+
+    /** Cuts a torn or unreadable tail off the log, so later records are not appended behind it */
+    private void truncate(long validLength) {
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+            if (channel.size() > validLength) {
+                logger.info("Dropping {} unreadable bytes at the end of {}", channel.size() - validLength, logFile);
+                channel.truncate(validLength);
+            }
+        } catch (IOException ex) {
+            logger.warn("Failed truncating checksum store: {}", logFile, ex);
+        }
+    }
+
+    private synchronized void append(String key, Entry entry) {
+        if (logFile == null) {
+            return;
+        }
+        try {
+            if (log == null) {
+                Files.createDirectories(logFile.getParent());
+                boolean fresh = !Files.isRegularFile(logFile) || Files.size(logFile) == 0;
+                log = new DataOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(logFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+                if (fresh) {
+                    log.writeInt(MAGIC);
+                }
+            }
+            // buffered until close; a crash loses only the unwritten tail, which the next load cuts off
+            writeRecord(log, key, entry);
+            logRecords++;
+        } catch (IOException ex) {
+            logger.warn("Failed writing checksum store: {}", logFile, ex);
+        }
+    }
+
+    private void compact() throws IOException {
+        Path temp = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                writeRecord(out, entry.getKey(), entry.getValue());
+            }
+        }
+        Files.move(temp, logFile, StandardCopyOption.REPLACE_EXISTING);
+        logger.debug("Compacted checksum store from {} to {} records", logRecords, entries.size());
+        logRecords = entries.size();
+    }
+
+    /** Counts the bytes handed to the reader above it, i.e. the log offset it reached */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, String key, Entry entry) throws IOException {
+        out.writeUTF(key);
+        out.writeLong(entry.stamp().size());
+        out.writeLong(entry.stamp().modifiedMillis());
+        out.writeShort(entry.digest().length);
+        out.write(entry.digest());
+    }
+}
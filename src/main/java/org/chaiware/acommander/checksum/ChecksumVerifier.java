@@ -0,0 +1,112 @@
+package org.chaiware.acommander.checksum;
+
+import org.chaiware.acommander.helpers.Stopwatch;
+import org.chaiware.acommander.search.CancellableSearch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Checks the files listed in a checksum file, several at a time; each result is streamed as soon as it is known.
+ * Relative names are resolved against the checksum file's folder.
+ */
+public class ChecksumVerifier implements CancellableSearch {
+    private static final Logger logger = LoggerFactory.getLogger(ChecksumVerifier.class);
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()),
+            pool -> {
+                var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("checksum-verify-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null,
+            false
+    );
+
+    public enum Status {
+        OK,
+        FAILED,
+        MISSING,
+        UNREADABLE
+    }
+
+    public record Result(String name, Status status) {
+    }
+
+    private final Path baseDir;
+    private final List<ChecksumFile.Entry> entries;
+    private final HashAlgorithm algorithm;
+    private final Consumer<Result> onResult;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicLong failures = new AtomicLong();
+
+    public ChecksumVerifier(Path baseDir, List<ChecksumFile.Entry> entries, HashAlgorithm algorithm, Consumer<Result> onResult) {
+        this.baseDir = baseDir;
+        this.entries = entries;
+        this.algorithm = algorithm;
+        this.onResult = onResult;
+    }
+
+    /**
+     * Starts verifying; the future completes with the number of entries that did not verify OK.
+     */
+    @Override
+    public CompletableFuture<Long> start() {
+        Stopwatch stopwatch = new Stopwatch();
+        return CompletableFuture.supplyAsync(() -> {
+            entries.parallelStream().forEach(this::verify);
+            logger.info("Verified {} {} entries under {} in {}, {} not OK{}", entries.size(), algorithm.getLabel(),
+                    baseDir, stopwatch, failures.get(), cancelled.get() ? " (cancelled)" : "");
+            return failures.get();
+        }, POOL);
+    }
+
+    @Override
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    private void verify(ChecksumFile.Entry entry) {
+        if (cancelled.get()) {
+            return;
+        }
+        Path file = baseDir.resolve(entry.name());
+        Status status;
+        if (!Files.isRegularFile(file)) {
+            status = Status.MISSING;
+        } else {
+            try {
+                // Verification always reads the file, a cached digest would defeat its purpose
+                byte[] digest = HashEngine.hash(file, algorithm, null, cancelled::get);
+                status = HexFormat.of().formatHex(digest).equals(entry.digest()) ? Status.OK : Status.FAILED;
+            } catch (CancellationException ex) {
+                return;
+            } catch (IOException | RuntimeException ex) {
+                logger.debug("Failed hashing {} for verification", file, ex);
+                status = Status.UNREADABLE;
+            }
+        }
+        if (status != Status.OK) {
+            failures.incrementAndGet();
+        }
+        onResult.accept(new Result(entry.name(), status));
+    }
+}
@@ -0,0 +1,73 @@
+package org.chaiware.acommander.checksum;
+
+import org.chaiware.acommander.helpers.Stopwatch;
+import org.chaiware.acommander.search.CancellableSearch;
+import org.chaiware.acommander.search.FileNamePattern;
+import org.chaiware.acommander.search.FileNameSearch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Hashes every file under a folder, several files at a time: files are hashed on the worker threads of the
+ * parallel {@link FileNameSearch} walker and each result is streamed to the caller as soon as it is ready.
+ */
+public class FolderChecksum implements CancellableSearch {
+    private static final Logger logger = LoggerFactory.getLogger(FolderChecksum.class);
+
+    /** The digest of one file, or the reason it could not be hashed; {@code relativeName} uses '/' separators */
+    public record FileDigest(Path file, String relativeName, byte[] digest, String error) {
+    }
+
+    private final Path root;
+    private final HashAlgorithm algorithm;
+    private final FileNameSearch walk;
+    private final AtomicLong hashedCount = new AtomicLong();
+    private final AtomicLong hashedBytes = new AtomicLong();
+
+    public FolderChecksum(Path root, HashAlgorithm algorithm, ChecksumStore store, Consumer<FileDigest> onResult) {
+        this.root = root;
+        this.algorithm = algorithm;
+        this.walk = FileNameSearch.withAttributes(root, FileNamePattern.compile("*"), FileNameSearch.DEFAULT_EXCLUDED_DIRS,
+                (file, attrs) -> {
+                    String relativeName = root.relativize(file).toString().replace('\\', '/');
+                    try {
+                        byte[] digest = HashEngine.hash(file, algorithm, store, this::isCancelled);
+                        hashedCount.incrementAndGet();
+                        hashedBytes.addAndGet(attrs.size());
+                        onResult.accept(new FileDigest(file, relativeName, digest, null));
+                    } catch (CancellationException ignored) {
+                        // stopped by the user
+                    } catch (IOException | RuntimeException ex) {
+                        logger.debug("Failed hashing {}", file, ex);
+                        onResult.accept(new FileDigest(file, relativeName, null, ex.getMessage()));
+                    }
+                });
+    }
+
+    @Override
+    public CompletableFuture<Long> start() {
+        Stopwatch stopwatch = new Stopwatch();
+        return walk.start().thenApply(ignored -> {
+            logger.info("{} of {} files ({} MB) under {} in {}{}", algorithm.getLabel(), hashedCount.get(),
+                    hashedBytes.get() / (1024 * 1024), root, stopwatch, isCancelled() ? " (cancelled)" : "");
+            return hashedCount.get();
+        });
+    }
+
+    @Override
+    public void cancel() {
+        walk.cancel();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return walk.isCancelled();
+    }
+}
@@ -0,0 +1,113 @@
+package org.chaiware.acommander.checksum;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.Checksum;
+
+/**
+ * The checksum types of the built-in hashing engine; the label is also the key used in the {@link ChecksumStore}.
+ */
+public enum HashAlgorithm {
+    CRC32("CRC32", 4, () -> new ChecksumHasher(new java.util.zip.CRC32())),
+    CRC32C("CRC32C", 4, () -> new ChecksumHasher(new java.util.zip.CRC32C())),
+    MD5("MD5", 16, () -> new DigestHasher("MD5")),
+    SHA1("SHA1", 20, () -> new DigestHasher("SHA-1")),
+    SHA256("SHA256", 32, () -> new DigestHasher("SHA-256")),
+    SHA512("SHA512", 64, () -> new DigestHasher("SHA-512"));
+
+    private final String label;
+    private final int digestLength;
+    private final Supplier<Hasher> hasherFactory;
+
+    HashAlgorithm(String label, int digestLength, Supplier<Hasher> hasherFactory) {
+        this.label = label;
+        this.digestLength = digestLength;
+        this.hasherFactory = hasherFactory;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /** Extension of single-file sidecars, e.g. "sha256" */
+    public String getExtension() {
+        return label.toLowerCase(Locale.ROOT);
+    }
+
+    public Hasher newHasher() {
+        return hasherFactory.get();
+    }
+
+    public static Optional<HashAlgorithm> fromLabel(String label) {
+        for (HashAlgorithm algorithm : values()) {
+            if (algorithm.label.equalsIgnoreCase(label)) {
+                return Optional.of(algorithm);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Guesses the algorithm of a hex digest by its length (CRC32C cannot be told from CRC32) */
+    public static Optional<HashAlgorithm> fromHexLength(int hexLength) {
+        for (HashAlgorithm algorithm : values()) {
+            if (algorithm.digestLength * 2 == hexLength) {
+                return Optional.of(algorithm);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Incremental hash of one file */
+    public interface Hasher {
+        /** Consumes the buffer's remaining bytes */
+        void update(ByteBuffer buffer);
+
+        byte[] digest();
+    }
+
+    private static final class DigestHasher implements Hasher {
+        private final MessageDigest digest;
+
+        private DigestHasher(String jcaName) {
+            try {
+                this.digest = MessageDigest.getInstance(jcaName);
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(jcaName + " algorithm is not available", ex);
+            }
+        }
+
+        @Override
+        public void update(ByteBuffer buffer) {
+            digest.update(buffer);
+        }
+
+        @Override
+        public byte[] digest() {
+            return digest.digest();
+        }
+    }
+
+    /** CRC values are shown big-endian, like rhash and cksum do */
+    private static final class ChecksumHasher implements Hasher {
+        private final Checksum checksum;
+
+        private ChecksumHasher(Checksum checksum) {
+            this.checksum = checksum;
+        }
+
+        @Override
+        public void update(ByteBuffer buffer) {
+            checksum.update(buffer);
+        }
+
+        @Override
+        public byte[] digest() {
+            long value = checksum.getValue();
+            return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.chaiware.acommander.checksum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Built-in file hashing: every requested algorithm is fed from one read pass over a large direct buffer,
+ * and digests already in the {@link ChecksumStore} are not recomputed.
+ */
+public final class HashEngine {
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    public enum Encoding {
+        HEX,
+        BASE32,
+        BASE64
+    }
+
+    private HashEngine() {
+    }
+
+    /**
+     * Hashes the file with all the given algorithms in a single read pass.
+     *
+     * @param store     optional; cached digests are reused and new ones recorded
+     * @param cancelled checked between buffers, a cancelled hash throws {@link CancellationException}
+     */
+    public static Map<HashAlgorithm, byte[]> hash(Path file, Set<HashAlgorithm> algorithms, ChecksumStore store,
+                                                  BooleanSupplier cancelled) throws IOException {
+        Map<HashAlgorithm, byte[]> digests = new EnumMap<>(HashAlgorithm.class);
+        List<HashAlgorithm> missing = new ArrayList<>();
+        for (HashAlgorithm algorithm : algorithms) {
+            Optional<byte[]> cached = store == null ? Optional.empty() : store.get(file, algorithm.getLabel());
+            if (cached.isPresent()) {
+                digests.put(algorithm, cached.get());
+            } else {
+                missing.add(algorithm);
+            }
+        }
+        if (missing.isEmpty()) {
+            return digests;
+        }
+
+        ChecksumStore.FileStamp stamp = store == null ? null : ChecksumStore.FileStamp.of(file);
+        List<HashAlgorithm.Hasher> hashers = missing.stream().map(HashAlgorithm::newHasher).toList();
+        ByteBuffer buffer = BUFFERS.get();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (true) {
+                if (cancelled != null && cancelled.getAsBoolean()) {
+                    throw new CancellationException("Hashing cancelled: " + file);
+                }
+                buffer.clear();
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+                buffer.flip();
+                for (HashAlgorithm.Hasher hasher : hashers) {
+                    hasher.update(buffer.duplicate());
+                }
+            }
+        }
+        for (int i = 0; i < missing.size(); i++) {
+            byte[] digest = hashers.get(i).digest();
+            digests.put(missing.get(i), digest);
+            if (store != null) {
+                store.put(file, missing.get(i).getLabel(), stamp, digest);
+            }
+        }
+        return digests;
+    }
+
+    public static byte[] hash(Path file, HashAlgorithm algorithm, ChecksumStore store, BooleanSupplier cancelled) throws IOException {
+        return hash(file, Set.of(algorithm), store, cancelled).get(algorithm);
+    }
+
+    public static String encode(byte[] digest, Encoding encoding) {
+        return switch (encoding) {
+            case HEX -> HexFormat.of().formatHex(digest);
+            case BASE64 -> Base64.getEncoder().encodeToString(digest);
+            case BASE32 -> base32(digest);
+        };
+    }
+
+    /** RFC 4648 base32, upper case without padding (the way rhash prints it) */
+    private static String base32(byte[] data) {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
+        StringBuilder out = new StringBuilder((data.length * 8 + 4) / 5);
+        int buffer = 0;
+        int bits = 0;
+        for (byte b : data) {
+            buffer = (buffer << 8) | (b & 0xFF);
+            bits += 8;
+            while (bits >= 5) {
+                out.append(alphabet.charAt((buffer >>> (bits - 5)) & 31));
+                bits -= 5;
+            }
+        }
+        if (bits > 0) {
+            out.append(alphabet.charAt((buffer << (5 - bits)) & 31));
+        }
+        return out.toString();
+    }
+}
@@ -3,7 +3,11 @@ package org.chaiware.acommander.commands;
 import javafx.application.Platform;
 import org.chaiware.acommander.helpers.ArchiveService;
 import org.chaiware.acommander.helpers.FilesPanesHelper;
+import org.chaiware.acommander.metrics.Metrics;
+import org.chaiware.acommander.metrics.events.ExternalProcessEvent;
+import org.chaiware.acommander.metrics.events.FileJobEvent;
 import org.chaiware.acommander.model.FileItem;
+import org.chaiware.acommander.search.FileNameIndexService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,6 +18,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -23,6 +28,7 @@ public abstract class ACommands {
     protected final String APP_PATH = Paths.get(System.getProperty("user.dir"), "apps") + "\\";
     protected FilesPanesHelper fileListsLoader;
     protected ExternalCommandListener externalCommandListener;
+    protected FileNameIndexService fileNameIndex;
     private final Set<Process> runningProcesses = ConcurrentHashMap.newKeySet();
     final Logger log = LoggerFactory.getLogger(ACommands.class);
 
@@ -34,6 +40,11 @@ public abstract class ACommands {
         this.externalCommandListener = externalCommandListener;
     }
 
+    /** Optional persistent file name index, searches under an indexed root are answered from it */
+    public void setFileNameIndex(FileNameIndexService fileNameIndex) {
+        this.fileNameIndex = fileNameIndex;
+    }
+
     // helper methods for filtering
     public List<FileItem> filterValidItems(List<FileItem> items) {
         return items.stream()
@@ -91,21 +102,41 @@ public abstract class ACommands {
 
     public final void copy(FileItem sourceFile, String targetFolder) throws Exception {
         if (isValidSingleItem(sourceFile)) {
+            FileJobEvent event = beginFileJob("copy", List.of(sourceFile), targetFolder);
             doCopy(sourceFile, targetFolder);
+            event.commit();
         }
     }
 
     public final void move(FileItem sourceFile, String targetFolder) throws Exception {
         if (isValidSingleItem(sourceFile)) {
+            FileJobEvent event = beginFileJob("move", List.of(sourceFile), targetFolder);
             doMove(sourceFile, targetFolder);
+            event.commit();
         }
     }
 
     public final void delete(List<FileItem> selectedItems) throws Exception {
         List<FileItem> validItems = filterValidItems(selectedItems);
         if (!validItems.isEmpty()) {
+            FileJobEvent event = beginFileJob("delete", validItems, null);
             doDelete(validItems);
+            event.commit();
+        }
+    }
+
+    /** Starts the event of a file job; the sizes are read now, before the job moves or deletes the files */
+    protected static FileJobEvent beginFileJob(String operation, List<FileItem> items, String targetFolder) {
+        FileJobEvent event = new FileJobEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.source = items.size() == 1 ? items.getFirst().getFullPath() : items.getFirst().getFile().getParent();
+            event.target = targetFolder;
+            event.items = items.size();
+            event.bytes = items.stream().filter(item -> !item.isDirectory()).mapToLong(FileItem::getSizeInBytes).sum();
         }
+        event.begin();
+        return event;
     }
 
     public final void wipeDelete(List<FileItem> selectedItems) throws Exception {
@@ -171,7 +202,11 @@ public abstract class ACommands {
     public abstract void mkFile(String focusedPath, String newFileName) throws Exception;
     public abstract void openTerminal(String openHerePath) throws Exception;
     public abstract void openExplorer(String openHerePath) throws Exception;
-    public abstract void searchFiles(String sourcePath, String filenameWildcard) throws Exception;
+    public abstract void searchFiles(String sourcePath, String filenameWildcard, boolean includeArchives) throws Exception;
+
+    public void searchFiles(String sourcePath, String filenameWildcard) throws Exception {
+        searchFiles(sourcePath, filenameWildcard, false);
+    }
 
     // ABSTRACT METHODS - Subclasses implement these (they receive pre-filtered items)
     protected abstract void doRename(List<FileItem> validItems, String newFilename) throws Exception;
@@ -205,6 +240,9 @@ public abstract class ACommands {
         }
         notifyCommandStarted(commandSnapshot);
         return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            ExternalProcessEvent event = new ExternalProcessEvent();
+            event.begin();
             int exitCode = -1;
             Throwable failure = null;
             Process process = null;
@@ -258,6 +296,15 @@ public abstract class ACommands {
                 if (process != null) {
                     runningProcesses.remove(process);
                 }
+                Metrics.APPLICATION.timer("process." + toolName(commandSnapshot)).recordSince(start);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.tool = toolName(commandSnapshot);
+                    event.command = formatCommand(commandSnapshot);
+                    event.exitCode = exitCode;
+                    event.outputLines = output.size();
+                    event.commit();
+                }
                 notifyCommandFinished(commandSnapshot, exitCode, failure);
             }
         });
@@ -324,6 +371,17 @@ public abstract class ACommands {
         return String.join(" ", command);
     }
 
+    /** The executable's file name without its extension, lower-cased, naming its duration metric */
+    static String toolName(List<String> command) {
+        if (command == null || command.isEmpty()) {
+            return "unknown";
+        }
+        String executable = command.get(0);
+        String name = executable.substring(Math.max(executable.lastIndexOf('/'), executable.lastIndexOf('\\')) + 1);
+        int dot = name.lastIndexOf('.');
+        return (dot > 0 ? name.substring(0, dot) : name).toLowerCase(Locale.ROOT);
+    }
+
     private String summarizeOutput(List<String> output) {
         if (output == null || output.isEmpty()) {
             return "<no output>";
@@ -3,7 +3,9 @@ package org.chaiware.acommander.commands;
 import org.chaiware.acommander.config.ActionDefinition;
 import org.chaiware.acommander.config.AppRegistry;
 import org.chaiware.acommander.helpers.FilesPanesHelper;
+import org.chaiware.acommander.metrics.events.FileJobEvent;
 import org.chaiware.acommander.model.FileItem;
+import org.chaiware.acommander.search.FileNameIndexService;
 import org.chaiware.acommander.tools.ToolCommandBuilder;
 import org.chaiware.acommander.vfs.ArchiveFileSystem;
 import org.chaiware.acommander.vfs.VFileSystem;
@@ -31,6 +33,12 @@ public class CommandsAdvancedImpl extends ACommands {
         commandsSimpleImpl.setExternalCommandListener(externalCommandListener);
     }
 
+    @Override
+    public void setFileNameIndex(FileNameIndexService fileNameIndex) {
+        super.setFileNameIndex(fileNameIndex);
+        commandsSimpleImpl.setFileNameIndex(fileNameIndex);
+    }
+
     @Override
     public int stopRunningExternalCommands() {
         int stoppedByAdvanced = super.stopRunningExternalCommands();
@@ -167,6 +175,7 @@ public class CommandsAdvancedImpl extends ACommands {
         List<String> selectedFiles = validItems.stream()
                 .map(FileItem::getFullPath)
                 .collect(Collectors.toList());
+        FileJobEvent event = beginFileJob("copy", validItems, targetFolder);
         List<String> command = ToolCommandBuilder.buildCommand(
                 action.getPath(),
                 action.getArgs(),
@@ -175,6 +184,7 @@ public class CommandsAdvancedImpl extends ACommands {
                 selectedFiles
         );
         runExecutable(command, true);
+        event.commit();
         log.debug("Copied {} items To: {}", selectedFiles.size(), targetFolder);
     }
 
@@ -288,7 +298,7 @@ public class CommandsAdvancedImpl extends ACommands {
     }
 
     @Override
-    public void searchFiles(String sourcePath, String filenameWildcard) throws Exception {
+    public void searchFiles(String sourcePath, String filenameWildcard, boolean includeArchives) throws Exception {
 //        List<String> command = new ArrayList<>();
 //        command.add(APP_PATH + "search\\SearchMyFiles.exe");
 //        command.add("/StartSearch");
@@ -297,7 +307,7 @@ public class CommandsAdvancedImpl extends ACommands {
 //        command.add("/FilesWildcard " + filenameWildcard);
 //        runExecutable(command, true);
 //        log.debug("Searched for: {} under: {}", filenameWildcard, sourcePath);
-        commandsSimpleImpl.searchFiles(sourcePath, filenameWildcard);
+        commandsSimpleImpl.searchFiles(sourcePath, filenameWildcard, includeArchives);
     }
 
     @Override
@@ -4,8 +4,17 @@ import javafx.application.Platform;
 import javafx.scene.control.*;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
 import org.chaiware.acommander.helpers.FilesPanesHelper;
+import org.chaiware.acommander.helpers.FxBatcher;
+import org.chaiware.acommander.helpers.Stopwatch;
 import org.chaiware.acommander.model.FileItem;
+import org.chaiware.acommander.model.VirtualFileItem;
+import org.chaiware.acommander.search.ArchiveNameSearch;
+import org.chaiware.acommander.search.CancellableSearch;
+import org.chaiware.acommander.search.FileNamePattern;
+import org.chaiware.acommander.search.FileNameSearch;
 import org.chaiware.acommander.vfs.ArchiveFileSystem;
 import org.chaiware.acommander.vfs.VFileSystem;
 
@@ -17,6 +26,9 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /** Simple implementation using Java code and Powershell (Not 3rd party executables) */
 public class CommandsSimpleImpl extends ACommands {
@@ -198,74 +210,108 @@ public class CommandsSimpleImpl extends ACommands {
     }
 
     @Override
-    public void searchFiles(String sourcePath, String filenameWildcard) {
-        log.info("Searching for: {} from: {}", filenameWildcard, sourcePath);
-        List<String> command = List.of(
-                "powershell",
-                "-Command",
-                "Get-ChildItem -Path '" + sourcePath + "' -Recurse -File | Where-Object { $_.Name -like '" + filenameWildcard + "' } | Select-Object -ExpandProperty FullName"
-        );
-
-        runExecutable(command, true)
-                .thenAccept(output -> {
-                    if (!output.isEmpty()) {
-                        log.debug("Files found in the search are:");
-                        output.forEach(log::debug);
-
-                        Platform.runLater(() -> {
-                            log.debug("Showing the found files to the user so they can select one");
-                            FileItem selectedFile = getSelectedFileByUser(output);
-                            if (selectedFile != null) {
-                                log.info("From the search, the selected file is: {}", selectedFile.getFullPath());
-                                fileListsLoader.setFocusedFileListPath(selectedFile.getFile().getParent());
-                                fileListsLoader.selectFileItem(true, selectedFile);
-                                ListView<FileItem> focusedList = fileListsLoader.getFileList(true);
-                                focusedList.requestFocus();
-                                int selectedIndex = focusedList.getSelectionModel().getSelectedIndex();
-                                if (selectedIndex >= 0) {
-                                    focusedList.getFocusModel().focus(selectedIndex);
-                                }
-                            } else {
-                                log.info("User didn't select any file from the search results");
-                            }
-                        });
-                    } else {
-                        Platform.runLater(() -> {
-                            log.info("No files were found in the search results");
-                            Alert alert = new Alert(Alert.AlertType.INFORMATION, "No files found :-(");
-                            alert.setHeaderText(null);
-                            alert.showAndWait();
-                        });
-                    }
-                });
+    public void searchFiles(String sourcePath, String filenameWildcard, boolean includeArchives) {
+        log.info("Searching for: {} from: {}{}", filenameWildcard, sourcePath, includeArchives ? " (including archives)" : "");
+        FileNamePattern pattern = FileNamePattern.compile(filenameWildcard);
+
+        ListView<FileItem> fileList = createSearchResultList();
+        Label status = new Label("Searching...");
+
+        // Matches arrive from the search workers; they are moved to the list in batches, one FX pulse at a time
+        FxBatcher<FileItem> onMatch = new FxBatcher<>(batch -> {
+            boolean wasEmpty = fileList.getItems().isEmpty();
+            fileList.getItems().addAll(batch);
+            if (wasEmpty) {
+                fileList.getSelectionModel().selectFirst();
+                fileList.getFocusModel().focus(0);
+            }
+        });
+        Consumer<Path> onFileMatch = path -> onMatch.accept(new FileItem(path.toFile()));
+        // The index only knows plain files, archive contents always need a walk
+        Optional<CancellableSearch> indexedSearch = fileNameIndex == null || includeArchives
+                ? Optional.empty()
+                : fileNameIndex.searchUnder(Paths.get(sourcePath), pattern, onFileMatch);
+        String searchSource = indexedSearch.isPresent() ? " (from index)" : "";
+        CancellableSearch search = indexedSearch.orElseGet(() -> includeArchives
+                ? new ArchiveNameSearch(Paths.get(sourcePath), pattern, onFileMatch, (archive, entryPath, size) ->
+                        onMatch.accept(new VirtualFileItem(archive.toString(), entryPath.substring(entryPath.lastIndexOf('/') + 1),
+                                entryPath, size, 0, null, false)))
+                : new FileNameSearch(Paths.get(sourcePath), pattern, FileNameSearch.DEFAULT_EXCLUDED_DIRS, onFileMatch).skippingHidden());
+        Stopwatch stopwatch = new Stopwatch();
+        search.start().whenComplete((count, ex) -> Platform.runLater(() -> {
+            onMatch.flush();
+            if (ex != null) {
+                log.error("File search failed under: {}", sourcePath, ex);
+                status.setText("Search failed: " + ex.getMessage());
+            } else if (search.isCancelled()) {
+                status.setText("Search cancelled");
+            } else if (count == 0) {
+                log.info("No files were found in the search results");
+                status.setText("No files found :-(");
+            } else {
+                status.setText("Found " + count + " file(s) in " + stopwatch + searchSource);
+            }
+        }));
+
+        log.debug("Showing the found files to the user so they can select one");
+        FileItem selectedFile = getSelectedFileByUser(fileList, status, search);
+        search.cancel();
+        if (selectedFile instanceof VirtualFileItem archiveEntry) {
+            log.info("From the search, the selected archive entry is: {}", displayPath(archiveEntry));
+            FilesPanesHelper.FocusSide side = fileListsLoader.getFocusedSide();
+            CompletableFuture.runAsync(() -> fileListsLoader.openArchiveAt(side, archiveEntry.getArchivePath(), archiveEntry.getEntryPath()))
+                    .exceptionally(ex -> {
+                        log.error("Failed opening archive: {}", archiveEntry.getArchivePath(), ex);
+                        return null;
+                    });
+        } else if (selectedFile != null) {
+            log.info("From the search, the selected file is: {}", selectedFile.getFullPath());
+            fileListsLoader.setFocusedFileListPath(selectedFile.getFile().getParent());
+            fileListsLoader.selectFileItem(true, selectedFile);
+            ListView<FileItem> focusedList = fileListsLoader.getFileList(true);
+            focusedList.requestFocus();
+            int selectedIndex = focusedList.getSelectionModel().getSelectedIndex();
+            if (selectedIndex >= 0) {
+                focusedList.getFocusModel().focus(selectedIndex);
+            }
+        } else {
+            log.info("User didn't select any file from the search results");
+        }
     }
 
-    /**
-     * From a list of files, it shows the user a dialog and when he chooses a file, it returns the selected-by-user FileItem
-     * or Null in the case of canceling...
-     */
-    private FileItem getSelectedFileByUser(List<String> files) {
-        List<FileItem> fileItems = files.stream().map(filename -> new FileItem(new File(filename))).toList();
+    private ListView<FileItem> createSearchResultList() {
         ListView<FileItem> fileList = new ListView<>();
-        fileList.getItems().setAll(fileItems);
         fileList.setCellFactory(list -> new ListCell<>() {
             @Override
             protected void updateItem(FileItem item, boolean empty) {
                 super.updateItem(item, empty);
-                setText(empty || item == null ? null : item.getFullPath());
+                setText(empty || item == null ? null : displayPath(item));
             }
         });
-        fileList.getSelectionModel().selectFirst();
-        fileList.getFocusModel().focus(0);
         fileList.setPrefSize(980, 420);
+        return fileList;
+    }
+
+    /** Archive hits are shown as archive://entry */
+    private static String displayPath(FileItem item) {
+        return item instanceof VirtualFileItem entry ? entry.getArchivePath() + "://" + entry.getEntryPath() : item.getFullPath();
+    }
 
+    /**
+     * Shows the (still growing) search results, when the user chooses a file, it returns the selected-by-user FileItem
+     * or Null in the case of canceling... Closing the dialog stops the search.
+     */
+    private FileItem getSelectedFileByUser(ListView<FileItem> fileList, Label status, CancellableSearch search) {
         Dialog<FileItem> dialog = new Dialog<>();
         dialog.setTitle("Files Found");
         DialogPane pane = dialog.getDialogPane();
-        pane.setContent(fileList);
+        VBox content = new VBox(8, status, fileList);
+        VBox.setVgrow(fileList, Priority.ALWAYS);
+        pane.setContent(content);
         ButtonType goToFileButton = new ButtonType("Go to File", ButtonBar.ButtonData.OK_DONE);
-        pane.getButtonTypes().addAll(goToFileButton, ButtonType.CANCEL);
-        pane.setPrefSize(1020, 480);
+        ButtonType stopButton = new ButtonType("Stop", ButtonBar.ButtonData.OTHER);
+        pane.getButtonTypes().addAll(goToFileButton, stopButton, ButtonType.CANCEL);
+        pane.setPrefSize(1020, 500);
         dialog.setResizable(true);
         dialog.setResultConverter(buttonType -> buttonType == goToFileButton ? fileList.getSelectionModel().getSelectedItem() : null);
         dialog.setOnShown(event -> Platform.runLater(() -> {
@@ -274,6 +320,12 @@ public class CommandsSimpleImpl extends ACommands {
             fileList.getFocusModel().focus(0);
         }));
 
+        Button stop = (Button) pane.lookupButton(stopButton);
+        stop.addEventFilter(javafx.event.ActionEvent.ACTION, event -> {
+            search.cancel();
+            event.consume();
+        });
+
         pane.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
             if (event.getCode() == KeyCode.ESCAPE) {
                 dialog.setResult(null);
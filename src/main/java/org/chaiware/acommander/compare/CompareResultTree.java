@@ -0,0 +1,186 @@
+package org.chaiware.acommander.compare;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The differences found by a {@link FolderCompare}, kept as a compact path tree so the panes can show them at any
+ * depth without comparing again.
+ * Nodes live in parallel arrays: the parent index, the (interned) path segment, the node's own difference as a
+ * byte ordinal, and the differences rolled up from the node and everything below it. Children are found through one
+ * open-addressing table keyed by parent index + segment, so a node costs a few array slots and no objects.
+ * Thread-safe: differences are added from the compare workers while the panes read.
+ */
+public class CompareResultTree {
+    private static final int ROOT = 0;
+    private static final byte NONE = 0;
+    private static final FolderCompare.Difference[] DIFFERENCES = FolderCompare.Difference.values();
+
+    /** Differences at and below a path */
+    public record Counts(int onlyLeft, int onlyRight, int different) {
+        public int total() {
+            return onlyLeft + onlyRight + different;
+        }
+    }
+
+    private final boolean caseSensitive;
+    private final Map<String, String> segments = new HashMap<>();
+    private int size = 1;
+    private int[] parents = new int[64];
+    private String[] names = new String[64];
+    private byte[] states = new byte[64];
+    private int[] onlyLeft = new int[64];
+    private int[] onlyRight = new int[64];
+    private int[] different = new int[64];
+    /** node index + 1 per slot, 0 = empty; capacity is a power of two kept at most half full */
+    private int[] slots = new int[128];
+
+    public CompareResultTree(boolean caseSensitive) {
+        this.caseSensitive = caseSensitive;
+        parents[ROOT] = -1;
+    }
+
+    /**
+     * Records a difference at a path relative to the compared roots ('/' separated); a path reported as only on the
+     * left and only on the right (differing by name case) becomes {@link FolderCompare.Difference#DIFFERENT}.
+     */
+    public synchronized void add(String relativePath, FolderCompare.Difference difference) {
+        int node = ROOT;
+        for (String segment : split(relativePath)) {
+            int child = find(node, segment);
+            node = child >= 0 ? child : addChild(node, segment);
+        }
+        if (node == ROOT) {
+            return;
+        }
+        FolderCompare.Difference previous = states[node] == NONE ? null : DIFFERENCES[states[node] - 1];
+        if (previous == difference) {
+            return;
+        }
+        FolderCompare.Difference merged = previous == null ? difference : FolderCompare.Difference.DIFFERENT;
+        states[node] = (byte) (merged.ordinal() + 1);
+        for (int ancestor = node; ancestor >= 0; ancestor = parents[ancestor]) {
+            if (previous != null) {
+                count(ancestor, previous, -1);
+            }
+            count(ancestor, merged, 1);
+        }
+    }
+
+    /**
+     * How a path shows in one pane: its own difference, or the differences below it merged (one kind shows as that
+     * kind, several as {@link FolderCompare.Difference#DIFFERENT}). A left pane ignores what exists only on the right
+     * and the other way around. Entries inside a folder that exists on one side only inherit the folder's state.
+     */
+    public synchronized Optional<FolderCompare.Difference> mark(String relativePath, boolean leftSide) {
+        int node = ROOT;
+        FolderCompare.Difference inherited = null;
+        for (String segment : split(relativePath)) {
+            if (states[node] != NONE && DIFFERENCES[states[node] - 1] != FolderCompare.Difference.DIFFERENT) {
+                inherited = DIFFERENCES[states[node] - 1];
+            }
+            node = find(node, segment);
+            if (node < 0) {
+                return Optional.ofNullable(inherited).filter(kind -> kind == (leftSide
+                        ? FolderCompare.Difference.LEFT_ONLY : FolderCompare.Difference.RIGHT_ONLY));
+            }
+        }
+        int oneSided = leftSide ? onlyLeft[node] : onlyRight[node];
+        if (different[node] > 0) {
+            return Optional.of(FolderCompare.Difference.DIFFERENT);
+        }
+        if (oneSided > 0) {
+            return Optional.of(leftSide ? FolderCompare.Difference.LEFT_ONLY : FolderCompare.Difference.RIGHT_ONLY);
+        }
+        return Optional.empty();
+    }
+
+    /** Rolled-up differences at and below a path ("" for the whole compare) */
+    public synchronized Counts counts(String relativePath) {
+        int node = ROOT;
+        for (String segment : split(relativePath)) {
+            node = find(node, segment);
+            if (node < 0) {
+                return new Counts(0, 0, 0);
+            }
+        }
+        return new Counts(onlyLeft[node], onlyRight[node], different[node]);
+    }
+
+    /** Number of nodes, including the root */
+    public synchronized int size() {
+        return size;
+    }
+
+    private String[] split(String relativePath) {
+        String path = relativePath.replace('\\', '/');
+        if (path.isEmpty()) {
+            return new String[0];
+        }
+        return (caseSensitive ? path : path.toLowerCase(Locale.ROOT)).split("/");
+    }
+
+    private void count(int node, FolderCompare.Difference difference, int delta) {
+        switch (difference) {
+            case LEFT_ONLY -> onlyLeft[node] += delta;
+            case RIGHT_ONLY -> onlyRight[node] += delta;
+            case DIFFERENT -> different[node] += delta;
+        }
+    }
+
+    private int find(int parent, String segment) {
+        int mask = slots.length - 1;
+        for (int slot = hash(parent, segment) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int node = slots[slot] - 1;
+            if (parents[node] == parent && names[node].equals(segment)) {
+                return node;
+            }
+        }
+        return -1;
+    }
+
+    private int addChild(int parent, String segment) {
+        if (size == parents.length) {
+            int capacity = size * 2;
+            parents = Arrays.copyOf(parents, capacity);
+            names = Arrays.copyOf(names, capacity);
+            states = Arrays.copyOf(states, capacity);
+            onlyLeft = Arrays.copyOf(onlyLeft, capacity);
+            onlyRight = Arrays.copyOf(onlyRight, capacity);
+            different = Arrays.copyOf(different, capacity);
+        }
+        int node = size++;
+        parents[node] = parent;
+        names[node] = segments.computeIfAbsent(segment, key -> key);
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        } else {
+            insert(node);
+        }
+        return node;
+    }
+
+    private void rehash(int capacity) {
+        slots = new int[capacity];
+        for (int node = 1; node < size; node++) {
+            insert(node);
+        }
+    }
+
+    private void insert(int node) {
+        int mask = slots.length - 1;
+        int slot = hash(parents[node], names[node]) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = node + 1;
+    }
+
+    private static int hash(int parent, String segment) {
+        int hash = parent * 0x9E3779B9 + segment.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,143 @@
+package org.chaiware.acommander.compare;
+
+import org.chaiware.acommander.checksum.ChecksumStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Tiered check of whether two files hold the same bytes: cached checksums, then size, then head/middle/tail
+ * samples (which reject most differing files after three small reads), then a full comparison of memory-mapped
+ * windows that stops at the first differing byte.
+ * With a {@link ChecksumStore}, files found equal by a full comparison are hashed on the way and their digests
+ * stored, so comparing them again while unchanged reads no content.
+ */
+public final class ContentComparator {
+    /** Algorithm of the digests this comparator reads from and writes to the checksum store */
+    public static final String STORE_ALGORITHM = "SHA256";
+    static final int SAMPLE_SIZE = 64 * 1024;
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private ContentComparator() {
+    }
+
+    public static boolean sameContent(Path left, Path right) throws IOException {
+        return sameContent(left, right, null);
+    }
+
+    public static boolean sameContent(Path left, Path right, ChecksumStore store) throws IOException {
+        if (store != null) {
+            Optional<byte[]> leftDigest = store.get(left, STORE_ALGORITHM);
+            Optional<byte[]> rightDigest = leftDigest.isPresent() ? store.get(right, STORE_ALGORITHM) : Optional.empty();
+            if (leftDigest.isPresent() && rightDigest.isPresent()) {
+                return Arrays.equals(leftDigest.get(), rightDigest.get());
+            }
+        }
+        ChecksumStore.FileStamp leftStamp = store == null ? null : ChecksumStore.FileStamp.of(left);
+        ChecksumStore.FileStamp rightStamp = store == null ? null : ChecksumStore.FileStamp.of(right);
+        try (FileChannel leftChannel = FileChannel.open(left, StandardOpenOption.READ);
+             FileChannel rightChannel = FileChannel.open(right, StandardOpenOption.READ)) {
+            long size = leftChannel.size();
+            if (size != rightChannel.size()) {
+                return false;
+            }
+            if (size <= 3L * SAMPLE_SIZE) {
+                ByteBuffer leftBytes = read(leftChannel, 0, (int) size);
+                if (!leftBytes.equals(read(rightChannel, 0, (int) size))) {
+                    return false;
+                }
+                if (store != null) {
+                    MessageDigest digest = newDigest();
+                    digest.update(leftBytes);
+                    storeDigest(store, left, leftStamp, right, rightStamp, digest.digest());
+                }
+                return true;
+            }
+            if (!sameRange(leftChannel, rightChannel, 0, SAMPLE_SIZE)
+                    || !sameRange(leftChannel, rightChannel, size - SAMPLE_SIZE, SAMPLE_SIZE)
+                    || !sameRange(leftChannel, rightChannel, size / 2 - SAMPLE_SIZE / 2, SAMPLE_SIZE)) {
+                return false;
+            }
+            if (store == null) {
+                return sameMappedContent(leftChannel, rightChannel, size, null);
+            }
+            MessageDigest digest = newDigest();
+            if (!sameMappedContent(leftChannel, rightChannel, size, digest)) {
+                return false;
+            }
+            storeDigest(store, left, leftStamp, right, rightStamp, digest.digest());
+            return true;
+        }
+    }
+
+    /**
+     * Digest of the same head, middle and tail samples {@link #sameContent} compares first; files with differing
+     * samples cannot be equal. Files of up to three samples are digested whole.
+     */
+    static byte[] sampleDigest(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MessageDigest digest = newDigest();
+            if (size <= 3L * SAMPLE_SIZE) {
+                digest.update(read(channel, 0, (int) size));
+            } else {
+                digest.update(read(channel, 0, SAMPLE_SIZE));
+                digest.update(read(channel, size / 2 - SAMPLE_SIZE / 2, SAMPLE_SIZE));
+                digest.update(read(channel, size - SAMPLE_SIZE, SAMPLE_SIZE));
+            }
+            return digest.digest();
+        }
+    }
+
+    /** Equal files share one digest */
+    private static void storeDigest(ChecksumStore store, Path left, ChecksumStore.FileStamp leftStamp,
+                                    Path right, ChecksumStore.FileStamp rightStamp, byte[] digest) {
+        store.put(left, STORE_ALGORITHM, leftStamp, digest);
+        store.put(right, STORE_ALGORITHM, rightStamp, digest);
+    }
+
+    private static boolean sameRange(FileChannel left, FileChannel right, long position, int length) throws IOException {
+        return read(left, position, length).equals(read(right, position, length));
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static boolean sameMappedContent(FileChannel left, FileChannel right, long size, MessageDigest digest) throws IOException {
+        for (long position = 0; position < size; position += WINDOW_SIZE) {
+            long length = Math.min(WINDOW_SIZE, size - position);
+            MappedByteBuffer leftWindow = left.map(FileChannel.MapMode.READ_ONLY, position, length);
+            MappedByteBuffer rightWindow = right.map(FileChannel.MapMode.READ_ONLY, position, length);
+            if (leftWindow.mismatch(rightWindow) != -1) {
+                return false;
+            }
+            if (digest != null) {
+                digest.update(leftWindow);
+            }
+        }
+        return true;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 algorithm is not available", ex);
+        }
+    }
+}
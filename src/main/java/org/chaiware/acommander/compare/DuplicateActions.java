@@ -0,0 +1,127 @@
+package org.chaiware.acommander.compare;
+
+import org.chaiware.acommander.checksum.ChecksumStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk actions on duplicate groups; each keeps the most recently modified copy of a group.
+ * Every other copy is compared with the kept one again right before it is touched, so a file changed since the
+ * search is left alone.
+ */
+public final class DuplicateActions {
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateActions.class);
+
+    public enum Action {
+        DELETE,
+        HARD_LINK,
+        MOVE
+    }
+
+    /** Number of copies handled, and one message per copy that was skipped or failed */
+    public record Result(int handled, List<String> problems) {
+    }
+
+    private DuplicateActions() {
+    }
+
+    /** The copy that is kept: the newest one (the first listed on a tie) */
+    public static Path newest(List<Path> files) {
+        Path newest = files.getFirst();
+        FileTime newestTime = modifiedTime(newest);
+        for (Path file : files) {
+            FileTime time = modifiedTime(file);
+            if (time.compareTo(newestTime) > 0) {
+                newest = file;
+                newestTime = time;
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * Applies the action to every copy but the newest of each group.
+     *
+     * @param moveTarget folder receiving the copies for {@link Action#MOVE}, ignored otherwise
+     * @param store      optional, lets the safety comparison skip reading unchanged files
+     */
+    public static Result apply(List<DuplicateFinder.Group> groups, Action action, Path moveTarget, ChecksumStore store) {
+        int handled = 0;
+        List<String> problems = new ArrayList<>();
+        for (DuplicateFinder.Group group : groups) {
+            Path keep = newest(group.files());
+            for (Path file : group.files()) {
+                if (file.equals(keep)) {
+                    continue;
+                }
+                if (action == Action.MOVE && moveTarget.equals(file.getParent())) {
+                    problems.add(file + ": already in the target folder, skipped");
+                    continue;
+                }
+                try {
+                    if (!ContentComparator.sameContent(keep, file, store)) {
+                        problems.add(file + ": changed since the search, skipped");
+                        continue;
+                    }
+                    switch (action) {
+                        case DELETE -> Files.delete(file);
+                        case HARD_LINK -> hardLink(keep, file);
+                        case MOVE -> Files.move(file, freeName(moveTarget.resolve(file.getFileName().toString())));
+                    }
+                    handled++;
+                } catch (IOException | RuntimeException ex) {
+                    logger.warn("Failed to {} duplicate {}", action, file, ex);
+                    problems.add(file + ": " + ex.getMessage());
+                }
+            }
+        }
+        logger.info("{} applied to {} duplicate(s) in {} group(s), {} problem(s)", action, handled, groups.size(), problems.size());
+        return new Result(handled, problems);
+    }
+
+    /** Replaces the copy with a hard link to the kept file; the link is made aside first so a failure loses nothing */
+    private static void hardLink(Path keep, Path file) throws IOException {
+        Path link = file.resolveSibling(file.getFileName() + ".acmd-link");
+        Files.deleteIfExists(link);
+        Files.createLink(link, keep);
+        try {
+            Files.move(link, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            Files.deleteIfExists(link);
+            throw ex;
+        }
+    }
+
+    /** "name.ext", else "name (2).ext", "name (3).ext"... */
+    static Path freeName(Path target) {
+        if (!Files.exists(target)) {
+            return target;
+        }
+        String name = target.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        for (int i = 2; ; i++) {
+            Path candidate = target.resolveSibling(base + " (" + i + ")" + extension);
+            if (!Files.exists(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static FileTime modifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException ex) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package org.chaiware.acommander.compare;
+
+import org.chaiware.acommander.checksum.ChecksumStore;
+import org.chaiware.acommander.checksum.HashAlgorithm;
+import org.chaiware.acommander.checksum.HashEngine;
+import org.chaiware.acommander.helpers.Stopwatch;
+import org.chaiware.acommander.search.CancellableSearch;
+import org.chaiware.acommander.search.FileNamePattern;
+import org.chaiware.acommander.search.FileNameSearch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Finds files with identical content under one or more folders.
+ * Files are grouped by size while the trees are walked in parallel; a size shared by several files is then narrowed
+ * by a digest of head/middle/tail samples, and only files whose samples collide are hashed in full (through the
+ * {@link ChecksumStore}, so unchanged files are not read again). Size groups are resolved in parallel and every
+ * group of duplicates is streamed to the caller as soon as it is confirmed.
+ * Only the paths of files sharing a size are kept, a file with a unique size costs one map entry.
+ */
+public class DuplicateFinder implements CancellableSearch {
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateFinder.class);
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()),
+            pool -> {
+                var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("duplicate-finder-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null,
+            false
+    );
+
+    /**
+     * @param minSize smaller files are ignored (1 skips empty files)
+     */
+    public record Options(long minSize, boolean includeHidden) {
+    }
+
+    /** Files sharing the same content; {@code digest} is the lower-case hex SHA-256 */
+    public record Group(long size, String digest, List<Path> files) {
+        /** Bytes that would be freed by keeping a single copy */
+        public long wastedBytes() {
+            return size * (files.size() - 1);
+        }
+    }
+
+    private final List<Path> roots;
+    private final Options options;
+    private final Consumer<Group> onGroup;
+    private final List<FileNameSearch> walks = new ArrayList<>();
+    /** size -> a single Path, or a List of the paths once the size is shared */
+    private final Map<Long, Object> bySize = new ConcurrentHashMap<>();
+    private ChecksumStore checksumStore;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicLong groupCount = new AtomicLong();
+    private final AtomicLong wastedBytes = new AtomicLong();
+    private final AtomicLong fullyHashed = new AtomicLong();
+
+    public DuplicateFinder(List<Path> roots, Options options, Consumer<Group> onGroup) {
+        this.roots = withoutNestedRoots(roots);
+        this.options = options;
+        this.onGroup = onGroup;
+        for (Path root : this.roots) {
+            FileNameSearch walk = FileNameSearch.withAttributes(root, FileNamePattern.compile("*"),
+                    FileNameSearch.DEFAULT_EXCLUDED_DIRS, this::addBySize);
+            walks.add(options.includeHidden() ? walk : walk.skippingHidden());
+        }
+    }
+
+    /**
+     * Reuse (and record) full-file digests (call before {@link #start()}).
+     */
+    public DuplicateFinder withChecksumStore(ChecksumStore checksumStore) {
+        this.checksumStore = checksumStore;
+        return this;
+    }
+
+    /**
+     * Starts walking and matching; the future completes with the number of duplicate groups found.
+     */
+    @Override
+    public CompletableFuture<Long> start() {
+        Stopwatch stopwatch = new Stopwatch();
+        CompletableFuture<?>[] walking = walks.stream().map(FileNameSearch::start).toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(walking).thenApplyAsync(ignored -> {
+            List<Map.Entry<Long, List<Path>>> sizeGroups = sharedSizes();
+            logger.debug("Walked {} in {}, {} sizes shared by several files", roots, stopwatch, sizeGroups.size());
+            // Biggest files first, they free the most space
+            sizeGroups.sort(Map.Entry.<Long, List<Path>>comparingByKey().reversed());
+            sizeGroups.parallelStream().forEach(group -> resolve(group.getKey(), group.getValue()));
+            logger.info("Found {} duplicate groups ({} MB reclaimable) under {} in {}, {} files hashed in full{}",
+                    groupCount.get(), wastedBytes.get() / (1024 * 1024), roots, stopwatch, fullyHashed.get(),
+                    cancelled.get() ? " (cancelled)" : "");
+            return groupCount.get();
+        }, POOL);
+    }
+
+    @Override
+    public void cancel() {
+        cancelled.set(true);
+        walks.forEach(FileNameSearch::cancel);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    public long getWastedBytes() {
+        return wastedBytes.get();
+    }
+
+    private void addBySize(Path file, BasicFileAttributes attrs) {
+        if (attrs.size() < Math.max(0, options.minSize())) {
+            return;
+        }
+        bySize.compute(attrs.size(), (size, existing) -> {
+            if (existing == null) {
+                return file;
+            }
+            if (existing instanceof Path first) {
+                List<Path> files = new ArrayList<>(4);
+                files.add(first);
+                files.add(file);
+                return files;
+            }
+            @SuppressWarnings("unchecked")
+            List<Path> files = (List<Path>) existing;
+            files.add(file);
+            return files;
+        });
+    }
+
+    /** Takes the sizes shared by several files and drops the rest of the size map */
+    @SuppressWarnings("unchecked")
+    private List<Map.Entry<Long, List<Path>>> sharedSizes() {
+        List<Map.Entry<Long, List<Path>>> groups = new ArrayList<>();
+        bySize.forEach((size, files) -> {
+            if (files instanceof List<?> list) {
+                groups.add(Map.entry(size, (List<Path>) list));
+            }
+        });
+        bySize.clear();
+        return groups;
+    }
+
+    private void resolve(long size, List<Path> files) {
+        if (cancelled.get()) {
+            return;
+        }
+        List<Path> distinct = withoutHardLinks(files);
+        if (distinct.size() < 2) {
+            return;
+        }
+        if (size <= 3L * ContentComparator.SAMPLE_SIZE) {
+            // The samples would cover the whole file, hash it in full right away
+            emitByFullDigest(size, distinct);
+            return;
+        }
+        for (List<Path> candidates : groupBy(distinct, ContentComparator::sampleDigest).values()) {
+            if (candidates.size() > 1) {
+                emitByFullDigest(size, candidates);
+            }
+        }
+    }
+
+    private void emitByFullDigest(long size, List<Path> candidates) {
+        Map<String, List<Path>> byDigest = groupBy(candidates, file -> {
+            fullyHashed.incrementAndGet();
+            return HashEngine.hash(file, HashAlgorithm.SHA256, checksumStore, cancelled::get);
+        });
+        byDigest.forEach((digest, files) -> {
+            if (files.size() > 1 && !cancelled.get()) {
+                files.sort(Comparator.naturalOrder());
+                Group group = new Group(size, digest, List.copyOf(files));
+                groupCount.incrementAndGet();
+                wastedBytes.addAndGet(group.wastedBytes());
+                onGroup.accept(group);
+            }
+        });
+    }
+
+    private interface DigestFunction {
+        byte[] digest(Path file) throws IOException;
+    }
+
+    /** Groups files by digest, files that cannot be read are left out */
+    private Map<String, List<Path>> groupBy(List<Path> files, DigestFunction function) {
+        Map<String, List<Path>> groups = new HashMap<>();
+        for (Path file : files) {
+            if (cancelled.get()) {
+                break;
+            }
+            try {
+                String digest = HexFormat.of().formatHex(function.digest(file));
+                groups.computeIfAbsent(digest, key -> new ArrayList<>(2)).add(file);
+            } catch (CancellationException ignored) {
+                break;
+            } catch (IOException | RuntimeException ex) {
+                logger.debug("Skipping unreadable file while looking for duplicates: {}", file, ex);
+            }
+        }
+        return groups;
+    }
+
+    /** Hard links to one file are not duplicates (where the file system exposes a file key) */
+    private static List<Path> withoutHardLinks(List<Path> files) {
+        Set<Object> seenKeys = new HashSet<>();
+        List<Path> distinct = new ArrayList<>(files.size());
+        for (Path file : files) {
+            Object fileKey = null;
+            try {
+                fileKey = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+            } catch (IOException ignored) {
+                // keep it, the hashing step skips what cannot be read
+            }
+            if (fileKey == null || seenKeys.add(fileKey)) {
+                distinct.add(file);
+            }
+        }
+        return distinct;
+    }
+
+    /** A root inside another root would report each of its files twice */
+    private static List<Path> withoutNestedRoots(List<Path> roots) {
+        List<Path> normalized = roots.stream().map(root -> root.toAbsolutePath().normalize()).distinct().toList();
+        return normalized.stream()
+                .filter(root -> normalized.stream().noneMatch(other -> !other.equals(root) && root.startsWith(other)))
+                .toList();
+    }
+}
@@ -0,0 +1,309 @@
+package org.chaiware.acommander.compare;
+
+import org.chaiware.acommander.checksum.ChecksumStore;
+import org.chaiware.acommander.helpers.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares two folder trees in parallel.
+ * Each pair of same-named folders is a fork/join task that lists both sides, sorts them and merge-joins the two
+ * listings, so no tree-wide key set is built and memory is bounded by the width of the folders in flight.
+ * Content checks run as separate tasks on the same pool. Differences are streamed to a listener as they are found
+ * and the compare can be cancelled at any time. Symbolic links and junctions are entries of their own, compared by
+ * their targets, and never descended into (a link back up the tree would otherwise never end).
+ */
+public class FolderCompare {
+    private static final Logger logger = LoggerFactory.getLogger(FolderCompare.class);
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()),
+            pool -> {
+                var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("folder-compare-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null,
+            false
+    );
+
+    public enum Difference {
+        LEFT_ONLY,
+        RIGHT_ONLY,
+        DIFFERENT
+    }
+
+    public record Options(boolean compareByDate, boolean checksum, boolean recursive, boolean caseSensitiveNames) {
+    }
+
+    /** Entry counts; one-sided folders count every entry below them when comparing recursively */
+    public record Summary(long onlyLeft, long onlyRight, long different, long filesCompared, boolean cancelled) {
+    }
+
+    /** Receives each difference with its path relative to the compared roots ('/' separated) */
+    @FunctionalInterface
+    public interface Listener {
+        void onDifference(String relativePath, Difference difference);
+    }
+
+    private final Path leftRoot;
+    private final Path rightRoot;
+    private final Options options;
+    private final Listener listener;
+    private ChecksumStore checksumStore;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicLong onlyLeft = new AtomicLong();
+    private final AtomicLong onlyRight = new AtomicLong();
+    private final AtomicLong different = new AtomicLong();
+    private final AtomicLong filesCompared = new AtomicLong();
+
+    public FolderCompare(Path leftRoot, Path rightRoot, Options options, Listener listener) {
+        this.leftRoot = leftRoot;
+        this.rightRoot = rightRoot;
+        this.options = options;
+        this.listener = listener;
+    }
+
+    /**
+     * Reuse (and record) file digests when checking contents (call before {@link #start()}).
+     */
+    public FolderCompare withChecksumStore(ChecksumStore checksumStore) {
+        this.checksumStore = checksumStore;
+        return this;
+    }
+
+    public CompletableFuture<Summary> start() {
+        Stopwatch stopwatch = new Stopwatch();
+        return CompletableFuture.supplyAsync(() -> {
+            POOL.invoke(new FolderPairTask("", leftRoot, rightRoot));
+            Summary summary = new Summary(onlyLeft.get(), onlyRight.get(), different.get(), filesCompared.get(), cancelled.get());
+            logger.info("Compared {} with {} in {}: {}", leftRoot, rightRoot, stopwatch, summary);
+            return summary;
+        }, POOL);
+    }
+
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    private record Entry(String name, String key, Path path, boolean directory, boolean link, long size,
+                         long modifiedMillis) {
+    }
+
+    private List<Entry> list(Path dir) {
+        List<Entry> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path path : stream) {
+                if (cancelled.get()) {
+                    break;
+                }
+                Path fileName = path.getFileName();
+                if (fileName == null) {
+                    continue;
+                }
+                String name = fileName.toString();
+                BasicFileAttributes attrs;
+                try {
+                    attrs = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (IOException ex) {
+                    continue;
+                }
+                String key = options.caseSensitiveNames() ? name : name.toLowerCase(Locale.ROOT);
+                boolean link = attrs.isSymbolicLink() || attrs.isOther(); // isOther: a junction on Windows
+                entries.add(new Entry(name, key, path, attrs.isDirectory(), link,
+                        attrs.isDirectory() ? 0L : attrs.size(), attrs.lastModifiedTime().toMillis()));
+            }
+        } catch (IOException | SecurityException ex) {
+            logger.debug("Skipping unreadable folder during compare: {}", dir, ex);
+        }
+        entries.sort(Comparator.comparing(Entry::key));
+        return entries;
+    }
+
+    private void report(String relativePath, Difference difference) {
+        switch (difference) {
+            case LEFT_ONLY -> onlyLeft.incrementAndGet();
+            case RIGHT_ONLY -> onlyRight.incrementAndGet();
+            case DIFFERENT -> different.incrementAndGet();
+        }
+        listener.onDifference(relativePath, difference);
+    }
+
+    private static String childPath(String parent, String name) {
+        return parent.isEmpty() ? name : parent + "/" + name;
+    }
+
+    /** Index of the first entry after {@code index} with a different key (case-insensitive duplicates count once) */
+    private static int nextKey(List<Entry> entries, int index) {
+        int next = index + 1;
+        while (next < entries.size() && entries.get(next).key().equals(entries.get(index).key())) {
+            next++;
+        }
+        return next;
+    }
+
+    private final class FolderPairTask extends RecursiveAction {
+        private final String relativePath;
+        private final Path left;
+        private final Path right;
+
+        private FolderPairTask(String relativePath, Path left, Path right) {
+            this.relativePath = relativePath;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled.get()) {
+                return;
+            }
+            List<ForkJoinTask<?>> subTasks = new ArrayList<>();
+            mergeJoin(list(left), list(right), subTasks);
+            if (!subTasks.isEmpty()) {
+                invokeAll(subTasks);
+            }
+        }
+
+        private void mergeJoin(List<Entry> leftEntries, List<Entry> rightEntries, List<ForkJoinTask<?>> subTasks) {
+            int l = 0;
+            int r = 0;
+            while ((l < leftEntries.size() || r < rightEntries.size()) && !cancelled.get()) {
+                Entry leftEntry = l < leftEntries.size() ? leftEntries.get(l) : null;
+                Entry rightEntry = r < rightEntries.size() ? rightEntries.get(r) : null;
+                int order = leftEntry == null ? 1 : rightEntry == null ? -1 : leftEntry.key().compareTo(rightEntry.key());
+                if (order < 0) {
+                    oneSided(leftEntry, Difference.LEFT_ONLY, subTasks);
+                    l = nextKey(leftEntries, l);
+                } else if (order > 0) {
+                    oneSided(rightEntry, Difference.RIGHT_ONLY, subTasks);
+                    r = nextKey(rightEntries, r);
+                } else {
+                    compareEntries(leftEntry, rightEntry, subTasks);
+                    l = nextKey(leftEntries, l);
+                    r = nextKey(rightEntries, r);
+                }
+            }
+        }
+
+        private void oneSided(Entry entry, Difference difference, List<ForkJoinTask<?>> subTasks) {
+            report(childPath(relativePath, entry.name()), difference);
+            if (entry.directory() && options.recursive()) {
+                subTasks.add(new OneSidedCountTask(entry.path(), difference == Difference.LEFT_ONLY ? onlyLeft : onlyRight));
+            }
+        }
+
+        private void compareEntries(Entry leftEntry, Entry rightEntry, List<ForkJoinTask<?>> subTasks) {
+            String childPath = childPath(relativePath, leftEntry.name());
+            if (leftEntry.directory() != rightEntry.directory() || leftEntry.link() != rightEntry.link()) {
+                report(childPath, Difference.DIFFERENT);
+            } else if (leftEntry.link()) {
+                if (!sameLinkTarget(leftEntry, rightEntry)) {
+                    report(childPath, Difference.DIFFERENT);
+                }
+            } else if (leftEntry.directory()) {
+                if (options.recursive()) {
+                    subTasks.add(new FolderPairTask(childPath, leftEntry.path(), rightEntry.path()));
+                }
+            } else {
+                filesCompared.incrementAndGet();
+                if (leftEntry.size() != rightEntry.size()
+                        || (options.compareByDate() && leftEntry.modifiedMillis() != rightEntry.modifiedMillis())) {
+                    report(childPath, Difference.DIFFERENT);
+                } else if (options.checksum()) {
+                    subTasks.add(new ContentTask(childPath, leftEntry.path(), rightEntry.path()));
+                }
+            }
+        }
+    }
+
+    /** Links point to the same target; links that cannot be read are compared like files, by size and date */
+    private static boolean sameLinkTarget(Entry left, Entry right) {
+        try {
+            return Files.readSymbolicLink(left.path()).equals(Files.readSymbolicLink(right.path()));
+        } catch (IOException | UnsupportedOperationException ex) {
+            return left.size() == right.size() && left.modifiedMillis() == right.modifiedMillis();
+        }
+    }
+
+    private final class ContentTask extends RecursiveAction {
+        private final String relativePath;
+        private final Path left;
+        private final Path right;
+
+        private ContentTask(String relativePath, Path left, Path right) {
+            this.relativePath = relativePath;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled.get()) {
+                return;
+            }
+            try {
+                if (!ContentComparator.sameContent(left, right, checksumStore)) {
+                    report(relativePath, Difference.DIFFERENT);
+                }
+            } catch (IOException ex) {
+                logger.debug("Failed comparing contents of {} and {}", left, right, ex);
+                report(relativePath, Difference.DIFFERENT);
+            }
+        }
+    }
+
+    /** Counts the entries below a folder that exists on one side only */
+    private final class OneSidedCountTask extends RecursiveAction {
+        private final Path dir;
+        private final AtomicLong counter;
+
+        private OneSidedCountTask(Path dir, AtomicLong counter) {
+            this.dir = dir;
+            this.counter = counter;
+        }
+
+        @Override
+        protected void compute() {
+            List<OneSidedCountTask> subTasks = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                for (Path path : stream) {
+                    if (cancelled.get()) {
+                        return;
+                    }
+                    counter.incrementAndGet();
+                    if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                        subTasks.add(new OneSidedCountTask(path, counter));
+                    }
+                }
+            } catch (IOException | SecurityException ex) {
+                logger.debug("Skipping unreadable folder during compare: {}", dir, ex);
+            }
+            if (!subTasks.isEmpty()) {
+                invokeAll(subTasks);
+            }
+        }
+    }
+}
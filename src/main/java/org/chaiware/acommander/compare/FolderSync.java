@@ -0,0 +1,310 @@
+package org.chaiware.acommander.compare;
+
+import org.chaiware.acommander.checksum.ChecksumStore;
+import org.chaiware.acommander.helpers.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Synchronizes two folder trees.
+ * A {@link FolderCompare} run is turned into a plan of steps (copy to one side, delete an orphan) which can be
+ * previewed, and the plan is then executed with files copied in parallel. Only differing entries become steps and
+ * copies keep the source's modification time, so re-syncing trees where little changed costs about one compare
+ * (stat only, unless content checking is on).
+ */
+public class FolderSync {
+    private static final Logger logger = LoggerFactory.getLogger(FolderSync.class);
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()),
+            pool -> {
+                var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("folder-sync-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null,
+            false
+    );
+
+    public enum Direction {
+        LEFT_TO_RIGHT,
+        RIGHT_TO_LEFT,
+        BOTH
+    }
+
+    public enum Operation {
+        COPY_TO_RIGHT,
+        COPY_TO_LEFT,
+        DELETE_LEFT,
+        DELETE_RIGHT,
+        /** Differs on both sides with the same modification time (two-way sync only); left alone */
+        CONFLICT
+    }
+
+    /**
+     * @param deleteOrphans one-way only: delete entries that exist on the target side only (mirror)
+     * @param onlyNewer     one-way only: overwrite a differing target only when the source is newer
+     * @param compare       how differences are detected: size, also date, also content
+     */
+    public record Options(Direction direction, boolean deleteOrphans, boolean onlyNewer, FolderCompare.Options compare) {
+    }
+
+    /** One step of a plan; {@code bytes} is the size of the file or tree to copy (0 for deletes) */
+    public record Step(String relativePath, Operation operation, boolean directory, long bytes) {
+    }
+
+    /** Progress of an execution, reported from worker threads */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long doneFiles, long totalFiles, long doneBytes, long totalBytes);
+    }
+
+    public record Summary(long copiedFiles, long copiedBytes, long deleted, List<String> problems, boolean cancelled) {
+    }
+
+    private final Path leftRoot;
+    private final Path rightRoot;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private volatile FolderCompare activeCompare;
+
+    public FolderSync(Path leftRoot, Path rightRoot) {
+        this.leftRoot = leftRoot;
+        this.rightRoot = rightRoot;
+    }
+
+    /**
+     * Compares the trees and builds the plan, sorted by path.
+     *
+     * @param store optional, reused by content checks
+     */
+    public CompletableFuture<List<Step>> plan(Options options, ChecksumStore store) {
+        Queue<Step> steps = new ConcurrentLinkedQueue<>();
+        FolderCompare compare = new FolderCompare(leftRoot, rightRoot, options.compare(),
+                (relativePath, difference) -> planStep(relativePath, difference, options).ifPresent(steps::add))
+                .withChecksumStore(store);
+        activeCompare = compare;
+        if (cancelled.get()) {
+            compare.cancel();
+        }
+        return compare.start().thenApply(summary -> {
+            List<Step> plan = new ArrayList<>(steps);
+            plan.sort(Comparator.comparing(Step::relativePath));
+            return plan;
+        });
+    }
+
+    /**
+     * Executes the plan: copies run in parallel (trees are expanded to files first), then orphans are deleted.
+     * Conflicts are skipped.
+     */
+    public CompletableFuture<Summary> execute(List<Step> plan, ProgressListener progress) {
+        Stopwatch stopwatch = new Stopwatch();
+        return CompletableFuture.supplyAsync(() -> {
+            Queue<String> problems = new ConcurrentLinkedQueue<>();
+            List<FileCopy> copies = new ArrayList<>();
+            for (Step step : plan) {
+                if (cancelled.get()) {
+                    break;
+                }
+                if (step.operation() == Operation.COPY_TO_RIGHT || step.operation() == Operation.COPY_TO_LEFT) {
+                    expand(step, copies, problems);
+                }
+            }
+            long totalBytes = copies.stream().mapToLong(FileCopy::bytes).sum();
+            AtomicLong doneFiles = new AtomicLong();
+            AtomicLong copiedFiles = new AtomicLong();
+            AtomicLong doneBytes = new AtomicLong();
+            copies.parallelStream().forEach(copy -> {
+                if (cancelled.get()) {
+                    return;
+                }
+                try {
+                    copyFile(copy.source(), copy.target());
+                    copiedFiles.incrementAndGet();
+                    doneBytes.addAndGet(copy.bytes());
+                } catch (IOException | RuntimeException ex) {
+                    logger.warn("Sync failed copying {} to {}", copy.source(), copy.target(), ex);
+                    problems.add(copy.source() + ": " + ex.getMessage());
+                }
+                progress.onProgress(doneFiles.incrementAndGet(), copies.size(), doneBytes.get(), totalBytes);
+            });
+
+            AtomicLong deleted = new AtomicLong();
+            plan.parallelStream()
+                    .filter(step -> step.operation() == Operation.DELETE_LEFT || step.operation() == Operation.DELETE_RIGHT)
+                    .forEach(step -> {
+                        if (cancelled.get()) {
+                            return;
+                        }
+                        Path target = (step.operation() == Operation.DELETE_LEFT ? leftRoot : rightRoot).resolve(step.relativePath());
+                        try {
+                            deleteTree(target);
+                            deleted.incrementAndGet();
+                        } catch (IOException | RuntimeException ex) {
+                            logger.warn("Sync failed deleting {}", target, ex);
+                            problems.add(target + ": " + ex.getMessage());
+                        }
+                    });
+
+            Summary summary = new Summary(copiedFiles.get(), doneBytes.get(), deleted.get(), List.copyOf(problems), cancelled.get());
+            logger.info("Synced {} and {} in {}: {} file(s) / {} MB copied, {} deleted, {} problem(s){}", leftRoot, rightRoot,
+                    stopwatch, summary.copiedFiles(), summary.copiedBytes() / (1024 * 1024), summary.deleted(),
+                    summary.problems().size(), summary.cancelled() ? " (cancelled)" : "");
+            return summary;
+        }, POOL);
+    }
+
+    public void cancel() {
+        cancelled.set(true);
+        FolderCompare compare = activeCompare;
+        if (compare != null) {
+            compare.cancel();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    private Optional<Step> planStep(String relativePath, FolderCompare.Difference difference, Options options) {
+        Path left = leftRoot.resolve(relativePath);
+        Path right = rightRoot.resolve(relativePath);
+        Direction direction = options.direction();
+        return Optional.ofNullable(switch (difference) {
+            case LEFT_ONLY -> direction == Direction.RIGHT_TO_LEFT
+                    ? (options.deleteOrphans() ? step(relativePath, Operation.DELETE_LEFT, left, false) : null)
+                    : step(relativePath, Operation.COPY_TO_RIGHT, left, true);
+            case RIGHT_ONLY -> direction == Direction.LEFT_TO_RIGHT
+                    ? (options.deleteOrphans() ? step(relativePath, Operation.DELETE_RIGHT, right, false) : null)
+                    : step(relativePath, Operation.COPY_TO_LEFT, right, true);
+            case DIFFERENT -> {
+                long leftTime = modifiedMillis(left);
+                long rightTime = modifiedMillis(right);
+                yield switch (direction) {
+                    case LEFT_TO_RIGHT -> options.onlyNewer() && leftTime <= rightTime
+                            ? null : step(relativePath, Operation.COPY_TO_RIGHT, left, true);
+                    case RIGHT_TO_LEFT -> options.onlyNewer() && rightTime <= leftTime
+                            ? null : step(relativePath, Operation.COPY_TO_LEFT, right, true);
+                    case BOTH -> leftTime == rightTime
+                            ? new Step(relativePath, Operation.CONFLICT, Files.isDirectory(left, LinkOption.NOFOLLOW_LINKS), 0)
+                            : step(relativePath, leftTime > rightTime ? Operation.COPY_TO_RIGHT : Operation.COPY_TO_LEFT,
+                            leftTime > rightTime ? left : right, true);
+                };
+            }
+        });
+    }
+
+    private static Step step(String relativePath, Operation operation, Path source, boolean measure) {
+        boolean directory = Files.isDirectory(source, LinkOption.NOFOLLOW_LINKS);
+        return new Step(relativePath, operation, directory, measure ? treeSize(source, directory) : 0);
+    }
+
+    private static long treeSize(Path source, boolean directory) {
+        try {
+            if (!directory) {
+                return Files.size(source);
+            }
+            try (Stream<Path> files = Files.walk(source)) {
+                return files.filter(file -> Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)).mapToLong(file -> {
+                    try {
+                        return Files.size(file);
+                    } catch (IOException ex) {
+                        return 0;
+                    }
+                }).sum();
+            }
+        } catch (IOException | RuntimeException ex) {
+            return 0;
+        }
+    }
+
+    private static long modifiedMillis(Path path) {
+        try {
+            return Files.getLastModifiedTime(path, LinkOption.NOFOLLOW_LINKS).toMillis();
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+    private record FileCopy(Path source, Path target, long bytes) {
+    }
+
+    /** Turns a copy step into file copies, creating the target folders on the way */
+    private void expand(Step step, List<FileCopy> copies, Queue<String> problems) {
+        boolean toRight = step.operation() == Operation.COPY_TO_RIGHT;
+        Path source = (toRight ? leftRoot : rightRoot).resolve(step.relativePath());
+        Path target = (toRight ? rightRoot : leftRoot).resolve(step.relativePath());
+        try {
+            BasicFileAttributes sourceAttrs = Files.readAttributes(source, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            if (Files.exists(target, LinkOption.NOFOLLOW_LINKS)
+                    && Files.isDirectory(target, LinkOption.NOFOLLOW_LINKS) != sourceAttrs.isDirectory()) {
+                deleteTree(target); // a file replaced by a folder, or the other way around
+            }
+            if (!sourceAttrs.isDirectory()) {
+                Files.createDirectories(target.getParent());
+                copies.add(new FileCopy(source, target, sourceAttrs.size()));
+                return;
+            }
+            try (Stream<Path> tree = Files.walk(source)) {
+                for (Path path : (Iterable<Path>) tree::iterator) {
+                    Path targetPath = target.resolve(source.relativize(path).toString());
+                    BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (attrs.isDirectory()) {
+                        Files.createDirectories(targetPath);
+                    } else {
+                        copies.add(new FileCopy(path, targetPath, attrs.size()));
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Sync failed preparing {}", source, ex);
+            problems.add(source + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Copies next to the target first, so an interrupted copy never leaves a truncated target behind; a link is copied
+     * as a link
+     */
+    private static void copyFile(Path source, Path target) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".acmd-sync");
+        try {
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES,
+                    LinkOption.NOFOLLOW_LINKS);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void deleteTree(Path path) throws IOException {
+        if (!Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+            Files.deleteIfExists(path);
+            return;
+        }
+        try (Stream<Path> tree = Files.walk(path)) {
+            for (Path entry : (Iterable<Path>) tree.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(entry);
+            }
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package org.chaiware.acommander.config;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 public class AppConfigLoader {
     private final ObjectMapper mapper;
+    private final AppConfigValidator validator = new AppConfigValidator();
+
+    /** A configuration checked against the schema: either {@code config} or the {@code problems} found */
+    public record Validated(AppConfig config, List<String> problems) {
+        public boolean isValid() {
+            return problems.isEmpty();
+        }
+    }
 
     public AppConfigLoader() {
         mapper = new ObjectMapper()
@@ -21,4 +31,25 @@ public class AppConfigLoader {
         }
         return mapper.readValue(configPath.toFile(), AppConfig.class);
     }
+
+    /**
+     * Parses and validates a configuration; only a valid one is bound to {@link AppConfig}.
+     * Unreadable files and JSON syntax errors still throw.
+     */
+    public Validated loadValidated(Path configPath) throws IOException {
+        if (!Files.exists(configPath)) {
+            throw new IOException("Missing config file: " + configPath);
+        }
+        return validate(Files.readAllBytes(configPath));
+    }
+
+    /** {@link #loadValidated} of content already read */
+    Validated validate(byte[] content) throws IOException {
+        JsonNode root = mapper.readTree(content);
+        List<String> problems = validator.validate(root);
+        if (!problems.isEmpty()) {
+            return new Validated(null, List.copyOf(problems));
+        }
+        return new Validated(mapper.treeToValue(root, AppConfig.class), List.of());
+    }
 }
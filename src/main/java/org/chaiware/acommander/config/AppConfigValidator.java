@@ -0,0 +1,169 @@
+package org.chaiware.acommander.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The schema of apps.json, checked on the parsed tree before it is bound to {@link AppConfig}: field types, required
+ * fields, known values (contexts, selection rules, action types), shortcuts that parse, and ids and shortcuts that are
+ * unique. Every problem names its JSON location ({@code actions[3].contexts[1]}), so a bad edit is easy to find.
+ * Unknown action fields are reported too, since a misspelt field would otherwise be silently ignored.
+ */
+public class AppConfigValidator {
+    private static final Set<String> ACTION_FIELDS = Set.of(
+            "id", "label", "shortcut", "aliases", "contexts", "selection", "type", "builtin", "path", "args", "refreshAfter", "prompt");
+    private static final Set<String> PROMPT_FIELDS = Set.of("title", "label", "defaultValue");
+    private static final List<String> SELECTIONS = List.of("none", "any", "single", "multi", "singlefile", "singlefolder");
+    private static final List<String> TYPES = List.of("builtin", "external");
+
+    /** The problems found; empty when the configuration is valid */
+    public List<String> validate(JsonNode root) {
+        List<String> problems = new ArrayList<>();
+        if (root == null || !root.isObject()) {
+            problems.add("The configuration must be a JSON object");
+            return problems;
+        }
+        JsonNode actions = root.get("actions");
+        if (actions == null || !actions.isArray() || actions.isEmpty()) {
+            problems.add("actions: must be a non-empty array");
+            return problems;
+        }
+
+        Set<String> ids = new HashSet<>();
+        Map<String, String> shortcutOwners = new HashMap<>();
+        for (int i = 0; i < actions.size(); i++) {
+            String at = "actions[" + i + "]";
+            JsonNode action = actions.get(i);
+            if (!action.isObject()) {
+                problems.add(at + ": must be an object");
+                continue;
+            }
+            for (Iterator<String> fields = action.fieldNames(); fields.hasNext(); ) {
+                String field = fields.next();
+                if (!ACTION_FIELDS.contains(field)) {
+                    problems.add(at + ": unknown field '" + field + "'");
+                }
+            }
+
+            String id = requiredText(action, "id", at, problems);
+            requiredText(action, "label", at, problems);
+            if (id != null && !ids.add(id)) {
+                problems.add(at + ".id: '" + id + "' is already used by another action");
+            }
+            String name = id == null ? at : "'" + id + "'";
+
+            String type = optionalText(action, "type", at, problems);
+            if (type != null && !TYPES.contains(type.toLowerCase(Locale.ROOT))) {
+                problems.add(at + ".type: must be one of " + TYPES + " but is '" + type + "'");
+            }
+            String path = optionalText(action, "path", at, problems);
+            if ("external".equalsIgnoreCase(type) && (path == null || path.isBlank())) {
+                problems.add(at + ".path: required for external actions");
+            }
+            optionalText(action, "builtin", at, problems);
+            String selection = optionalText(action, "selection", at, problems);
+            if (selection != null && !SELECTIONS.contains(selection.toLowerCase(Locale.ROOT))) {
+                problems.add(at + ".selection: must be one of " + SELECTIONS + " but is '" + selection + "'");
+            }
+            JsonNode refreshAfter = action.get("refreshAfter");
+            if (refreshAfter != null && !refreshAfter.isBoolean() && !refreshAfter.isNull()) {
+                problems.add(at + ".refreshAfter: must be true or false");
+            }
+            textArray(action, "aliases", at, problems);
+            textArray(action, "args", at, problems);
+            List<String> contexts = textArray(action, "contexts", at, problems);
+            for (int c = 0; c < contexts.size(); c++) {
+                if (ActionScope.fromId(contexts.get(c)).isEmpty()) {
+                    problems.add(at + ".contexts[" + c + "]: unknown context '" + contexts.get(c) + "'");
+                }
+            }
+            validatePrompt(action.get("prompt"), at + ".prompt", problems);
+
+            String shortcut = optionalText(action, "shortcut", at, problems);
+            if (shortcut != null && !shortcut.isBlank()) {
+                if (AppRegistry.parseShortcut(shortcut) == null) {
+                    problems.add(at + ".shortcut: '" + shortcut + "' is not a valid key combination");
+                } else {
+                    String normalized = shortcut.replace(" ", "").toLowerCase(Locale.ROOT);
+                    for (String context : contexts) {
+                        String owner = shortcutOwners.putIfAbsent(context.toLowerCase(Locale.ROOT) + "|" + normalized, name);
+                        if (owner != null) {
+                            problems.add(at + ".shortcut: '" + shortcut + "' is already used by " + owner + " in " + context);
+                        }
+                    }
+                }
+            }
+        }
+        return problems;
+    }
+
+    private static void validatePrompt(JsonNode prompt, String at, List<String> problems) {
+        if (prompt == null || prompt.isNull()) {
+            return;
+        }
+        if (!prompt.isObject()) {
+            problems.add(at + ": must be an object");
+            return;
+        }
+        for (Iterator<Map.Entry<String, JsonNode>> fields = prompt.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!PROMPT_FIELDS.contains(field.getKey())) {
+                problems.add(at + ": unknown field '" + field.getKey() + "'");
+            } else if (!field.getValue().isTextual() && !field.getValue().isNull()) {
+                problems.add(at + "." + field.getKey() + ": must be a string");
+            }
+        }
+    }
+
+    private static String requiredText(JsonNode action, String field, String at, List<String> problems) {
+        String value = optionalText(action, field, at, problems);
+        if (value == null || value.isBlank()) {
+            if (value == null && action.hasNonNull(field)) {
+                return null; // already reported as not a string
+            }
+            problems.add(at + "." + field + ": required");
+            return null;
+        }
+        return value;
+    }
+
+    private static String optionalText(JsonNode action, String field, String at, List<String> problems) {
+        JsonNode value = action.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            problems.add(at + "." + field + ": must be a string");
+            return null;
+        }
+        return value.asText();
+    }
+
+    private static List<String> textArray(JsonNode action, String field, String at, List<String> problems) {
+        JsonNode value = action.get(field);
+        List<String> texts = new ArrayList<>();
+        if (value == null || value.isNull()) {
+            return texts;
+        }
+        if (!value.isArray()) {
+            problems.add(at + "." + field + ": must be an array of strings");
+            return texts;
+        }
+        for (int i = 0; i < value.size(); i++) {
+            if (value.get(i).isTextual()) {
+                texts.add(value.get(i).asText());
+            } else {
+                problems.add(at + "." + field + "[" + i + "]: must be a string");
+            }
+        }
+        return texts;
+    }
+}
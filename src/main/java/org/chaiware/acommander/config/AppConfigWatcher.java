@@ -0,0 +1,141 @@
+package org.chaiware.acommander.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches apps.json and hands every edited version, parsed and validated off the FX thread, to a {@link Listener}.
+ * Editors save in bursts (truncate, write, rename), so changes are debounced; a save that leaves the content as it
+ * was last loaded is ignored.
+ */
+public class AppConfigWatcher implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AppConfigWatcher.class);
+    static final long DEBOUNCE_MILLIS = 300;
+
+    /** Called on the watcher's thread */
+    public interface Listener {
+        void onReloaded(AppConfig config);
+
+        void onRejected(List<String> problems);
+    }
+
+    private final Path configFile;
+    private final AppConfigLoader loader = new AppConfigLoader();
+    private final Listener listener;
+    private final ScheduledExecutorService reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "apps-config-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private WatchService watchService;
+    private ScheduledFuture<?> pending;
+    /** The content last loaded or rejected, to skip saves that change nothing */
+    private byte[] lastContent;
+    private volatile boolean closed;
+
+    public AppConfigWatcher(Path configFile, Listener listener) {
+        this.configFile = configFile.toAbsolutePath().normalize();
+        this.listener = listener;
+    }
+
+    /** Starts watching; the current content counts as loaded */
+    public synchronized void start() throws IOException {
+        lastContent = readContent();
+        watchService = FileSystems.getDefault().newWatchService();
+        configFile.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        Thread watchThread = new Thread(this::watchLoop, "apps-config-watch");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    private void watchLoop() {
+        while (!closed) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException ex) {
+                return;
+            }
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.context() instanceof Path changed && changed.equals(configFile.getFileName())) {
+                    scheduleReload();
+                }
+            }
+            if (!key.reset()) {
+                logger.warn("Stopped watching {}: its folder is gone", configFile);
+                return;
+            }
+        }
+    }
+
+    private synchronized void scheduleReload() {
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = reloader.schedule(this::reload, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /** Loads the file if it changed and tells the listener; package-private for tests */
+    void reload() {
+        byte[] content;
+        synchronized (this) {
+            try {
+                content = readContent();
+            } catch (IOException ex) {
+                logger.warn("Failed reading {}", configFile, ex);
+                return; // mid-save; the next event retries
+            }
+            if (content == null || Arrays.equals(content, lastContent)) {
+                return;
+            }
+            lastContent = content;
+        }
+        try {
+            AppConfigLoader.Validated validated = loader.validate(content);
+            if (validated.isValid()) {
+                logger.info("Reloaded {} ({} actions)", configFile, validated.config().getActions().size());
+                listener.onReloaded(validated.config());
+            } else {
+                logger.warn("Rejected {}: {}", configFile, validated.problems());
+                listener.onRejected(validated.problems());
+            }
+        } catch (IOException ex) {
+            logger.warn("Rejected {}: {}", configFile, ex.getMessage());
+            listener.onRejected(List.of(ex.getMessage()));
+        }
+    }
+
+    private byte[] readContent() throws IOException {
+        return Files.exists(configFile) ? Files.readAllBytes(configFile) : null;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        reloader.shutdownNow();
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ex) {
+                logger.debug("Failed closing the apps.json watch service", ex);
+            }
+        }
+    }
+}
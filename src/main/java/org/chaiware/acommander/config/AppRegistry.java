@@ -8,14 +8,31 @@ import javafx.scene.input.KeyEvent;
 import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * The configured actions, by scope and with their parsed shortcuts. Everything derived from one {@link AppConfig} is
+ * kept in a single immutable snapshot, so {@link #replace} (a hot reload of apps.json) swaps all of it at once and a
+ * key press never sees half of an old and half of a new configuration.
+ */
 public class AppRegistry {
-    private final List<ActionDefinition> actions;
-    private final Map<ActionScope, List<ActionDefinition>> actionsByScope;
-    private final Map<String, KeyCombination> shortcutCache;
+    private record Snapshot(List<ActionDefinition> actions,
+                            Map<ActionScope, List<ActionDefinition>> actionsByScope,
+                            Map<String, KeyCombination> shortcutCache) {
+    }
+
+    private volatile Snapshot snapshot;
 
     public AppRegistry(AppConfig config) {
-        actions = List.copyOf(config.getActions());
-        actionsByScope = new EnumMap<>(ActionScope.class);
+        snapshot = build(config);
+    }
+
+    /** Swaps in a new configuration (already validated) */
+    public void replace(AppConfig config) {
+        snapshot = build(config);
+    }
+
+    private static Snapshot build(AppConfig config) {
+        List<ActionDefinition> actions = List.copyOf(config.getActions());
+        Map<ActionScope, List<ActionDefinition>> actionsByScope = new EnumMap<>(ActionScope.class);
         for (ActionScope scope : ActionScope.values()) {
             List<ActionDefinition> scopedActions = actions.stream()
                     .filter(action -> action.getContexts().stream()
@@ -23,7 +40,7 @@ public class AppRegistry {
                     .collect(Collectors.toList());
             actionsByScope.put(scope, scopedActions);
         }
-        shortcutCache = new HashMap<>();
+        Map<String, KeyCombination> shortcutCache = new HashMap<>();
         for (ActionDefinition action : actions) {
             if (action.getShortcut() != null && !action.getShortcut().isBlank()) {
                 KeyCombination combo = parseShortcut(action.getShortcut());
@@ -32,28 +49,30 @@ public class AppRegistry {
                 }
             }
         }
+        return new Snapshot(actions, actionsByScope, shortcutCache);
     }
 
     public List<ActionDefinition> actionsForScope(ActionScope scope) {
-        return actionsByScope.getOrDefault(scope, List.of());
+        return snapshot.actionsByScope().getOrDefault(scope, List.of());
     }
 
     public Optional<ActionDefinition> findAction(String id) {
         if (id == null) {
             return Optional.empty();
         }
-        return actions.stream()
+        return snapshot.actions().stream()
                 .filter(action -> id.equals(action.getId()))
                 .findFirst();
     }
 
     public Optional<ActionDefinition> matchShortcut(ActionScope scope, KeyEvent event) {
+        Snapshot current = snapshot;
         boolean modifiedFunctionKey = event.getCode().isFunctionKey() && (event.isAltDown() || event.isShiftDown());
-        for (ActionDefinition action : actionsForScope(scope)) {
+        for (ActionDefinition action : current.actionsByScope().getOrDefault(scope, List.of())) {
             if (modifiedFunctionKey && isUnmodifiedFunctionShortcut(action.getShortcut())) {
                 continue;
             }
-            KeyCombination combo = shortcutCache.get(action.getId());
+            KeyCombination combo = current.shortcutCache().get(action.getId());
             if (combo != null && combo.match(event)) {
                 return Optional.of(action);
             }
@@ -82,7 +101,8 @@ public class AppRegistry {
         }
     }
 
-    private KeyCombination parseShortcut(String shortcut) {
+    /** Parses shortcuts like "Ctrl+Shift+P"; null when blank or not a known key */
+    static KeyCombination parseShortcut(String shortcut) {
         if (shortcut == null || shortcut.isBlank()) {
             return null;
         }
@@ -61,10 +61,19 @@ public class ActionMutator {
      */
     private static final Set<String> READ_ONLY_ACTIONS = Set.of(
         "view",
+        "viewInternal",
+        "toggleQuickView",
+        "togglePerformanceOverlay",
+        "dumpMetrics",
+        "toggleFlightRecording",
+        "dumpFlightRecording",
+        "navigateBack",
+        "navigateForward",
         "search",
         "findInFiles",
         "checksumFile",
         "checksumFolderContents",
+        "verifyChecksums",
         "compareFiles",
         "compareFolders",
         "explorer",
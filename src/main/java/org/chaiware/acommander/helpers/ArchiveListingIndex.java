@@ -0,0 +1,286 @@
+package org.chaiware.acommander.helpers;
+
+import org.chaiware.acommander.model.VirtualFileItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory tree of a full {@code 7z l -slt} listing.
+ * The listing is parsed once; entry attributes live in primitive arrays and children are stored
+ * contiguously per directory, so listing any folder inside the archive costs O(children).
+ */
+public final class ArchiveListingIndex {
+    static final long NO_TIME = Long.MIN_VALUE;
+    private static final int ROOT = 0;
+
+    private final String archivePath;
+    private final long archiveModified;
+    private final long archiveLength;
+
+    private final String[] names;
+    private final String[] paths;
+    private final long[] sizes;
+    private final long[] packedSizes;
+    private final long[] modified;
+    private final boolean[] directories;
+    private final int[] childStart;
+    private final int[] childCount;
+    private final int[] children;
+    private final Map<String, Integer> directoryByPath;
+
+    private ArchiveListingIndex(String archivePath, long archiveModified, long archiveLength, Builder builder) {
+        this.archivePath = archivePath;
+        this.archiveModified = archiveModified;
+        this.archiveLength = archiveLength;
+
+        int count = builder.count;
+        this.names = Arrays.copyOf(builder.names, count);
+        this.paths = Arrays.copyOf(builder.paths, count);
+        this.sizes = Arrays.copyOf(builder.sizes, count);
+        this.packedSizes = Arrays.copyOf(builder.packedSizes, count);
+        this.modified = Arrays.copyOf(builder.modified, count);
+        this.directories = Arrays.copyOf(builder.directories, count);
+        this.directoryByPath = builder.directoryByPath;
+
+        // Counting sort of nodes by parent: children of node n are children[childStart[n] .. +childCount[n]]
+        this.childStart = new int[count];
+        this.childCount = new int[count];
+        for (int node = 1; node < count; node++) {
+            childCount[builder.parents[node]]++;
+        }
+        int offset = 0;
+        for (int node = 0; node < count; node++) {
+            childStart[node] = offset;
+            offset += childCount[node];
+        }
+        this.children = new int[Math.max(0, count - 1)];
+        int[] fill = new int[count];
+        for (int node = 1; node < count; node++) {
+            int parent = builder.parents[node];
+            children[childStart[parent] + fill[parent]++] = node;
+        }
+    }
+
+    /**
+     * Parses the lines of {@code 7z l -ba -slt <archive>} (without an entry filter) into an index.
+     */
+    public static ArchiveListingIndex parse(String archivePath, long archiveModified, long archiveLength, List<String> lines) {
+        Builder builder = new Builder();
+        String path = null;
+        long size = 0;
+        long packedSize = 0;
+        long time = NO_TIME;
+        boolean isDir = false;
+        for (String rawLine : lines) {
+            String line = rawLine.trim();
+            if (line.startsWith("Path = ")) {
+                if (path != null) {
+                    builder.addEntry(path, size, packedSize, time, isDir);
+                }
+                path = line.substring(7).trim();
+                size = 0;
+                packedSize = 0;
+                time = NO_TIME;
+                isDir = false;
+            } else if (path == null) {
+                continue;
+            } else if (line.startsWith("Size = ")) {
+                size = parseLong(line.substring(7).trim());
+            } else if (line.startsWith("Packed Size = ")) {
+                packedSize = parseLong(line.substring(14).trim());
+            } else if (line.startsWith("Modified = ")) {
+                time = parse7zDate(line.substring(11).trim());
+            } else if (line.startsWith("Attr = ")) {
+                isDir = line.substring(7).trim().contains("D");
+            } else if (line.startsWith("Folder = ")) {
+                isDir = isDir || "+".equals(line.substring(9).trim());
+            }
+        }
+        if (path != null) {
+            builder.addEntry(path, size, packedSize, time, isDir);
+        }
+        return new ArchiveListingIndex(archivePath, archiveModified, archiveLength, builder);
+    }
+
+    /**
+     * Whether this index still describes the archive file with the given timestamp and length.
+     */
+    public boolean matches(long archiveModified, long archiveLength) {
+        return this.archiveModified == archiveModified && this.archiveLength == archiveLength;
+    }
+
+    public int getEntryCount() {
+        return names.length - 1;
+    }
+
+    /**
+     * Lists the immediate children of a folder inside the archive ("" for the root).
+     * Returns an empty list when the folder is not present in the archive.
+     */
+    public List<VirtualFileItem> listChildren(String entryPath) {
+        Integer node = directoryByPath.get(normalize(entryPath));
+        if (node == null) {
+            return List.of();
+        }
+        int start = childStart[node];
+        int end = start + childCount[node];
+        List<VirtualFileItem> items = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            int child = children[i];
+            items.add(new VirtualFileItem(
+                    archivePath,
+                    names[child],
+                    paths[child],
+                    sizes[child],
+                    packedSizes[child],
+                    modified[child] == NO_TIME ? null : modified[child],
+                    directories[child]
+            ));
+        }
+        return items;
+    }
+
+    /** Receives every entry of the index */
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void visit(String entryPath, long size, boolean directory);
+    }
+
+    /**
+     * Visits all entries (folders included, the archive root excluded) in listing order.
+     */
+    public void forEachEntry(EntryVisitor visitor) {
+        for (int node = 1; node < names.length; node++) {
+            visitor.visit(paths[node], sizes[node], directories[node]);
+        }
+    }
+
+    static String normalize(String entryPath) {
+        if (entryPath == null || entryPath.isEmpty()) {
+            return "";
+        }
+        String normalized = entryPath.replace('\\', '/');
+        int start = 0;
+        int end = normalized.length();
+        while (start < end && normalized.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && normalized.charAt(end - 1) == '/') {
+            end--;
+        }
+        return normalized.substring(start, end);
+    }
+
+    private static long parseLong(String s) {
+        try {
+            return Long.parseLong(s);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Parses 7z date format "YYYY-MM-DD HH:MM:SS" (older builds print "YYYY:MM:DD HH:MM:SS"),
+     * optionally followed by fractional seconds.
+     */
+    static long parse7zDate(String dateStr) {
+        if (dateStr.length() < 19) {
+            return NO_TIME;
+        }
+        try {
+            int year = Integer.parseInt(dateStr, 0, 4, 10);
+            int month = Integer.parseInt(dateStr, 5, 7, 10);
+            int day = Integer.parseInt(dateStr, 8, 10, 10);
+            int hour = Integer.parseInt(dateStr, 11, 13, 10);
+            int minute = Integer.parseInt(dateStr, 14, 16, 10);
+            int second = Integer.parseInt(dateStr, 17, 19, 10);
+            return java.time.LocalDateTime.of(year, month, day, hour, minute, second)
+                    .atZone(java.time.ZoneId.systemDefault())
+                    .toInstant()
+                    .toEpochMilli();
+        } catch (RuntimeException e) {
+            return NO_TIME;
+        }
+    }
+
+    /**
+     * Growable column storage used while parsing; node 0 is the archive root.
+     */
+    private static final class Builder {
+        private String[] names = new String[64];
+        private String[] paths = new String[64];
+        private int[] parents = new int[64];
+        private long[] sizes = new long[64];
+        private long[] packedSizes = new long[64];
+        private long[] modified = new long[64];
+        private boolean[] directories = new boolean[64];
+        private final Map<String, Integer> directoryByPath = new HashMap<>();
+        private final Map<String, Integer> fileByPath = new HashMap<>();
+        private int count;
+
+        private Builder() {
+            addNode("", "", -1, 0, 0, NO_TIME, true);
+        }
+
+        private void addEntry(String rawPath, long size, long packedSize, long time, boolean isDir) {
+            String path = normalize(rawPath);
+            if (path.isEmpty()) {
+                return;
+            }
+            if (isDir) {
+                int node = directoryNode(path);
+                sizes[node] = size;
+                packedSizes[node] = packedSize;
+                modified[node] = time;
+                return;
+            }
+            if (fileByPath.containsKey(path)) {
+                return;
+            }
+            int slash = path.lastIndexOf('/');
+            int parent = slash < 0 ? ROOT : directoryNode(path.substring(0, slash));
+            int node = addNode(path.substring(slash + 1), path, parent, size, packedSize, time, false);
+            fileByPath.put(path, node);
+        }
+
+        /** Returns the node of a folder, creating it (and any missing ancestors) on first reference. */
+        private int directoryNode(String path) {
+            Integer existing = directoryByPath.get(path);
+            if (existing != null) {
+                return existing;
+            }
+            int slash = path.lastIndexOf('/');
+            int parent = slash < 0 ? ROOT : directoryNode(path.substring(0, slash));
+            return addNode(path.substring(slash + 1), path, parent, 0, 0, NO_TIME, true);
+        }
+
+        private int addNode(String name, String path, int parent, long size, long packedSize, long time, boolean isDir) {
+            if (count == names.length) {
+                int capacity = count * 2;
+                names = Arrays.copyOf(names, capacity);
+                paths = Arrays.copyOf(paths, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+                packedSizes = Arrays.copyOf(packedSizes, capacity);
+                modified = Arrays.copyOf(modified, capacity);
+                directories = Arrays.copyOf(directories, capacity);
+            }
+            int node = count++;
+            names[node] = name;
+            paths[node] = path;
+            parents[node] = parent;
+            sizes[node] = size;
+            packedSizes[node] = packedSize;
+            modified[node] = time;
+            directories[node] = isDir;
+            if (isDir) {
+                directoryByPath.put(path, node);
+            }
+            return node;
+        }
+    }
+}
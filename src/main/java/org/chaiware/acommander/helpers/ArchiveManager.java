@@ -1,5 +1,8 @@
 package org.chaiware.acommander.helpers;
 
+import org.chaiware.acommander.metrics.Metrics;
+import org.chaiware.acommander.metrics.Timer;
+import org.chaiware.acommander.metrics.events.ArchiveEvent;
 import org.chaiware.acommander.model.ArchiveMode;
 import org.chaiware.acommander.model.ArchiveSession;
 import org.slf4j.Logger;
@@ -23,6 +26,8 @@ import java.util.List;
 public class ArchiveManager {
     private static final Logger logger = LoggerFactory.getLogger(ArchiveManager.class);
     private static final String SEVEN_Z_PATH = Paths.get(System.getProperty("user.dir"), "apps", "extract_all", "UniExtract", "bin", "x64", "7z.exe").toString();
+    private static final Timer OPEN_TIME = Metrics.APPLICATION.timer("archive.open");
+    private static final Timer REPACK_TIME = Metrics.APPLICATION.timer("archive.repack");
     
     /**
      * Opens an archive and creates a session.
@@ -45,7 +50,12 @@ public class ArchiveManager {
         tempFolder.toFile().deleteOnExit();
         
         // Extract entire archive to temp folder
+        long start = System.nanoTime();
+        ArchiveEvent event = new ArchiveEvent();
+        event.begin();
         extractArchive(archivePath, tempFolder);
+        OPEN_TIME.recordSince(start);
+        event.finish("open", archivePath, null, 0);
         
         ArchiveSession session = new ArchiveSession(archivePath, tempFolder, mode);
         logger.info("Archive opened in {} mode: {}", mode.name(), archivePath);
@@ -67,7 +77,12 @@ public class ArchiveManager {
         try {
             // For read-write archives with changes, repack the archive
             if (session.getMode() == ArchiveMode.READ_WRITE && session.isNeedsRepack()) {
+                long start = System.nanoTime();
+                ArchiveEvent event = new ArchiveEvent();
+                event.begin();
                 repackArchive(session);
+                REPACK_TIME.recordSince(start);
+                event.finish("repack", session.getArchivePath(), null, 0);
             }
         } finally {
             // Always clean up temp folder
@@ -1,11 +1,16 @@
 package org.chaiware.acommander.helpers;
 
+import org.chaiware.acommander.metrics.CacheMeter;
+import org.chaiware.acommander.metrics.Metrics;
+import org.chaiware.acommander.metrics.Timer;
+import org.chaiware.acommander.metrics.events.ArchiveEvent;
 import org.chaiware.acommander.model.VirtualFileItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -13,7 +18,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Helper class for interacting with 7-Zip to list and extract archive contents.
@@ -23,6 +30,17 @@ public class ArchiveService {
     private static final Logger logger = LoggerFactory.getLogger(ArchiveService.class);
     private static final String SEVEN_Z_PATH = Paths.get(System.getProperty("user.dir"), "apps", "pack_unpack", "7zG.exe").toString();
     private static final String SEVEN_Z_CONSOLE_PATH = Paths.get(System.getProperty("user.dir"), "apps", "extract_all", "UniExtract", "bin", "x64", "7z.exe").toString();
+    private static final int MAX_CACHED_LISTINGS = 8;
+    private static final CacheMeter LISTING_LOOKUPS = Metrics.APPLICATION.cache("cache.archive-listing");
+    private static final Timer INDEX_TIME = Metrics.APPLICATION.timer("archive.index");
+
+    // Most recently used archive listings, keyed by normalized archive path
+    private static final Map<String, ArchiveListingIndex> LISTING_CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ArchiveListingIndex> eldest) {
+            return size() > MAX_CACHED_LISTINGS;
+        }
+    };
     
     // Supported archive extensions by 7-Zip
     private static final List<String> SUPPORTED_EXTENSIONS = List.of(
@@ -42,6 +60,7 @@ public class ArchiveService {
     
     /**
      * Lists the contents of an archive at the specified entry path.
+     * The full listing is read once per archive version and served from {@link ArchiveListingIndex}.
      * 
      * @param archivePath Path to the archive file
      * @param entryPath Path inside the archive (empty string for root)
@@ -50,19 +69,60 @@ public class ArchiveService {
      */
     public List<VirtualFileItem> listArchiveContents(String archivePath, String entryPath) throws IOException {
         logger.debug("Listing archive contents: {} at path: {}", archivePath, entryPath);
-        
-        // Build the 7z command: 7z l -ba -slt <archive> <path>
+        return getListingIndex(archivePath).listChildren(entryPath);
+    }
+
+    /**
+     * Returns the cached listing index of an archive, re-reading it when the archive file changed.
+     */
+    public ArchiveListingIndex getListingIndex(String archivePath) throws IOException {
+        Path archive = Paths.get(archivePath);
+        String cacheKey = FileHelper.pathKey(archive.toAbsolutePath().normalize().toString());
+        long modified = Files.getLastModifiedTime(archive).toMillis();
+        long length = Files.size(archive);
+
+        synchronized (LISTING_CACHE) {
+            ArchiveListingIndex cached = LISTING_CACHE.get(cacheKey);
+            if (cached != null && cached.matches(modified, length)) {
+                LISTING_LOOKUPS.hit();
+                return cached;
+            }
+        }
+        LISTING_LOOKUPS.miss();
+
+        Stopwatch stopwatch = new Stopwatch();
+        long start = System.nanoTime();
+        ArchiveEvent event = new ArchiveEvent();
+        event.begin();
+        ArchiveListingIndex index = ArchiveListingIndex.parse(archivePath, modified, length, readFullListing(archivePath));
+        INDEX_TIME.recordSince(start);
+        event.finish("index", archivePath, null, index.getEntryCount());
+        logger.debug("Indexed {} entries of {} in {}", index.getEntryCount(), archivePath, stopwatch);
+        synchronized (LISTING_CACHE) {
+            LISTING_CACHE.put(cacheKey, index);
+        }
+        return index;
+    }
+
+    /**
+     * Drops the cached listing of an archive (called after the archive was modified through 7z).
+     */
+    public static void invalidateListing(String archivePath) {
+        String cacheKey = FileHelper.pathKey(Paths.get(archivePath).toAbsolutePath().normalize().toString());
+        synchronized (LISTING_CACHE) {
+            LISTING_CACHE.remove(cacheKey);
+        }
+    }
+
+    private List<String> readFullListing(String archivePath) throws IOException {
+        // Build the 7z command: 7z l -ba -slt <archive>
         List<String> command = new ArrayList<>();
         command.add(SEVEN_Z_CONSOLE_PATH);
         command.add("l");  // List contents
         command.add("-ba");  // Disable "Listing archive" header
         command.add("-slt");  // Show technical information
         command.add(archivePath);
-        
-        if (!entryPath.isEmpty()) {
-            command.add(entryPath + "*");
-        }
-        
+
         ProcessBuilder pb = new ProcessBuilder(command);
         pb.redirectErrorStream(true);
         
@@ -82,7 +142,7 @@ public class ArchiveService {
                 throw new IOException("7z command failed with exit code " + exitCode);
             }
             
-            return parse7zListOutput(output, archivePath, entryPath);
+            return output;
             
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -90,166 +150,6 @@ public class ArchiveService {
         }
     }
     
-    /**
-     * Parses the output of 7z l -slt command to extract file entries.
-     */
-    private List<VirtualFileItem> parse7zListOutput(List<String> lines, String archivePath, String entryPath) {
-        List<VirtualFileItem> items = new ArrayList<>();
-        
-        // Pattern to match 7z technical output
-        // Example:
-        // Path = folder/file.txt
-        // Size = 1234
-        // Packed Size = 567
-        // Modified = 2024:01:15 10:30:45
-        // Attr = ...
-        // Method = Deflate
-        
-        int i = 0;
-        while (i < lines.size()) {
-            String line = lines.get(i).trim();
-            
-            // Each file entry starts with "Path = "
-            if (line.startsWith("Path = ")) {
-                String fullPath = line.substring(7).trim();
-                
-                // Skip if this path doesn't start with our entry path
-                if (!entryPath.isEmpty() && !fullPath.startsWith(entryPath)) {
-                    i++;
-                    continue;
-                }
-                
-                // Get the relative name within the current entry path
-                String relativePath;
-                if (entryPath.isEmpty()) {
-                    relativePath = fullPath;
-                } else {
-                    relativePath = fullPath.substring(entryPath.length());
-                }
-                
-                // Skip the entry path itself (it's a directory marker)
-                if (relativePath.isEmpty() || relativePath.equals("/")) {
-                    i++;
-                    continue;
-                }
-                
-                // Remove leading slash if present
-                if (relativePath.startsWith("/")) {
-                    relativePath = relativePath.substring(1);
-                }
-                
-                // Skip if this is a deeper nested entry (we only want immediate children)
-                // Check if there's a slash after removing the entry path prefix
-                int slashIndex = relativePath.indexOf('/');
-                if (slashIndex >= 0) {
-                    // This is a nested entry - extract just the directory name
-                    String dirName = relativePath.substring(0, slashIndex);
-                    
-                    // Check if we already added this directory
-                    boolean alreadyAdded = items.stream()
-                        .anyMatch(item -> item.getEntryName().equals(dirName) && item.isDirectory());
-                    
-                    if (!alreadyAdded) {
-                        items.add(new VirtualFileItem(
-                            archivePath,
-                            dirName,
-                            entryPath.isEmpty() ? dirName : entryPath + "/" + dirName,
-                            0,  // Size will be calculated if needed
-                            0,
-                            null,
-                            true
-                        ));
-                    }
-                    i++;
-                    continue;
-                }
-                
-                // Parse other attributes
-                long size = 0;
-                long packedSize = 0;
-                Long modified = null;
-                boolean isDir = false;
-                
-                // Look ahead for attributes
-                int j = i + 1;
-                while (j < lines.size() && !lines.get(j).trim().startsWith("Path = ")) {
-                    String attrLine = lines.get(j).trim();
-                    if (attrLine.startsWith("Size = ")) {
-                        size = parseLong(attrLine.substring(7).trim());
-                    } else if (attrLine.startsWith("Packed Size = ")) {
-                        packedSize = parseLong(attrLine.substring(13).trim());
-                    } else if (attrLine.startsWith("Modified = ")) {
-                        modified = parse7zDate(attrLine.substring(10).trim());
-                    } else if (attrLine.startsWith("Attr = ")) {
-                        String attr = attrLine.substring(7).trim();
-                        isDir = attr.contains("D");
-                    }
-                    j++;
-                }
-                
-                String entryName = relativePath;
-                items.add(new VirtualFileItem(
-                    archivePath,
-                    entryName,
-                    fullPath,
-                    size,
-                    packedSize,
-                    modified,
-                    isDir
-                ));
-                
-                i = j;
-            } else {
-                i++;
-            }
-        }
-        
-        return items;
-    }
-    
-    private long parseLong(String s) {
-        try {
-            return Long.parseLong(s);
-        } catch (NumberFormatException e) {
-            return 0;
-        }
-    }
-    
-    /**
-     * Parses 7z date format: "2024:01:15 10:30:45"
-     */
-    private Long parse7zDate(String dateStr) {
-        try {
-            // Format: YYYY:MM:DD HH:MM:SS
-            String[] parts = dateStr.split(" ");
-            if (parts.length != 2) {
-                return null;
-            }
-            
-            String[] dateParts = parts[0].split(":");
-            String[] timeParts = parts[1].split(":");
-            
-            if (dateParts.length != 3 || timeParts.length != 3) {
-                return null;
-            }
-            
-            int year = Integer.parseInt(dateParts[0]);
-            int month = Integer.parseInt(dateParts[1]) - 1; // Java months are 0-based
-            int day = Integer.parseInt(dateParts[2]);
-            int hour = Integer.parseInt(timeParts[0]);
-            int minute = Integer.parseInt(timeParts[1]);
-            int second = Integer.parseInt(timeParts[2]);
-            
-            java.util.Calendar cal = java.util.Calendar.getInstance();
-            cal.set(year, month, day, hour, minute, second);
-            return cal.getTimeInMillis();
-            
-        } catch (Exception e) {
-            logger.debug("Failed to parse 7z date: {}", dateStr, e);
-            return null;
-        }
-    }
-    
     /**
      * Extracts a single entry from an archive to a temporary file.
      * 
@@ -263,6 +163,8 @@ public class ArchiveService {
         logger.debug("Extracting entry: {} from archive: {} to: {}", entryPath, archivePath, destDir);
         
         Files.createDirectories(destDir);
+        ArchiveEvent event = new ArchiveEvent();
+        event.begin();
         
         List<String> command = new ArrayList<>();
         command.add(SEVEN_Z_CONSOLE_PATH);
@@ -298,6 +200,7 @@ public class ArchiveService {
                 throw new IOException("Extracted file not found: " + extractedFile);
             }
             
+            event.finish("extract", archivePath, entryPath, 1);
             return extractedFile;
             
         } catch (InterruptedException e) {
@@ -306,6 +209,26 @@ public class ArchiveService {
         }
     }
     
+    /**
+     * Streams a single entry to memory through 7z's stdout (no temp extraction).
+     * Returns at most {@code maxBytes} bytes of the entry.
+     */
+    public byte[] readEntryBytes(String archivePath, String entryPath, int maxBytes) throws IOException {
+        List<String> command = List.of(SEVEN_Z_CONSOLE_PATH, "x", "-so", "-y", archivePath, entryPath);
+        ProcessBuilder pb = new ProcessBuilder(command);
+        pb.redirectError(ProcessBuilder.Redirect.DISCARD);
+        Process process = pb.start();
+        try (InputStream input = process.getInputStream()) {
+            byte[] content = input.readNBytes(maxBytes);
+            process.destroy();
+            return content;
+        } finally {
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
     /**
      * Extracts an entry from an archive to a temporary file and returns the temp file.
      * The caller is responsible for deleting the temp file when done.
@@ -365,6 +288,7 @@ public class ArchiveService {
                 throw new IOException("7z update failed with exit code " + exitCode);
             }
             
+            invalidateListing(archivePath);
             logger.debug("Successfully updated entry in archive: {}", entryPath);
             
         } catch (InterruptedException e) {
@@ -423,6 +347,7 @@ public class ArchiveService {
                 throw new IOException("7z delete failed with exit code " + exitCode);
             }
             
+            invalidateListing(archivePath);
             logger.debug("Successfully deleted entry from archive: {}", entryPath);
             
         } catch (InterruptedException e) {
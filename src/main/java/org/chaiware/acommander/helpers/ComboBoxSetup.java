@@ -4,20 +4,48 @@ import javafx.scene.control.ComboBox;
 import javafx.util.StringConverter;
 import org.chaiware.acommander.model.Drive;
 import org.chaiware.acommander.model.Folder;
+import org.chaiware.acommander.model.RecentFolder;
 import org.chaiware.acommander.model.WindowsFolder;
 
 import java.io.File;
+import java.util.List;
+import java.util.function.Supplier;
 
-/** Populating the comboBox dropdown with the drives / Windows folders and favorites */
+/**
+ * Populating the comboBox dropdown with the drives / Windows folders and favorites. Drive space is read in the
+ * background by the {@link DriveProbe} (a sleeping or disconnected drive must not hold up the first frame).
+ */
 public class ComboBoxSetup {
+    private static final int RECENT_FOLDERS_SHOWN = 10;
+
+    private final DriveProbe driveProbe;
+
+    public ComboBoxSetup(DriveProbe driveProbe) {
+        this.driveProbe = driveProbe;
+    }
+
     public void setupComboBox(ComboBox<Folder> comboBox) {
-        comboBox.setCellFactory(param -> new FolderComboBoxCell());
-        comboBox.setButtonCell(new FolderComboBoxCell(true));
+        comboBox.setCellFactory(param -> new FolderComboBoxCell(driveProbe));
+        comboBox.setButtonCell(new FolderComboBoxCell(driveProbe, true));
         populateComboBox(comboBox);
         setStringInput(comboBox);
         comboBox.getSelectionModel().selectLast();
     }
 
+    /**
+     * Lists the most recently visited folders below the fixed entries, refreshed whenever the dropdown opens (not on
+     * every navigation, which would disturb the selection while the path changes)
+     */
+    public void addRecentFolders(ComboBox<Folder> comboBox, Supplier<List<String>> recentFolders) {
+        comboBox.setOnShowing(event -> {
+            comboBox.getItems().removeIf(folder -> folder instanceof RecentFolder);
+            recentFolders.get().stream()
+                    .limit(RECENT_FOLDERS_SHOWN)
+                    .map(RecentFolder::new)
+                    .forEach(comboBox.getItems()::add);
+        });
+    }
+
     /** Enables user input into the combox as string (it will convert it to Folder object) */
     private void setStringInput(ComboBox<Folder> comboBox) {
         comboBox.setConverter(new StringConverter<>() {
@@ -27,13 +55,11 @@ public class ComboBoxSetup {
                     return "";
                 }
 
-                if (folder instanceof Drive drive) {
-                    return drive.getPath() + " (" + formatBytes(drive.getAvailableSpace()) + " / " + formatBytes(drive.getTotalSpace()) + ")";
-                }
-
-                File pathFile = new File(folder.getPath());
-                if (pathFile.exists() && pathFile.getParentFile() == null) {
-                    return folder.getPath() + " (" + formatBytes(pathFile.getUsableSpace()) + " / " + formatBytes(pathFile.getTotalSpace()) + ")";
+                if (folder instanceof Drive || (folder.getPath() != null && new File(folder.getPath()).getParentFile() == null)) {
+                    DriveProbe.Space space = driveProbe.spaceOf(folder.getPath());
+                    if (space != null && space.total() > 0) {
+                        return folder.getPath() + " (" + formatBytes(space.usable()) + " / " + formatBytes(space.total()) + ")";
+                    }
                 }
 
                 return folder.getPath();
@@ -72,9 +98,7 @@ public class ComboBoxSetup {
             Drive drive = new Drive();
             drive.setPath(root.getAbsolutePath());
             drive.setLetter(root.getAbsolutePath().substring(0, 1));
-            drive.setStoreType(getStoreType(root));
-            drive.setTotalSpace(root.getTotalSpace());
-            drive.setAvailableSpace(root.getUsableSpace());
+            driveProbe.probe(root);
             comboBox.getItems().add(drive);
         }
 
@@ -93,12 +117,4 @@ public class ComboBoxSetup {
         folder.setPath(path);
         comboBox.getItems().add(folder);
     }
-
-    private String getStoreType(File root) {
-        long totalSpace = root.getTotalSpace();
-        if (totalSpace > 0) {
-            return "Local Disk";
-        }
-        return "Unknown";
-    }
 }
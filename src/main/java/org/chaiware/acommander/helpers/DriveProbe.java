@@ -0,0 +1,156 @@
+package org.chaiware.acommander.helpers;
+
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Reads that stall on sleeping, network or disconnected drives (free space, whether a folder exists), kept off the FX
+ * thread. The space of a root is cached and re-read at most every few seconds; until its first read completes it is
+ * unknown, and {@link #revisionProperty()} changes (on the UI executor) whenever a read brings a new value, so cells
+ * showing it can redraw.
+ */
+public class DriveProbe {
+    private static final Logger logger = LoggerFactory.getLogger(DriveProbe.class);
+    static final long REFRESH_MILLIS = 5_000;
+    /** One thread per stalled root at most, so a dead network drive never delays the others */
+    private static final ExecutorService PROBES = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "drive-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** The total and usable bytes of a root; a total of 0 means the drive did not answer (no media, disconnected) */
+    public record Space(long total, long usable) {
+    }
+
+    private record Probed(Space space, long readAt) {
+    }
+
+    /** An existence check running on a root; while it runs, other checks on the root wait for it */
+    private record ExistsCheck(String path, CompletableFuture<Boolean> exists) {
+    }
+
+    private static final Map<String, ExistsCheck> EXISTS_CHECKS = new ConcurrentHashMap<>();
+
+    private final Executor uiThread;
+    private final Function<File, Space> reader;
+    private final Map<String, Probed> spaces = new ConcurrentHashMap<>();
+    private final Set<String> probing = ConcurrentHashMap.newKeySet();
+    private final ReadOnlyIntegerWrapper revision = new ReadOnlyIntegerWrapper();
+
+    public DriveProbe(Executor uiThread) {
+        this(uiThread, root -> new Space(root.getTotalSpace(), root.getUsableSpace()));
+    }
+
+    DriveProbe(Executor uiThread, Function<File, Space> reader) {
+        this.uiThread = uiThread;
+        this.reader = reader;
+    }
+
+    /** Changes each time a read brings a new value */
+    public ReadOnlyIntegerProperty revisionProperty() {
+        return revision.getReadOnlyProperty();
+    }
+
+    /** The space of the root holding {@code path}, or null while it was never read; reads it again when stale */
+    public Space spaceOf(String path) {
+        File root = rootOf(path);
+        if (root == null) {
+            return null;
+        }
+        Probed probed = spaces.get(root.getPath());
+        if (probed == null || System.currentTimeMillis() - probed.readAt() > REFRESH_MILLIS) {
+            probe(root);
+        }
+        return probed == null ? null : probed.space();
+    }
+
+    /** Starts reading the space of a root in the background, unless a read of it is already running */
+    public void probe(File root) {
+        String key = root.getPath();
+        if (!probing.add(key)) {
+            return;
+        }
+        PROBES.execute(() -> {
+            Space space;
+            try {
+                space = reader.apply(root);
+            } catch (RuntimeException ex) {
+                logger.debug("Failed reading the space of {}", root, ex);
+                space = new Space(0, 0);
+            } finally {
+                probing.remove(key);
+            }
+            Probed previous = spaces.put(key, new Probed(space, System.currentTimeMillis()));
+            if (previous == null || !Objects.equals(previous.space(), space)) {
+                uiThread.execute(() -> revision.set(revision.get() + 1));
+            }
+        });
+    }
+
+    /** Whether a path exists, counting a drive that does not answer within the timeout as missing */
+    public static boolean existsWithin(String path, long timeoutMillis) {
+        return existsWithin(path, timeoutMillis, candidate -> new File(candidate).exists());
+    }
+
+    /**
+     * Same, with the check itself given. A root runs one check at a time: a call finding a check still running on its
+     * root waits for that one instead of starting another thread, so a stalled drive holds a single thread.
+     */
+    static boolean existsWithin(String path, long timeoutMillis, Predicate<String> exists) {
+        File root = rootOf(path);
+        String key = root == null ? path : root.getPath();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (true) {
+            ExistsCheck check = EXISTS_CHECKS.compute(key, (ignored, running) -> running != null && !running.exists().isDone()
+                    ? running
+                    : new ExistsCheck(path, CompletableFuture.supplyAsync(() -> exists.test(path), PROBES)));
+            check.exists().whenComplete((result, ex) -> EXISTS_CHECKS.remove(key, check));
+            try {
+                boolean found = check.exists().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (check.path().equals(path)) {
+                    return found;
+                }
+                // the root answered a check of another path, now it is this path's turn
+            } catch (TimeoutException ex) {
+                logger.warn("{} did not answer within {} ms, treating it as missing", path, timeoutMillis);
+                return false;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException ex) {
+                if (check.path().equals(path)) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private static File rootOf(String path) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        File root = new File(path).getAbsoluteFile();
+        while (root.getParentFile() != null) {
+            root = root.getParentFile();
+        }
+        return root;
+    }
+}
@@ -4,13 +4,36 @@ import org.chaiware.acommander.model.FileItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
 
 public class FileHelper {
     private static final Logger logger = LoggerFactory.getLogger(FileHelper.class);
+    /** Windows paths are case-insensitive; elsewhere A.txt and a.txt are different files */
+    private static final boolean FOLD_PATH_CASE = System.getProperty("os.name", "").startsWith("Windows");
+
+    /**
+     * A path as a map key: case-folded (independently of the default locale) only where file names ignore case
+     */
+    public static String pathKey(String path) {
+        return FOLD_PATH_CASE ? path.toLowerCase(Locale.ROOT) : path;
+    }
+
+    /**
+     * The items an in-pane filter keeps while typing: names starting with the (lower-case) prefix, and the ".." entry
+     */
+    public static List<FileItem> filterByNamePrefix(List<FileItem> items, String prefix) {
+        return items.stream()
+                .filter(item -> "..".equals(item.getPresentableFilename())
+                        || item.getPresentableFilename().toLowerCase(Locale.ROOT).startsWith(prefix))
+                .toList();
+    }
 
     /**
      * Checks if a file appears to be a text file (non-binary).
@@ -27,25 +50,32 @@ public class FileHelper {
         }
 
         byte[] buffer = new byte[8192];
-        int read;
-        try (FileInputStream inputStream = new FileInputStream(fileItem.getFile())) {
-            read = inputStream.read(buffer);
+        int read = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.wrap(buffer);
+            while (head.hasRemaining() && channel.read(head) > 0) {
+                // a channel may return fewer bytes than asked
+            }
+            read = head.position();
         } catch (IOException ex) {
             logger.debug("Failed reading file while checking if it is text: {}", fileItem.getFullPath(), ex);
             return false;
         }
 
+        return looksLikeText(buffer, read);
+    }
+
+    /**
+     * The text heuristic of {@link #isTextFile(FileItem)} applied to a file's leading bytes
+     * (callers that already hold the bytes, like the content search, use it directly).
+     */
+    public static boolean looksLikeText(byte[] buffer, int read) {
         if (read <= 0) {
             return true;
         }
 
-        // Check for BOM (Byte Order Mark)
-        if (read >= 2) {
-            boolean utf16LeBom = (buffer[0] & 0xFF) == 0xFF && (buffer[1] & 0xFF) == 0xFE;
-            boolean utf16BeBom = (buffer[0] & 0xFF) == 0xFE && (buffer[1] & 0xFF) == 0xFF;
-            if (utf16LeBom || utf16BeBom) {
-                return true;
-            }
+        if (isUtf16Bom(buffer, read)) {
+            return true;
         }
 
         int suspicious = 0;
@@ -65,4 +95,14 @@ public class FileHelper {
         double suspiciousRatio = (double) suspicious / read;
         return suspiciousRatio <= 0.30d;
     }
+
+    /** Check for BOM (Byte Order Mark) of UTF-16 (either endianness) */
+    public static boolean isUtf16Bom(byte[] buffer, int read) {
+        if (read < 2) {
+            return false;
+        }
+        boolean utf16LeBom = (buffer[0] & 0xFF) == 0xFF && (buffer[1] & 0xFF) == 0xFE;
+        boolean utf16BeBom = (buffer[0] & 0xFF) == 0xFE && (buffer[1] & 0xFF) == 0xFF;
+        return utf16LeBom || utf16BeBom;
+    }
 }
@@ -5,6 +5,10 @@ import javafx.collections.ObservableList;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.ListView;
 import lombok.Data;
+import org.chaiware.acommander.metrics.Metrics;
+import org.chaiware.acommander.metrics.Timer;
+import org.chaiware.acommander.metrics.events.DirectoryListingEvent;
+import org.chaiware.acommander.metrics.events.SortEvent;
 import org.chaiware.acommander.model.ArchiveSession;
 import org.chaiware.acommander.model.FileItem;
 import org.chaiware.acommander.model.Folder;
@@ -27,12 +31,17 @@ public class FilesPanesHelper {
     public enum SortColumn {NAME, SIZE, MODIFIED}
 
     private static final Logger logger = LoggerFactory.getLogger(FilesPanesHelper.class);
+    private static final Timer LISTING_TIME = Metrics.APPLICATION.timer("pane.listing");
+    private static final Timer SORT_TIME = Metrics.APPLICATION.timer("pane.sort");
     private final VfsManager vfsManager = new VfsManager();
 
     Map<FocusSide, FilePane> filePanes = new HashMap<>();
     private final Map<FocusSide, SortState> sortStates = new HashMap<>();
     private final Map<FocusSide, VFileSystem> fileSystems = new EnumMap<>(FocusSide.class);
     private FocusSide focusedSide;
+    private final FolderListingCache listingCache = new FolderListingCache(200_000);
+    /** The pane being shown again by {@link #restoreFileListPath}, which may reuse a cached listing */
+    private FocusSide restoringSide;
 
     public FocusSide getFocusedSide() {
         return focusedSide;
@@ -184,6 +193,26 @@ public class FilesPanesHelper {
         logger.debug("Entered archive subdirectory: {}", dirName);
     }
     
+    /**
+     * Opens an archive on the given side and selects one of its entries (e.g. a search hit inside the archive).
+     * Extracts the archive, so call it off the FX thread.
+     */
+    public void openArchiveAt(FocusSide focusSide, String archivePath, String entryPath) {
+        enterArchive(focusSide, archivePath);
+        if (!(fileSystems.get(focusSide) instanceof ArchiveFileSystem)) {
+            return;
+        }
+        String[] segments = entryPath.replace('\\', '/').split("/");
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (!segments[i].isEmpty()) {
+                enterArchiveSubdirectory(focusSide, segments[i]);
+            }
+        }
+        ArchiveSession session = ((ArchiveFileSystem) fileSystems.get(focusSide)).getSession();
+        FileItem entry = new FileItem(session.getTempFolderPath().resolve(segments[segments.length - 1]).toFile());
+        Platform.runLater(() -> filePanes.get(focusSide).getFileListView().getSelectionModel().select(entry));
+    }
+
     /**
      * Navigates up one level in the archive hierarchy.
      * If at root, exits the archive and shows the archive file's parent folder.
@@ -271,6 +300,18 @@ public class FilesPanesHelper {
         }
     }
 
+    /**
+     * Shows a folder again (back/forward): its cached listing is reused when the folder has not changed since
+     */
+    public void restoreFileListPath(FocusSide focusSide, String path) {
+        restoringSide = focusSide;
+        try {
+            setFileListPath(focusSide, path);
+        } finally {
+            restoringSide = null;
+        }
+    }
+
     public void setFocusedFileListPath(String path) {
         setFileListPath(focusedSide, path);
     }
@@ -305,6 +346,9 @@ public class FilesPanesHelper {
         ListView<FileItem> listView = filePanes.get(focusSide).getFileListView();
         FileItem previouslySelected = listView.getSelectionModel().getSelectedItem();
 
+        long listingStart = System.nanoTime();
+        DirectoryListingEvent listingEvent = new DirectoryListingEvent();
+        listingEvent.begin();
         ObservableList<FileItem> items = listView.getItems();
         items.clear();
 
@@ -324,6 +368,7 @@ public class FilesPanesHelper {
             }
 
             File[] files = folder.listFiles();
+            listingEvent.path = session.getDisplayPath();
 
             // Always add ".." entry when in archive
             // At root level: ".." exits archive and shows parent folder of archive file
@@ -340,7 +385,14 @@ public class FilesPanesHelper {
         } else {
             // Regular folder loading
             File folder = new File(filePanes.get(focusSide).getPath());
-            File[] files = folder.listFiles();
+            File[] files = restoringSide == focusSide ? listingCache.get(folder) : null;
+            listingEvent.fromCache = files != null;
+            if (files == null) {
+                long modified = folder.lastModified();
+                files = folder.listFiles();
+                listingCache.put(folder, modified, files);
+            }
+            listingEvent.path = folder.getPath();
 
             if (folder.getParentFile() != null)
                 items.add(new FileItem(folder, ".."));
@@ -348,6 +400,12 @@ public class FilesPanesHelper {
                 for (File f : files)
                     items.add(new FileItem(f));
         }
+        LISTING_TIME.recordSince(listingStart);
+        listingEvent.end();
+        if (listingEvent.shouldCommit()) {
+            listingEvent.items = items.size();
+            listingEvent.commit();
+        }
 
         applySort(focusSide);
         if (previouslySelected != null) {
@@ -398,6 +456,9 @@ public class FilesPanesHelper {
             Platform.runLater(() -> applySort(focusSide));
             return;
         }
+        long sortStart = System.nanoTime();
+        SortEvent sortEvent = new SortEvent();
+        sortEvent.begin();
         ObservableList<FileItem> items = filePanes.get(focusSide).getFileListView().getItems();
         FileItem parent = items.stream()
                 .filter(this::isParentFolder)
@@ -409,7 +470,7 @@ public class FilesPanesHelper {
                 .toList();
 
         SortState sortState = sortStates.getOrDefault(focusSide, new SortState(SortColumn.NAME, true));
-        Comparator<FileItem> comparator = buildComparator(sortState);
+        Comparator<FileItem> comparator = comparator(sortState.column(), sortState.ascending());
         List<FileItem> sorted = sortable.stream().sorted(comparator).toList();
 
         items.clear();
@@ -417,34 +478,44 @@ public class FilesPanesHelper {
             items.add(parent);
         }
         items.addAll(sorted);
+        SORT_TIME.recordSince(sortStart);
+        sortEvent.end();
+        if (sortEvent.shouldCommit()) {
+            sortEvent.path = filePanes.get(focusSide).getPath();
+            sortEvent.column = sortState.column().name();
+            sortEvent.ascending = sortState.ascending();
+            sortEvent.items = sorted.size();
+            sortEvent.commit();
+        }
     }
 
-    private Comparator<FileItem> buildComparator(SortState state) {
+    /** The order of a pane sorted by the given column: folders first, then the column, then the name */
+    static Comparator<FileItem> comparator(SortColumn column, boolean ascending) {
         Comparator<FileItem> directoriesFirst = Comparator.comparing(FileItem::isDirectory).reversed();
 
-        Comparator<FileItem> byColumn = switch (state.column) {
-            case NAME -> Comparator.comparing(this::normalizedName, String.CASE_INSENSITIVE_ORDER);
-            case SIZE -> Comparator.comparingLong(this::sizeForSort);
-            case MODIFIED -> Comparator.comparingLong(this::modifiedForSort);
+        Comparator<FileItem> byColumn = switch (column) {
+            case NAME -> Comparator.comparing(FilesPanesHelper::normalizedName, String.CASE_INSENSITIVE_ORDER);
+            case SIZE -> Comparator.comparingLong(FilesPanesHelper::sizeForSort);
+            case MODIFIED -> Comparator.comparingLong(FilesPanesHelper::modifiedForSort);
         };
 
-        if (!state.ascending) {
+        if (!ascending) {
             byColumn = byColumn.reversed();
         }
 
-        Comparator<FileItem> byName = Comparator.comparing(this::normalizedName, String.CASE_INSENSITIVE_ORDER);
+        Comparator<FileItem> byName = Comparator.comparing(FilesPanesHelper::normalizedName, String.CASE_INSENSITIVE_ORDER);
         return directoriesFirst.thenComparing(byColumn).thenComparing(byName);
     }
 
-    private String normalizedName(FileItem item) {
+    private static String normalizedName(FileItem item) {
         return item.getPresentableFilename().toLowerCase(Locale.ROOT);
     }
 
-    private long sizeForSort(FileItem item) {
+    private static long sizeForSort(FileItem item) {
         return item.isDirectory() ? 0L : item.getFile().length();
     }
 
-    private long modifiedForSort(FileItem item) {
+    private static long modifiedForSort(FileItem item) {
         return item.getFile().lastModified();
     }
 
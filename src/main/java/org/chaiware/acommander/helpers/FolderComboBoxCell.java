@@ -1,5 +1,7 @@
 package org.chaiware.acommander.helpers;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
 import javafx.geometry.Insets;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListCell;
@@ -7,20 +9,23 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import org.chaiware.acommander.model.Drive;
 import org.chaiware.acommander.model.Folder;
+import org.chaiware.acommander.model.RecentFolder;
 import org.chaiware.acommander.model.WindowsFolder;
 
-import java.io.File;
-
-/** The ComboBox rows look&feel */
+/** The ComboBox rows look&feel; free space comes from the {@link DriveProbe} and is redrawn as reads complete */
 public class FolderComboBoxCell extends ListCell<Folder> {
     private final boolean compact;
+    private final DriveProbe driveProbe;
+    private final InvalidationListener redraw = observable -> updateItem(getItem(), isEmpty());
 
-    public FolderComboBoxCell() {
-        this(false);
+    public FolderComboBoxCell(DriveProbe driveProbe) {
+        this(driveProbe, false);
     }
 
-    public FolderComboBoxCell(boolean compact) {
+    public FolderComboBoxCell(DriveProbe driveProbe, boolean compact) {
+        this.driveProbe = driveProbe;
         this.compact = compact;
+        driveProbe.revisionProperty().addListener(new WeakInvalidationListener(redraw));
     }
 
     @Override
@@ -42,7 +47,7 @@ public class FolderComboBoxCell extends ListCell<Folder> {
 
         String text;
         if (folder instanceof Drive drive) {
-            text = drive.getLetter() + ": (" + formatBytes(drive.getAvailableSpace()) + " free)";
+            text = drive.getLetter() + ": " + formatFreeForPath(drive.getPath());
         } else if (folder instanceof WindowsFolder winFolder) {
             text = winFolder.getName() + " (" + winFolder.getPath() + ") " + formatFreeForPath(winFolder.getPath());
         } else {
@@ -71,10 +76,12 @@ public class FolderComboBoxCell extends ListCell<Folder> {
     /** Drive info in the combox dropdown */
     private HBox createDriveContent(Drive drive, HBox container) {
         VBox driveInfo = new VBox(2);
-        Label driveLabel = new Label(drive.getLetter() + ": (" + drive.getStoreType() + ", " + formatBytes(drive.getAvailableSpace()) + " free)");
+        DriveProbe.Space space = driveProbe.spaceOf(drive.getPath());
+        String storeType = space == null ? "..." : space.total() > 0 ? "Local Disk" : "Unknown";
+        Label driveLabel = new Label(drive.getLetter() + ": (" + storeType + ", " + formatFree(space) + " free)");
         driveLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 13px;");
 
-        String spaceInfo = formatBytes(drive.getAvailableSpace()) + " / " + formatBytes(drive.getTotalSpace());
+        String spaceInfo = space == null ? "..." : formatBytes(space.usable()) + " / " + formatBytes(space.total());
         Label spaceLabel = new Label(spaceInfo);
         spaceLabel.setStyle("-fx-font-size: 11px;");
         spaceLabel.getStyleClass().add("drive-space-label");
@@ -101,7 +108,7 @@ public class FolderComboBoxCell extends ListCell<Folder> {
 
     /** Generic Folder info in the combox dropdown */
     private HBox createGenericFolderContent(Folder folder, HBox container) {
-        Label icon = new Label("[F]");
+        Label icon = new Label(folder instanceof RecentFolder ? "[R]" : "[F]");
         icon.setStyle("-fx-font-size: 12px;");
         Label pathLabel = new Label(folder.getPath());
         pathLabel.setStyle("-fx-font-size: 13px;");
@@ -120,16 +127,14 @@ public class FolderComboBoxCell extends ListCell<Folder> {
         if (path == null || path.isBlank()) {
             return "(free: -)";
         }
-
-        File root = new File(path);
-        while (root.getParentFile() != null) {
-            root = root.getParentFile();
-        }
-
-        if (!root.exists()) {
+        DriveProbe.Space space = driveProbe.spaceOf(path);
+        if (space != null && space.total() == 0) {
             return "(free: -)";
         }
+        return "(" + formatFree(space) + " free)";
+    }
 
-        return "(" + formatBytes(root.getUsableSpace()) + " free)";
+    private String formatFree(DriveProbe.Space space) {
+        return space == null ? "..." : formatBytes(space.usable());
     }
 }
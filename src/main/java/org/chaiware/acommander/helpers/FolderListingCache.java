@@ -0,0 +1,70 @@
+package org.chaiware.acommander.helpers;
+
+import org.chaiware.acommander.metrics.CacheMeter;
+import org.chaiware.acommander.metrics.Metrics;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The last listings of recently shown folders, so going back to a folder does not list it again. A listing is only
+ * handed out while the folder's modification time is the one it was listed at (adding, removing or renaming an entry
+ * changes it); sizes and dates are still read from the files themselves. Bounded by the number of cached entries.
+ */
+public class FolderListingCache {
+    private static final CacheMeter LOOKUPS = Metrics.APPLICATION.cache("cache.folder-listing");
+
+    private record Listing(long modified, File[] files) {
+    }
+
+    private final int maxFiles;
+    private final Map<String, Listing> listings = new LinkedHashMap<>(16, 0.75f, true);
+    private int cachedFiles;
+
+    public FolderListingCache(int maxFiles) {
+        this.maxFiles = maxFiles;
+    }
+
+    /** The cached entries of a folder, or null when it is not cached or has changed since */
+    public synchronized File[] get(File folder) {
+        Listing listing = listings.get(folder.getAbsolutePath());
+        if (listing == null) {
+            LOOKUPS.miss();
+            return null;
+        }
+        long modified = folder.lastModified();
+        if (modified == 0 || modified != listing.modified()) {
+            remove(folder.getAbsolutePath());
+            LOOKUPS.miss();
+            return null;
+        }
+        LOOKUPS.hit();
+        return listing.files();
+    }
+
+    /**
+     * Remembers a fresh listing; {@code modified} is the folder's modification time read before it was listed, so a
+     * change during the listing leaves it stale rather than wrongly current
+     */
+    public synchronized void put(File folder, long modified, File[] files) {
+        remove(folder.getAbsolutePath());
+        if (modified == 0 || files == null || files.length > maxFiles) {
+            return;
+        }
+        listings.put(folder.getAbsolutePath(), new Listing(modified, files));
+        cachedFiles += files.length;
+        for (Iterator<Listing> eldest = listings.values().iterator(); cachedFiles > maxFiles && eldest.hasNext(); ) {
+            cachedFiles -= eldest.next().files().length;
+            eldest.remove();
+        }
+    }
+
+    private void remove(String path) {
+        Listing removed = listings.remove(path);
+        if (removed != null) {
+            cachedFiles -= removed.files().length;
+        }
+    }
+}
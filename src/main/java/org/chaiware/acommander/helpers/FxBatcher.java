@@ -0,0 +1,58 @@
+package org.chaiware.acommander.helpers;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Hands items produced on worker threads to the UI thread in batches: however many items arrive before the UI
+ * thread gets to them, they cost one scheduled task and one call of the batch consumer.
+ */
+public class FxBatcher<T> implements Consumer<T> {
+    private final Executor uiThread;
+    private final Consumer<List<T>> onBatch;
+    private final Queue<T> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    /** @param onBatch receives the queued items on the FX thread, never with an empty list */
+    public FxBatcher(Consumer<List<T>> onBatch) {
+        this(Platform::runLater, onBatch);
+    }
+
+    /**
+     * @param uiThread where the batches are delivered ({@code Platform::runLater} in the application)
+     * @param onBatch receives the queued items on the UI thread, never with an empty list
+     */
+    public FxBatcher(Executor uiThread, Consumer<List<T>> onBatch) {
+        this.uiThread = uiThread;
+        this.onBatch = onBatch;
+    }
+
+    /** Queues an item (any thread); schedules a flush unless one is already pending */
+    @Override
+    public void accept(T item) {
+        pending.add(item);
+        if (drainScheduled.compareAndSet(false, true)) {
+            uiThread.execute(this::flush);
+        }
+    }
+
+    /** Delivers everything queued so far (UI thread only), e.g. once more when the producer is done */
+    public void flush() {
+        drainScheduled.set(false);
+        List<T> batch = new ArrayList<>();
+        T item;
+        while ((item = pending.poll()) != null) {
+            batch.add(item);
+        }
+        if (!batch.isEmpty()) {
+            onBatch.accept(batch);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.chaiware.acommander.helpers;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+/**
+ * The back/forward stacks of one pane. Each entry remembers the folder together with the item that was selected and
+ * the first visible row, so going back puts the pane exactly where it was left.
+ */
+public class NavigationHistory {
+    static final int MAX_DEPTH = 100;
+
+    /** A folder as it was left */
+    public record Visit(String path, String selectedName, int firstVisibleRow) {
+    }
+
+    private final Deque<Visit> back = new ArrayDeque<>();
+    private final Deque<Visit> forward = new ArrayDeque<>();
+
+    /** Records leaving a folder by regular navigation, which ends the forward history */
+    public void leave(Visit visit) {
+        push(back, visit);
+        forward.clear();
+    }
+
+    /** The previous folder, with {@code current} becoming the next one; empty at the start of the history */
+    public Optional<Visit> back(Visit current) {
+        return step(back, forward, current);
+    }
+
+    /** The next folder, with {@code current} becoming the previous one; empty at the end of the history */
+    public Optional<Visit> forward(Visit current) {
+        return step(forward, back, current);
+    }
+
+    public boolean canGoBack() {
+        return !back.isEmpty();
+    }
+
+    public boolean canGoForward() {
+        return !forward.isEmpty();
+    }
+
+    private static Optional<Visit> step(Deque<Visit> from, Deque<Visit> to, Visit current) {
+        if (from.isEmpty()) {
+            return Optional.empty();
+        }
+        push(to, current);
+        return Optional.of(from.pop());
+    }
+
+    private static void push(Deque<Visit> stack, Visit visit) {
+        stack.push(visit);
+        if (stack.size() > MAX_DEPTH) {
+            stack.removeLast();
+        }
+    }
+}
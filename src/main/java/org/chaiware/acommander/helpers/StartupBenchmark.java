@@ -0,0 +1,101 @@
+package org.chaiware.acommander.helpers;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to the first frame of the application jar, over fresh JVMs with and without the AppCDS archive (the
+ * {@code startupBenchmark} task of build.gradle). Each run starts the application with
+ * {@code -Dacommander.startup=benchmark}, which prints the first-frame time (since the JVM started) and exits; the
+ * first run of each kind only warms the OS file cache and is not counted.
+ * <p>
+ * Usage: {@code StartupBenchmark <java executable> <working folder> <jar name> <archive name> [runs]}
+ */
+public class StartupBenchmark {
+    private static final int DEFAULT_RUNS = 5;
+    private static final long RUN_TIMEOUT_SECONDS = 120;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Usage: StartupBenchmark <java executable> <working folder> <jar name> <archive name> [runs]");
+            System.exit(2);
+        }
+        String java = args[0];
+        File workingFolder = new File(args[1]);
+        String jar = args[2];
+        String archive = args[3];
+        int runs = args.length > 4 ? Math.max(1, Integer.parseInt(args[4])) : DEFAULT_RUNS;
+
+        List<Long> plain = measure(java, workingFolder, jar, List.of(), runs);
+        System.out.println(report("Without the AppCDS archive", plain));
+        if (new File(workingFolder, archive).isFile()) {
+            // -Xshare:on fails the run instead of silently ignoring an archive that does not match the jar or the JDK
+            List<Long> shared = measure(java, workingFolder, jar, List.of("-XX:SharedArchiveFile=" + archive, "-Xshare:on"), runs);
+            System.out.println(report("With the AppCDS archive   ", shared));
+        } else {
+            System.out.println("No " + archive + " in " + workingFolder + ", run the cdsArchive task to compare with it");
+        }
+    }
+
+    private static List<Long> measure(String java, File workingFolder, String jar, List<String> jvmOptions, int runs)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(java, "-Dacommander.startup=benchmark", "--enable-native-access=javafx.graphics"));
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-cp", jar, "org.chaiware.acommander.Launcher"));
+        List<Long> millis = new ArrayList<>();
+        for (int run = 0; run <= runs; run++) {
+            long firstFrame = runOnce(command, workingFolder);
+            if (run > 0) {
+                millis.add(firstFrame);
+            }
+        }
+        return millis;
+    }
+
+    private static long runOnce(List<String> command, File workingFolder) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).directory(workingFolder).redirectErrorStream(true).start();
+        OptionalLong firstFrame = OptionalLong.empty();
+        List<String> output = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            for (String line; (line = reader.readLine()) != null; ) {
+                output.add(line);
+                OptionalLong parsed = parseFirstFrame(line);
+                if (parsed.isPresent()) {
+                    firstFrame = parsed;
+                }
+            }
+        }
+        if (!process.waitFor(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+        if (firstFrame.isEmpty()) {
+            throw new IllegalStateException("The application did not report its first frame:\n" + String.join("\n", output));
+        }
+        return firstFrame.getAsLong();
+    }
+
+    static OptionalLong parseFirstFrame(String line) {
+        int at = line.indexOf(StartupProfile.FIRST_FRAME_MARKER);
+        if (at < 0) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(line.substring(at + StartupProfile.FIRST_FRAME_MARKER.length()).trim()));
+        } catch (NumberFormatException ex) {
+            return OptionalLong.empty();
+        }
+    }
+
+    static String report(String title, List<Long> millis) {
+        List<Long> sorted = millis.stream().sorted().toList();
+        return String.format("%s: median %d ms, min %d ms, max %d ms over %d runs",
+                title, sorted.get(sorted.size() / 2), sorted.getFirst(), sorted.getLast(), sorted.size());
+    }
+}
@@ -0,0 +1,67 @@
+package org.chaiware.acommander.helpers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup timings: each phase is measured from the end of the previous one, and the breakdown is logged as one line
+ * when startup finishes, together with the time from the JVM start (class loading, the JavaFX toolkit) to the
+ * creation of the profile.
+ */
+public class StartupProfile {
+    private static final Logger logger = LoggerFactory.getLogger(StartupProfile.class);
+
+    /** The profile of this application's startup */
+    public static final StartupProfile APPLICATION = new StartupProfile();
+    /** Prefixes the first-frame time printed for {@link StartupBenchmark} */
+    public static final String FIRST_FRAME_MARKER = "acommander.first-frame-ms=";
+
+    private final long createdAt = System.nanoTime();
+    private final long launchMillis = millisSinceProcessStart();
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private long lastMark = createdAt;
+    private boolean finished;
+
+    /** Ends the phase with the given name (a repeated name adds up) */
+    public synchronized void phaseDone(String name) {
+        long now = System.nanoTime();
+        phases.merge(name, now - lastMark, Long::sum);
+        lastMark = now;
+    }
+
+    /** Ends the last phase and logs the breakdown, once */
+    public synchronized void finish(String lastPhase) {
+        if (finished) {
+            return;
+        }
+        phaseDone(lastPhase);
+        finished = true;
+        logger.info(summary());
+    }
+
+    /** From the JVM start to the end of the last phase, or -1 when the platform does not tell the process start */
+    public synchronized long millisSinceJvmStart() {
+        return launchMillis < 0 ? -1 : launchMillis + TimeUnit.NANOSECONDS.toMillis(lastMark - createdAt);
+    }
+
+    synchronized String summary() {
+        StringJoiner breakdown = new StringJoiner(", ");
+        phases.forEach((name, nanos) -> breakdown.add(name + " " + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms"));
+        long total = TimeUnit.NANOSECONDS.toMillis(lastMark - createdAt);
+        String launch = launchMillis < 0 ? "" : " (" + millisSinceJvmStart() + " ms since the JVM started)";
+        return "Startup took " + total + " ms" + launch + ": " + breakdown;
+    }
+
+    private static long millisSinceProcessStart() {
+        return ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toMillis())
+                .orElse(-1L);
+    }
+}
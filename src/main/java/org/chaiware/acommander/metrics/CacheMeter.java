@@ -0,0 +1,41 @@
+package org.chaiware.acommander.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Hits and misses of a cache */
+public class CacheMeter {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    /** Counts a lookup, a hit when it found something */
+    public void record(boolean hit) {
+        if (hit) {
+            hit();
+        } else {
+            miss();
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /** The share of lookups that hit, 0 before the first lookup */
+    public double hitRate() {
+        long hits = hits();
+        long lookups = hits + misses();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,20 @@
+package org.chaiware.acommander.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** A count of events, cheap to bump from any thread */
+public class Counter {
+    private final LongAdder count = new LongAdder();
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long get() {
+        return count.sum();
+    }
+}
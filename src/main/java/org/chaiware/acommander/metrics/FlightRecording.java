@@ -0,0 +1,80 @@
+package org.chaiware.acommander.metrics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A JDK Flight Recorder recording of this session, started and saved from the palette: the JDK's "profile" settings
+ * plus the application's own events (org.chaiware.acommander.*). While no recording runs those events cost nothing.
+ * A recording keeps the last {@link #MAX_AGE} and is saved as a .jfr file for JDK Mission Control or {@code jfr print}.
+ */
+public class FlightRecording {
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecording.class);
+    static final Duration MAX_AGE = Duration.ofMinutes(30);
+
+    private final Path folder;
+    private Recording recording;
+
+    /** @param folder where recordings are saved */
+    public FlightRecording(Path folder) {
+        this.folder = folder;
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    public synchronized void start() throws IOException, ParseException {
+        if (recording != null) {
+            return;
+        }
+        Recording started = new Recording(Configuration.getConfiguration("profile"));
+        started.setName("aCommander");
+        started.setToDisk(true);
+        started.setMaxAge(MAX_AGE);
+        started.start();
+        recording = started;
+        logger.info("Flight recording started");
+    }
+
+    /** Saves what was recorded so far and keeps recording; null when no recording runs */
+    public synchronized Path dump() throws IOException {
+        if (recording == null) {
+            return null;
+        }
+        Path file = newFile();
+        recording.dump(file);
+        logger.info("Flight recording saved to {}", file);
+        return file;
+    }
+
+    /** Stops recording and saves it; null when no recording runs */
+    public synchronized Path stop() throws IOException {
+        if (recording == null) {
+            return null;
+        }
+        try {
+            recording.stop();
+            return dump();
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Path newFile() throws IOException {
+        Files.createDirectories(folder);
+        String time = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS"));
+        return folder.resolve("acommander-" + time + ".jfr");
+    }
+}
@@ -0,0 +1,79 @@
+package org.chaiware.acommander.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Named counters, timers, cache meters and gauges of the hot paths. Recording is always on and costs a few atomic
+ * increments; reading them ({@link #snapshot()}) is left to whoever shows or dumps them, so nothing is computed
+ * while the performance overlay is hidden. Metrics are created on first use and live as long as the registry.
+ */
+public class Metrics {
+    /** The metrics of this application */
+    public static final Metrics APPLICATION = new Metrics();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, CacheMeter> caches = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    public record TimerStats(long count, double totalMillis, double meanMillis, double p50Millis, double p90Millis,
+                             double p99Millis, double maxMillis) {
+    }
+
+    public record CacheStats(long hits, long misses, double hitRate) {
+    }
+
+    public record Snapshot(String takenAt, SortedMap<String, Long> counters, SortedMap<String, TimerStats> timers,
+                           SortedMap<String, CacheStats> caches, SortedMap<String, Long> gauges) {
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, ignored -> new Counter());
+    }
+
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, ignored -> new Timer());
+    }
+
+    public CacheMeter cache(String name) {
+        return caches.computeIfAbsent(name, ignored -> new CacheMeter());
+    }
+
+    /** Registers (or replaces) a value read only when the metrics are read */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    public Snapshot snapshot() {
+        SortedMap<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.get()));
+        SortedMap<String, TimerStats> timerValues = new TreeMap<>();
+        timers.forEach((name, timer) -> timerValues.put(name, new TimerStats(timer.count(),
+                Timer.toMillis(timer.totalNanos()), Timer.toMillis(timer.meanNanos()), timer.percentileMillis(0.5),
+                timer.percentileMillis(0.9), timer.percentileMillis(0.99), Timer.toMillis(timer.maxNanos()))));
+        SortedMap<String, CacheStats> cacheValues = new TreeMap<>();
+        caches.forEach((name, cache) -> cacheValues.put(name, new CacheStats(cache.hits(), cache.misses(), cache.hitRate())));
+        SortedMap<String, Long> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.getAsLong()));
+        return new Snapshot(Instant.now().toString(), counterValues, timerValues, cacheValues, gaugeValues);
+    }
+
+    /** Writes a snapshot to a JSON file, creating its folder */
+    public void dump(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValue(file.toFile(), snapshot());
+    }
+}
@@ -0,0 +1,88 @@
+package org.chaiware.acommander.metrics;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A translucent panel over the window listing the {@link Metrics}: counters with their rate since the previous
+ * refresh, timer percentiles, cache hit rates and gauges. It reads the metrics once a second only while it is shown.
+ */
+public class PerformanceOverlay extends StackPane {
+    private static final Duration REFRESH = Duration.seconds(1);
+
+    private final Metrics metrics;
+    private final Label text = new Label();
+    private final Timeline refresh = new Timeline(new KeyFrame(REFRESH, event -> refresh()));
+    private Metrics.Snapshot previous;
+    private long previousNanos;
+
+    public PerformanceOverlay(Metrics metrics) {
+        this.metrics = metrics;
+        getStyleClass().add("performance-overlay");
+        text.getStyleClass().add("performance-overlay-text");
+        getChildren().add(text);
+        setMouseTransparent(true);
+        setFocusTraversable(false);
+        setMaxSize(USE_PREF_SIZE, USE_PREF_SIZE);
+        StackPane.setAlignment(this, Pos.TOP_RIGHT);
+        refresh.setCycleCount(Animation.INDEFINITE);
+    }
+
+    /** Starts refreshing; call when the overlay is added to the scene */
+    public void start() {
+        previous = null;
+        refresh();
+        refresh.play();
+    }
+
+    /** Stops refreshing; call when the overlay is removed */
+    public void stop() {
+        refresh.stop();
+        previous = null;
+    }
+
+    private void refresh() {
+        long now = System.nanoTime();
+        Metrics.Snapshot current = metrics.snapshot();
+        double seconds = previous == null ? 0 : (now - previousNanos) / 1e9;
+        text.setText(String.join("\n", describe(current, previous, seconds)));
+        previous = current;
+        previousNanos = now;
+    }
+
+    /** The overlay's lines; rates are shown when there is a previous snapshot taken {@code seconds} earlier */
+    static List<String> describe(Metrics.Snapshot current, Metrics.Snapshot previous, double seconds) {
+        List<String> lines = new ArrayList<>();
+        lines.add("Performance");
+        for (Map.Entry<String, Metrics.TimerStats> timer : current.timers().entrySet()) {
+            Metrics.TimerStats stats = timer.getValue();
+            lines.add(String.format(Locale.ROOT, "%-28s %6d  p50 %8.2f  p90 %8.2f  p99 %8.2f  max %8.2f ms",
+                    timer.getKey(), stats.count(), stats.p50Millis(), stats.p90Millis(), stats.p99Millis(), stats.maxMillis()));
+        }
+        for (Map.Entry<String, Long> counter : current.counters().entrySet()) {
+            String rate = "";
+            if (previous != null && seconds > 0) {
+                long before = previous.counters().getOrDefault(counter.getKey(), 0L);
+                rate = String.format(Locale.ROOT, "  %8.1f/s", (counter.getValue() - before) / seconds);
+            }
+            lines.add(String.format(Locale.ROOT, "%-28s %6d%s", counter.getKey(), counter.getValue(), rate));
+        }
+        for (Map.Entry<String, Metrics.CacheStats> cache : current.caches().entrySet()) {
+            Metrics.CacheStats stats = cache.getValue();
+            lines.add(String.format(Locale.ROOT, "%-28s %6d hits %6d misses  %5.1f%%",
+                    cache.getKey(), stats.hits(), stats.misses(), stats.hitRate() * 100));
+        }
+        current.gauges().forEach((name, value) -> lines.add(String.format(Locale.ROOT, "%-28s %6d", name, value)));
+        return lines;
+    }
+}
@@ -0,0 +1,48 @@
+package org.chaiware.acommander.metrics.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.io.File;
+
+@Name("org.chaiware.acommander.Archive")
+@Label("Archive Operation")
+@Description("An archive was opened, indexed, had an entry extracted or was repacked through 7-Zip")
+@Category({"aCommander", "Archives"})
+@StackTrace(false)
+public class ArchiveEvent extends Event {
+    @Label("Archive")
+    public String archive;
+
+    @Label("Operation")
+    @Description("open, index, extract or repack")
+    public String operation;
+
+    @Label("Entry")
+    public String entry;
+
+    @Label("Entries")
+    public int entries;
+
+    @Label("Archive Size")
+    @DataAmount
+    public long bytes;
+
+    /** Ends the event and, when it is recorded, fills it in and commits it */
+    public void finish(String operation, String archive, String entry, int entries) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.archive = archive;
+            this.entry = entry;
+            this.entries = entries;
+            this.bytes = new File(archive).length();
+            commit();
+        }
+    }
+}
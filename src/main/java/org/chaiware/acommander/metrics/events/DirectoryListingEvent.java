@@ -0,0 +1,24 @@
+package org.chaiware.acommander.metrics.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.chaiware.acommander.DirectoryListing")
+@Label("Directory Listing")
+@Description("A pane listed its folder (or the extracted folder of an archive)")
+@Category({"aCommander", "Panes"})
+@StackTrace(false)
+public class DirectoryListingEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Items")
+    public int items;
+
+    @Label("From Cache")
+    public boolean fromCache;
+}
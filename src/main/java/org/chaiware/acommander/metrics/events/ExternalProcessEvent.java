@@ -0,0 +1,27 @@
+package org.chaiware.acommander.metrics.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.chaiware.acommander.ExternalProcess")
+@Label("External Process")
+@Description("A run of a bundled tool, from its start to its exit")
+@Category({"aCommander", "External Tools"})
+@StackTrace(false)
+public class ExternalProcessEvent extends Event {
+    @Label("Tool")
+    public String tool;
+
+    @Label("Command")
+    public String command;
+
+    @Label("Exit Code")
+    public int exitCode;
+
+    @Label("Output Lines")
+    public int outputLines;
+}
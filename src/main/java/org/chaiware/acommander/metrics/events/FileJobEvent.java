@@ -0,0 +1,34 @@
+package org.chaiware.acommander.metrics.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.chaiware.acommander.FileJob")
+@Label("File Job")
+@Description("A copy, move or delete started from the panes; jobs handed to an external tool end when the tool is "
+        + "started, the tool's own run is an External Process event")
+@Category({"aCommander", "File Operations"})
+@StackTrace(false)
+public class FileJobEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Source")
+    public String source;
+
+    @Label("Target")
+    public String target;
+
+    @Label("Items")
+    public int items;
+
+    @Label("File Bytes")
+    @Description("The size of the selected files (folders are not measured)")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,24 @@
+package org.chaiware.acommander.metrics.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.chaiware.acommander.PaletteQuery")
+@Label("Palette Query")
+@Description("A command palette keystroke: the instant providers' answer, before the background providers start")
+@Category({"aCommander", "Palette"})
+@StackTrace(false)
+public class PaletteQueryEvent extends Event {
+    @Label("Query")
+    public String query;
+
+    @Label("Instant Results")
+    public int results;
+
+    @Label("Background Providers")
+    public int backgroundProviders;
+}
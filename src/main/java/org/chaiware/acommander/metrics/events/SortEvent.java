@@ -0,0 +1,27 @@
+package org.chaiware.acommander.metrics.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.chaiware.acommander.Sort")
+@Label("Pane Sort")
+@Description("A pane was sorted")
+@Category({"aCommander", "Panes"})
+@StackTrace(false)
+public class SortEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Column")
+    public String column;
+
+    @Label("Ascending")
+    public boolean ascending;
+
+    @Label("Items")
+    public int items;
+}
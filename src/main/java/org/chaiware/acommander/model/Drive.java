@@ -7,13 +7,6 @@ import lombok.EqualsAndHashCode;
 @Data
 public class Drive extends Folder {
     private String letter;
-    private String storeType;
-    private long totalSpace;
-    private long availableSpace;
-
-    public long getUsedSpace() {
-        return getTotalSpace() - getAvailableSpace();
-    }
 
     @Override
     public String toString() {
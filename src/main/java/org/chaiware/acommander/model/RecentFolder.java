@@ -0,0 +1,9 @@
+package org.chaiware.acommander.model;
+
+/** A recently visited folder listed in the path dropdown */
+public class RecentFolder extends Folder {
+
+    public RecentFolder(String path) {
+        super(path);
+    }
+}
@@ -0,0 +1,52 @@
+package org.chaiware.acommander.palette;
+
+import org.chaiware.acommander.actions.ActionContext;
+import org.chaiware.acommander.actions.ActionMatcher;
+import org.chaiware.acommander.actions.ActionRegistry;
+import org.chaiware.acommander.actions.AppAction;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * The palette's actions, ranked by {@link ActionMatcher}. Instant: it runs on the FX thread with the keystroke, and is
+ * the only provider with results for an empty query.
+ */
+public class ActionProvider implements PaletteProvider {
+    private final ActionRegistry registry;
+    private final ActionContext context;
+    private final ActionMatcher matcher;
+    /** Enabled actions, resolved when the palette opens (the selection cannot change while it is open) */
+    private volatile List<AppAction> enabledActions = List.of();
+
+    public ActionProvider(ActionRegistry registry, ActionContext context, ActionMatcher matcher) {
+        this.registry = registry;
+        this.context = context;
+        this.matcher = matcher;
+    }
+
+    @Override
+    public String name() {
+        return "actions";
+    }
+
+    @Override
+    public long budgetMillis() {
+        return 0;
+    }
+
+    @Override
+    public void prepare() {
+        enabledActions = matcher.enabledInOrder(registry.all(), context);
+    }
+
+    @Override
+    public void search(String query, BooleanSupplier cancelled, Consumer<PaletteItem> sink) {
+        for (ActionMatcher.Ranked ranked : matcher.match(query, enabledActions)) {
+            AppAction action = ranked.action();
+            sink.accept(new PaletteItem(PaletteItem.Kind.ACTION, "action:" + action.id(), action.title(), action.shortcut(),
+                    ranked.score(), ranked.titlePositions(), () -> action.run(context)));
+        }
+    }
+}
@@ -9,10 +9,8 @@ import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
-import org.chaiware.acommander.actions.ActionContext;
-import org.chaiware.acommander.actions.ActionMatcher;
-import org.chaiware.acommander.actions.ActionRegistry;
-import org.chaiware.acommander.actions.AppAction;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextFlow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,16 +25,14 @@ public class CommandPaletteController {
     @FXML
     private TextField queryField;
     @FXML
-    private ListView<AppAction> resultsList;
+    private ListView<PaletteItem> resultsList;
 
-    private final ActionMatcher matcher = new ActionMatcher();
-    private final ObservableList<AppAction> filteredActions = FXCollections.observableArrayList();
-    private ActionRegistry actionRegistry;
-    private ActionContext actionContext;
+    private final ObservableList<PaletteItem> results = FXCollections.observableArrayList();
+    private PaletteSearch search;
 
     @FXML
     public void initialize() {
-        resultsList.setItems(filteredActions);
+        resultsList.setItems(results);
         resultsList.setFixedCellSize(34);
         updateListHeight(0);
         resultsList.addEventFilter(ScrollEvent.SCROLL, event -> {
@@ -51,7 +47,7 @@ public class CommandPaletteController {
             }
 
             @Override
-            protected void updateItem(AppAction item, boolean empty) {
+            protected void updateItem(PaletteItem item, boolean empty) {
                 super.updateItem(item, empty);
                 if (empty || item == null) {
                     setGraphic(null);
@@ -59,15 +55,22 @@ public class CommandPaletteController {
                     return;
                 }
 
-                Label title = new Label(item.title());
-                title.getStyleClass().add("palette-item-title");
+                TextFlow title = highlightedTitle(item.title(), item.positions());
+                title.getStyleClass().add("palette-item-title-flow");
                 HBox.setHgrow(title, Priority.ALWAYS);
                 title.setMaxWidth(Double.MAX_VALUE);
 
-                Label shortcut = new Label(item.shortcut());
-                shortcut.getStyleClass().add("palette-item-shortcut");
+                Label detail = new Label(item.detail());
+                detail.getStyleClass().add("palette-item-shortcut");
+                detail.setMinWidth(0);
 
-                HBox row = new HBox(title, shortcut);
+                HBox row = new HBox(title, detail);
+                if (!item.kind().label().isEmpty()) {
+                    Label kind = new Label(item.kind().label());
+                    kind.getStyleClass().add("palette-item-kind");
+                    kind.setMinWidth(Label.USE_PREF_SIZE);
+                    row.getChildren().add(kind);
+                }
                 row.setSpacing(12);
                 row.getStyleClass().add("palette-item-row");
                 setGraphic(row);
@@ -77,16 +80,17 @@ public class CommandPaletteController {
         queryField.textProperty().addListener((obs, oldValue, newValue) -> refreshResults());
     }
 
-    public void configure(ActionRegistry actionRegistry, ActionContext actionContext) {
-        this.actionRegistry = actionRegistry;
-        this.actionContext = actionContext;
-        refreshResults();
+    public void configure(PaletteSearch search) {
+        this.search = search;
     }
 
     public void open() {
         paletteRoot.setManaged(true);
         paletteRoot.setVisible(true);
         queryField.clear();
+        if (search != null) {
+            search.prepare();
+        }
         refreshResults();
         Platform.runLater(queryField::requestFocus);
     }
@@ -94,8 +98,16 @@ public class CommandPaletteController {
     public void close() {
         paletteRoot.setVisible(false);
         paletteRoot.setManaged(false);
+        if (search != null) {
+            search.cancel();
+        }
         queryField.clear();
-        filteredActions.clear();
+        results.clear();
+    }
+
+    /** Searches as if the query had been typed */
+    public void setQuery(String query) {
+        queryField.setText(query);
     }
 
     public boolean isOpen() {
@@ -141,23 +153,32 @@ public class CommandPaletteController {
     }
 
     public void executeSelected() {
-        AppAction action = resultsList.getSelectionModel().getSelectedItem();
-        if (action == null) {
+        PaletteItem item = resultsList.getSelectionModel().getSelectedItem();
+        if (item == null) {
             return;
         }
-        logger.info("Executing action from command palette: {}", action.id());
-        action.run(actionContext);
+        logger.info("Executing from command palette: {}", item.key());
+        item.run().run();
         close();
     }
 
     private void refreshResults() {
-        if (actionRegistry == null || actionContext == null) {
+        if (search == null || !isOpen()) {
             return;
         }
-        List<AppAction> matched = matcher.rank(queryField.getText(), actionRegistry.all(), actionContext);
-        filteredActions.setAll(matched);
+        search.search(queryField.getText(), this::showResults);
+    }
+
+    /** Shows the merged results; called again as background providers stream in, keeping the chosen row */
+    private void showResults(List<PaletteItem> matched) {
+        PaletteItem selected = resultsList.getSelectionModel().getSelectedItem();
+        int selectedIndex = resultsList.getSelectionModel().getSelectedIndex();
+        boolean keepSelection = selected != null && selectedIndex > 0 && matched.contains(selected);
+        results.setAll(matched);
         updateListHeight(matched.size());
-        if (!matched.isEmpty()) {
+        if (keepSelection) {
+            resultsList.getSelectionModel().select(selected);
+        } else if (!matched.isEmpty()) {
             resultsList.getSelectionModel().selectFirst();
         } else {
             resultsList.getSelectionModel().clearSelection();
@@ -165,6 +186,30 @@ public class CommandPaletteController {
         Platform.runLater(this::clampScrollToTop);
     }
 
+    private static TextFlow highlightedTitle(String title, int[] positions) {
+        boolean[] matched = new boolean[title.length()];
+        if (positions != null) {
+            for (int position : positions) {
+                if (position >= 0 && position < matched.length) {
+                    matched[position] = true;
+                }
+            }
+        }
+        TextFlow flow = new TextFlow();
+        for (int start = 0, end; start < title.length(); start = end) {
+            end = start + 1;
+            while (end < title.length() && matched[end] == matched[start]) {
+                end++;
+            }
+            Text part = new Text(title.substring(start, end));
+            if (matched[start]) {
+                part.getStyleClass().add("palette-item-match");
+            }
+            flow.getChildren().add(part);
+        }
+        return flow;
+    }
+
     private boolean hasScrollableOverflow() {
         return resultsList.getItems().size() > MAX_VISIBLE_ROWS;
     }
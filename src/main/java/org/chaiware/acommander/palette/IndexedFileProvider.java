@@ -0,0 +1,97 @@
+package org.chaiware.acommander.palette;
+
+import org.chaiware.acommander.actions.ActionMatcher;
+import org.chaiware.acommander.actions.FuzzyMatcher;
+import org.chaiware.acommander.search.CancellableSearch;
+import org.chaiware.acommander.search.FileNameIndexService;
+import org.chaiware.acommander.search.FileNamePattern;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * File names containing the query anywhere under the roots of the background file name index, when it is enabled.
+ * Only the snapshot is searched (it is fast enough for a keystroke); nothing touches the disk.
+ */
+public class IndexedFileProvider implements PaletteProvider {
+    static final int MIN_QUERY_LENGTH = 2;
+    static final int MAX_HITS = 300;
+    private static final long BUDGET_MILLIS = 250;
+    private static final long POLL_MILLIS = 10;
+
+    private final Supplier<FileNameIndexService> index;
+    private final Consumer<Path> navigate;
+
+    /**
+     * @param index the running index, or null when it is disabled
+     */
+    public IndexedFileProvider(Supplier<FileNameIndexService> index, Consumer<Path> navigate) {
+        this.index = index;
+        this.navigate = navigate;
+    }
+
+    @Override
+    public String name() {
+        return "file name index";
+    }
+
+    @Override
+    public long budgetMillis() {
+        return BUDGET_MILLIS;
+    }
+
+    @Override
+    public void search(String query, BooleanSupplier cancelled, Consumer<PaletteItem> sink) {
+        FileNameIndexService service = index.get();
+        if (service == null || query.length() < MIN_QUERY_LENGTH || !isLiteral(query)) {
+            return;
+        }
+        AtomicInteger hits = new AtomicInteger();
+        List<CancellableSearch> searches = service.searchAll(FileNamePattern.compile("*" + query + "*"), file -> {
+            if (hits.incrementAndGet() > MAX_HITS || file.getFileName() == null) {
+                return;
+            }
+            String name = file.getFileName().toString();
+            FuzzyMatcher.Match match = ActionMatcher.scoreName(query, FuzzyMatcher.Term.of(name));
+            if (match != null) {
+                Path parent = file.getParent();
+                sink.accept(new PaletteItem(PaletteItem.Kind.INDEXED_FILE, file.toString(), name,
+                        parent == null ? "" : parent.toString(), match.score(), match.positions(), () -> navigate.accept(file)));
+            }
+        });
+        if (searches.isEmpty()) {
+            return;
+        }
+        CompletableFuture<Void> all = CompletableFuture.allOf(searches.stream().map(CancellableSearch::start).toArray(CompletableFuture[]::new));
+        try {
+            while (!cancelled.getAsBoolean() && hits.get() < MAX_HITS) {
+                try {
+                    all.get(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (TimeoutException ex) {
+                    // keep waiting while within the budget
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("File name index search failed", ex.getCause());
+        } finally {
+            searches.forEach(CancellableSearch::cancel);
+        }
+    }
+
+    /** The query is looked up as a "*query*" pattern, so it must not read as a wildcard, glob or regex itself */
+    private static boolean isLiteral(String query) {
+        return query.chars().noneMatch(c -> c == '*' || c == '?' || c == '[')
+                && !query.startsWith("re:") && !query.startsWith("glob:");
+    }
+}
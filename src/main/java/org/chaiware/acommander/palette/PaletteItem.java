@@ -0,0 +1,28 @@
+package org.chaiware.acommander.palette;
+
+/**
+ * One row of the command palette, whatever provider found it.
+ *
+ * @param key       identifies the target across providers (the same folder found as a bookmark and in the index is
+ *                  listed once, with its best score)
+ * @param detail    shown on the right: the shortcut of an action, the path of a file
+ * @param positions title characters the query matched, for highlighting
+ * @param run       what Enter does
+ */
+public record PaletteItem(Kind kind, String key, String title, String detail, int score, int[] positions, Runnable run) {
+
+    public enum Kind {
+        ACTION(""), BOOKMARK("Bookmark"), RECENT_FOLDER("Recent"), FILE("File"), INDEXED_FILE("Index");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        /** Short tag shown next to the result; empty for actions */
+        public String label() {
+            return label;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.chaiware.acommander.palette;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * A source of palette results. {@link PaletteSearch} asks every provider on each keystroke and merges what they find.
+ */
+public interface PaletteProvider {
+
+    String name();
+
+    /**
+     * How long a search may take; results found later are dropped. 0 means the provider is cheap enough to run on the
+     * FX thread before any other, so its results show with the keystroke.
+     */
+    long budgetMillis();
+
+    /** Takes a snapshot of whatever the provider searches; called on the FX thread when the palette opens */
+    default void prepare() {
+    }
+
+    /**
+     * Hands matches of a {@link org.chaiware.acommander.actions.ActionMatcher#normalize normalized} query to
+     * {@code sink}, in any order, until done or {@code cancelled} (a newer keystroke or the budget ran out).
+     */
+    void search(String query, BooleanSupplier cancelled, Consumer<PaletteItem> sink);
+}
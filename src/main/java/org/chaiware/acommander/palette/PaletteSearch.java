@@ -0,0 +1,185 @@
+package org.chaiware.acommander.palette;
+
+import org.chaiware.acommander.actions.ActionMatcher;
+import org.chaiware.acommander.helpers.FxBatcher;
+import org.chaiware.acommander.metrics.events.PaletteQueryEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Runs a palette query against all {@link PaletteProvider}s at once and streams the merged, ranked results.
+ * The instant providers (the actions) answer on the calling thread, so the first list is there with the keystroke;
+ * the others run concurrently in the background, each within its own time budget, and their hits are folded into the
+ * list in batches on the UI thread as they arrive. A newer query drops everything still running for the previous one.
+ */
+public class PaletteSearch {
+    private static final Logger logger = LoggerFactory.getLogger(PaletteSearch.class);
+
+    static final int MAX_RESULTS = 200;
+    /** Best score first; equal scores keep their arrival order (the instant providers arrive first) */
+    private static final Comparator<PaletteItem> BY_SCORE = Comparator.comparingInt(PaletteItem::score).reversed();
+
+    private static final ExecutorService SEARCHERS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "palette-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<PaletteProvider> providers;
+    private final Executor uiThread;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param uiThread where result updates are delivered ({@code Platform::runLater} in the application)
+     */
+    public PaletteSearch(List<PaletteProvider> providers, Executor uiThread) {
+        this.providers = List.copyOf(providers);
+        this.uiThread = uiThread;
+    }
+
+    /** Lets every provider take its snapshot; called when the palette opens */
+    public void prepare() {
+        for (PaletteProvider provider : providers) {
+            try {
+                provider.prepare();
+            } catch (RuntimeException ex) {
+                logger.warn("Palette provider {} failed preparing", provider.name(), ex);
+            }
+        }
+    }
+
+    /**
+     * Starts a query. {@code onResults} gets the whole merged list: once before this returns, then again whenever
+     * background providers add to it, until a newer query or {@link #cancel()}.
+     */
+    public void search(String query, Consumer<List<PaletteItem>> onResults) {
+        PaletteQueryEvent event = new PaletteQueryEvent();
+        event.begin();
+        long current = generation.incrementAndGet();
+        String normalized = ActionMatcher.normalize(query);
+        Results results = new Results(current, onResults);
+        for (PaletteProvider provider : providers) {
+            if (provider.budgetMillis() <= 0) {
+                run(provider, normalized, () -> generation.get() != current, results::add);
+            }
+        }
+        results.publish();
+        event.end();
+        if (event.shouldCommit()) {
+            event.query = query;
+            event.results = results.merged.size();
+            event.backgroundProviders = (int) providers.stream().filter(provider -> provider.budgetMillis() > 0).count();
+            event.commit();
+        }
+
+        for (PaletteProvider provider : providers) {
+            if (provider.budgetMillis() > 0) {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(provider.budgetMillis());
+                BooleanSupplier cancelled = () -> generation.get() != current || System.nanoTime() - deadline > 0;
+                SEARCHERS.execute(() -> run(provider, normalized, cancelled, item -> {
+                    if (!cancelled.getAsBoolean()) {
+                        results.offer(item);
+                    }
+                }));
+            }
+        }
+    }
+
+    /** Drops the running query (the palette closed) */
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+
+    private static void run(PaletteProvider provider, String query, BooleanSupplier cancelled, Consumer<PaletteItem> sink) {
+        try {
+            provider.search(query, cancelled, sink);
+        } catch (RuntimeException ex) {
+            logger.warn("Palette provider {} failed on '{}'", provider.name(), query, ex);
+        }
+    }
+
+    /** The merged list of one query; everything but {@link #offer} runs on the UI thread */
+    private final class Results {
+        private final long generation;
+        private final Consumer<List<PaletteItem>> onResults;
+        private final FxBatcher<PaletteItem> incoming = new FxBatcher<>(uiThread, this::drain);
+        private final List<PaletteItem> merged = new ArrayList<>();
+        private final Map<String, PaletteItem> byKey = new HashMap<>();
+
+        private Results(long generation, Consumer<List<PaletteItem>> onResults) {
+            this.generation = generation;
+            this.onResults = onResults;
+        }
+
+        /** Queues a background hit; one drain per batch, however many hits arrive meanwhile */
+        private void offer(PaletteItem item) {
+            incoming.accept(item);
+        }
+
+        private void drain(List<PaletteItem> batch) {
+            if (PaletteSearch.this.generation.get() != generation) {
+                return;
+            }
+            boolean changed = false;
+            for (PaletteItem item : batch) {
+                changed |= add(item);
+            }
+            if (changed) {
+                publish();
+            }
+        }
+
+        private void publish() {
+            onResults.accept(List.copyOf(merged));
+        }
+
+        /** Inserts by score, keeping one item per key; false when the item does not make it into the list */
+        private boolean add(PaletteItem item) {
+            PaletteItem existing = byKey.get(item.key());
+            if (existing != null) {
+                if (existing.score() >= item.score()) {
+                    return false;
+                }
+                merged.remove(existing);
+            }
+            int index = insertionPoint(item);
+            if (index >= MAX_RESULTS) {
+                return false;
+            }
+            merged.add(index, item);
+            byKey.put(item.key(), item);
+            if (merged.size() > MAX_RESULTS) {
+                byKey.remove(merged.removeLast().key());
+            }
+            return true;
+        }
+
+        /** After the last item scoring at least as much */
+        private int insertionPoint(PaletteItem item) {
+            int low = 0;
+            int high = merged.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (BY_SCORE.compare(merged.get(middle), item) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
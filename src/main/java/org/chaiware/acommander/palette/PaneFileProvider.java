@@ -0,0 +1,77 @@
+package org.chaiware.acommander.palette;
+
+import org.chaiware.acommander.actions.ActionMatcher;
+import org.chaiware.acommander.actions.FuzzyMatcher;
+import org.chaiware.acommander.model.FileItem;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The entries of the focused pane, matched by name; Enter selects the entry in the pane. The names are normalized
+ * once per palette opening, by the first search, off the FX thread.
+ */
+public class PaneFileProvider implements PaletteProvider {
+    private static final long BUDGET_MILLIS = 40;
+
+    private final Supplier<List<FileItem>> paneItems;
+    private final Consumer<FileItem> select;
+    private volatile List<FileItem> items = List.of();
+    /** Normalized names of {@link #termsOf} */
+    private List<FuzzyMatcher.Term> terms = List.of();
+    private List<FileItem> termsOf = List.of();
+
+    public PaneFileProvider(Supplier<List<FileItem>> paneItems, Consumer<FileItem> select) {
+        this.paneItems = paneItems;
+        this.select = select;
+    }
+
+    @Override
+    public String name() {
+        return "pane files";
+    }
+
+    @Override
+    public long budgetMillis() {
+        return BUDGET_MILLIS;
+    }
+
+    @Override
+    public void prepare() {
+        items = paneItems.get().stream()
+                .filter(item -> item != null && !"..".equals(item.getPresentableFilename()))
+                .toList();
+    }
+
+    @Override
+    public void search(String query, BooleanSupplier cancelled, Consumer<PaletteItem> sink) {
+        if (query.isEmpty()) {
+            return;
+        }
+        List<FileItem> current = items;
+        List<FuzzyMatcher.Term> names = terms(current);
+        for (int i = 0; i < current.size() && !cancelled.getAsBoolean(); i++) {
+            FuzzyMatcher.Match match = ActionMatcher.scoreName(query, names.get(i));
+            if (match != null) {
+                FileItem item = current.get(i);
+                sink.accept(new PaletteItem(PaletteItem.Kind.FILE, key(item), item.getPresentableFilename(), "",
+                        match.score(), match.positions(), () -> select.accept(item)));
+            }
+        }
+    }
+
+    private synchronized List<FuzzyMatcher.Term> terms(List<FileItem> current) {
+        if (termsOf != current) {
+            terms = current.stream().map(item -> FuzzyMatcher.Term.of(item.getPresentableFilename())).toList();
+            termsOf = current;
+        }
+        return terms;
+    }
+
+    private static String key(FileItem item) {
+        String fullPath = item.getFullPath();
+        return fullPath.isEmpty() ? "pane:" + item.getPresentableFilename() : fullPath;
+    }
+}
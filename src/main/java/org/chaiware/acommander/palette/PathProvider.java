@@ -0,0 +1,92 @@
+package org.chaiware.acommander.palette;
+
+import org.chaiware.acommander.actions.ActionMatcher;
+import org.chaiware.acommander.actions.FuzzyMatcher;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A short list of named folders matched by name: the bookmarks, or the recently visited folders (named by their
+ * last path element, the most recent winning ties).
+ */
+public class PathProvider implements PaletteProvider {
+    private static final long BUDGET_MILLIS = 20;
+
+    private record Entry(String name, FuzzyMatcher.Term term, String shownPath, Path path) {
+    }
+
+    private final PaletteItem.Kind kind;
+    private final Supplier<List<Map.Entry<String, String>>> source;
+    private final Consumer<Path> navigate;
+    private volatile List<Entry> entries = List.of();
+
+    private PathProvider(PaletteItem.Kind kind, Supplier<List<Map.Entry<String, String>>> source, Consumer<Path> navigate) {
+        this.kind = kind;
+        this.source = source;
+        this.navigate = navigate;
+    }
+
+    /** Bookmarks by their names ({@code name -> path}) */
+    public static PathProvider bookmarks(Supplier<Map<String, String>> bookmarks, Consumer<Path> navigate) {
+        return new PathProvider(PaletteItem.Kind.BOOKMARK, () -> List.copyOf(bookmarks.get().entrySet()), navigate);
+    }
+
+    /** Recently visited folders, most recent first */
+    public static PathProvider recentFolders(Supplier<List<String>> folders, Consumer<Path> navigate) {
+        return new PathProvider(PaletteItem.Kind.RECENT_FOLDER,
+                () -> folders.get().stream().map(folder -> Map.entry(displayName(folder), folder)).toList(), navigate);
+    }
+
+    @Override
+    public String name() {
+        return kind.label();
+    }
+
+    @Override
+    public long budgetMillis() {
+        return BUDGET_MILLIS;
+    }
+
+    @Override
+    public void prepare() {
+        List<Entry> prepared = new ArrayList<>();
+        for (Map.Entry<String, String> entry : source.get()) {
+            try {
+                Path path = Path.of(entry.getValue()).toAbsolutePath().normalize();
+                prepared.add(new Entry(entry.getKey(), FuzzyMatcher.Term.of(entry.getKey()), entry.getValue(), path));
+            } catch (InvalidPathException ex) {
+                // a stale bookmark from another system; nothing to navigate to
+            }
+        }
+        entries = prepared;
+    }
+
+    @Override
+    public void search(String query, BooleanSupplier cancelled, Consumer<PaletteItem> sink) {
+        List<Entry> current = entries;
+        for (int i = 0; i < current.size() && !cancelled.getAsBoolean(); i++) {
+            Entry entry = current.get(i);
+            FuzzyMatcher.Match match = ActionMatcher.scoreName(query, entry.term());
+            if (match != null) {
+                sink.accept(new PaletteItem(kind, entry.path().toString(), entry.name(), entry.shownPath(),
+                        match.score() + (current.size() - i), match.positions(), () -> navigate.accept(entry.path())));
+            }
+        }
+    }
+
+    private static String displayName(String folder) {
+        int end = folder.length();
+        while (end > 1 && (folder.charAt(end - 1) == '/' || folder.charAt(end - 1) == '\\')) {
+            end--;
+        }
+        int start = Math.max(folder.lastIndexOf('/', end - 1), folder.lastIndexOf('\\', end - 1)) + 1;
+        return start >= end ? folder : folder.substring(start, end);
+    }
+}
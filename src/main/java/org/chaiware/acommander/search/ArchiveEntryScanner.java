@@ -0,0 +1,215 @@
+package org.chaiware.acommander.search;
+
+import org.chaiware.acommander.helpers.ArchiveListingIndex;
+import org.chaiware.acommander.helpers.ArchiveService;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads the entries of an archive without extracting it to disk.
+ * ZIP-based and TAR(.gz) archives are streamed in-process; every other format 7-Zip supports is listed through
+ * the cached {@link ArchiveListingIndex} and single entries are streamed from 7z's stdout.
+ */
+public class ArchiveEntryScanner {
+    /** Entries larger than this are matched by name only */
+    public static final int MAX_CONTENT_BYTES = 16 * 1024 * 1024;
+
+    private static final List<String> ZIP_EXTENSIONS = List.of("zip", "jar", "war", "ear");
+    private static final List<String> TAR_EXTENSIONS = List.of("tar");
+    private static final List<String> TAR_GZ_EXTENSIONS = List.of("tgz", "tar.gz");
+
+    private final ArchiveService archiveService = new ArchiveService();
+
+    /** Receives the entries of a scanned archive */
+    public interface Visitor {
+        /** Called for every file entry (folders are skipped) */
+        void onEntry(String entryPath, long size);
+
+        /** Whether the content of this entry should be read and passed to {@link #onContent} */
+        boolean wantsContent(String entryPath, long size);
+
+        void onContent(String entryPath, byte[] content);
+    }
+
+    /**
+     * Whether the file is an archive this scanner can look into.
+     */
+    public static boolean isSearchableArchive(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".tar.gz")) {
+            return true;
+        }
+        int dot = lower.lastIndexOf('.');
+        if (dot < 0 || dot == lower.length() - 1) {
+            return false;
+        }
+        String extension = lower.substring(dot + 1);
+        return ZIP_EXTENSIONS.contains(extension) || ArchiveService.isSupportedArchiveExtension(extension);
+    }
+
+    public void scan(Path archive, BooleanSupplier cancelled, Visitor visitor) throws IOException {
+        String lower = archive.getFileName().toString().toLowerCase(Locale.ROOT);
+        String extension = lower.endsWith(".tar.gz") ? "tar.gz" : lower.substring(lower.lastIndexOf('.') + 1);
+        if (ZIP_EXTENSIONS.contains(extension)) {
+            scanZip(archive, cancelled, visitor);
+        } else if (TAR_EXTENSIONS.contains(extension)) {
+            try (InputStream input = new BufferedInputStream(Files.newInputStream(archive), 1 << 16)) {
+                scanTar(input, cancelled, visitor);
+            }
+        } else if (TAR_GZ_EXTENSIONS.contains(extension)) {
+            try (InputStream input = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(archive), 1 << 16), 1 << 16)) {
+                scanTar(input, cancelled, visitor);
+            }
+        } else if (Files.isRegularFile(Path.of(ArchiveService.get7zPath()))) {
+            scanWith7z(archive, cancelled, visitor);
+        }
+    }
+
+    private void scanZip(Path archive, BooleanSupplier cancelled, Visitor visitor) throws IOException {
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements() && !cancelled.getAsBoolean()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                String name = entry.getName();
+                visitor.onEntry(name, entry.getSize());
+                if (entry.getSize() <= MAX_CONTENT_BYTES && visitor.wantsContent(name, entry.getSize())) {
+                    try (InputStream input = zip.getInputStream(entry)) {
+                        visitor.onContent(name, input.readNBytes(MAX_CONTENT_BYTES));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Minimal ustar/GNU tar reader: regular files, GNU long names and PAX path records.
+     */
+    private void scanTar(InputStream input, BooleanSupplier cancelled, Visitor visitor) throws IOException {
+        byte[] header = new byte[512];
+        String longName = null;
+        while (!cancelled.getAsBoolean()) {
+            if (input.readNBytes(header, 0, 512) < 512 || isZeroBlock(header)) {
+                return;
+            }
+            String name = longName != null ? longName : tarName(header);
+            longName = null;
+            long size = parseOctal(header, 124, 12);
+            char type = (char) header[156];
+            long padded = (size + 511) & ~511L;
+
+            if (type == 'L' || type == 'x') {
+                byte[] data = input.readNBytes((int) Math.min(size, 1 << 20));
+                input.skipNBytes(padded - data.length);
+                longName = type == 'L' ? nullTerminated(data) : paxPath(data);
+                continue;
+            }
+            boolean regularFile = type == '0' || type == 0 || type == '7';
+            if (!regularFile) {
+                input.skipNBytes(padded);
+                continue;
+            }
+            visitor.onEntry(name, size);
+            if (size <= MAX_CONTENT_BYTES && visitor.wantsContent(name, size)) {
+                byte[] content = input.readNBytes((int) size);
+                input.skipNBytes(padded - content.length);
+                visitor.onContent(name, content);
+            } else {
+                input.skipNBytes(padded);
+            }
+        }
+    }
+
+    private void scanWith7z(Path archive, BooleanSupplier cancelled, Visitor visitor) throws IOException {
+        String archivePath = archive.toString();
+        ArchiveListingIndex index = archiveService.getListingIndex(archivePath);
+        List<String> contentCandidates = new ArrayList<>();
+        index.forEachEntry((entryPath, size, directory) -> {
+            if (directory || cancelled.getAsBoolean()) {
+                return;
+            }
+            visitor.onEntry(entryPath, size);
+            if (size <= MAX_CONTENT_BYTES && visitor.wantsContent(entryPath, size)) {
+                contentCandidates.add(entryPath);
+            }
+        });
+        for (String entryPath : contentCandidates) {
+            if (cancelled.getAsBoolean()) {
+                return;
+            }
+            visitor.onContent(entryPath, archiveService.readEntryBytes(archivePath, entryPath, MAX_CONTENT_BYTES));
+        }
+    }
+
+    private static boolean isZeroBlock(byte[] block) {
+        for (byte b : block) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String tarName(byte[] header) {
+        String name = cString(header, 0, 100);
+        boolean ustar = "ustar".equals(cString(header, 257, 5));
+        String prefix = ustar ? cString(header, 345, 155) : "";
+        return prefix.isEmpty() ? name : prefix + "/" + name;
+    }
+
+    private static String cString(byte[] data, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && data[end] != 0) {
+            end++;
+        }
+        return new String(data, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static String nullTerminated(byte[] data) {
+        return cString(data, 0, data.length);
+    }
+
+    /** Extracts the "path" record of a PAX extended header ("<len> path=<value>\n" records) */
+    private static String paxPath(byte[] data) {
+        for (String record : new String(data, StandardCharsets.UTF_8).split("\n")) {
+            int marker = record.indexOf(" path=");
+            if (marker >= 0) {
+                return record.substring(marker + 6);
+            }
+        }
+        return null;
+    }
+
+    private static long parseOctal(byte[] data, int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = data[i];
+            if (b == 0 || b == ' ') {
+                if (value != 0) {
+                    break;
+                }
+                continue;
+            }
+            if (b < '0' || b > '7') {
+                break;
+            }
+            value = (value << 3) + (b - '0');
+        }
+        return value;
+    }
+}
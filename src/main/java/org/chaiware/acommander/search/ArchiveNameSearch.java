@@ -0,0 +1,85 @@
+package org.chaiware.acommander.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * File name search that also looks at the entry names inside archives (zip, tar, 7z...) without extracting them.
+ * Archives are listed on the walker's worker threads, so several archives are read in parallel.
+ * Hidden files and folders are skipped, like in the plain file name search.
+ */
+public class ArchiveNameSearch implements CancellableSearch {
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveNameSearch.class);
+
+    /** Receives a matching entry inside an archive */
+    @FunctionalInterface
+    public interface ArchiveHitConsumer {
+        void accept(Path archive, String entryPath, long size);
+    }
+
+    private final FileNamePattern pattern;
+    private final FileNameSearch walk;
+    private final ArchiveEntryScanner archiveScanner = new ArchiveEntryScanner();
+    private final AtomicLong matchCount = new AtomicLong();
+
+    public ArchiveNameSearch(Path root, FileNamePattern pattern, Consumer<Path> onFileMatch, ArchiveHitConsumer onArchiveMatch) {
+        this.pattern = pattern;
+        this.walk = FileNameSearch.withAttributes(root, FileNamePattern.compile("*"), FileNameSearch.DEFAULT_EXCLUDED_DIRS,
+                (path, attrs) -> {
+                    String name = path.getFileName().toString();
+                    if (pattern.matches(name)) {
+                        matchCount.incrementAndGet();
+                        onFileMatch.accept(path);
+                    }
+                    if (attrs.isRegularFile() && ArchiveEntryScanner.isSearchableArchive(name)) {
+                        searchArchive(path, onArchiveMatch);
+                    }
+                }).skippingHidden();
+    }
+
+    @Override
+    public CompletableFuture<Long> start() {
+        return walk.start().thenApply(ignored -> matchCount.get());
+    }
+
+    @Override
+    public void cancel() {
+        walk.cancel();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return walk.isCancelled();
+    }
+
+    private void searchArchive(Path archive, ArchiveHitConsumer onArchiveMatch) {
+        try {
+            archiveScanner.scan(archive, walk::isCancelled, new ArchiveEntryScanner.Visitor() {
+                @Override
+                public void onEntry(String entryPath, long size) {
+                    if (pattern.matches(entryPath.substring(entryPath.lastIndexOf('/') + 1))) {
+                        matchCount.incrementAndGet();
+                        onArchiveMatch.accept(archive, entryPath, size);
+                    }
+                }
+
+                @Override
+                public boolean wantsContent(String entryPath, long size) {
+                    return false;
+                }
+
+                @Override
+                public void onContent(String entryPath, byte[] content) {
+                }
+            });
+        } catch (IOException | RuntimeException ex) {
+            logger.debug("Skipping unreadable archive during file search: {}", archive, ex);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.chaiware.acommander.search;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A background search that streams its hits to a callback and can be stopped at any time.
+ */
+public interface CancellableSearch {
+
+    /**
+     * Starts the search; the future completes with the number of hits (also when cancelled).
+     */
+    CompletableFuture<Long> start();
+
+    void cancel();
+
+    boolean isCancelled();
+}
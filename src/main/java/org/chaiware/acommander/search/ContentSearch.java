@@ -0,0 +1,224 @@
+package org.chaiware.acommander.search;
+
+import org.chaiware.acommander.helpers.FileHelper;
+import org.chaiware.acommander.helpers.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Built-in "find in files": fixed-string search over every file under a folder.
+ * Files are discovered by the parallel {@link FileNameSearch} walker and scanned on its worker threads;
+ * small files are read to the heap, larger ones memory-mapped in windows. Binary files are skipped with the
+ * same heuristic as {@link FileHelper#isTextFile}. Matching lines, with their line number and surrounding
+ * context, are streamed to the caller as they are found.
+ */
+public class ContentSearch implements CancellableSearch {
+    private static final Logger logger = LoggerFactory.getLogger(ContentSearch.class);
+    private static final int MAP_THRESHOLD = 64 * 1024;
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final int SNIFF_SIZE = 8192;
+    private static final long MAX_UTF16_FILE_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * One matching line, line numbers are 1-based.
+     * {@code archiveEntry} is set when the line is inside an archive entry ({@code file} is then the archive).
+     */
+    public record Match(Path file, String archiveEntry, long lineNumber, String line, List<String> before, List<String> after) {
+        public String displayPath() {
+            return archiveEntry == null ? file.toString() : file + "://" + archiveEntry;
+        }
+    }
+
+    public record Options(String query, boolean ignoreCase, FileNamePattern fileNamePattern, boolean includeHidden,
+                          boolean searchArchives, int contextLines, int maxMatches) {
+    }
+
+    private final Path root;
+    private final Options options;
+    private final FixedStringMatcher matcher;
+    private final Consumer<Match> onMatch;
+    private final FileNameSearch walk;
+    private final FileNamePattern fileNamePattern;
+    private final ArchiveEntryScanner archiveScanner = new ArchiveEntryScanner();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicLong matchCount = new AtomicLong();
+    private final AtomicLong filesScanned = new AtomicLong();
+    private final AtomicLong bytesScanned = new AtomicLong();
+
+    public ContentSearch(Path root, Options options, Consumer<Match> onMatch) {
+        this.root = root;
+        this.options = options;
+        this.matcher = new FixedStringMatcher(options.query(), options.ignoreCase());
+        this.onMatch = onMatch;
+        this.fileNamePattern = options.fileNamePattern() == null ? FileNamePattern.compile("*") : options.fileNamePattern();
+        // With archives enabled every file is visited, the name filter is applied per file and per archive entry
+        FileNamePattern walkPattern = options.searchArchives() ? FileNamePattern.compile("*") : fileNamePattern;
+        this.walk = FileNameSearch.withAttributes(root, walkPattern, FileNameSearch.DEFAULT_EXCLUDED_DIRS,
+                (path, attrs) -> {
+                    String name = path.getFileName().toString();
+                    if (options.searchArchives() && ArchiveEntryScanner.isSearchableArchive(name)) {
+                        searchArchive(path);
+                    } else if (fileNamePattern.matches(name)) {
+                        searchFile(path, attrs.size());
+                    }
+                });
+        if (!options.includeHidden()) {
+            walk.skippingHidden();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Long> start() {
+        Stopwatch stopwatch = new Stopwatch();
+        return walk.start().thenApply(ignored -> {
+            logger.info("Content search for '{}' under {}: {} matches in {} files ({} MB) in {}{}",
+                    options.query(), root, matchCount.get(), filesScanned.get(), bytesScanned.get() / (1024 * 1024),
+                    stopwatch, cancelled.get() ? " (cancelled)" : "");
+            return matchCount.get();
+        });
+    }
+
+    @Override
+    public void cancel() {
+        cancelled.set(true);
+        walk.cancel();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    private void searchFile(Path file, long size) {
+        if (size == 0 || cancelled.get()) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            byte[] head = new byte[(int) Math.min(SNIFF_SIZE, size)];
+            int read = channel.read(ByteBuffer.wrap(head), 0);
+            if (FileHelper.isUtf16Bom(head, read)) {
+                searchUtf16File(file, size, head);
+                return;
+            }
+            if (!FileHelper.looksLikeText(head, read)) {
+                return;
+            }
+            filesScanned.incrementAndGet();
+            bytesScanned.addAndGet(size);
+
+            LineScanner scanner = newScanner(file, null);
+            if (size <= MAP_THRESHOLD) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+                    // read fully
+                }
+                scanner.scan(buffer, 0, buffer.position(), true);
+                return;
+            }
+
+            // Each window starts where the scanner finished the previous one's complete lines
+            long base = 0;
+            while (base < size && !cancelled.get()) {
+                int length = (int) Math.min(WINDOW_SIZE, size - base);
+                boolean lastWindow = base + length >= size;
+                ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, base, length);
+                long next = scanner.scan(window, base, length, lastWindow);
+                if (lastWindow) {
+                    break;
+                }
+                base = next;
+            }
+        } catch (IOException | RuntimeException ex) {
+            logger.debug("Skipping unreadable file during content search: {}", file, ex);
+        }
+    }
+
+    private LineScanner newScanner(Path file, String archiveEntry) {
+        return new LineScanner(matcher, options.contextLines(), cancelled::get,
+                (lineNumber, line, before, after) -> emit(new Match(file, archiveEntry, lineNumber, line, before, after)));
+    }
+
+    /**
+     * Searches the text entries of an archive (matching the file name filter) without extracting it.
+     */
+    private void searchArchive(Path archive) {
+        try {
+            archiveScanner.scan(archive, cancelled::get, new ArchiveEntryScanner.Visitor() {
+                @Override
+                public void onEntry(String entryPath, long size) {
+                }
+
+                @Override
+                public boolean wantsContent(String entryPath, long size) {
+                    return size != 0 && fileNamePattern.matches(entryPath.substring(entryPath.lastIndexOf('/') + 1));
+                }
+
+                @Override
+                public void onContent(String entryPath, byte[] content) {
+                    if (content.length == 0 || !FileHelper.looksLikeText(content, Math.min(SNIFF_SIZE, content.length))
+                            || FileHelper.isUtf16Bom(content, content.length)) {
+                        return;
+                    }
+                    filesScanned.incrementAndGet();
+                    bytesScanned.addAndGet(content.length);
+                    newScanner(archive, entryPath).scan(ByteBuffer.wrap(content), 0, content.length, true);
+                }
+            });
+        } catch (IOException | RuntimeException ex) {
+            logger.debug("Skipping unreadable archive during content search: {}", archive, ex);
+        }
+    }
+
+    private void searchUtf16File(Path file, long size, byte[] head) throws IOException {
+        if (size > MAX_UTF16_FILE_SIZE) {
+            return;
+        }
+        filesScanned.incrementAndGet();
+        bytesScanned.addAndGet(size);
+        Charset charset = (head[0] & 0xFF) == 0xFF ? StandardCharsets.UTF_16LE : StandardCharsets.UTF_16BE;
+        String text = new String(Files.readAllBytes(file), charset);
+        String[] lines = text.substring(1).split("\r?\n", -1);
+        String query = options.ignoreCase() ? options.query().toLowerCase(Locale.ROOT) : options.query();
+        for (int i = 0; i < lines.length && !cancelled.get(); i++) {
+            String candidate = options.ignoreCase() ? lines[i].toLowerCase(Locale.ROOT) : lines[i];
+            if (candidate.contains(query)) {
+                int contextLines = options.contextLines();
+                List<String> before = new ArrayList<>();
+                for (int j = Math.max(0, i - contextLines); j < i; j++) {
+                    before.add(LineScanner.truncate(lines[j]));
+                }
+                List<String> after = new ArrayList<>();
+                for (int j = i + 1; j < Math.min(lines.length, i + 1 + contextLines); j++) {
+                    after.add(LineScanner.truncate(lines[j]));
+                }
+                emit(new Match(file, null, i + 1, LineScanner.truncate(lines[i]), before, after));
+            }
+        }
+    }
+
+    private void emit(Match match) {
+        long count = matchCount.incrementAndGet();
+        if (options.maxMatches() > 0 && count > options.maxMatches()) {
+            matchCount.decrementAndGet();
+            cancel();
+            return;
+        }
+        onMatch.accept(match);
+    }
+}
@@ -0,0 +1,277 @@
+package org.chaiware.acommander.search;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Read-only, memory-mapped snapshot of all file names under one root.
+ * <p>
+ * Layout (big endian):
+ * <pre>
+ * header   : magic, version, createdAt, root (len + UTF-8), count, restartInterval
+ * sizes    : long[count]
+ * mtimes   : long[count]
+ * names    : int[count + 1] offsets, then the UTF-8 name bytes
+ * paths    : int[restarts] offsets, int length, then front-coded relative paths
+ *            (varint shared prefix length, varint suffix length, suffix bytes), a full path every restartInterval entries
+ * </pre>
+ * Entries are sorted by relative path ('/' separated), so a sub-folder is a contiguous range, found by binary search.
+ * Queries scan only the compact name column of that range and decode a path just for the hits.
+ */
+public final class FileNameIndex {
+    private static final int MAGIC = 0x41434649; // "ACFI"
+    private static final int VERSION = 1;
+    private static final int RESTART_INTERVAL = 64;
+
+    /** One indexed file, path relative to the root with '/' separators */
+    public record Entry(String relativePath, long size, long modified) {
+    }
+
+    /** Receives the query hits */
+    @FunctionalInterface
+    public interface HitConsumer {
+        void accept(String relativePath, long size, long modified);
+    }
+
+    private final String root;
+    private final long createdAt;
+    private final int count;
+    private final int restartInterval;
+    private final LongBuffer sizes;
+    private final LongBuffer mtimes;
+    private final ByteBuffer nameOffsets;
+    private final ByteBuffer names;
+    private final ByteBuffer pathOffsets;
+    private final ByteBuffer paths;
+
+    private FileNameIndex(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Not a file name index (or an unsupported version)");
+        }
+        createdAt = buffer.getLong();
+        byte[] rootBytes = new byte[buffer.getInt()];
+        buffer.get(rootBytes);
+        root = new String(rootBytes, StandardCharsets.UTF_8);
+        count = buffer.getInt();
+        restartInterval = buffer.getInt();
+
+        sizes = slice(buffer, count * 8).asLongBuffer();
+        mtimes = slice(buffer, count * 8).asLongBuffer();
+        nameOffsets = slice(buffer, (count + 1) * 4);
+        names = slice(buffer, nameOffsets.getInt(count * 4));
+        int restarts = (count + restartInterval - 1) / restartInterval;
+        pathOffsets = slice(buffer, restarts * 4);
+        paths = slice(buffer, buffer.getInt());
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int length) {
+        ByteBuffer slice = buffer.slice(buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+
+    /**
+     * Maps an index file. The mapping stays valid until the index is garbage collected,
+     * which is why the service writes every generation to a new file instead of replacing it in place.
+     */
+    public static FileNameIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new FileNameIndex(buffer);
+        } catch (RuntimeException ex) {
+            throw new IOException("Corrupted file name index: " + file, ex);
+        }
+    }
+
+    /**
+     * Writes the entries (in any order) as an index file.
+     */
+    public static void write(Path file, String root, long createdAt, List<Entry> entries) throws IOException {
+        Entry[] sorted = entries.toArray(Entry[]::new);
+        Arrays.sort(sorted, (a, b) -> a.relativePath().compareTo(b.relativePath()));
+        int count = sorted.length;
+
+        try (OutputStream fileOut = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, 1 << 16))) {
+            byte[] rootBytes = root.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(createdAt);
+            out.writeInt(rootBytes.length);
+            out.write(rootBytes);
+            out.writeInt(count);
+            out.writeInt(RESTART_INTERVAL);
+
+            for (Entry entry : sorted) {
+                out.writeLong(entry.size());
+            }
+            for (Entry entry : sorted) {
+                out.writeLong(entry.modified());
+            }
+
+            byte[][] nameBytes = new byte[count][];
+            int offset = 0;
+            for (int i = 0; i < count; i++) {
+                String path = sorted[i].relativePath();
+                nameBytes[i] = path.substring(path.lastIndexOf('/') + 1).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(offset);
+                offset += nameBytes[i].length;
+            }
+            out.writeInt(offset);
+            for (byte[] name : nameBytes) {
+                out.write(name);
+            }
+
+            ByteArrayOutputStream pathBlock = new ByteArrayOutputStream(Math.max(32, count * 16));
+            int[] restartOffsets = new int[(count + RESTART_INTERVAL - 1) / RESTART_INTERVAL];
+            byte[] previous = new byte[0];
+            for (int i = 0; i < count; i++) {
+                byte[] current = sorted[i].relativePath().getBytes(StandardCharsets.UTF_8);
+                int shared = 0;
+                if (i % RESTART_INTERVAL == 0) {
+                    restartOffsets[i / RESTART_INTERVAL] = pathBlock.size();
+                } else {
+                    int max = Math.min(previous.length, current.length);
+                    while (shared < max && previous[shared] == current[shared]) {
+                        shared++;
+                    }
+                }
+                writeVarInt(pathBlock, shared);
+                writeVarInt(pathBlock, current.length - shared);
+                pathBlock.write(current, shared, current.length - shared);
+                previous = current;
+            }
+            for (int restartOffset : restartOffsets) {
+                out.writeInt(restartOffset);
+            }
+            out.writeInt(pathBlock.size());
+            pathBlock.writeTo(out);
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer, int[] position) {
+        int result = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer.get(position[0]++);
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+            shift += 7;
+        }
+    }
+
+    public String getRoot() {
+        return root;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Streams all entries whose name matches the pattern and whose relative path starts with the given folder prefix
+     * ("" for the whole root, otherwise "a/b/"). Stops early when {@code cancelled} turns true.
+     */
+    public void search(FileNamePattern pattern, String folderPrefix, BooleanSupplier cancelled, HitConsumer consumer) {
+        byte[] scratch = new byte[256];
+        PathCursor cursor = new PathCursor();
+        int from = folderPrefix.isEmpty() ? 0 : firstEntry(folderPrefix, false, cursor);
+        int to = folderPrefix.isEmpty() ? count : firstEntry(folderPrefix, true, cursor);
+        for (int i = from; i < to; i++) {
+            if (((i - from) & 0xFFF) == 0 && cancelled.getAsBoolean()) {
+                return;
+            }
+            int start = nameOffsets.getInt(i * 4);
+            int length = nameOffsets.getInt((i + 1) * 4) - start;
+            if (scratch.length < length) {
+                scratch = new byte[length * 2];
+            }
+            names.get(start, scratch, 0, length);
+            if (!pattern.matches(new String(scratch, 0, length, StandardCharsets.UTF_8))) {
+                continue;
+            }
+            byte[] path = cursor.decode(i);
+            consumer.accept(new String(path, 0, cursor.length, StandardCharsets.UTF_8), sizes.get(i), mtimes.get(i));
+        }
+    }
+
+    /**
+     * The first entry at or after the paths starting with {@code prefix} ({@code pastPrefix} false), or the first one
+     * after them (true). Paths starting with the prefix sort together, right at or after the prefix itself.
+     */
+    private int firstEntry(String prefix, boolean pastPrefix, PathCursor cursor) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            String path = new String(cursor.decode(middle), 0, cursor.length, StandardCharsets.UTF_8);
+            boolean before = pastPrefix ? path.startsWith(prefix) || path.compareTo(prefix) < 0 : path.compareTo(prefix) < 0;
+            if (before) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Sequential decoder of the front-coded paths; continues from the last decoded entry when possible,
+     * otherwise restarts from the nearest full path.
+     */
+    private final class PathCursor {
+        private byte[] buffer = new byte[512];
+        private int length;
+        private int entry = -1;
+        private final int[] position = new int[1];
+
+        private byte[] decode(int target) {
+            if (entry < 0 || target < entry || target / restartInterval != entry / restartInterval) {
+                int restart = target / restartInterval;
+                position[0] = pathOffsets.getInt(restart * 4);
+                entry = restart * restartInterval - 1;
+                length = 0;
+            }
+            while (entry < target) {
+                int shared = readVarInt(paths, position);
+                int suffix = readVarInt(paths, position);
+                if (buffer.length < shared + suffix) {
+                    buffer = Arrays.copyOf(buffer, (shared + suffix) * 2);
+                }
+                paths.get(position[0], buffer, shared, suffix);
+                position[0] += suffix;
+                length = shared + suffix;
+                entry++;
+            }
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package org.chaiware.acommander.search;
+
+import org.chaiware.acommander.helpers.FileHelper;
+import org.chaiware.acommander.helpers.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a {@link FileNameIndex} per configured root up to date and answers file name searches from it.
+ * <p>
+ * Every root is rebuilt in the background when its index is missing or older than the rescan interval,
+ * and then periodically. Between rebuilds a WatchService records created/modified/deleted files in a small
+ * in-memory overlay that is merged into query results. Where recursive watching is not available
+ * (anything but Windows) only the periodic rescans keep the index current. Hidden files and folders are not
+ * indexed, so indexed searches answer like the walking search they stand in for.
+ */
+public class FileNameIndexService implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(FileNameIndexService.class);
+    private static final String INDEX_EXTENSION = ".idx";
+    private static final WatchEvent.Modifier FILE_TREE = fileTreeModifier();
+
+    private final Path indexDir;
+    private final Duration rescanInterval;
+    private final Map<String, IndexedRoot> roots = new ConcurrentHashMap<>();
+    private final Map<WatchKey, IndexedRoot> watchKeys = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "filename-index");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private WatchService watchService;
+    private Thread watchThread;
+    private volatile boolean closed;
+
+    public FileNameIndexService(Path indexDir, Duration rescanInterval) {
+        this.indexDir = indexDir;
+        this.rescanInterval = rescanInterval;
+    }
+
+    /**
+     * Starts indexing the given roots (folders that do not exist are ignored).
+     */
+    public synchronized void start(Collection<Path> rootPaths) {
+        try {
+            Files.createDirectories(indexDir);
+            watchService = FileSystems.getDefault().newWatchService();
+            watchThread = new Thread(this::watchLoop, "filename-index-watch");
+            watchThread.setDaemon(true);
+            watchThread.start();
+        } catch (IOException ex) {
+            logger.warn("File name index watching is unavailable, relying on periodic rescans", ex);
+        }
+
+        for (Path rootPath : rootPaths) {
+            Path root = rootPath.toAbsolutePath().normalize();
+            if (!Files.isDirectory(root)) {
+                logger.info("Skipping missing index root: {}", root);
+                continue;
+            }
+            IndexedRoot indexedRoot = new IndexedRoot(root, indexDir.resolve(indexFilePrefix(root)));
+            if (roots.putIfAbsent(rootKey(root), indexedRoot) != null) {
+                continue;
+            }
+            indexedRoot.loadExisting();
+            registerWatch(indexedRoot);
+            long ageMillis = indexedRoot.snapshot == null
+                    ? Long.MAX_VALUE
+                    : System.currentTimeMillis() - indexedRoot.snapshot.getCreatedAt();
+            long firstDelay = Math.max(0, rescanInterval.toMillis() - ageMillis);
+            scheduler.scheduleWithFixedDelay(indexedRoot::rebuild, firstDelay, rescanInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns a search over the index when {@code folder} is inside an indexed root that already has a snapshot.
+     */
+    public Optional<CancellableSearch> searchUnder(Path folder, FileNamePattern pattern, Consumer<Path> onMatch) {
+        Path target = folder.toAbsolutePath().normalize();
+        for (IndexedRoot indexedRoot : roots.values()) {
+            if (indexedRoot.snapshot != null && isUnder(target, indexedRoot.root)) {
+                String prefix = toRelative(indexedRoot.root, target);
+                return Optional.of(new IndexedSearch(indexedRoot, prefix.isEmpty() ? "" : prefix + "/", pattern, onMatch));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns a search over every indexed root that already has a snapshot (none when nothing is indexed yet).
+     */
+    public List<CancellableSearch> searchAll(FileNamePattern pattern, Consumer<Path> onMatch) {
+        List<CancellableSearch> searches = new ArrayList<>();
+        for (IndexedRoot indexedRoot : roots.values()) {
+            if (indexedRoot.snapshot != null) {
+                searches.add(new IndexedSearch(indexedRoot, "", pattern, onMatch));
+            }
+        }
+        return searches;
+    }
+
+    /**
+     * Forces an immediate rebuild of every root.
+     */
+    public CompletableFuture<Void> rebuildAll() {
+        return CompletableFuture.runAsync(() -> roots.values().forEach(IndexedRoot::rebuild), scheduler);
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        scheduler.shutdownNow();
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ex) {
+                logger.debug("Failed closing index watch service", ex);
+            }
+        }
+        roots.values().forEach(root -> root.cancelBuild.set(true));
+    }
+
+    /**
+     * The JDK's modifier for watching a whole tree (Windows only), looked up by name since it is not public API;
+     * null when the JDK has none
+     */
+    private static WatchEvent.Modifier fileTreeModifier() {
+        try {
+            Class<?> modifiers = Class.forName("com.sun.nio.file.ExtendedWatchEventModifier");
+            return (WatchEvent.Modifier) modifiers.getField("FILE_TREE").get(null);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private void registerWatch(IndexedRoot indexedRoot) {
+        if (watchService == null) {
+            return;
+        }
+        WatchEvent.Kind<?>[] kinds = {
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE,
+                StandardWatchEventKinds.ENTRY_MODIFY
+        };
+        try {
+            WatchKey key;
+            boolean recursive = FILE_TREE != null;
+            try {
+                key = recursive
+                        ? indexedRoot.root.register(watchService, kinds, FILE_TREE)
+                        : indexedRoot.root.register(watchService, kinds);
+            } catch (UnsupportedOperationException ex) {
+                key = indexedRoot.root.register(watchService, kinds);
+                recursive = false;
+            }
+            watchKeys.put(key, indexedRoot);
+            logger.debug("Watching index root {} (recursive: {})", indexedRoot.root, recursive);
+        } catch (IOException ex) {
+            logger.info("Could not watch index root {}, relying on periodic rescans", indexedRoot.root, ex);
+        }
+    }
+
+    private void watchLoop() {
+        while (!closed) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException ex) {
+                return;
+            }
+            IndexedRoot indexedRoot = watchKeys.get(key);
+            if (indexedRoot != null) {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        scheduler.execute(indexedRoot::rebuild);
+                        continue;
+                    }
+                    Path relative = (Path) event.context();
+                    indexedRoot.applyChange(indexedRoot.root.resolve(relative), event.kind());
+                }
+            }
+            if (!key.reset()) {
+                watchKeys.remove(key);
+            }
+        }
+    }
+
+    private static boolean isUnder(Path path, Path root) {
+        String pathKey = rootKey(path);
+        String key = rootKey(root);
+        return pathKey.equals(key) || pathKey.startsWith(key.endsWith("/") ? key : key + "/");
+    }
+
+    private static String rootKey(Path path) {
+        return FileHelper.pathKey(path.toString().replace('\\', '/'));
+    }
+
+    private static String toRelative(Path root, Path path) {
+        return root.relativize(path).toString().replace('\\', '/');
+    }
+
+    private static String indexFilePrefix(Path root) {
+        String safeName = root.getFileName() == null ? "root" : root.getFileName().toString().replaceAll("[^A-Za-z0-9_.-]", "_");
+        return safeName + "-" + Integer.toHexString(rootKey(root).hashCode()) + "-";
+    }
+
+    /** Index state of one root: the mapped snapshot plus the changes seen since it was built */
+    private final class IndexedRoot {
+        private final Path root;
+        private final Path filePrefix;
+        private final Map<String, Change> overlay = new ConcurrentHashMap<>();
+        private final AtomicBoolean building = new AtomicBoolean();
+        private final AtomicBoolean cancelBuild = new AtomicBoolean();
+        private volatile FileNameIndex snapshot;
+
+        private IndexedRoot(Path root, Path filePrefix) {
+            this.root = root;
+            this.filePrefix = filePrefix;
+        }
+
+        private void loadExisting() {
+            List<Path> generations = listGenerations();
+            for (int i = generations.size() - 1; i >= 0; i--) {
+                try {
+                    snapshot = FileNameIndex.open(generations.get(i));
+                    logger.info("Loaded file name index of {} ({} files)", root, snapshot.size());
+                    deleteGenerationsExcept(generations.get(i));
+                    return;
+                } catch (IOException ex) {
+                    logger.warn("Ignoring unreadable file name index {}", generations.get(i), ex);
+                }
+            }
+        }
+
+        private void rebuild() {
+            if (closed || !building.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                Stopwatch stopwatch = new Stopwatch();
+                long startedAt = System.currentTimeMillis();
+                long startedNanos = System.nanoTime();
+                List<FileNameIndex.Entry> entries = new ArrayList<>();
+                FileNameSearch walk = FileNameSearch.withAttributes(root, FileNamePattern.compile("*"), FileNameSearch.DEFAULT_EXCLUDED_DIRS,
+                        (path, attrs) -> {
+                            FileNameIndex.Entry entry = new FileNameIndex.Entry(toRelative(root, path), attrs.size(), attrs.lastModifiedTime().toMillis());
+                            synchronized (entries) {
+                                entries.add(entry);
+                            }
+                        }).skippingHidden();
+                CompletableFuture<Long> walking = walk.start();
+                while (!walking.isDone()) {
+                    if (cancelBuild.get()) {
+                        walk.cancel();
+                    }
+                    try {
+                        walking.get(200, TimeUnit.MILLISECONDS);
+                    } catch (java.util.concurrent.TimeoutException ignored) {
+                        // keep polling for cancellation
+                    }
+                }
+                if (walk.isCancelled()) {
+                    return;
+                }
+
+                Path file = Path.of(filePrefix + Long.toString(startedAt) + INDEX_EXTENSION);
+                FileNameIndex.write(file, root.toString(), startedAt, entries);
+                snapshot = FileNameIndex.open(file);
+                overlay.values().removeIf(change -> change.seenAtNanos < startedNanos);
+                deleteGenerationsExcept(file);
+                logger.info("Indexed {} files under {} in {}", entries.size(), root, stopwatch);
+            } catch (Exception ex) {
+                logger.warn("Failed building file name index of {}", root, ex);
+            } finally {
+                building.set(false);
+            }
+        }
+
+        private void applyChange(Path path, WatchEvent.Kind<?> kind) {
+            long now = System.nanoTime();
+            if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
+                overlay.put(toRelative(root, path), Change.deleted(now));
+                return;
+            }
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                if (isHidden(path, attrs)) {
+                    return;
+                }
+                if (attrs.isRegularFile()) {
+                    overlay.put(toRelative(root, path), Change.present(attrs.size(), attrs.lastModifiedTime().toMillis(), now));
+                } else if (attrs.isDirectory() && kind == StandardWatchEventKinds.ENTRY_CREATE) {
+                    // A folder moved or copied in: its files do not raise their own events
+                    try (Stream<Path> files = Files.walk(path)) {
+                        files.limit(10_000).filter(Files::isRegularFile).forEach(file -> applyChange(file, kind));
+                    }
+                }
+            } catch (IOException ex) {
+                logger.debug("Ignoring change of vanished path {}", path);
+            }
+        }
+
+        /**
+         * Whether the changed path is hidden or inside a dot-folder (a hidden attribute on a parent folder is only
+         * noticed by the next rescan).
+         */
+        private boolean isHidden(Path path, BasicFileAttributes attrs) {
+            for (Path part : root.relativize(path)) {
+                if (part.toString().startsWith(".")) {
+                    return true;
+                }
+            }
+            return FileNameSearch.isHidden(path.getFileName().toString(), attrs);
+        }
+
+        /**
+         * Whether the path, or one of its parent folders, was deleted after {@code sinceNanos}.
+         */
+        private boolean isDeletedByOverlay(String relativePath, long sinceNanos) {
+            if (overlay.isEmpty()) {
+                return false;
+            }
+            String current = relativePath;
+            while (true) {
+                Change change = overlay.get(current);
+                if (change != null && change.deleted() && change.seenAtNanos() > sinceNanos) {
+                    return true;
+                }
+                int slash = current.lastIndexOf('/');
+                if (slash < 0) {
+                    return false;
+                }
+                current = current.substring(0, slash);
+            }
+        }
+
+        private List<Path> listGenerations() {
+            String prefix = filePrefix.getFileName().toString();
+            try (Stream<Path> files = Files.list(indexDir)) {
+                return files.filter(file -> {
+                            String name = file.getFileName().toString();
+                            return name.startsWith(prefix) && name.endsWith(INDEX_EXTENSION);
+                        })
+                        .sorted()
+                        .toList();
+            } catch (IOException ex) {
+                return List.of();
+            }
+        }
+
+        private void deleteGenerationsExcept(Path keep) {
+            for (Path generation : listGenerations()) {
+                if (!generation.equals(keep)) {
+                    try {
+                        // May fail on Windows while an older mapping is still alive; retried on the next rebuild
+                        Files.deleteIfExists(generation);
+                    } catch (IOException ex) {
+                        logger.debug("Could not delete old index generation {}", generation);
+                    }
+                }
+            }
+        }
+    }
+
+    private record Change(boolean deleted, long size, long modified, long seenAtNanos) {
+        static Change deleted(long seenAtNanos) {
+            return new Change(true, 0, 0, seenAtNanos);
+        }
+
+        static Change present(long size, long modified, long seenAtNanos) {
+            return new Change(false, size, modified, seenAtNanos);
+        }
+    }
+
+    /** A query against one root's snapshot merged with its overlay */
+    private static final class IndexedSearch implements CancellableSearch {
+        private final IndexedRoot indexedRoot;
+        private final String folderPrefix;
+        private final FileNamePattern pattern;
+        private final Consumer<Path> onMatch;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        private IndexedSearch(IndexedRoot indexedRoot, String folderPrefix, FileNamePattern pattern, Consumer<Path> onMatch) {
+            this.indexedRoot = indexedRoot;
+            this.folderPrefix = folderPrefix;
+            this.pattern = pattern;
+            this.onMatch = onMatch;
+        }
+
+        @Override
+        public CompletableFuture<Long> start() {
+            return CompletableFuture.supplyAsync(() -> {
+                Stopwatch stopwatch = new Stopwatch();
+                AtomicLong hits = new AtomicLong();
+                FileNameIndex snapshot = indexedRoot.snapshot;
+                snapshot.search(pattern, folderPrefix, cancelled::get, (relativePath, size, modified) -> {
+                    Change change = indexedRoot.overlay.get(relativePath);
+                    if (change == null && !indexedRoot.isDeletedByOverlay(relativePath, Long.MIN_VALUE)) {
+                        hits.incrementAndGet();
+                        onMatch.accept(indexedRoot.root.resolve(relativePath));
+                    }
+                });
+                // Files created or modified since the snapshot (deleted ones are skipped)
+                for (Map.Entry<String, Change> entry : indexedRoot.overlay.entrySet()) {
+                    String relativePath = entry.getKey();
+                    if (cancelled.get() || entry.getValue().deleted() || !relativePath.startsWith(folderPrefix)
+                            || indexedRoot.isDeletedByOverlay(relativePath, entry.getValue().seenAtNanos())) {
+                        continue;
+                    }
+                    if (pattern.matches(relativePath.substring(relativePath.lastIndexOf('/') + 1))) {
+                        hits.incrementAndGet();
+                        onMatch.accept(indexedRoot.root.resolve(relativePath));
+                    }
+                }
+                logger.debug("Index search of '{}' under {}{} found {} in {}",
+                        pattern, indexedRoot.root, folderPrefix.isEmpty() ? "" : "/" + folderPrefix, hits.get(), stopwatch);
+                return hits.get();
+            });
+        }
+
+        @Override
+        public void cancel() {
+            cancelled.set(true);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.chaiware.acommander.search;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A file name pattern compiled once and matched case-insensitively against bare file names.
+ * Supported forms:
+ * <ul>
+ *     <li>{@code *.txt}, {@code report?.doc} - wildcard (same semantics as PowerShell -like)</li>
+ *     <li>{@code glob:*.{jpg,png}} - glob with brace alternatives and [] classes</li>
+ *     <li>{@code re:^IMG_\d+\.jpe?g$} - Java regular expression (find semantics)</li>
+ * </ul>
+ */
+public final class FileNamePattern {
+    private enum Kind {ANY, CONTAINS, PREFIX, SUFFIX, EXACT, REGEX}
+
+    private final String source;
+    private final Kind kind;
+    private final String literal;
+    private final Pattern regex;
+
+    private FileNamePattern(String source, Kind kind, String literal, Pattern regex) {
+        this.source = source;
+        this.kind = kind;
+        this.literal = literal;
+        this.regex = regex;
+    }
+
+    public static FileNamePattern compile(String pattern) {
+        String source = pattern == null ? "" : pattern.trim();
+        if (source.startsWith("re:")) {
+            return new FileNamePattern(source, Kind.REGEX, null,
+                    Pattern.compile(source.substring(3), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+        }
+        if (source.startsWith("glob:")) {
+            return new FileNamePattern(source, Kind.REGEX, null,
+                    Pattern.compile(globToRegex(source.substring(5)), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+        }
+        return compileWildcard(source);
+    }
+
+    /**
+     * Plain wildcards are reduced to a literal comparison where possible, which avoids the regex engine
+     * for the common "*part*", "prefix*" and "*.ext" searches.
+     */
+    private static FileNamePattern compileWildcard(String source) {
+        if (source.isEmpty() || source.chars().allMatch(c -> c == '*')) {
+            return new FileNamePattern(source, Kind.ANY, null, null);
+        }
+        boolean hasQuestion = source.indexOf('?') >= 0 || source.indexOf('[') >= 0;
+        String core = trimStars(source);
+        if (!hasQuestion && core.indexOf('*') < 0) {
+            boolean leading = source.startsWith("*");
+            boolean trailing = source.endsWith("*");
+            Kind kind = leading && trailing ? Kind.CONTAINS : leading ? Kind.SUFFIX : trailing ? Kind.PREFIX : Kind.EXACT;
+            return new FileNamePattern(source, kind, core.toLowerCase(Locale.ROOT), null);
+        }
+        return new FileNamePattern(source, Kind.REGEX, null,
+                Pattern.compile(wildcardToRegex(source), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+    }
+
+    public boolean matches(String fileName) {
+        return switch (kind) {
+            case ANY -> true;
+            case CONTAINS -> fileName.toLowerCase(Locale.ROOT).contains(literal);
+            case PREFIX -> fileName.regionMatches(true, 0, literal, 0, literal.length());
+            case SUFFIX -> fileName.regionMatches(true, fileName.length() - literal.length(), literal, 0, literal.length());
+            case EXACT -> fileName.equalsIgnoreCase(literal);
+            case REGEX -> regex.matcher(fileName).find();
+        };
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    private static String trimStars(String s) {
+        int start = 0;
+        int end = s.length();
+        while (start < end && s.charAt(start) == '*') {
+            start++;
+        }
+        while (end > start && s.charAt(end - 1) == '*') {
+            end--;
+        }
+        return s.substring(start, end);
+    }
+
+    private static String wildcardToRegex(String wildcard) {
+        StringBuilder sb = new StringBuilder("^");
+        for (int i = 0; i < wildcard.length(); i++) {
+            char c = wildcard.charAt(i);
+            switch (c) {
+                case '*' -> sb.append(".*");
+                case '?' -> sb.append('.');
+                case '[' -> {
+                    int close = wildcard.indexOf(']', i + 1);
+                    if (close > i + 1) {
+                        sb.append('[').append(wildcard, i + 1, close).append(']');
+                        i = close;
+                    } else {
+                        sb.append("\\[");
+                    }
+                }
+                default -> sb.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return sb.append('$').toString();
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder sb = new StringBuilder("^");
+        int braceDepth = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '*' -> sb.append(".*");
+                case '?' -> sb.append('.');
+                case '{' -> {
+                    braceDepth++;
+                    sb.append("(?:");
+                }
+                case '}' -> {
+                    if (braceDepth == 0) {
+                        throw new PatternSyntaxException("Unbalanced '}'", glob, i);
+                    }
+                    braceDepth--;
+                    sb.append(')');
+                }
+                case ',' -> sb.append(braceDepth > 0 ? "|" : ",");
+                case '[' -> {
+                    int close = glob.indexOf(']', i + 1);
+                    if (close < 0) {
+                        throw new PatternSyntaxException("Unclosed '['", glob, i);
+                    }
+                    String body = glob.substring(i + 1, close);
+                    sb.append('[').append(body.startsWith("!") ? "^" + body.substring(1) : body).append(']');
+                    i = close;
+                }
+                case '\\' -> {
+                    if (i + 1 < glob.length()) {
+                        sb.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                    }
+                }
+                default -> sb.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        if (braceDepth != 0) {
+            throw new PatternSyntaxException("Unclosed '{'", glob, glob.length());
+        }
+        return sb.append('$').toString();
+    }
+}
@@ -0,0 +1,176 @@
+package org.chaiware.acommander.search;
+
+import org.chaiware.acommander.helpers.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Parallel file name search.
+ * Each directory is a fork/join task, so the pool's work stealing keeps all cores busy on wide and deep trees.
+ * Matches are pushed to the caller as they are found and a running search can be cancelled at any time.
+ */
+public class FileNameSearch implements CancellableSearch {
+    private static final Logger logger = LoggerFactory.getLogger(FileNameSearch.class);
+
+    /** Directory names skipped by default (compared case-insensitively) */
+    public static final Set<String> DEFAULT_EXCLUDED_DIRS = Set.of("$recycle.bin", "system volume information");
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()),
+            pool -> {
+                var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("file-search-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null,
+            false
+    );
+
+    private final Path root;
+    private final FileNamePattern pattern;
+    private final Set<String> excludedDirs;
+    private final BiConsumer<Path, BasicFileAttributes> onMatch;
+    private volatile boolean skipHidden;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicLong matchCount = new AtomicLong();
+    private final AtomicLong scannedCount = new AtomicLong();
+
+    public FileNameSearch(Path root, FileNamePattern pattern, Set<String> excludedDirs, Consumer<Path> onMatch) {
+        this(root, pattern, excludedDirs, (path, attrs) -> onMatch.accept(path));
+    }
+
+    /**
+     * Same as the path-only variant, but also hands over the attributes read while walking (used by the indexer).
+     */
+    public static FileNameSearch withAttributes(Path root, FileNamePattern pattern, Set<String> excludedDirs,
+                                                BiConsumer<Path, BasicFileAttributes> onMatch) {
+        return new FileNameSearch(root, pattern, excludedDirs, onMatch);
+    }
+
+    private FileNameSearch(Path root, FileNamePattern pattern, Set<String> excludedDirs, BiConsumer<Path, BasicFileAttributes> onMatch) {
+        this.root = root;
+        this.pattern = pattern;
+        this.excludedDirs = excludedDirs == null ? Set.of() : excludedDirs.stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.onMatch = onMatch;
+    }
+
+    /**
+     * Skip dot-files/folders and entries carrying the DOS hidden attribute (call before {@link #start()}).
+     */
+    public FileNameSearch skippingHidden() {
+        this.skipHidden = true;
+        return this;
+    }
+
+    /**
+     * Starts walking the tree in the background; the future completes with the number of matches
+     * (also when the search was cancelled).
+     */
+    @Override
+    public CompletableFuture<Long> start() {
+        Stopwatch stopwatch = new Stopwatch();
+        return CompletableFuture.supplyAsync(() -> {
+            POOL.invoke(new DirectoryTask(root));
+            logger.debug("Searched {} entries under {} for '{}' in {}, {} matches{}",
+                    scannedCount.get(), root, pattern, stopwatch, matchCount.get(), cancelled.get() ? " (cancelled)" : "");
+            return matchCount.get();
+        }, POOL);
+    }
+
+    @Override
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    public long getMatchCount() {
+        return matchCount.get();
+    }
+
+    public long getScannedCount() {
+        return scannedCount.get();
+    }
+
+    static boolean isHidden(String name, BasicFileAttributes attrs) {
+        return name.startsWith(".") || (attrs instanceof DosFileAttributes dosAttrs && dosAttrs.isHidden());
+    }
+
+    private final class DirectoryTask extends RecursiveAction {
+        private final Path dir;
+
+        private DirectoryTask(Path dir) {
+            this.dir = dir;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled.get()) {
+                return;
+            }
+            List<DirectoryTask> subTasks = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                for (Path entry : entries) {
+                    if (cancelled.get()) {
+                        return;
+                    }
+                    scannedCount.incrementAndGet();
+                    // On Windows the directory stream already carries the attributes, so this is not another syscall
+                    BasicFileAttributes attrs;
+                    try {
+                        attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (IOException ex) {
+                        continue;
+                    }
+                    Path fileName = entry.getFileName();
+                    if (fileName == null) {
+                        continue;
+                    }
+                    String name = fileName.toString();
+                    if (skipHidden && isHidden(name, attrs)) {
+                        continue;
+                    }
+                    if (attrs.isDirectory()) {
+                        if (!excludedDirs.contains(name.toLowerCase(Locale.ROOT))) {
+                            subTasks.add(new DirectoryTask(entry));
+                        }
+                    } else if (!attrs.isSymbolicLink() && pattern.matches(name)) {
+                        matchCount.incrementAndGet();
+                        onMatch.accept(entry, attrs);
+                    }
+                }
+            } catch (IOException | SecurityException ex) {
+                logger.debug("Skipping unreadable folder during search: {}", dir, ex);
+            }
+            if (!subTasks.isEmpty()) {
+                invokeAll(subTasks);
+            }
+        }
+    }
+}
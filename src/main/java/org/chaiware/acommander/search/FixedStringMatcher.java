@@ -0,0 +1,71 @@
+package org.chaiware.acommander.search;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Boyer-Moore-Horspool search of a fixed UTF-8 string in raw bytes (heap or memory-mapped).
+ * Case-insensitive matching folds ASCII letters only; other characters must match exactly.
+ */
+public final class FixedStringMatcher {
+    private final byte[] needle;
+    private final int[] shift = new int[256];
+    private final boolean ignoreCase;
+
+    public FixedStringMatcher(String query, boolean ignoreCase) {
+        if (query == null || query.isEmpty()) {
+            throw new IllegalArgumentException("Search text must not be empty");
+        }
+        this.ignoreCase = ignoreCase;
+        this.needle = query.getBytes(StandardCharsets.UTF_8);
+        if (ignoreCase) {
+            for (int i = 0; i < needle.length; i++) {
+                needle[i] = fold(needle[i]);
+            }
+        }
+        int last = needle.length - 1;
+        Arrays.fill(shift, needle.length);
+        for (int i = 0; i < last; i++) {
+            int b = needle[i] & 0xFF;
+            shift[b] = last - i;
+            if (ignoreCase && b >= 'a' && b <= 'z') {
+                shift[b - 32] = last - i;
+            }
+        }
+    }
+
+    public int length() {
+        return needle.length;
+    }
+
+    /**
+     * Returns the index of the first match in {@code [from, to)} or -1.
+     */
+    public int indexOf(ByteBuffer haystack, int from, int to) {
+        int last = needle.length - 1;
+        int position = from;
+        while (position + last < to) {
+            byte tail = haystack.get(position + last);
+            if (equalsAt(tail, last)) {
+                int i = last - 1;
+                while (i >= 0 && equalsAt(haystack.get(position + i), i)) {
+                    i--;
+                }
+                if (i < 0) {
+                    return position;
+                }
+            }
+            position += shift[tail & 0xFF];
+        }
+        return -1;
+    }
+
+    private boolean equalsAt(byte value, int needleIndex) {
+        return (ignoreCase ? fold(value) : value) == needle[needleIndex];
+    }
+
+    private static byte fold(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + 32) : b;
+    }
+}
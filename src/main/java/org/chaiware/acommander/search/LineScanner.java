@@ -0,0 +1,154 @@
+package org.chaiware.acommander.search;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Finds the lines containing a fixed string in the bytes of one file (or archive entry), reporting each
+ * matching line once with its 1-based number and surrounding context.
+ * A file may be fed in consecutive windows, each starting where {@link #scan} says; line numbers carry over.
+ */
+final class LineScanner {
+    static final int MAX_LINE_CHARS = 400;
+
+    /** Receives one matching line */
+    @FunctionalInterface
+    interface LineSink {
+        void accept(long lineNumber, String line, List<String> before, List<String> after);
+    }
+
+    private final FixedStringMatcher matcher;
+    private final int contextLines;
+    private final BooleanSupplier cancelled;
+    private final LineSink sink;
+    private long lineNumber = 1;
+    private long countedUpTo;
+    private long nextSearchFrom;
+    /** The last reported line ran past its window (one without a newline); the rest of it is skipped */
+    private boolean reportedLineOpen;
+
+    LineScanner(FixedStringMatcher matcher, int contextLines, BooleanSupplier cancelled, LineSink sink) {
+        this.matcher = matcher;
+        this.contextLines = contextLines;
+        this.cancelled = cancelled;
+        this.sink = sink;
+    }
+
+    /**
+     * Scans {@code buffer[0, limit)}, which holds the file bytes starting at absolute offset {@code base}.
+     * Unless it is the last window, only the lines completed inside the window are scanned.
+     *
+     * @return the absolute offset the next window starts at: just after this window's last newline, so a line
+     * crossing the window end is scanned whole, once; a window without any newline overlaps the next one by
+     * (query length - 1) bytes instead
+     */
+    long scan(ByteBuffer buffer, long base, int limit, boolean lastWindow) {
+        int end = limit;
+        long next = base + limit;
+        if (!lastWindow) {
+            int lastNewline = limit - 1;
+            while (lastNewline >= 0 && buffer.get(lastNewline) != '\n') {
+                lastNewline--;
+            }
+            if (lastNewline >= 0) {
+                end = lastNewline + 1;
+                next = base + end;
+            } else {
+                next = base + limit - (matcher.length() - 1);
+            }
+        }
+
+        int from = (int) Math.max(0, nextSearchFrom - base);
+        if (reportedLineOpen) {
+            while (from < end && buffer.get(from) != '\n') {
+                from++;
+            }
+            reportedLineOpen = from >= end;
+            from++;
+        }
+        while (from < end && !cancelled.getAsBoolean()) {
+            int index = matcher.indexOf(buffer, from, end);
+            if (index < 0) {
+                break;
+            }
+            countNewlines(buffer, base, index);
+
+            int lineStart = index;
+            while (lineStart > 0 && buffer.get(lineStart - 1) != '\n') {
+                lineStart--;
+            }
+            int lineEnd = index;
+            while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            sink.accept(lineNumber, decode(buffer, lineStart, lineEnd),
+                    linesBefore(buffer, lineStart), linesAfter(buffer, lineEnd, limit));
+
+            if (lineEnd >= end && !lastWindow) {
+                // The line goes on in the next window; resume after its newline there
+                reportedLineOpen = true;
+                nextSearchFrom = base + end;
+                break;
+            }
+            // One report per line: continue after the line's end
+            from = lineEnd + 1;
+            nextSearchFrom = base + from;
+        }
+        if (!lastWindow) {
+            countNewlines(buffer, base, (int) (next - base));
+        }
+        return next;
+    }
+
+    private void countNewlines(ByteBuffer buffer, long base, int upTo) {
+        for (int i = (int) (countedUpTo - base); i < upTo; i++) {
+            if (buffer.get(i) == '\n') {
+                lineNumber++;
+            }
+        }
+        countedUpTo = Math.max(countedUpTo, base + upTo);
+    }
+
+    private List<String> linesBefore(ByteBuffer buffer, int lineStart) {
+        List<String> lines = new ArrayList<>();
+        int end = lineStart - 1;
+        while (lines.size() < contextLines && end >= 0) {
+            int start = end;
+            while (start > 0 && buffer.get(start - 1) != '\n') {
+                start--;
+            }
+            lines.addFirst(decode(buffer, start, end));
+            end = start - 1;
+        }
+        return lines;
+    }
+
+    private List<String> linesAfter(ByteBuffer buffer, int lineEnd, int limit) {
+        List<String> lines = new ArrayList<>();
+        int start = lineEnd + 1;
+        while (lines.size() < contextLines && start < limit) {
+            int end = start;
+            while (end < limit && buffer.get(end) != '\n') {
+                end++;
+            }
+            lines.add(decode(buffer, start, end));
+            start = end + 1;
+        }
+        return lines;
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int end) {
+        int length = Math.min(end - start, MAX_LINE_CHARS * 4);
+        byte[] bytes = new byte[Math.max(0, length)];
+        buffer.get(start, bytes, 0, bytes.length);
+        return truncate(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    static String truncate(String line) {
+        String trimmed = line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+        return trimmed.length() > MAX_LINE_CHARS ? trimmed.substring(0, MAX_LINE_CHARS) + "..." : trimmed;
+    }
+}
@@ -0,0 +1,343 @@
+package org.chaiware.acommander.viewer;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The built-in viewer: text lines or a hex dump of a {@link MappedTextFile}.
+ * The list is virtual, only the visible rows are read from the mapped file, and it grows while the line index is
+ * built. Searching scans the mapped file on a background thread.
+ * Follow mode polls the file for appended lines and keeps the end in view; a truncated or rotated file is opened
+ * again from the start.
+ */
+public class FileViewerPane extends BorderPane {
+    private static final Logger logger = LoggerFactory.getLogger(FileViewerPane.class);
+
+    private static final long FOLLOW_INTERVAL_MILLIS = 500;
+    private static final ScheduledExecutorService FOLLOWER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "viewer-follow");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile MappedTextFile file;
+    private RowList rows = new RowList(0);
+    private final ListView<Long> rowView = new ListView<>(rows);
+    private final ToggleButton hexMode = new ToggleButton("Hex");
+    private final ToggleButton follow = new ToggleButton("Follow");
+    private final TextField searchField = new TextField();
+    private final CheckBox ignoreCase = new CheckBox("Ignore case");
+    private final Label status = new Label();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final AtomicBoolean searchCancelled = new AtomicBoolean();
+    private long lastMatchOffset = -1;
+    private CompletableFuture<?> runningSearch;
+    private ScheduledFuture<?> following;
+
+    /**
+     * @param startInHex show the hex dump first (binary files)
+     */
+    public FileViewerPane(MappedTextFile file, boolean startInHex) {
+        this.file = file;
+
+        rowView.setFixedCellSize(20);
+        rowView.setStyle("-fx-font-family: 'Consolas', 'monospace';");
+        rowView.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(Long row, boolean empty) {
+                super.updateItem(row, empty);
+                if (empty || row == null) {
+                    setText(null);
+                    return;
+                }
+                MappedTextFile viewed = file;
+                String text = hexMode.isSelected() ? viewed.hexRow(row) : viewed.line(row);
+                setText(text == null ? "" : text);
+            }
+        });
+
+        hexMode.setSelected(startInHex);
+        hexMode.selectedProperty().addListener((obs, oldValue, hex) -> {
+            long topRow = Math.max(0, rowView.getSelectionModel().getSelectedIndex());
+            long offset = hex ? lineOffset(topRow) : topRow * MappedTextFile.HEX_BYTES_PER_ROW;
+            updateRowCount();
+            showOffset(offset);
+        });
+
+        follow.selectedProperty().addListener((obs, oldValue, on) -> setFollowing(on));
+
+        searchField.setPromptText("Find (Enter / F3 for next)");
+        HBox.setHgrow(searchField, Priority.ALWAYS);
+        Button findNext = new Button("Find Next");
+        findNext.setOnAction(event -> findNext());
+        searchField.setOnAction(event -> findNext());
+        searchField.textProperty().addListener((obs, oldValue, newValue) -> lastMatchOffset = -1);
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.SOMETIMES);
+        HBox toolbar = new HBox(8, hexMode, follow, spacer, searchField, ignoreCase, findNext);
+        toolbar.setAlignment(Pos.CENTER_LEFT);
+        toolbar.setPadding(new Insets(0, 0, 8, 0));
+        status.setPadding(new Insets(6, 0, 0, 0));
+
+        setTop(toolbar);
+        setCenter(rowView);
+        setBottom(status);
+
+        addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == KeyCode.F3 || (event.getCode() == KeyCode.G && event.isControlDown())) {
+                findNext();
+                event.consume();
+            } else if (event.getCode() == KeyCode.F && event.isControlDown()) {
+                searchField.requestFocus();
+                event.consume();
+            } else if (event.getCode() == KeyCode.H && event.isControlDown()) {
+                hexMode.setSelected(!hexMode.isSelected());
+                event.consume();
+            } else if (event.getCode() == KeyCode.END && event.isControlDown() && event.isShiftDown()) {
+                follow.setSelected(!follow.isSelected());
+                event.consume();
+            }
+        });
+
+        startIndexing();
+        Platform.runLater(rowView::requestFocus);
+    }
+
+    /** Stops background work and releases the file */
+    public void close() {
+        searchCancelled.set(true);
+        setFollowing(false);
+        file.close();
+    }
+
+    private void startIndexing() {
+        MappedTextFile indexed = file;
+        updateRowCount();
+        indexed.startIndexing(lines -> scheduleRefresh()).whenComplete((lines, ex) -> {
+            if (ex != null) {
+                logger.warn("Failed indexing lines of {}", indexed.getFile(), ex);
+            }
+            scheduleRefresh();
+        });
+    }
+
+    private void setFollowing(boolean on) {
+        if (following != null) {
+            following.cancel(false);
+            following = null;
+        }
+        if (on) {
+            updateRowCount();
+            scrollToEnd();
+            following = FOLLOWER.scheduleWithFixedDelay(this::checkForChanges, 0, FOLLOW_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Runs on the follow thread */
+    private void checkForChanges() {
+        MappedTextFile followed = file;
+        try {
+            switch (followed.refresh()) {
+                case GREW -> Platform.runLater(() -> {
+                    updateRowCount();
+                    scrollToEnd();
+                });
+                case TRUNCATED, REPLACED -> reopen(followed);
+                case UNCHANGED -> {
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            logger.debug("Failed checking followed file for changes: {}", followed.getFile(), ex);
+        }
+    }
+
+    private void reopen(MappedTextFile previous) throws IOException {
+        logger.info("Followed file was truncated or rotated, opening it again: {}", previous.getFile());
+        MappedTextFile reopened = MappedTextFile.open(previous.getFile(), previous.getCharset());
+        Platform.runLater(() -> {
+            if (file != previous) {
+                reopened.close();
+                return;
+            }
+            file = reopened;
+            previous.close();
+            lastMatchOffset = -1;
+            rows = new RowList(0);
+            rowView.setItems(rows);
+            startIndexing();
+        });
+    }
+
+    private void scrollToEnd() {
+        if (follow.isSelected() && !rows.isEmpty()) {
+            rowView.scrollTo(rows.size() - 1);
+        }
+    }
+
+    private void scheduleRefresh() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                refreshScheduled.set(false);
+                updateRowCount();
+            });
+        }
+    }
+
+    private void updateRowCount() {
+        int count = (int) Math.min(Integer.MAX_VALUE - 1, hexMode.isSelected() ? file.hexRowCount() : file.lineCount());
+        if (count < rows.size()) {
+            rows = new RowList(count);
+            rowView.setItems(rows);
+        } else {
+            rows.grow(count);
+        }
+        String lines = file.isIndexComplete()
+                ? String.format("%,d lines", file.lineCount())
+                : String.format("%,d+ lines (indexing %d%%)", file.lineCount(), (int) (file.indexProgress() * 100));
+        status.setText(file.getFile().getFileName() + " | " + String.format("%,d bytes", file.size()) + " | " + lines
+                + " | " + file.getCharset().name());
+    }
+
+    private long lineOffset(long line) {
+        return Math.max(0, file.lineStart(line));
+    }
+
+    private void findNext() {
+        String query = searchField.getText();
+        if (query == null || query.isEmpty()) {
+            searchField.requestFocus();
+            return;
+        }
+        if (runningSearch != null && !runningSearch.isDone()) {
+            return;
+        }
+        byte[] pattern = query.getBytes(hexMode.isSelected() ? StandardCharsets.ISO_8859_1 : file.getCharset());
+        long from = lastMatchOffset >= 0 ? lastMatchOffset + 1 : currentOffset();
+        boolean fold = ignoreCase.isSelected();
+        searchCancelled.set(false);
+        status.setText("Searching for \"" + query + "\"...");
+        runningSearch = CompletableFuture.supplyAsync(() -> {
+            long offset = file.find(pattern, from, fold, searchCancelled::get);
+            if (offset < 0 && from > 0) {
+                offset = file.find(pattern, 0, fold, searchCancelled::get); // wrap around
+            }
+            return offset;
+        }).whenComplete((offset, ex) -> Platform.runLater(() -> {
+            updateRowCount();
+            if (ex != null) {
+                status.setText("Search failed: " + ex.getMessage());
+            } else if (offset < 0) {
+                status.setText("\"" + query + "\" not found");
+            } else {
+                lastMatchOffset = offset;
+                showOffset(offset);
+            }
+        }));
+    }
+
+    private long currentOffset() {
+        long row = Math.max(0, rowView.getSelectionModel().getSelectedIndex());
+        return hexMode.isSelected() ? row * MappedTextFile.HEX_BYTES_PER_ROW : lineOffset(row);
+    }
+
+    /** Selects the row holding a byte offset; in text mode this waits (in the background) for the index to reach it */
+    private void showOffset(long offset) {
+        if (hexMode.isSelected()) {
+            select(offset / MappedTextFile.HEX_BYTES_PER_ROW);
+            return;
+        }
+        long line = file.lineOf(offset);
+        if (line >= 0) {
+            select(line);
+            return;
+        }
+        status.setText("Waiting for the line index...");
+        CompletableFuture.supplyAsync(() -> {
+            long found;
+            while ((found = file.lineOf(offset)) < 0 && !searchCancelled.get()) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return -1L;
+                }
+            }
+            return found;
+        }).thenAccept(found -> Platform.runLater(() -> {
+            updateRowCount();
+            if (found >= 0 && !hexMode.isSelected()) {
+                select(found);
+            }
+        }));
+    }
+
+    private void select(long row) {
+        int index = (int) Math.min(row, rows.size() - 1L);
+        if (index < 0) {
+            return;
+        }
+        rowView.getSelectionModel().clearAndSelect(index);
+        rowView.scrollTo(Math.max(0, index - 5));
+        rowView.refresh();
+    }
+
+    /** Row numbers 0..size-1, computed on access: the list holds no elements */
+    private static final class RowList extends ObservableListBase<Long> {
+        private int size;
+
+        RowList(int size) {
+            this.size = size;
+        }
+
+        /** Only grows; a smaller count gets a new list (see {@link #updateRowCount()}) */
+        void grow(int newSize) {
+            if (newSize <= size) {
+                return;
+            }
+            beginChange();
+            nextAdd(size, newSize);
+            size = newSize;
+            endChange();
+        }
+
+        @Override
+        public Long get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return (long) index;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package org.chaiware.acommander.viewer;
+
+import org.chaiware.acommander.helpers.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+
+/**
+ * Read-only view of a file of any size for the built-in viewer.
+ * The file is memory-mapped in fixed windows (mapped on first use), so reading a line or a hex row touches only the
+ * pages shown. Line starts are indexed in the background, sparsely: one offset every {@value #LINES_PER_CHECKPOINT}
+ * lines, a line is found by scanning forward from its checkpoint. Heap use stays small and nearly constant even for
+ * multi-gigabyte logs, and the first screen shows before the index is done.
+ * <p>
+ * A file that grows after opening (a log being written) is followed with {@link #refresh()}: the appended bytes are
+ * read with positional reads into a bounded cache of recent blocks, the mapping itself never changes. Blocks evicted
+ * from the cache are read again when scrolled to.
+ */
+public class MappedTextFile implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MappedTextFile.class);
+
+    static final int LINES_PER_CHECKPOINT = 1024;
+    public static final int HEX_BYTES_PER_ROW = 16;
+    private static final long WINDOW_SIZE = 1L << 28;
+    private static final int TAIL_BLOCK_SIZE = 64 * 1024;
+    /** Heap kept for bytes appended after opening; older appended blocks are read again when needed */
+    static final int TAIL_CACHE_BYTES = 8 * 1024 * 1024;
+    /** What {@link #refresh()} found */
+    public enum Change {UNCHANGED, GREW, TRUNCATED, REPLACED}
+
+    /** Longer lines are cut when shown */
+    static final int MAX_LINE_BYTES = 64 * 1024;
+
+    private static final ExecutorService INDEXER = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "viewer-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long mappedSize;
+    private volatile long size;
+    private final Charset charset;
+    private final Object fileKey;
+    private final FileTime created;
+    private final AtomicReferenceArray<MappedByteBuffer> windows;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    /** Blocks of the part appended after opening, least recently used first */
+    private final Map<Long, ByteBuffer> tailBlocks = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ByteBuffer> eldest) {
+            return size() > TAIL_CACHE_BYTES / TAIL_BLOCK_SIZE;
+        }
+    };
+
+    /**
+     * Start offsets of lines {@code i * LINES_PER_CHECKPOINT}, valid up to {@code count}; array and count are published
+     * together, so a reader never pairs a grown count with the array from before it grew
+     */
+    private record Checkpoints(long[] offsets, int count) {}
+
+    private volatile Checkpoints checkpoints = new Checkpoints(new long[256], 0);
+    private volatile long indexedLines;
+    private volatile long indexedBytes;
+    private volatile boolean indexComplete;
+
+    /** Last line located, to render consecutive rows without rescanning from the checkpoint */
+    private long cachedLine = -1;
+    private long cachedLineStart;
+
+    private MappedTextFile(Path file, Charset charset) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.mappedSize = channel.size();
+        this.size = mappedSize;
+        this.charset = charset;
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        this.fileKey = attributes.fileKey();
+        this.created = attributes.creationTime();
+        this.windows = new AtomicReferenceArray<>((int) ((mappedSize + WINDOW_SIZE - 1) / WINDOW_SIZE));
+    }
+
+    public static MappedTextFile open(Path file) throws IOException {
+        return open(file, StandardCharsets.UTF_8);
+    }
+
+    public static MappedTextFile open(Path file, Charset charset) throws IOException {
+        return new MappedTextFile(file, charset);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Indexes line starts in the background.
+     *
+     * @param progress receives the number of lines known so far, now and then (from the indexing thread)
+     */
+    public CompletableFuture<Long> startIndexing(LongConsumer progress) {
+        return CompletableFuture.supplyAsync(() -> {
+            Stopwatch stopwatch = new Stopwatch();
+            addCheckpoint(0);
+            long lines = index(0, size, progress);
+            indexComplete = !closed.get();
+            progress.accept(lines);
+            logger.debug("Indexed {} lines of {} in {}", lines, file, stopwatch);
+            return lines;
+        }, INDEXER);
+    }
+
+    /**
+     * Checks the file on disk for appended bytes (indexing them) or for truncation or replacement (log rotation),
+     * which this instance cannot follow: open the file again then. Call it only after indexing completed, from one
+     * thread at a time.
+     * Replacement is told by the file key, or by the creation time where there is none (Windows); a replacement that
+     * keeps the creation time shows as a truncation as soon as the new file is smaller.
+     */
+    public Change refresh() throws IOException {
+        if (closed.get() || !indexComplete) {
+            return Change.UNCHANGED;
+        }
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+            return Change.UNCHANGED; // rotated away, the new file is not there yet
+        }
+        boolean sameFile = fileKey != null ? fileKey.equals(attributes.fileKey()) : Objects.equals(created, attributes.creationTime());
+        if (!sameFile) {
+            return Change.REPLACED;
+        }
+        long current = channel.size();
+        if (current < size) {
+            return Change.TRUNCATED;
+        }
+        if (current == size) {
+            return Change.UNCHANGED;
+        }
+        synchronized (this) {
+            long previous = size;
+            synchronized (tailBlocks) {
+                tailBlocks.remove(previous / TAIL_BLOCK_SIZE); // the partial last block
+            }
+            size = current;
+            cachedLine = -1; // the cursor may stand at the end of what was the partial last line
+            index(previous, current, lines -> {
+            });
+        }
+        return Change.GREW;
+    }
+
+    /** Lines known so far (all of them once indexing is complete) */
+    public long lineCount() {
+        return indexedLines;
+    }
+
+    public boolean isIndexComplete() {
+        return indexComplete;
+    }
+
+    /** Share of the file indexed so far, 0..1 */
+    public double indexProgress() {
+        return size == 0 ? 1 : (double) indexedBytes / size;
+    }
+
+    public long hexRowCount() {
+        return (size + HEX_BYTES_PER_ROW - 1) / HEX_BYTES_PER_ROW;
+    }
+
+    /**
+     * The text of a line without its line break, or null when the line is not indexed yet.
+     */
+    public synchronized String line(long line) {
+        long start = lineStart(line);
+        if (start < 0) {
+            return null;
+        }
+        long end = start;
+        long limit = Math.min(size, start + MAX_LINE_BYTES);
+        while (end < limit && byteAt(end) != '\n') {
+            end++;
+        }
+        cachedLine = line + 1;
+        cachedLineStart = end < size && byteAt(end) == '\n' ? end + 1 : end;
+        if (end == limit && limit < size) {
+            cachedLine = -1; // cut line, its end is unknown
+        }
+        long textEnd = end > start && byteAt(end - 1) == '\r' ? end - 1 : end;
+        String text = new String(bytes(start, (int) (textEnd - start)), charset);
+        return end == limit && limit < size ? text + " …" : text;
+    }
+
+    /** Up to {@code length} raw bytes from an offset */
+    public byte[] read(long offset, int length) {
+        return bytes(offset, (int) Math.max(0, Math.min(length, size - offset)));
+    }
+
+    /** A hex dump row: offset, {@value #HEX_BYTES_PER_ROW} bytes in hex and their printable characters */
+    public String hexRow(long row) {
+        long offset = row * HEX_BYTES_PER_ROW;
+        byte[] data = bytes(offset, (int) Math.min(HEX_BYTES_PER_ROW, size - offset));
+        StringBuilder text = new StringBuilder(80).append(String.format("%012X  ", offset));
+        for (int i = 0; i < HEX_BYTES_PER_ROW; i++) {
+            text.append(i < data.length ? String.format("%02X ", data[i]) : "   ");
+            if (i == 7) {
+                text.append(' ');
+            }
+        }
+        text.append(" ");
+        for (byte value : data) {
+            text.append(value >= 0x20 && value < 0x7F ? (char) value : '.');
+        }
+        return text.toString();
+    }
+
+    /**
+     * The first offset at or after {@code from} where {@code pattern} occurs, or -1.
+     * Case folding (when asked) is ASCII only, so the pattern can be matched on raw bytes.
+     */
+    public long find(byte[] pattern, long from, boolean ignoreCase, BooleanSupplier cancelled) {
+        if (pattern.length == 0) {
+            return -1;
+        }
+        byte[] needle = ignoreCase ? lowerAscii(pattern) : pattern;
+        byte first = needle[0];
+        for (long position = Math.max(0, from); position <= size - needle.length; ) {
+            if (cancelled != null && cancelled.getAsBoolean()) {
+                return -1;
+            }
+            ByteBuffer region = region(position);
+            long start = regionStart(position);
+            int limit = (int) Math.min(region.limit(), size - start);
+            for (int i = (int) (position - start); i < limit; i++) {
+                byte value = region.get(i);
+                if ((ignoreCase ? lowerAscii(value) : value) == first && matchesAt(start + i, needle, ignoreCase)) {
+                    return start + i;
+                }
+            }
+            position = start + limit;
+        }
+        return -1;
+    }
+
+    /**
+     * The line holding a byte offset, or -1 while the index has not reached it.
+     */
+    public synchronized long lineOf(long offset) {
+        if (offset >= indexedBytes && !indexComplete) {
+            return -1;
+        }
+        Checkpoints known = checkpoints;
+        int index = Arrays.binarySearch(known.offsets(), 0, known.count(), offset);
+        int checkpoint = index >= 0 ? index : -index - 2;
+        long line = (long) checkpoint * LINES_PER_CHECKPOINT;
+        for (long position = known.offsets()[checkpoint]; position < offset; position++) {
+            if (byteAt(position) == '\n') {
+                line++;
+            }
+        }
+        return line;
+    }
+
+    /** Offset of the first byte of a line, or -1 while it is not indexed yet */
+    synchronized long lineStart(long line) {
+        if (line < 0 || line >= indexedLines) {
+            return -1;
+        }
+        int checkpoint = (int) (line / LINES_PER_CHECKPOINT);
+        Checkpoints known = checkpoints;
+        if (checkpoint >= known.count()) {
+            return -1;
+        }
+        long current;
+        long position;
+        if (cachedLine >= 0 && cachedLine <= line && cachedLine / LINES_PER_CHECKPOINT == checkpoint) {
+            current = cachedLine;
+            position = cachedLineStart;
+        } else {
+            current = (long) checkpoint * LINES_PER_CHECKPOINT;
+            position = known.offsets()[checkpoint];
+        }
+        while (current < line && position < size) {
+            if (byteAt(position++) == '\n') {
+                current++;
+            }
+        }
+        cachedLine = line;
+        cachedLineStart = position;
+        return position;
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            logger.debug("Failed closing viewed file: {}", file, ex);
+        }
+    }
+
+    /**
+     * Counts the lines starting in [from, to) and records their checkpoints; a line starts after every '\n' that is
+     * not the file's last byte.
+     */
+    private long index(long from, long to, LongConsumer progress) {
+        long lines = indexedLines;
+        if (from == 0 && to > 0) {
+            lines = 1;
+        } else if (from > 0 && to > from && byteAt(from - 1) == '\n') {
+            lines = startLine(from, lines);
+        }
+        long reportedAt = lines;
+        for (long position = from; position < to && !closed.get(); ) {
+            ByteBuffer region = region(position);
+            long start = regionStart(position);
+            int limit = (int) Math.min(region.limit(), to - start);
+            for (int i = (int) (position - start); i < limit; i++) {
+                if (region.get(i) == '\n' && start + i + 1 < to) {
+                    lines = startLine(start + i + 1, lines);
+                    if (lines - reportedAt >= 200_000) {
+                        indexedLines = lines;
+                        indexedBytes = start + i;
+                        reportedAt = lines;
+                        progress.accept(lines);
+                    }
+                }
+            }
+            position = start + limit;
+            indexedLines = lines;
+            indexedBytes = position;
+        }
+        return lines;
+    }
+
+    private long startLine(long offset, long lines) {
+        if (lines % LINES_PER_CHECKPOINT == 0) {
+            addCheckpoint(offset);
+        }
+        return lines + 1;
+    }
+
+    private void addCheckpoint(long offset) {
+        Checkpoints current = checkpoints;
+        long[] offsets = current.offsets();
+        if (current.count() == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[current.count()] = offset; // past every published count, no reader looks at it yet
+        checkpoints = new Checkpoints(offsets, current.count() + 1);
+    }
+
+    private boolean matchesAt(long position, byte[] needle, boolean ignoreCase) {
+        if (position + needle.length > size) {
+            return false;
+        }
+        for (int i = 1; i < needle.length; i++) {
+            byte value = byteAt(position + i);
+            if ((ignoreCase ? lowerAscii(value) : value) != needle[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte byteAt(long position) {
+        return region(position).get((int) (position - regionStart(position)));
+    }
+
+    private byte[] bytes(long position, int length) {
+        byte[] data = new byte[Math.max(0, length)];
+        for (int i = 0; i < data.length; ) {
+            ByteBuffer region = region(position + i);
+            int offset = (int) (position + i - regionStart(position + i));
+            int count = Math.min(data.length - i, region.limit() - offset);
+            region.get(offset, data, i, count);
+            i += count;
+        }
+        return data;
+    }
+
+    /** Offset of the first byte of the buffer {@link #region(long)} returns */
+    private long regionStart(long position) {
+        return position < mappedSize ? position / WINDOW_SIZE * WINDOW_SIZE : position / TAIL_BLOCK_SIZE * TAIL_BLOCK_SIZE;
+    }
+
+    /** The mapped window or (past the mapped part) the appended block holding a position */
+    private ByteBuffer region(long position) {
+        return position < mappedSize ? window(position) : tailBlock(position);
+    }
+
+    private ByteBuffer tailBlock(long position) {
+        long index = position / TAIL_BLOCK_SIZE;
+        synchronized (tailBlocks) {
+            ByteBuffer block = tailBlocks.get(index);
+            if (block != null && index * TAIL_BLOCK_SIZE + block.limit() > position) {
+                return block;
+            }
+        }
+        ByteBuffer block = ByteBuffer.allocate(TAIL_BLOCK_SIZE);
+        try {
+            long start = index * TAIL_BLOCK_SIZE;
+            while (block.hasRemaining() && channel.read(block, start + block.position()) > 0) {
+                // positional reads may return less than asked
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed reading " + file + " at " + position, ex);
+        }
+        block.flip();
+        synchronized (tailBlocks) {
+            tailBlocks.put(index, block);
+        }
+        return block;
+    }
+
+    private ByteBuffer window(long position) {
+        int index = (int) (position / WINDOW_SIZE);
+        MappedByteBuffer window = windows.get(index);
+        if (window == null) {
+            long start = index * WINDOW_SIZE;
+            try {
+                // the checkpoints and regionStart() describe the file as opened; later bytes live in the tail blocks
+                window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, mappedSize - start));
+            } catch (IOException ex) {
+                throw new IllegalStateException("Failed mapping " + file + " at " + start, ex);
+            }
+            if (!windows.compareAndSet(index, null, window)) {
+                window = windows.get(index);
+            }
+        }
+        return window;
+    }
+
+    private static byte lowerAscii(byte value) {
+        return value >= 'A' && value <= 'Z' ? (byte) (value + 32) : value;
+    }
+
+    private static byte[] lowerAscii(byte[] values) {
+        byte[] lower = values.clone();
+        for (int i = 0; i < lower.length; i++) {
+            lower[i] = lowerAscii(lower[i]);
+        }
+        return lower;
+    }
+}
@@ -0,0 +1,285 @@
+package org.chaiware.acommander.viewer;
+
+import javafx.scene.image.Image;
+import org.chaiware.acommander.helpers.FileHelper;
+import org.chaiware.acommander.metrics.CacheMeter;
+import org.chaiware.acommander.metrics.Metrics;
+import org.chaiware.acommander.search.ArchiveEntryScanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Builds the quick view previews: the head of a text file, a reduced image, the entries of an archive or a folder.
+ * Requests are debounced (holding an arrow key through a folder loads only where it stops), a newer request cancels
+ * the running one, and rendered previews are kept in an LRU cache bounded by their approximate heap size, keyed by
+ * path, size and modification time.
+ */
+public class PreviewLoader {
+    private static final Logger logger = LoggerFactory.getLogger(PreviewLoader.class);
+
+    static final long DEBOUNCE_MILLIS = 120;
+    static final int MAX_LISTED_ENTRIES = 1000;
+    private static final long CACHE_BYTES = 48L * 1024 * 1024;
+    private static final CacheMeter LOOKUPS = Metrics.APPLICATION.cache("cache.preview");
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("png", "jpg", "jpeg", "gif", "bmp");
+
+    private static final ScheduledExecutorService DEBOUNCER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "preview-debounce");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "preview-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** A rendered preview */
+    public sealed interface Preview permits Text, Picture, Listing, Message {
+        /** Approximate heap use, for the cache bound */
+        long weight();
+    }
+
+    /** The head of a text file */
+    public record Text(String text, boolean truncated) implements Preview {
+        public long weight() {
+            return 64L + text.length() * 2L;
+        }
+    }
+
+    /** An image decoded at reduced size */
+    public record Picture(Image image) implements Preview {
+        public long weight() {
+            return 64L + (long) image.getWidth() * (long) image.getHeight() * 4L;
+        }
+    }
+
+    /** Entry names of an archive or a folder; {@code total} counts all entries, also those not listed */
+    public record Listing(List<String> entries, int total) implements Preview {
+        public long weight() {
+            return 64L + entries.stream().mapToLong(entry -> 48L + entry.length() * 2L).sum();
+        }
+    }
+
+    /** Nothing to show but a note (binary file, unreadable file) */
+    public record Message(String text) implements Preview {
+        public long weight() {
+            return 64L + text.length() * 2L;
+        }
+    }
+
+    private record Key(Path path, long size, long modified) {
+    }
+
+    private final int textBytes;
+    private final int thumbnailSize;
+    private final ArchiveEntryScanner archiveScanner = new ArchiveEntryScanner();
+    private final Map<Key, Preview> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedBytes;
+    private final AtomicLong generation = new AtomicLong();
+    private ScheduledFuture<?> pending;
+    private Future<?> running;
+
+    /**
+     * @param textBytes     how much of a text file is shown
+     * @param thumbnailSize images are decoded to fit this square
+     */
+    public PreviewLoader(int textBytes, int thumbnailSize) {
+        this.textBytes = textBytes;
+        this.thumbnailSize = thumbnailSize;
+    }
+
+    /**
+     * Asks for the preview of a file; {@code onReady} gets it from a background thread, unless another request came in
+     * meanwhile. A cached preview is handed over at once, on the calling thread.
+     */
+    public synchronized void request(Path file, Consumer<Preview> onReady) {
+        long current = generation.incrementAndGet();
+        cancelPending();
+        Key key = key(file);
+        Preview cached = key == null ? null : cachedPreview(key);
+        if (key != null) {
+            LOOKUPS.record(cached != null);
+        }
+        if (cached != null) {
+            onReady.accept(cached);
+            return;
+        }
+        pending = DEBOUNCER.schedule(() -> startLoading(current, file, key, onReady), DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /** Drops a waiting or running request */
+    public synchronized void cancel() {
+        generation.incrementAndGet();
+        cancelPending();
+    }
+
+    private void cancelPending() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        if (running != null) {
+            running.cancel(true);
+            running = null;
+        }
+    }
+
+    private synchronized void startLoading(long requested, Path file, Key key, Consumer<Preview> onReady) {
+        if (generation.get() != requested) {
+            return;
+        }
+        running = LOADER.submit(() -> {
+            Preview preview = load(file, () -> generation.get() != requested || Thread.currentThread().isInterrupted());
+            if (preview == null || generation.get() != requested) {
+                return;
+            }
+            if (key != null) {
+                cache(key, preview);
+            }
+            onReady.accept(preview);
+        });
+    }
+
+    /** Builds a preview in the calling thread; null when cancelled */
+    Preview load(Path file, BooleanSupplier cancelled) {
+        try {
+            if (Files.isDirectory(file)) {
+                return listFolder(file, cancelled);
+            }
+            String name = file.getFileName() == null ? "" : file.getFileName().toString();
+            if (IMAGE_EXTENSIONS.contains(extension(name))) {
+                return loadImage(file);
+            }
+            if (ArchiveEntryScanner.isSearchableArchive(name)) {
+                return listArchive(file, cancelled);
+            }
+            return loadText(file);
+        } catch (IOException | RuntimeException ex) {
+            if (cancelled.getAsBoolean()) {
+                return null;
+            }
+            logger.debug("Failed previewing {}", file, ex);
+            return new Message("Cannot preview: " + ex.getMessage());
+        }
+    }
+
+    private Preview loadText(Path file) throws IOException {
+        long size = Files.size(file);
+        ByteBuffer head = ByteBuffer.allocate((int) Math.min(textBytes, size));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (head.hasRemaining() && channel.read(head) > 0) {
+                // a channel may return fewer bytes than asked
+            }
+        }
+        byte[] bytes = head.array();
+        int read = head.position();
+        if (!FileHelper.looksLikeText(bytes, read) || FileHelper.isUtf16Bom(bytes, read)) {
+            return new Message("Binary file, " + String.format("%,d bytes", size) + " (F3 to view as hex)");
+        }
+        return new Text(new String(bytes, 0, read, StandardCharsets.UTF_8), read < size);
+    }
+
+    private Preview loadImage(Path file) {
+        // Decoded straight to the reduced size, the full image is never held
+        Image image = new Image(file.toUri().toString(), thumbnailSize, thumbnailSize, true, true, false);
+        if (image.isError()) {
+            Exception cause = image.getException();
+            return new Message("Cannot decode image" + (cause == null ? "" : ": " + cause.getMessage()));
+        }
+        return new Picture(image);
+    }
+
+    private Preview listArchive(Path file, BooleanSupplier cancelled) throws IOException {
+        List<String> entries = new ArrayList<>();
+        int[] total = {0};
+        archiveScanner.scan(file, cancelled, new ArchiveEntryScanner.Visitor() {
+            @Override
+            public void onEntry(String entryPath, long size) {
+                total[0]++;
+                if (entries.size() < MAX_LISTED_ENTRIES) {
+                    entries.add(entryPath + "  (" + String.format("%,d", size) + ")");
+                }
+            }
+
+            @Override
+            public boolean wantsContent(String entryPath, long size) {
+                return false;
+            }
+
+            @Override
+            public void onContent(String entryPath, byte[] content) {
+            }
+        });
+        return cancelled.getAsBoolean() ? null : new Listing(entries, total[0]);
+    }
+
+    private Preview listFolder(Path folder, BooleanSupplier cancelled) throws IOException {
+        List<String> entries = new ArrayList<>();
+        int total = 0;
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(folder)) {
+            for (Iterator<Path> iterator = children.iterator(); iterator.hasNext() && !cancelled.getAsBoolean(); total++) {
+                Path child = iterator.next();
+                if (entries.size() < MAX_LISTED_ENTRIES) {
+                    entries.add(child.getFileName() + (Files.isDirectory(child) ? "/" : ""));
+                }
+            }
+        }
+        entries.sort(String.CASE_INSENSITIVE_ORDER);
+        return cancelled.getAsBoolean() ? null : new Listing(entries, total);
+    }
+
+    private synchronized Preview cachedPreview(Key key) {
+        return cache.get(key);
+    }
+
+    private synchronized void cache(Key key, Preview preview) {
+        Preview previous = cache.put(key, preview);
+        cachedBytes += preview.weight() - (previous == null ? 0 : previous.weight());
+        for (Iterator<Preview> eldest = cache.values().iterator(); cachedBytes > CACHE_BYTES && eldest.hasNext(); ) {
+            cachedBytes -= eldest.next().weight();
+            eldest.remove();
+        }
+    }
+
+    /** Null for files that cannot be stat'ed; they are not cached */
+    private static Key key(Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new Key(file.toAbsolutePath().normalize(), attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private static String extension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,120 @@
+package org.chaiware.acommander.viewer;
+
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextArea;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.StackPane;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * The quick view panel: a preview of the focused item, loaded by a {@link PreviewLoader} as the selection moves.
+ */
+public class QuickViewPane extends BorderPane {
+    private static final int TEXT_BYTES = 32 * 1024;
+    private static final int THUMBNAIL_SIZE = 640;
+
+    private final PreviewLoader loader = new PreviewLoader(TEXT_BYTES, THUMBNAIL_SIZE);
+    private final Label title = new Label();
+    private final Label footer = new Label();
+    private final TextArea text = new TextArea();
+    private final ImageView image = new ImageView();
+    private final ListView<String> listing = new ListView<>();
+    private final Label message = new Label();
+    private final StackPane imageHolder = new StackPane(image);
+    private Path shown;
+
+    public QuickViewPane() {
+        getStyleClass().add("quick-view");
+        text.setEditable(false);
+        text.setWrapText(false);
+        text.setStyle("-fx-font-family: 'Consolas', 'monospace';");
+        text.setFocusTraversable(false);
+        listing.setFocusTraversable(false);
+        image.setPreserveRatio(true);
+        image.fitWidthProperty().bind(imageHolder.widthProperty().subtract(8));
+        image.fitHeightProperty().bind(imageHolder.heightProperty().subtract(8));
+        imageHolder.setMinSize(0, 0);
+        message.setWrapText(true);
+        title.setPadding(new Insets(4, 6, 4, 6));
+        footer.setPadding(new Insets(2, 6, 2, 6));
+
+        setTop(title);
+        setBottom(footer);
+        setPrefWidth(420);
+        setMinWidth(200);
+    }
+
+    /** Previews a file or folder; null clears the panel */
+    public void show(Path path) {
+        if (Objects.equals(path, shown)) {
+            return;
+        }
+        shown = path;
+        if (path == null) {
+            loader.cancel();
+            title.setText("");
+            footer.setText("");
+            setCenter(null);
+            return;
+        }
+        title.setText(path.getFileName() == null ? path.toString() : path.getFileName().toString());
+        footer.setText("Loading...");
+        loader.request(path, preview -> {
+            if (Platform.isFxApplicationThread()) {
+                render(path, preview);
+            } else {
+                Platform.runLater(() -> render(path, preview));
+            }
+        });
+    }
+
+    /** Stops loading, for when the panel is hidden */
+    public void clear() {
+        show(null);
+    }
+
+    private void render(Path path, PreviewLoader.Preview preview) {
+        if (!Objects.equals(path, shown)) {
+            return;
+        }
+        switch (preview) {
+            case PreviewLoader.Text head -> {
+                text.setText(head.text());
+                text.positionCaret(0);
+                text.setScrollTop(0);
+                show(text, head.truncated() ? "First " + TEXT_BYTES / 1024 + " KB" : "");
+            }
+            case PreviewLoader.Picture picture -> {
+                image.setImage(picture.image());
+                show(imageHolder, (int) picture.image().getWidth() + " x " + (int) picture.image().getHeight() + " (reduced)");
+            }
+            case PreviewLoader.Listing entries -> {
+                listing.getItems().setAll(entries.entries());
+                listing.scrollTo(0);
+                show(listing, entries.total() > entries.entries().size()
+                        ? String.format("%,d entries (first %,d shown)", entries.total(), entries.entries().size())
+                        : String.format("%,d entries", entries.total()));
+            }
+            case PreviewLoader.Message note -> {
+                message.setText(note.text());
+                show(message, "");
+            }
+        }
+    }
+
+    private void show(Node content, String footerText) {
+        if (content != imageHolder) {
+            // drop the previous image so only the cache keeps it
+            image.setImage(null);
+        }
+        setCenter(content);
+        footer.setText(footerText);
+    }
+}
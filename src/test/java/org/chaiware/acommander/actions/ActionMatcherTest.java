@@ -9,6 +9,7 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.mockito.Mockito.mock;
@@ -93,6 +94,39 @@ class ActionMatcherTest {
         Assertions.assertThat(ranked).isEmpty();
     }
 
+    @Test
+    void acronymsAndSubsequencesMatchBelowSubstrings() {
+        ActionMatcher matcher = new ActionMatcher();
+
+        AppAction compareFiles = new AppAction("1", "Compare Files", "", List.of(), null, ctx -> {});
+        AppAction checksumFile = new AppAction("2", "Checksum File", "", List.of(), null, ctx -> {});
+        AppAction cf = new AppAction("3", "Recent Favorites", "", List.of(), null, ctx -> {});
+
+        List<ActionMatcher.Ranked> ranked = matcher.match("cf", List.of(cf, checksumFile, compareFiles));
+
+        Assertions.assertThat(ranked)
+                .extracting(result -> result.action().title())
+                .containsExactly("Checksum File", "Compare Files", "Recent Favorites");
+        Assertions.assertThat(ranked.getFirst().titlePositions()).containsExactly(0, 9);
+        Assertions.assertThat(matcher.match("cmpfl", List.of(checksumFile, compareFiles)))
+                .extracting(result -> result.action().title())
+                .containsExactly("Compare Files");
+    }
+
+    @Test
+    void findsTheRightActionAmongThousands() {
+        ActionMatcher matcher = new ActionMatcher();
+        List<AppAction> actions = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            actions.add(new AppAction("tool" + i, "Run External Tool Number " + i, "", List.of("tool " + i, "external"), null, ctx -> {}));
+        }
+        List<AppAction> enabled = matcher.enabledInOrder(actions, new ActionContext(null));
+
+        Assertions.assertThat(matcher.match("numb 4999", enabled).getFirst().action().id()).isEqualTo("tool4999");
+        Assertions.assertThat(matcher.match("tool 42", enabled).getFirst().action().id()).isEqualTo("tool42");
+        Assertions.assertThat(matcher.match("rete", enabled)).hasSize(5_000);
+    }
+
     @Test
     void blankQueryPinsConvertAudioFirstWhenAudioSelection() throws Exception {
         ActionMatcher matcher = new ActionMatcher();
@@ -0,0 +1,62 @@
+package org.chaiware.acommander.actions;
+
+import org.assertj.core.api.Assertions;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ActionUsageTest {
+
+    private static final long HALF_LIFE = TimeUnit.DAYS.toMillis((long) ActionUsage.HALF_LIFE_DAYS);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void scoresDecayAndSurviveARestart() {
+        AtomicLong now = new AtomicLong(1_000_000_000L);
+        Path file = tempDir.resolve("action-usage.properties");
+        ActionUsage usage = new ActionUsage(file, now::get);
+
+        usage.record("copy");
+        usage.record("copy");
+        usage.record("pack");
+        Assertions.assertThat(usage.frecency("copy")).isEqualTo(2.0);
+        Assertions.assertThat(usage.frecency("never")).isZero();
+
+        now.addAndGet(HALF_LIFE);
+        Assertions.assertThat(usage.frecency("copy")).isCloseTo(1.0, Offset.offset(1e-9));
+        usage.record("copy");
+        Assertions.assertThat(usage.frecency("copy")).isCloseTo(2.0, Offset.offset(1e-9));
+
+        usage.flush();
+        ActionUsage reloaded = new ActionUsage(file, now::get);
+        Assertions.assertThat(reloaded.frecency("copy")).isCloseTo(2.0, Offset.offset(1e-3));
+        Assertions.assertThat(reloaded.frecency("pack")).isCloseTo(0.5, Offset.offset(1e-3));
+    }
+
+    @Test
+    void frequentActionsRankFirstWithinTheSameKindOfMatch() {
+        ActionUsage usage = new ActionUsage(null, () -> 0L);
+        for (int i = 0; i < 10; i++) {
+            usage.record("pack");
+        }
+        ActionMatcher matcher = new ActionMatcher(usage);
+        AppAction openTerminal = new AppAction("terminal", "Open Terminal", "", List.of(), null, ctx -> {});
+        AppAction pack = new AppAction("pack", "Pack to Zip", "", List.of(), null, ctx -> {});
+        AppAction exact = new AppAction("p", "P", "", List.of(), null, ctx -> {});
+
+        Assertions.assertThat(matcher.rank("", List.of(openTerminal, pack), new ActionContext(null)))
+                .extracting(AppAction::id)
+                .containsExactly("pack", "terminal");
+        // usage reorders within a kind of match but does not lift a substring hit above an exact one
+        Assertions.assertThat(matcher.rank("p", List.of(openTerminal, pack, exact), new ActionContext(null)))
+                .extracting(AppAction::id)
+                .containsExactly("p", "pack", "terminal");
+    }
+}
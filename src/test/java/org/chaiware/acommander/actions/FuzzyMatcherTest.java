@@ -0,0 +1,33 @@
+package org.chaiware.acommander.actions;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class FuzzyMatcherTest {
+
+    @Test
+    void matchesSubsequencesAndReportsPositions() {
+        FuzzyMatcher.Match match = FuzzyMatcher.match("cmpfl", FuzzyMatcher.Term.of("Compare Files"));
+
+        Assertions.assertThat(match).isNotNull();
+        Assertions.assertThat(match.positions()).containsExactly(0, 2, 3, 8, 10);
+        Assertions.assertThat(FuzzyMatcher.match("xyz", FuzzyMatcher.Term.of("Compare Files"))).isNull();
+        Assertions.assertThat(FuzzyMatcher.match("flc", FuzzyMatcher.Term.of("Compare Files"))).isNull();
+    }
+
+    @Test
+    void prefersWordStartsAndConsecutiveCharacters() {
+        FuzzyMatcher.Term term = FuzzyMatcher.Term.of("Copy File Name");
+
+        Assertions.assertThat(FuzzyMatcher.match("fn", term).positions()).containsExactly(5, 10);
+        Assertions.assertThat(FuzzyMatcher.match("name", term).positions()).containsExactly(10, 11, 12, 13);
+        Assertions.assertThat(FuzzyMatcher.match("fn", term).score())
+                .isGreaterThan(FuzzyMatcher.match("fn", FuzzyMatcher.Term.of("Config Panel")).score());
+    }
+
+    @Test
+    void buildsAcronymsFromWordsAndCamelCase() {
+        Assertions.assertThat(FuzzyMatcher.Term.of("Find Duplicate Files").acronym()).isEqualTo("fdf");
+        Assertions.assertThat(FuzzyMatcher.Term.of("openCommandPalette").acronym()).isEqualTo("ocp");
+    }
+}
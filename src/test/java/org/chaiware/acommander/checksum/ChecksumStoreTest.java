@@ -0,0 +1,102 @@
+package org.chaiware.acommander.checksum;
+
+import org.assertj.core.api.Assertions;
+import org.chaiware.acommander.compare.ContentComparator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+
+class ChecksumStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void persistsDigestsAcrossReopen() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("a.txt"), "content");
+        Path storeFile = tempDir.resolve("store/checksums.bin");
+
+        try (ChecksumStore store = ChecksumStore.open(storeFile)) {
+            store.put(file, "SHA256", ChecksumStore.FileStamp.of(file), new byte[]{1, 2, 3});
+        }
+
+        try (ChecksumStore reopened = ChecksumStore.open(storeFile)) {
+            Assertions.assertThat(reopened.get(file, "sha256")).hasValueSatisfying(digest ->
+                    Assertions.assertThat(digest).containsExactly(1, 2, 3));
+            Assertions.assertThat(reopened.get(file, "MD5")).isEmpty();
+        }
+    }
+
+    @Test
+    void appendsAfterATornLastRecordKeepTheLogReadable() throws Exception {
+        Path first = Files.writeString(tempDir.resolve("first.txt"), "1");
+        Path torn = Files.writeString(tempDir.resolve("torn.txt"), "2");
+        Path later = Files.writeString(tempDir.resolve("later.txt"), "3");
+        Path storeFile = tempDir.resolve("store/checksums.bin");
+        try (ChecksumStore store = ChecksumStore.open(storeFile)) {
+            store.put(first, "SHA256", ChecksumStore.FileStamp.of(first), new byte[]{1});
+            store.put(torn, "SHA256", ChecksumStore.FileStamp.of(torn), new byte[]{2, 2, 2, 2});
+        }
+        try (FileChannel channel = FileChannel.open(storeFile, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3); // a crash in the middle of the last record
+        }
+
+        try (ChecksumStore store = ChecksumStore.open(storeFile)) {
+            Assertions.assertThat(store.size()).isEqualTo(1);
+            store.put(later, "SHA256", ChecksumStore.FileStamp.of(later), new byte[]{3});
+        }
+
+        try (ChecksumStore reopened = ChecksumStore.open(storeFile)) {
+            Assertions.assertThat(reopened.get(first, "SHA256")).hasValueSatisfying(digest ->
+                    Assertions.assertThat(digest).containsExactly(1));
+            Assertions.assertThat(reopened.get(torn, "SHA256")).isEmpty();
+            Assertions.assertThat(reopened.get(later, "SHA256")).hasValueSatisfying(digest ->
+                    Assertions.assertThat(digest).containsExactly(3));
+        }
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void keepsNamesDifferingOnlyInCaseApart() throws Exception {
+        Path upper = Files.writeString(tempDir.resolve("A.txt"), "same");
+        Path lower = Files.writeString(tempDir.resolve("a.txt"), "same");
+        Files.setLastModifiedTime(lower, Files.getLastModifiedTime(upper));
+        ChecksumStore store = ChecksumStore.inMemory();
+
+        store.put(upper, "SHA256", ChecksumStore.FileStamp.of(upper), new byte[]{1});
+
+        Assertions.assertThat(store.get(lower, "SHA256")).isEmpty();
+        Assertions.assertThat(store.get(upper, "SHA256")).isPresent();
+    }
+
+    @Test
+    void invalidatesWhenSizeOrTimeChanges() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("a.txt"), "content");
+        ChecksumStore store = ChecksumStore.inMemory();
+        store.put(file, "SHA256", ChecksumStore.FileStamp.of(file), new byte[]{9});
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() - 60_000));
+
+        Assertions.assertThat(store.get(file, "SHA256")).isEmpty();
+    }
+
+    @Test
+    void contentComparatorRecordsDigestsOfEqualFiles() throws Exception {
+        Path left = Files.writeString(tempDir.resolve("left.txt"), "same bytes");
+        Path right = Files.writeString(tempDir.resolve("right.txt"), "same bytes");
+        ChecksumStore store = ChecksumStore.inMemory();
+
+        Assertions.assertThat(ContentComparator.sameContent(left, right, store)).isTrue();
+
+        Assertions.assertThat(store.get(left, ContentComparator.STORE_ALGORITHM)).isPresent();
+        Assertions.assertThat(store.get(right, ContentComparator.STORE_ALGORITHM).get())
+                .isEqualTo(store.get(left, ContentComparator.STORE_ALGORITHM).get());
+    }
+}
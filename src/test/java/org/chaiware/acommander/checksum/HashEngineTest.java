@@ -0,0 +1,97 @@
+package org.chaiware.acommander.checksum;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+class HashEngineTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void computesKnownDigestsInOnePass() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("abc.txt"), "abc");
+
+        Map<HashAlgorithm, byte[]> digests = HashEngine.hash(file, EnumSet.allOf(HashAlgorithm.class), null, null);
+
+        Assertions.assertThat(digests).containsOnlyKeys(HashAlgorithm.values());
+        Assertions.assertThat(HashEngine.encode(digests.get(HashAlgorithm.SHA256), HashEngine.Encoding.HEX))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        Assertions.assertThat(HashEngine.encode(digests.get(HashAlgorithm.MD5), HashEngine.Encoding.HEX))
+                .isEqualTo("900150983cd24fb0d6963f7d28e17f72");
+        Assertions.assertThat(HashEngine.encode(digests.get(HashAlgorithm.CRC32), HashEngine.Encoding.HEX))
+                .isEqualTo("352441c2");
+        Assertions.assertThat(HashEngine.encode(digests.get(HashAlgorithm.SHA1), HashEngine.Encoding.HEX))
+                .isEqualTo("a9993e364706816aba3e25717850c26c9cd0d89d");
+    }
+
+    @Test
+    void reusesDigestsFromTheStore() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("a.bin"), "payload");
+        ChecksumStore store = ChecksumStore.inMemory();
+        store.put(file, "SHA256", ChecksumStore.FileStamp.of(file), new byte[]{7});
+
+        Assertions.assertThat(HashEngine.hash(file, HashAlgorithm.SHA256, store, null)).containsExactly(7);
+        HashEngine.hash(file, HashAlgorithm.MD5, store, null);
+        Assertions.assertThat(store.get(file, "MD5")).isPresent();
+    }
+
+    @Test
+    void parsesGnuAndBsdChecksumFiles() {
+        List<ChecksumFile.Entry> entries = ChecksumFile.parse(List.of(
+                "# comment",
+                "BA7816BF8F01CFEA414140DE5DAE2223B00361A396177A9CB410FF61F20015AD  a.txt",
+                "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad *sub/b.bin",
+                "SHA256 (c d.txt) = ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"));
+
+        Assertions.assertThat(entries).extracting(ChecksumFile.Entry::name).containsExactly("a.txt", "sub/b.bin", "c d.txt");
+        Assertions.assertThat(entries.getFirst().digest()).isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        Assertions.assertThat(ChecksumFile.detectAlgorithm(Path.of("folder.SHA256SUMS"), List.of())).contains(HashAlgorithm.SHA256);
+        Assertions.assertThat(ChecksumFile.detectAlgorithm(Path.of("MD5SUMS"), List.of())).contains(HashAlgorithm.MD5);
+        Assertions.assertThat(ChecksumFile.detectAlgorithm(Path.of("hashes.txt"), entries)).contains(HashAlgorithm.SHA256);
+    }
+
+    @Test
+    void verifierReportsEachStatus() throws Exception {
+        Files.writeString(tempDir.resolve("good.txt"), "abc");
+        Files.writeString(tempDir.resolve("bad.txt"), "abd");
+        List<ChecksumFile.Entry> entries = List.of(
+                new ChecksumFile.Entry("good.txt", "900150983cd24fb0d6963f7d28e17f72"),
+                new ChecksumFile.Entry("bad.txt", "900150983cd24fb0d6963f7d28e17f72"),
+                new ChecksumFile.Entry("gone.txt", "900150983cd24fb0d6963f7d28e17f72"));
+        Map<String, ChecksumVerifier.Status> statuses = new ConcurrentHashMap<>();
+
+        long notOk = new ChecksumVerifier(tempDir, entries, HashAlgorithm.MD5,
+                result -> statuses.put(result.name(), result.status())).start().get(30, TimeUnit.SECONDS);
+
+        Assertions.assertThat(notOk).isEqualTo(2);
+        Assertions.assertThat(statuses).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "good.txt", ChecksumVerifier.Status.OK,
+                "bad.txt", ChecksumVerifier.Status.FAILED,
+                "gone.txt", ChecksumVerifier.Status.MISSING));
+    }
+
+    @Test
+    void folderChecksumUsesRelativeNames() throws Exception {
+        Files.createDirectories(tempDir.resolve("sub"));
+        Files.writeString(tempDir.resolve("one.txt"), "abc");
+        Files.writeString(tempDir.resolve("sub/two.txt"), "abc");
+        Set<String> names = ConcurrentHashMap.newKeySet();
+
+        long count = new FolderChecksum(tempDir, HashAlgorithm.CRC32, null, result -> names.add(result.relativeName()))
+                .start().get(30, TimeUnit.SECONDS);
+
+        Assertions.assertThat(count).isEqualTo(2);
+        Assertions.assertThat(names).containsExactlyInAnyOrder("one.txt", "sub/two.txt");
+    }
+}
@@ -0,0 +1,63 @@
+package org.chaiware.acommander.compare;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.chaiware.acommander.compare.FolderCompare.Difference.DIFFERENT;
+import static org.chaiware.acommander.compare.FolderCompare.Difference.LEFT_ONLY;
+import static org.chaiware.acommander.compare.FolderCompare.Difference.RIGHT_ONLY;
+
+class CompareResultTreeTest {
+
+    @Test
+    void marksDeepDifferencesAndRollsThemUp() {
+        CompareResultTree tree = new CompareResultTree(false);
+        tree.add("src/main/App.java", DIFFERENT);
+        tree.add("src/main/New.java", LEFT_ONLY);
+        tree.add("docs/old.md", RIGHT_ONLY);
+
+        Assertions.assertThat(tree.mark("src/main/App.java", true)).contains(DIFFERENT);
+        Assertions.assertThat(tree.mark("src/main/New.java", true)).contains(LEFT_ONLY);
+        Assertions.assertThat(tree.mark("src/main/New.java", false)).isEmpty();
+        Assertions.assertThat(tree.mark("src", true)).contains(DIFFERENT);
+        Assertions.assertThat(tree.mark("docs", true)).isEmpty();
+        Assertions.assertThat(tree.mark("docs", false)).contains(RIGHT_ONLY);
+        Assertions.assertThat(tree.mark("src/main/Same.java", true)).isEmpty();
+
+        Assertions.assertThat(tree.counts("")).isEqualTo(new CompareResultTree.Counts(1, 1, 1));
+        Assertions.assertThat(tree.counts("src")).isEqualTo(new CompareResultTree.Counts(1, 0, 1));
+        Assertions.assertThat(tree.counts("nothing/here").total()).isZero();
+    }
+
+    @Test
+    void entriesInsideOneSidedFoldersInheritTheirState() {
+        CompareResultTree tree = new CompareResultTree(false);
+        tree.add("only-left", LEFT_ONLY);
+
+        Assertions.assertThat(tree.mark("only-left/a/b.txt", true)).contains(LEFT_ONLY);
+        Assertions.assertThat(tree.mark("only-left/a/b.txt", false)).isEmpty();
+    }
+
+    @Test
+    void sameNameOnBothSidesBecomesDifferentWithoutDoubleCounting() {
+        CompareResultTree tree = new CompareResultTree(false);
+        tree.add("Readme.TXT", LEFT_ONLY);
+        tree.add("readme.txt", RIGHT_ONLY);
+
+        Assertions.assertThat(tree.mark("README.txt", false)).contains(DIFFERENT);
+        Assertions.assertThat(tree.counts("")).isEqualTo(new CompareResultTree.Counts(0, 0, 1));
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        CompareResultTree tree = new CompareResultTree(true);
+        for (int i = 0; i < 5_000; i++) {
+            tree.add("dir" + (i % 50) + "/file" + i, LEFT_ONLY);
+        }
+
+        Assertions.assertThat(tree.size()).isEqualTo(1 + 50 + 5_000);
+        Assertions.assertThat(tree.mark("dir7/file4207", true)).contains(LEFT_ONLY);
+        Assertions.assertThat(tree.mark("DIR7/file4207", true)).isEmpty();
+        Assertions.assertThat(tree.counts("dir7").onlyLeft()).isEqualTo(100);
+    }
+}
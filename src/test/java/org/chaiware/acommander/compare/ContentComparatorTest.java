@@ -0,0 +1,48 @@
+package org.chaiware.acommander.compare;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+class ContentComparatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void comparesSmallFilesDirectly() throws Exception {
+        Path a = Files.writeString(tempDir.resolve("a.txt"), "hello");
+        Path b = Files.writeString(tempDir.resolve("b.txt"), "hello");
+        Path c = Files.writeString(tempDir.resolve("c.txt"), "hellO");
+
+        Assertions.assertThat(ContentComparator.sameContent(a, b)).isTrue();
+        Assertions.assertThat(ContentComparator.sameContent(a, c)).isFalse();
+    }
+
+    @Test
+    void findsDifferencesInSamplesAndOutsideThem() throws Exception {
+        byte[] data = new byte[ContentComparator.SAMPLE_SIZE * 8];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        Path original = Files.write(tempDir.resolve("original.bin"), data);
+        Path copy = Files.write(tempDir.resolve("copy.bin"), data);
+
+        byte[] tailChanged = Arrays.copyOf(data, data.length);
+        tailChanged[data.length - 1]++;
+        Path tail = Files.write(tempDir.resolve("tail.bin"), tailChanged);
+
+        // Between the head and middle samples, only the full comparison can see it
+        byte[] unsampledChanged = Arrays.copyOf(data, data.length);
+        unsampledChanged[ContentComparator.SAMPLE_SIZE * 2]++;
+        Path unsampled = Files.write(tempDir.resolve("unsampled.bin"), unsampledChanged);
+
+        Assertions.assertThat(ContentComparator.sameContent(original, copy)).isTrue();
+        Assertions.assertThat(ContentComparator.sameContent(original, tail)).isFalse();
+        Assertions.assertThat(ContentComparator.sameContent(original, unsampled)).isFalse();
+    }
+}
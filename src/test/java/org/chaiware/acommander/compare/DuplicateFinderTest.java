@@ -0,0 +1,116 @@
+package org.chaiware.acommander.compare;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+class DuplicateFinderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void groupsIdenticalFilesAcrossRoots() throws Exception {
+        Path left = Files.createDirectories(tempDir.resolve("left"));
+        Path right = Files.createDirectories(tempDir.resolve("right/sub"));
+        Files.writeString(left.resolve("a.txt"), "same content");
+        Files.writeString(right.resolve("copy of a.txt"), "same content");
+        Files.writeString(left.resolve("b.txt"), "diff content"); // same size, other bytes
+        Files.writeString(left.resolve("unique.txt"), "unique");
+
+        List<DuplicateFinder.Group> groups = find(List.of(left, tempDir.resolve("right")));
+
+        Assertions.assertThat(groups).hasSize(1);
+        Assertions.assertThat(groups.getFirst().files()).extracting(path -> path.getFileName().toString())
+                .containsExactlyInAnyOrder("a.txt", "copy of a.txt");
+        Assertions.assertThat(groups.getFirst().wastedBytes()).isEqualTo("same content".length());
+    }
+
+    @Test
+    void largeFilesDifferingOutsideTheSamplesAreNotDuplicates() throws Exception {
+        byte[] content = new byte[ContentComparator.SAMPLE_SIZE * 8];
+        Arrays.fill(content, (byte) 'x');
+        Files.write(tempDir.resolve("one.bin"), content);
+        Files.write(tempDir.resolve("two.bin"), content);
+        content[ContentComparator.SAMPLE_SIZE + 17] = 'y';
+        Files.write(tempDir.resolve("three.bin"), content);
+
+        List<DuplicateFinder.Group> groups = find(List.of(tempDir));
+
+        Assertions.assertThat(groups).hasSize(1);
+        Assertions.assertThat(groups.getFirst().files()).extracting(path -> path.getFileName().toString())
+                .containsExactlyInAnyOrder("one.bin", "two.bin");
+    }
+
+    @Test
+    void nestedRootsDoNotReportFilesTwice() throws Exception {
+        Path sub = Files.createDirectories(tempDir.resolve("sub"));
+        Files.writeString(sub.resolve("a.txt"), "content");
+        Files.writeString(tempDir.resolve("b.txt"), "content");
+
+        List<DuplicateFinder.Group> groups = find(List.of(tempDir, sub));
+
+        Assertions.assertThat(groups).hasSize(1);
+        Assertions.assertThat(groups.getFirst().files()).hasSize(2);
+    }
+
+    @Test
+    void deleteKeepsTheNewestCopy() throws Exception {
+        Path older = Files.writeString(tempDir.resolve("older.txt"), "content");
+        Path newer = Files.writeString(tempDir.resolve("newer.txt"), "content");
+        Files.setLastModifiedTime(older, FileTime.fromMillis(1_000_000L));
+        List<DuplicateFinder.Group> groups = find(List.of(tempDir));
+
+        DuplicateActions.Result result = DuplicateActions.apply(groups, DuplicateActions.Action.DELETE, null, null);
+
+        Assertions.assertThat(result.handled()).isEqualTo(1);
+        Assertions.assertThat(result.problems()).isEmpty();
+        Assertions.assertThat(newer).exists();
+        Assertions.assertThat(older).doesNotExist();
+    }
+
+    @Test
+    void actionsSkipCopiesChangedSinceTheSearch() throws Exception {
+        Path older = Files.writeString(tempDir.resolve("older.txt"), "content");
+        Files.writeString(tempDir.resolve("newer.txt"), "content");
+        Files.setLastModifiedTime(older, FileTime.fromMillis(1_000_000L));
+        List<DuplicateFinder.Group> groups = find(List.of(tempDir));
+        Files.writeString(older, "CONTENT");
+        Files.setLastModifiedTime(older, FileTime.fromMillis(1_000_000L));
+
+        DuplicateActions.Result result = DuplicateActions.apply(groups, DuplicateActions.Action.DELETE, null, null);
+
+        Assertions.assertThat(result.handled()).isZero();
+        Assertions.assertThat(older).exists();
+    }
+
+    @Test
+    void moveRenamesOnNameClash() throws Exception {
+        Path source = Files.createDirectories(tempDir.resolve("source"));
+        Path target = Files.createDirectories(tempDir.resolve("target"));
+        Path older = Files.writeString(source.resolve("a.txt"), "content");
+        Files.writeString(source.resolve("b.txt"), "content");
+        Files.writeString(target.resolve("a.txt"), "other");
+        Files.setLastModifiedTime(older, FileTime.fromMillis(1_000_000L));
+        List<DuplicateFinder.Group> groups = find(List.of(source));
+
+        DuplicateActions.apply(groups, DuplicateActions.Action.MOVE, target, null);
+
+        Assertions.assertThat(older).doesNotExist();
+        Assertions.assertThat(target.resolve("a (2).txt")).hasContent("content");
+    }
+
+    private static List<DuplicateFinder.Group> find(List<Path> roots) throws Exception {
+        List<DuplicateFinder.Group> groups = new CopyOnWriteArrayList<>();
+        new DuplicateFinder(roots, new DuplicateFinder.Options(1, true), groups::add).start().get(30, TimeUnit.SECONDS);
+        return groups;
+    }
+}
@@ -0,0 +1,101 @@
+package org.chaiware.acommander.compare;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+class FolderCompareTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void streamsOneSidedAndDifferentEntriesRecursively() throws Exception {
+        Path left = Files.createDirectories(tempDir.resolve("left"));
+        Path right = Files.createDirectories(tempDir.resolve("right"));
+        Files.writeString(left.resolve("same.txt"), "same");
+        Files.writeString(right.resolve("same.txt"), "same");
+        Files.writeString(left.resolve("size.txt"), "short");
+        Files.writeString(right.resolve("size.txt"), "much longer");
+        Files.writeString(left.resolve("content.txt"), "aaaa");
+        Files.writeString(right.resolve("content.txt"), "bbbb");
+        Files.createDirectories(left.resolve("only-left/nested"));
+        Files.writeString(left.resolve("only-left/nested/file.txt"), "x");
+        Files.createDirectories(right.resolve("sub"));
+        Files.createDirectories(left.resolve("sub"));
+        Files.writeString(right.resolve("sub/extra.txt"), "x");
+        Files.createDirectories(left.resolve("kind"));
+        Files.writeString(right.resolve("kind"), "file here");
+
+        Map<String, FolderCompare.Difference> differences = new ConcurrentHashMap<>();
+        FolderCompare.Summary summary = new FolderCompare(left, right,
+                new FolderCompare.Options(false, true, true, false), differences::put)
+                .start().get(10, TimeUnit.SECONDS);
+
+        Assertions.assertThat(differences).containsOnly(
+                Map.entry("size.txt", FolderCompare.Difference.DIFFERENT),
+                Map.entry("content.txt", FolderCompare.Difference.DIFFERENT),
+                Map.entry("only-left", FolderCompare.Difference.LEFT_ONLY),
+                Map.entry("sub/extra.txt", FolderCompare.Difference.RIGHT_ONLY),
+                Map.entry("kind", FolderCompare.Difference.DIFFERENT));
+        Assertions.assertThat(summary.onlyLeft()).isEqualTo(3);
+        Assertions.assertThat(summary.onlyRight()).isEqualTo(1);
+        Assertions.assertThat(summary.different()).isEqualTo(3);
+    }
+
+    @Test
+    void matchesNamesCaseInsensitivelyAndSkipsContentWithoutChecksum() throws Exception {
+        Path left = Files.createDirectories(tempDir.resolve("left"));
+        Path right = Files.createDirectories(tempDir.resolve("right"));
+        Files.writeString(left.resolve("Readme.TXT"), "aaaa");
+        Files.writeString(right.resolve("readme.txt"), "bbbb");
+
+        Map<String, FolderCompare.Difference> differences = new ConcurrentHashMap<>();
+        FolderCompare.Summary summary = new FolderCompare(left, right,
+                new FolderCompare.Options(false, false, false, false), differences::put)
+                .start().get(10, TimeUnit.SECONDS);
+
+        Assertions.assertThat(differences).isEmpty();
+        Assertions.assertThat(summary.filesCompared()).isEqualTo(1);
+    }
+
+    @Test
+    void comparesLinksWithoutFollowingThem() throws Exception {
+        Path left = Files.createDirectories(tempDir.resolve("left"));
+        Path right = Files.createDirectories(tempDir.resolve("right"));
+        Files.createDirectories(left.resolve("a"));
+        Files.createDirectories(right.resolve("a"));
+        Files.createDirectories(left.resolve("only-left"));
+        symbolicLink(left.resolve("a/loop"), Path.of(".."));
+        symbolicLink(right.resolve("a/loop"), Path.of(".."));
+        symbolicLink(left.resolve("only-left/loop"), Path.of(".."));
+        symbolicLink(left.resolve("a/moved"), Path.of("one"));
+        symbolicLink(right.resolve("a/moved"), Path.of("other"));
+
+        Map<String, FolderCompare.Difference> differences = new ConcurrentHashMap<>();
+        FolderCompare.Summary summary = new FolderCompare(left, right,
+                new FolderCompare.Options(false, true, true, false), differences::put)
+                .start().get(10, TimeUnit.SECONDS);
+
+        Assertions.assertThat(differences).containsOnly(
+                Map.entry("only-left", FolderCompare.Difference.LEFT_ONLY),
+                Map.entry("a/moved", FolderCompare.Difference.DIFFERENT));
+        Assertions.assertThat(summary.onlyLeft()).isEqualTo(2);
+    }
+
+    static void symbolicLink(Path link, Path target) {
+        try {
+            Files.createSymbolicLink(link, target);
+        } catch (IOException | UnsupportedOperationException ex) {
+            Assumptions.abort("Symbolic links cannot be created here: " + ex);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.chaiware.acommander.compare;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class FolderSyncTest {
+
+    private static final FolderCompare.Options BY_DATE = new FolderCompare.Options(true, false, true, false);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void mirrorCopiesNewAndChangedFilesAndDeletesOrphans() throws Exception {
+        Path left = Files.createDirectories(tempDir.resolve("left"));
+        Path right = Files.createDirectories(tempDir.resolve("right"));
+        Files.createDirectories(left.resolve("new/deep"));
+        Files.writeString(left.resolve("new/deep/file.txt"), "new");
+        Files.writeString(left.resolve("changed.txt"), "left version");
+        Files.writeString(right.resolve("changed.txt"), "old");
+        Files.writeString(right.resolve("orphan.txt"), "orphan");
+
+        FolderSync.Options options = new FolderSync.Options(FolderSync.Direction.LEFT_TO_RIGHT, true, false, BY_DATE);
+        List<FolderSync.Step> plan = plan(left, right, options);
+
+        Assertions.assertThat(plan).extracting(FolderSync.Step::relativePath, FolderSync.Step::operation).containsExactly(
+                Assertions.tuple("changed.txt", FolderSync.Operation.COPY_TO_RIGHT),
+                Assertions.tuple("new", FolderSync.Operation.COPY_TO_RIGHT),
+                Assertions.tuple("orphan.txt", FolderSync.Operation.DELETE_RIGHT));
+
+        FolderSync.Summary summary = new FolderSync(left, right).execute(plan, (a, b, c, d) -> {
+        }).get(30, TimeUnit.SECONDS);
+
+        Assertions.assertThat(summary.copiedFiles()).isEqualTo(2);
+        Assertions.assertThat(summary.deleted()).isEqualTo(1);
+        Assertions.assertThat(summary.problems()).isEmpty();
+        Assertions.assertThat(right.resolve("new/deep/file.txt")).hasContent("new");
+        Assertions.assertThat(right.resolve("changed.txt")).hasContent("left version");
+        Assertions.assertThat(right.resolve("orphan.txt")).doesNotExist();
+
+        // Copies keep the source's time, so nothing is left to do
+        Assertions.assertThat(plan(left, right, options)).isEmpty();
+    }
+
+    @Test
+    void onlyNewerLeavesNewerTargetsAlone() throws Exception {
+        Path left = Files.createDirectories(tempDir.resolve("left"));
+        Path right = Files.createDirectories(tempDir.resolve("right"));
+        Path older = Files.writeString(left.resolve("a.txt"), "older");
+        Files.setLastModifiedTime(older, FileTime.fromMillis(1_000_000L));
+        Files.writeString(right.resolve("a.txt"), "newer!");
+
+        List<FolderSync.Step> plan = plan(left, right,
+                new FolderSync.Options(FolderSync.Direction.LEFT_TO_RIGHT, false, true, BY_DATE));
+
+        Assertions.assertThat(plan).isEmpty();
+    }
+
+    @Test
+    void twoWaySyncCopiesTheNewerSideAndKeepsOrphans() throws Exception {
+        Path left = Files.createDirectories(tempDir.resolve("left"));
+        Path right = Files.createDirectories(tempDir.resolve("right"));
+        Path older = Files.writeString(left.resolve("a.txt"), "older");
+        Files.setLastModifiedTime(older, FileTime.fromMillis(1_000_000L));
+        Files.writeString(right.resolve("a.txt"), "newer!");
+        Files.writeString(left.resolve("only-left.txt"), "l");
+        Files.writeString(right.resolve("only-right.txt"), "r");
+
+        List<FolderSync.Step> plan = plan(left, right, new FolderSync.Options(FolderSync.Direction.BOTH, true, true, BY_DATE));
+        new FolderSync(left, right).execute(plan, (a, b, c, d) -> {
+        }).get(30, TimeUnit.SECONDS);
+
+        Assertions.assertThat(left.resolve("a.txt")).hasContent("newer!");
+        Assertions.assertThat(right.resolve("only-left.txt")).exists();
+        Assertions.assertThat(left.resolve("only-right.txt")).exists();
+    }
+
+    @Test
+    void copiesLinksAsLinks() throws Exception {
+        Path left = Files.createDirectories(tempDir.resolve("left"));
+        Path right = Files.createDirectories(tempDir.resolve("right"));
+        Files.createDirectories(left.resolve("tree"));
+        Files.writeString(left.resolve("tree/file.txt"), "file");
+        FolderCompareTest.symbolicLink(left.resolve("tree/loop"), Path.of(".."));
+
+        List<FolderSync.Step> plan = plan(left, right,
+                new FolderSync.Options(FolderSync.Direction.LEFT_TO_RIGHT, false, false, BY_DATE));
+        FolderSync.Summary summary = new FolderSync(left, right).execute(plan, (a, b, c, d) -> {
+        }).get(30, TimeUnit.SECONDS);
+
+        Assertions.assertThat(summary.problems()).isEmpty();
+        Assertions.assertThat(right.resolve("tree/file.txt")).hasContent("file");
+        Assertions.assertThat(Files.isSymbolicLink(right.resolve("tree/loop"))).isTrue();
+        Assertions.assertThat(Files.readSymbolicLink(right.resolve("tree/loop"))).isEqualTo(Path.of(".."));
+    }
+
+    private static List<FolderSync.Step> plan(Path left, Path right, FolderSync.Options options) throws Exception {
+        return new FolderSync(left, right).plan(options, null).get(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,97 @@
+package org.chaiware.acommander.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class AppConfigValidatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shippedConfigurationIsValid() throws Exception {
+        AppConfigLoader.Validated validated = new AppConfigLoader().loadValidated(Path.of("config", "apps.json"));
+
+        Assertions.assertThat(validated.problems()).isEmpty();
+        Assertions.assertThat(validated.config().getActions()).isNotEmpty();
+    }
+
+    @Test
+    void reportsEachProblemWithItsLocation() throws Exception {
+        String json = """
+                {
+                  "actions": [
+                    { "id": "copy", "label": "Copy", "shortcut": "F5", "contexts": ["filePane"] },
+                    { "id": "copy", "label": "Copy again", "shortcut": "F5", "contexts": ["filePane", "somewhere"] },
+                    { "id": "run", "label": "Run", "type": "external", "selection": "few", "shorcut": "F6" },
+                    { "label": 7, "shortcut": "Ctrl+Nope", "refreshAfter": "yes" }
+                  ]
+                }
+                """;
+
+        List<String> problems = new AppConfigValidator().validate(new ObjectMapper().readTree(json));
+
+        Assertions.assertThat(problems).containsExactlyInAnyOrder(
+                "actions[1].id: 'copy' is already used by another action",
+                "actions[1].contexts[1]: unknown context 'somewhere'",
+                "actions[1].shortcut: 'F5' is already used by 'copy' in filePane",
+                "actions[2]: unknown field 'shorcut'",
+                "actions[2].path: required for external actions",
+                "actions[2].selection: must be one of [none, any, single, multi, singlefile, singlefolder] but is 'few'",
+                "actions[3].id: required",
+                "actions[3].label: must be a string",
+                "actions[3].refreshAfter: must be true or false",
+                "actions[3].shortcut: 'Ctrl+Nope' is not a valid key combination");
+    }
+
+    @Test
+    void watcherAppliesValidEditsAndRejectsBadOnes() throws Exception {
+        Path config = tempDir.resolve("apps.json");
+        Files.writeString(config, """
+                { "actions": [ { "id": "copy", "label": "Copy" } ] }
+                """);
+        List<AppConfig> reloaded = new CopyOnWriteArrayList<>();
+        List<List<String>> rejected = new CopyOnWriteArrayList<>();
+        AppConfigWatcher watcher = new AppConfigWatcher(config, new AppConfigWatcher.Listener() {
+            @Override
+            public void onReloaded(AppConfig loaded) {
+                reloaded.add(loaded);
+            }
+
+            @Override
+            public void onRejected(List<String> problems) {
+                rejected.add(problems);
+            }
+        });
+        watcher.start();
+        try {
+            watcher.reload();
+            Assertions.assertThat(reloaded).isEmpty(); // unchanged since start
+
+            Files.writeString(config, """
+                    { "actions": [ { "id": "copy", "label": "Copy" }, { "id": "move", "label": "Move" } ] }
+                    """);
+            watcher.reload();
+            Files.writeString(config, "{ \"actions\": [ { \"id\": \"copy\" ");
+            watcher.reload();
+            Files.writeString(config, """
+                    { "actions": [ { "id": "copy" } ] }
+                    """);
+            watcher.reload();
+
+            Assertions.assertThat(reloaded).singleElement()
+                    .satisfies(loaded -> Assertions.assertThat(loaded.getActions()).hasSize(2));
+            Assertions.assertThat(rejected).hasSize(2);
+            Assertions.assertThat(rejected.get(1)).containsExactly("actions[0].label: required");
+        } finally {
+            watcher.close();
+        }
+    }
+}
@@ -70,6 +70,24 @@ class AppRegistryShortcutMatchingTest {
                 .isEqualTo("altView");
     }
 
+    @Test
+    void replacedConfigurationSwapsActionsAndShortcutsTogether() {
+        AppConfig config = new AppConfig();
+        config.setActions(List.of(action("view", "F3", "filePane")));
+        AppRegistry registry = new AppRegistry(config);
+
+        AppConfig edited = new AppConfig();
+        edited.setActions(List.of(action("viewInternal", "F3", "filePane")));
+        registry.replace(edited);
+
+        Assertions.assertThat(registry.matchShortcut(ActionScope.FILE_PANE, keyPressed(KeyCode.F3, false, false, false)))
+                .isPresent()
+                .get()
+                .extracting(ActionDefinition::getId)
+                .isEqualTo("viewInternal");
+        Assertions.assertThat(registry.findAction("view")).isEmpty();
+    }
+
     private static ActionDefinition action(String id, String shortcut, String context) {
         ActionDefinition action = new ActionDefinition();
         action.setId(id);
@@ -0,0 +1,80 @@
+package org.chaiware.acommander.helpers;
+
+import org.assertj.core.api.Assertions;
+import org.chaiware.acommander.model.VirtualFileItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class ArchiveListingIndexTest {
+
+    private static final List<String> LISTING = List.of(
+            "Path = docs",
+            "Folder = +",
+            "Size = 0",
+            "Packed Size = 0",
+            "Modified = 2024-01-15 10:30:45",
+            "Attr = D",
+            "",
+            "Path = docs\\readme.txt",
+            "Folder = -",
+            "Size = 1234",
+            "Packed Size = 567",
+            "Modified = 2024-01-15 10:30:45",
+            "Attr = A",
+            "",
+            "Path = src/main/App.java",
+            "Size = 42",
+            "Packed Size = 20",
+            "Attr = A",
+            "",
+            "Path = top.bin",
+            "Size = 7",
+            "Packed Size = 7",
+            "Attr = A"
+    );
+
+    @Test
+    void listsImmediateChildrenOfRoot() {
+        ArchiveListingIndex index = ArchiveListingIndex.parse("a.7z", 1L, 2L, LISTING);
+
+        Assertions.assertThat(index.listChildren(""))
+                .extracting(VirtualFileItem::getEntryPath)
+                .containsExactlyInAnyOrder("docs", "src", "top.bin");
+    }
+
+    @Test
+    void listsNestedFolderWithAttributes() {
+        ArchiveListingIndex index = ArchiveListingIndex.parse("a.7z", 1L, 2L, LISTING);
+
+        List<VirtualFileItem> docs = index.listChildren("docs/");
+
+        Assertions.assertThat(docs).hasSize(1);
+        Assertions.assertThat(docs.getFirst().getEntryPath()).isEqualTo("docs/readme.txt");
+        Assertions.assertThat(docs.getFirst().getSizeInBytes()).isEqualTo(1234);
+        Assertions.assertThat(docs.getFirst().getCompressedSize()).isEqualTo(567);
+        Assertions.assertThat(docs.getFirst().getModifiedTime()).isNotNull();
+    }
+
+    @Test
+    void synthesizesMissingIntermediateFolders() {
+        ArchiveListingIndex index = ArchiveListingIndex.parse("a.7z", 1L, 2L, LISTING);
+
+        Assertions.assertThat(index.listChildren("src"))
+                .extracting(VirtualFileItem::getEntryPath)
+                .containsExactly("src/main");
+        Assertions.assertThat(index.listChildren("src/main"))
+                .extracting(VirtualFileItem::getEntryPath)
+                .containsExactly("src/main/App.java");
+        Assertions.assertThat(index.getEntryCount()).isEqualTo(6);
+    }
+
+    @Test
+    void unknownFolderIsEmptyAndStaleVersionDoesNotMatch() {
+        ArchiveListingIndex index = ArchiveListingIndex.parse("a.7z", 1L, 2L, LISTING);
+
+        Assertions.assertThat(index.listChildren("missing")).isEmpty();
+        Assertions.assertThat(index.matches(1L, 2L)).isTrue();
+        Assertions.assertThat(index.matches(3L, 2L)).isFalse();
+    }
+}
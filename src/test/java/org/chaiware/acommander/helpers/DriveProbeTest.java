@@ -0,0 +1,81 @@
+package org.chaiware.acommander.helpers;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+class DriveProbeTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void answersUnknownWhileADriveIsSlowAndRedrawsOnceItAnswers() throws Exception {
+        CountDownLatch driveAnswers = new CountDownLatch(1);
+        CountDownLatch redrawn = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+        DriveProbe probe = new DriveProbe(Runnable::run, root -> {
+            reads.incrementAndGet();
+            await(driveAnswers);
+            return new DriveProbe.Space(1000, 400);
+        });
+        probe.revisionProperty().addListener(observable -> redrawn.countDown());
+        String path = tempDir.resolve("some/folder").toString();
+
+        Assertions.assertThat(probe.spaceOf(path)).isNull();
+        Assertions.assertThat(probe.spaceOf(path)).isNull();
+        driveAnswers.countDown();
+
+        Assertions.assertThat(redrawn.await(5, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(probe.spaceOf(path)).isEqualTo(new DriveProbe.Space(1000, 400));
+        Assertions.assertThat(reads).hasValue(1);
+    }
+
+    @Test
+    void reportsExistingPathsWithinTheTimeout() {
+        File missing = tempDir.resolve("missing").toFile();
+
+        Assertions.assertThat(DriveProbe.existsWithin(tempDir.toString(), 5_000)).isTrue();
+        Assertions.assertThat(DriveProbe.existsWithin(missing.toString(), 5_000)).isFalse();
+    }
+
+    @Test
+    void keepsOneExistenceCheckRunningPerStalledRoot() {
+        CountDownLatch driveAnswers = new CountDownLatch(1);
+        AtomicInteger checks = new AtomicInteger();
+        Predicate<String> stalling = candidate -> {
+            checks.incrementAndGet();
+            await(driveAnswers);
+            return true;
+        };
+        String first = tempDir.resolve("first").toString();
+        String second = tempDir.resolve("second").toString();
+
+        try {
+            Assertions.assertThat(DriveProbe.existsWithin(first, 50, stalling)).isFalse();
+            Assertions.assertThat(DriveProbe.existsWithin(first, 50, stalling)).isFalse();
+            Assertions.assertThat(DriveProbe.existsWithin(second, 50, stalling)).isFalse();
+            Assertions.assertThat(checks).hasValue(1);
+        } finally {
+            driveAnswers.countDown();
+        }
+
+        Assertions.assertThat(DriveProbe.existsWithin(second, 5_000, stalling)).isTrue();
+        Assertions.assertThat(checks).hasValue(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,6 +2,9 @@ package org.chaiware.acommander.helpers;
 
 import org.chaiware.acommander.model.FileItem;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.FileOutputStream;
@@ -9,7 +12,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FileHelperTest {
@@ -17,6 +22,18 @@ class FileHelperTest {
     @TempDir
     Path tempDir;
 
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void pathKey_keepsPathsDifferingOnlyInCaseApart() {
+        assertNotEquals(FileHelper.pathKey("/data/Archive.zip"), FileHelper.pathKey("/data/archive.zip"));
+    }
+
+    @Test
+    @EnabledOnOs(OS.WINDOWS)
+    void pathKey_foldsCaseOnWindowsWithoutTheDefaultLocale() {
+        assertEquals(FileHelper.pathKey("C:\\DATA\\ARCHIVE.ZIP"), FileHelper.pathKey("c:\\data\\archive.zip"));
+    }
+
     @Test
     void isTextFile_returnsTrueForEmptyFile() throws IOException {
         Path file = tempDir.resolve("empty.txt");
@@ -0,0 +1,49 @@
+package org.chaiware.acommander.helpers;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class FolderListingCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void reusesAListingOnlyWhileTheFolderIsUnchanged() throws Exception {
+        FolderListingCache cache = new FolderListingCache(100);
+        File folder = Files.createDirectory(tempDir.resolve("folder")).toFile();
+        Files.writeString(folder.toPath().resolve("a.txt"), "a");
+        long modified = folder.lastModified();
+        File[] listed = folder.listFiles();
+
+        cache.put(folder, modified, listed);
+        Assertions.assertThat(cache.get(folder)).isSameAs(listed);
+
+        Files.writeString(folder.toPath().resolve("b.txt"), "b");
+        Assertions.assertThat(folder.setLastModified(modified + 5_000)).isTrue();
+        Assertions.assertThat(cache.get(folder)).isNull();
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedListingsBeyondTheBound() throws Exception {
+        FolderListingCache cache = new FolderListingCache(3);
+        File first = Files.createDirectory(tempDir.resolve("first")).toFile();
+        File second = Files.createDirectory(tempDir.resolve("second")).toFile();
+        File third = Files.createDirectory(tempDir.resolve("third")).toFile();
+        File[] two = {new File(first, "1"), new File(first, "2")};
+
+        cache.put(first, first.lastModified(), two);
+        cache.put(second, second.lastModified(), new File[]{new File(second, "1")});
+        Assertions.assertThat(cache.get(first)).isSameAs(two);
+        cache.put(third, third.lastModified(), new File[]{new File(third, "1")});
+
+        Assertions.assertThat(cache.get(second)).isNull();
+        Assertions.assertThat(cache.get(first)).isSameAs(two);
+        Assertions.assertThat(cache.get(third)).isNotNull();
+    }
+}
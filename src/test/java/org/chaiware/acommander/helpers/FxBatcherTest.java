@@ -0,0 +1,42 @@
+package org.chaiware.acommander.helpers;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class FxBatcherTest {
+
+    @Test
+    void deliversEverythingQueuedBeforeTheUiThreadRunsAsOneBatch() {
+        List<Runnable> scheduled = new ArrayList<>();
+        List<List<String>> batches = new ArrayList<>();
+        FxBatcher<String> batcher = new FxBatcher<>(scheduled::add, batches::add);
+
+        batcher.accept("a");
+        batcher.accept("b");
+        batcher.accept("c");
+        Assertions.assertThat(scheduled).hasSize(1);
+
+        scheduled.removeFirst().run();
+        Assertions.assertThat(batches).containsExactly(List.of("a", "b", "c"));
+
+        batcher.accept("d");
+        Assertions.assertThat(scheduled).hasSize(1);
+        scheduled.removeFirst().run();
+        Assertions.assertThat(batches).containsExactly(List.of("a", "b", "c"), List.of("d"));
+    }
+
+    @Test
+    void flushingWithNothingQueuedDeliversNoBatch() {
+        List<List<String>> batches = new ArrayList<>();
+        FxBatcher<String> batcher = new FxBatcher<>(Runnable::run, batches::add);
+
+        batcher.flush();
+        batcher.accept("a");
+        batcher.flush();
+
+        Assertions.assertThat(batches).containsExactly(List.of("a"));
+    }
+}
@@ -0,0 +1,45 @@
+package org.chaiware.acommander.helpers;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class NavigationHistoryTest {
+
+    @Test
+    void backAndForwardWalkTheVisitsAndNewNavigationDropsTheForwardStack() {
+        NavigationHistory history = new NavigationHistory();
+        NavigationHistory.Visit a = new NavigationHistory.Visit("/a", "x.txt", 0);
+        NavigationHistory.Visit b = new NavigationHistory.Visit("/a/b", "y.txt", 40);
+        NavigationHistory.Visit c = new NavigationHistory.Visit("/a/b/c", null, 0);
+
+        history.leave(a);
+        history.leave(b);
+
+        Assertions.assertThat(history.back(c)).contains(b);
+        Assertions.assertThat(history.back(b)).contains(a);
+        Assertions.assertThat(history.back(a)).isEmpty();
+        Assertions.assertThat(history.forward(a)).contains(b);
+        Assertions.assertThat(history.canGoForward()).isTrue();
+
+        history.leave(b);
+        Assertions.assertThat(history.canGoForward()).isFalse();
+        Assertions.assertThat(history.forward(c)).isEmpty();
+    }
+
+    @Test
+    void keepsOnlyTheMostRecentVisits() {
+        NavigationHistory history = new NavigationHistory();
+        for (int i = 0; i < NavigationHistory.MAX_DEPTH + 10; i++) {
+            history.leave(new NavigationHistory.Visit("/" + i, null, 0));
+        }
+
+        NavigationHistory.Visit current = new NavigationHistory.Visit("/now", null, 0);
+        int steps = 0;
+        while (history.canGoBack()) {
+            current = history.back(current).orElseThrow();
+            steps++;
+        }
+        Assertions.assertThat(steps).isEqualTo(NavigationHistory.MAX_DEPTH);
+        Assertions.assertThat(current.path()).isEqualTo("/10");
+    }
+}
@@ -0,0 +1,23 @@
+package org.chaiware.acommander.helpers;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+class StartupBenchmarkTest {
+
+    @Test
+    void readsTheFirstFrameTimeTheApplicationPrints() {
+        Assertions.assertThat(StartupBenchmark.parseFirstFrame(StartupProfile.FIRST_FRAME_MARKER + "734")).hasValue(734);
+        Assertions.assertThat(StartupBenchmark.parseFirstFrame("12:00:01 INFO  [Commander] Loading Properties")).isEmpty();
+        Assertions.assertThat(StartupBenchmark.parseFirstFrame(StartupProfile.FIRST_FRAME_MARKER + "soon")).isEqualTo(OptionalLong.empty());
+    }
+
+    @Test
+    void reportsTheMedianAndTheRange() {
+        Assertions.assertThat(StartupBenchmark.report("Plain", List.of(900L, 700L, 800L, 1200L, 750L)))
+                .isEqualTo("Plain: median 800 ms, min 700 ms, max 1200 ms over 5 runs");
+    }
+}
@@ -0,0 +1,21 @@
+package org.chaiware.acommander.helpers;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class StartupProfileTest {
+
+    @Test
+    void listsPhasesInOrderAddingUpRepeatedOnes() {
+        StartupProfile profile = new StartupProfile();
+
+        profile.phaseDone("properties");
+        profile.phaseDone("listings");
+        profile.phaseDone("properties");
+        profile.finish("first frame");
+
+        Assertions.assertThat(profile.summary())
+                .startsWith("Startup took ")
+                .containsPattern(": properties \\d+ ms, listings \\d+ ms, first frame \\d+ ms$");
+    }
+}
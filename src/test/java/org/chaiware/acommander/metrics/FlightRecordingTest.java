@@ -0,0 +1,42 @@
+package org.chaiware.acommander.metrics;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.assertj.core.api.Assertions;
+import org.chaiware.acommander.palette.PaletteSearch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+class FlightRecordingTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void savesTheApplicationEventsWhenStopped() throws Exception {
+        FlightRecording recording = new FlightRecording(tempDir);
+        recording.start();
+        new PaletteSearch(List.of(), Runnable::run).search("copy", results -> {
+        });
+
+        Path file = recording.stop();
+
+        Assertions.assertThat(recording.isRecording()).isFalse();
+        List<RecordedEvent> queries = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("org.chaiware.acommander.PaletteQuery"))
+                .toList();
+        Assertions.assertThat(queries).singleElement()
+                .satisfies(event -> Assertions.assertThat(event.getString("query")).isEqualTo("copy"));
+    }
+
+    @Test
+    void savesNothingWhenNotRecording() throws Exception {
+        FlightRecording recording = new FlightRecording(tempDir);
+
+        Assertions.assertThat(recording.dump()).isNull();
+        Assertions.assertThat(recording.stop()).isNull();
+    }
+}
@@ -0,0 +1,50 @@
+package org.chaiware.acommander.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+class MetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void dumpsEveryKindOfMetricAsJson() throws Exception {
+        Metrics metrics = new Metrics();
+        metrics.counter("renders").add(3);
+        metrics.timer("listing").record(2_000_000);
+        metrics.cache("listings").record(true);
+        metrics.cache("listings").record(false);
+        metrics.gauge("items", () -> 42);
+
+        Path file = tempDir.resolve("logs/metrics.json");
+        metrics.dump(file);
+
+        JsonNode json = new ObjectMapper().readTree(file.toFile());
+        Assertions.assertThat(json.at("/counters/renders").asLong()).isEqualTo(3);
+        Assertions.assertThat(json.at("/timers/listing/count").asLong()).isEqualTo(1);
+        Assertions.assertThat(json.at("/timers/listing/maxMillis").asDouble()).isEqualTo(2.0);
+        Assertions.assertThat(json.at("/caches/listings/hitRate").asDouble()).isEqualTo(0.5);
+        Assertions.assertThat(json.at("/gauges/items").asLong()).isEqualTo(42);
+    }
+
+    @Test
+    void overlayShowsCounterRatesAgainstThePreviousSnapshot() {
+        Metrics metrics = new Metrics();
+        Counter renders = metrics.counter("renders");
+        renders.add(10);
+        Metrics.Snapshot previous = metrics.snapshot();
+        renders.add(50);
+
+        List<String> lines = PerformanceOverlay.describe(metrics.snapshot(), previous, 2.0);
+
+        Assertions.assertThat(lines).anySatisfy(line -> Assertions.assertThat(line)
+                .startsWith("renders").contains(" 60").endsWith("25.0/s"));
+    }
+}
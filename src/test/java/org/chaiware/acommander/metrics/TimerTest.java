@@ -0,0 +1,42 @@
+package org.chaiware.acommander.metrics;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class TimerTest {
+
+    @Test
+    void bucketsAreContiguousAndBoundTheirValues() {
+        for (long value : new long[]{0, 1, 7, 8, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = Timer.bucketOf(value);
+            Assertions.assertThat(Timer.highestOf(bucket)).isGreaterThanOrEqualTo(value);
+            if (bucket > 0) {
+                Assertions.assertThat(Timer.highestOf(bucket - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    void percentilesAreWithinAnEighthOfTheValue() {
+        Timer timer = new Timer();
+        for (int millis = 1; millis <= 100; millis++) {
+            timer.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        Assertions.assertThat(timer.count()).isEqualTo(100);
+        Assertions.assertThat(timer.percentileMillis(0.5)).isBetween(50.0, 50 * 1.125);
+        Assertions.assertThat(timer.percentileMillis(0.99)).isBetween(99.0, 100.0);
+        Assertions.assertThat(timer.maxNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        Assertions.assertThat(timer.meanNanos()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(50_500));
+    }
+
+    @Test
+    void emptyTimerReportsZero() {
+        Timer timer = new Timer();
+
+        Assertions.assertThat(timer.percentileNanos(0.9)).isZero();
+        Assertions.assertThat(timer.meanNanos()).isZero();
+    }
+}
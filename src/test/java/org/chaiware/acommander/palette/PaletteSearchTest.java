@@ -0,0 +1,130 @@
+package org.chaiware.acommander.palette;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+class PaletteSearchTest {
+
+    private final ExecutorService uiThread = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void stopUiThread() {
+        uiThread.shutdownNow();
+    }
+
+    @Test
+    void mergesInstantAndBackgroundProvidersByScoreKeepingTheBestOfDuplicates() throws Exception {
+        CountDownLatch backgroundDone = new CountDownLatch(1);
+        PaletteProvider instant = provider(0, (query, sink) -> {
+            sink.accept(item("action:copy", "Copy", 300));
+            sink.accept(item("/tmp/docs", "docs (weak)", 100));
+        });
+        PaletteProvider background = provider(1000, (query, sink) -> {
+            sink.accept(item("/tmp/docs", "docs", 500));
+            sink.accept(item("/tmp/notes", "notes", 200));
+            backgroundDone.countDown();
+        });
+        AtomicReference<List<PaletteItem>> latest = new AtomicReference<>();
+        List<List<PaletteItem>> updates = new ArrayList<>();
+
+        PaletteSearch search = new PaletteSearch(List.of(instant, background), uiThread);
+        search.search("d", results -> {
+            updates.add(results);
+            latest.set(results);
+        });
+
+        Assertions.assertThat(updates.getFirst()).extracting(PaletteItem::title).containsExactly("Copy", "docs (weak)");
+        Assertions.assertThat(backgroundDone.await(5, TimeUnit.SECONDS)).isTrue();
+        uiThread.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(latest.get()).extracting(PaletteItem::title).containsExactly("docs", "Copy", "notes");
+    }
+
+    @Test
+    void dropsResultsOfSupersededQueriesAndProvidersPastTheirBudget() throws Exception {
+        CountDownLatch slowDone = new CountDownLatch(2);
+        PaletteProvider slow = provider(20, (query, sink) -> {
+            sleep(100);
+            sink.accept(item("/tmp/" + query, query, 100));
+            slowDone.countDown();
+        });
+        List<String> delivered = new ArrayList<>();
+
+        PaletteSearch search = new PaletteSearch(List.of(slow), uiThread);
+        search.search("first", results -> results.forEach(result -> delivered.add(result.title())));
+        search.search("second", results -> results.forEach(result -> delivered.add(result.title())));
+
+        Assertions.assertThat(slowDone.await(5, TimeUnit.SECONDS)).isTrue();
+        uiThread.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(delivered).isEmpty();
+    }
+
+    @Test
+    void pathProvidersMatchBookmarkNamesAndRecentFolderNames() {
+        Map<String, String> bookmarks = new LinkedHashMap<>();
+        bookmarks.put("Projects", "/home/user/projects");
+        bookmarks.put("Music", "/home/user/music");
+        List<Path> navigated = new ArrayList<>();
+        PathProvider bookmarkProvider = PathProvider.bookmarks(() -> bookmarks, navigated::add);
+        PathProvider recentProvider = PathProvider.recentFolders(() -> List.of("/var/log/", "/srv/logs"), navigated::add);
+        bookmarkProvider.prepare();
+        recentProvider.prepare();
+
+        List<PaletteItem> found = new ArrayList<>();
+        bookmarkProvider.search("proj", () -> false, found::add);
+        recentProvider.search("log", () -> false, found::add);
+
+        Assertions.assertThat(found).extracting(PaletteItem::title).containsExactly("Projects", "log", "logs");
+        Assertions.assertThat(found.get(1).score()).isGreaterThan(found.get(2).score());
+        found.getFirst().run().run();
+        Assertions.assertThat(navigated).containsExactly(Path.of("/home/user/projects").toAbsolutePath().normalize());
+    }
+
+    private static PaletteItem item(String key, String title, int score) {
+        return new PaletteItem(PaletteItem.Kind.FILE, key, title, "", score, new int[0], () -> { });
+    }
+
+    private interface Search {
+        void run(String query, Consumer<PaletteItem> sink);
+    }
+
+    private static PaletteProvider provider(long budgetMillis, Search search) {
+        return new PaletteProvider() {
+            @Override
+            public String name() {
+                return "test";
+            }
+
+            @Override
+            public long budgetMillis() {
+                return budgetMillis;
+            }
+
+            @Override
+            public void search(String query, BooleanSupplier cancelled, Consumer<PaletteItem> sink) {
+                search.run(query, sink);
+            }
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
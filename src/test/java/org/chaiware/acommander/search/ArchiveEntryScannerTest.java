@@ -0,0 +1,133 @@
+package org.chaiware.acommander.search;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+class ArchiveEntryScannerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsZipEntriesWithoutExtracting() throws Exception {
+        Path zip = tempDir.resolve("sample.zip");
+        writeZip(zip, Map.of("docs/readme.txt", "hello from zip", "img/logo.png", "not really a png"));
+
+        Map<String, String> contents = scan(zip);
+
+        Assertions.assertThat(contents).containsEntry("docs/readme.txt", "hello from zip");
+        Assertions.assertThat(contents).containsKey("img/logo.png");
+    }
+
+    @Test
+    void readsTarGzEntriesIncludingLongNames() throws Exception {
+        String longName = "deep/" + "x".repeat(120) + "/notes.txt";
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("a.txt", "first");
+        entries.put(longName, "second");
+        Path tgz = tempDir.resolve("sample.tar.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tgz))) {
+            out.write(tar(entries));
+        }
+
+        Map<String, String> contents = scan(tgz);
+
+        Assertions.assertThat(contents).containsExactlyEntriesOf(entries);
+    }
+
+    @Test
+    void contentAndNameSearchLookInsideArchives() throws Exception {
+        writeZip(tempDir.resolve("bundle.zip"), Map.of("src/Main.java", "class Main {}\n// needle here\n"));
+        Files.writeString(tempDir.resolve("plain.txt"), "needle outside");
+
+        List<ContentSearch.Match> matches = new CopyOnWriteArrayList<>();
+        new ContentSearch(tempDir, new ContentSearch.Options("needle", false, null, false, true, 0, 0), matches::add)
+                .start().get(10, TimeUnit.SECONDS);
+        Assertions.assertThat(matches).extracting(ContentSearch.Match::archiveEntry)
+                .containsExactlyInAnyOrder(null, "src/Main.java");
+        Assertions.assertThat(matches).filteredOn(match -> match.archiveEntry() != null)
+                .extracting(ContentSearch.Match::lineNumber).containsExactly(2L);
+
+        List<String> hits = new CopyOnWriteArrayList<>();
+        new ArchiveNameSearch(tempDir, FileNamePattern.compile("*.java"), path -> hits.add(path.toString()),
+                (archive, entryPath, size) -> hits.add(archive.getFileName() + "://" + entryPath))
+                .start().get(10, TimeUnit.SECONDS);
+        Assertions.assertThat(hits).containsExactly("bundle.zip://src/Main.java");
+    }
+
+    private Map<String, String> scan(Path archive) throws IOException {
+        Map<String, String> contents = new LinkedHashMap<>();
+        List<String> listed = new ArrayList<>();
+        new ArchiveEntryScanner().scan(archive, () -> false, new ArchiveEntryScanner.Visitor() {
+            @Override
+            public void onEntry(String entryPath, long size) {
+                listed.add(entryPath);
+            }
+
+            @Override
+            public boolean wantsContent(String entryPath, long size) {
+                return entryPath.endsWith(".txt");
+            }
+
+            @Override
+            public void onContent(String entryPath, byte[] content) {
+                contents.put(entryPath, new String(content, StandardCharsets.UTF_8));
+            }
+        });
+        listed.stream().filter(name -> !contents.containsKey(name)).forEach(name -> contents.put(name, null));
+        return contents;
+    }
+
+    private static void writeZip(Path zip, Map<String, String> entries) throws IOException {
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                out.putNextEntry(new ZipEntry(entry.getKey()));
+                out.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+    }
+
+    /** Writes a minimal GNU tar, names over 100 bytes use a ././@LongLink record */
+    private static byte[] tar(Map<String, String> entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            if (name.length > 100) {
+                writeTarRecord(out, "././@LongLink", 'L', name);
+            }
+            writeTarRecord(out, entry.getKey(), '0', entry.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+        out.write(new byte[1024]);
+        return out.toByteArray();
+    }
+
+    private static void writeTarRecord(ByteArrayOutputStream out, String name, char type, byte[] data) throws IOException {
+        byte[] header = new byte[512];
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(nameBytes, 0, header, 0, Math.min(100, nameBytes.length));
+        byte[] size = String.format("%011o", data.length).getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(size, 0, header, 124, size.length);
+        header[156] = (byte) type;
+        out.write(header);
+        out.write(data);
+        out.write(new byte[(512 - data.length % 512) % 512]);
+    }
+}
@@ -0,0 +1,111 @@
+package org.chaiware.acommander.search;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+class ContentSearchTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void fixedStringMatcherFindsCaseInsensitiveMatches() {
+        ByteBuffer text = ByteBuffer.wrap("abc Hello hello".getBytes(StandardCharsets.UTF_8));
+
+        FixedStringMatcher ignoreCase = new FixedStringMatcher("HELLO", true);
+        FixedStringMatcher exact = new FixedStringMatcher("hello", false);
+
+        Assertions.assertThat(ignoreCase.indexOf(text, 0, text.limit())).isEqualTo(4);
+        Assertions.assertThat(exact.indexOf(text, 0, text.limit())).isEqualTo(10);
+        Assertions.assertThat(exact.indexOf(text, 11, text.limit())).isEqualTo(-1);
+    }
+
+    @Test
+    void streamsMatchingLinesWithLineNumbersAndContext() throws Exception {
+        Files.writeString(tempDir.resolve("a.txt"), "one\ntwo needle\nthree\nfour\nneedle five\n");
+        Files.write(tempDir.resolve("binary.bin"), new byte[]{'n', 'e', 'e', 'd', 'l', 'e', 0, 0, 0});
+        Files.writeString(tempDir.resolve("other.log"), "no match here");
+
+        List<ContentSearch.Match> matches = runSearch(new ContentSearch.Options("needle", false, null, false, false, 1, 0));
+
+        matches.sort(Comparator.comparingLong(ContentSearch.Match::lineNumber));
+        Assertions.assertThat(matches).hasSize(2);
+        Assertions.assertThat(matches.get(0).lineNumber()).isEqualTo(2);
+        Assertions.assertThat(matches.get(0).line()).isEqualTo("two needle");
+        Assertions.assertThat(matches.get(0).before()).containsExactly("one");
+        Assertions.assertThat(matches.get(0).after()).containsExactly("three");
+        Assertions.assertThat(matches.get(1).lineNumber()).isEqualTo(5);
+    }
+
+    @Test
+    void scansLargeMappedFilesAndHonoursExtensionFilter() throws Exception {
+        StringBuilder large = new StringBuilder();
+        for (int i = 1; i <= 20_000; i++) {
+            large.append(i == 15_000 ? "the Target line" : "filler line " + i).append("\r\n");
+        }
+        Files.writeString(tempDir.resolve("big.txt"), large);
+        Files.writeString(tempDir.resolve("skip.md"), "target");
+
+        List<ContentSearch.Match> matches = runSearch(
+                new ContentSearch.Options("target", true, FileNamePattern.compile("*.txt"), false, false, 0, 0));
+
+        Assertions.assertThat(matches).hasSize(1);
+        Assertions.assertThat(matches.getFirst().lineNumber()).isEqualTo(15_000);
+        Assertions.assertThat(matches.getFirst().line()).isEqualTo("the Target line");
+    }
+
+    @Test
+    void reportsALineCrossingAWindowBoundaryOnce() {
+        String text = "first line\nthe needle and a needle\nlast needle\nplain\n";
+
+        // a first window ending between the two matches of line 2, and one ending inside its second match
+        Assertions.assertThat(scanInWindows(text, "needle", 24))
+                .containsExactly("2:the needle and a needle", "3:last needle");
+        Assertions.assertThat(scanInWindows(text, "needle", 30))
+                .containsExactly("2:the needle and a needle", "3:last needle");
+    }
+
+    @Test
+    void skipsTheRestOfAReportedLineLongerThanAWindow() {
+        String text = "needle ".repeat(10) + "\nplain\nneedle end";
+
+        Assertions.assertThat(scanInWindows(text, "needle", 16))
+                .extracting(line -> line.substring(0, line.indexOf(':')))
+                .containsExactly("1", "3");
+    }
+
+    /** Feeds the text to a scanner in windows the way the content search maps a large file */
+    private static List<String> scanInWindows(String text, String query, int windowSize) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        List<String> lines = new ArrayList<>();
+        LineScanner scanner = new LineScanner(new FixedStringMatcher(query, false), 0, () -> false,
+                (lineNumber, line, before, after) -> lines.add(lineNumber + ":" + line));
+        long base = 0;
+        while (true) {
+            int length = (int) Math.min(windowSize, bytes.length - base);
+            boolean lastWindow = base + length >= bytes.length;
+            long next = scanner.scan(ByteBuffer.wrap(bytes, (int) base, length).slice(), base, length, lastWindow);
+            if (lastWindow) {
+                return lines;
+            }
+            base = next;
+        }
+    }
+
+    private List<ContentSearch.Match> runSearch(ContentSearch.Options options) throws Exception {
+        List<ContentSearch.Match> matches = new CopyOnWriteArrayList<>();
+        new ContentSearch(tempDir, options, matches::add).start().get(10, TimeUnit.SECONDS);
+        return new ArrayList<>(matches);
+    }
+}
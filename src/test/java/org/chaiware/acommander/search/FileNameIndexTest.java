@@ -0,0 +1,131 @@
+package org.chaiware.acommander.search;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+class FileNameIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void roundTripsEntriesAcrossRestartBlocks() throws Exception {
+        List<FileNameIndex.Entry> entries = new ArrayList<>(IntStream.range(0, 200)
+                .mapToObj(i -> new FileNameIndex.Entry("dir" + (i % 3) + "/sub/file" + i + ".txt", i, 1000L + i))
+                .toList());
+        entries.add(new FileNameIndex.Entry("readme.md", 5, 6));
+        Path file = tempDir.resolve("test.idx");
+
+        FileNameIndex.write(file, "C:/root", 42L, entries);
+        FileNameIndex index = FileNameIndex.open(file);
+
+        Assertions.assertThat(index.size()).isEqualTo(201);
+        Assertions.assertThat(index.getRoot()).isEqualTo("C:/root");
+        Assertions.assertThat(index.getCreatedAt()).isEqualTo(42L);
+
+        List<String> hits = new ArrayList<>();
+        List<Long> sizes = new ArrayList<>();
+        index.search(FileNamePattern.compile("file1?9.txt"), "dir1/", () -> false, (path, size, modified) -> {
+            hits.add(path);
+            sizes.add(size);
+        });
+
+        Assertions.assertThat(hits).containsExactly("dir1/sub/file109.txt", "dir1/sub/file139.txt", "dir1/sub/file169.txt", "dir1/sub/file199.txt");
+        Assertions.assertThat(sizes).containsExactly(109L, 139L, 169L, 199L);
+    }
+
+    @Test
+    void searchesOnlyTheFolderRange() throws Exception {
+        List<FileNameIndex.Entry> entries = new ArrayList<>(IntStream.range(0, 150)
+                .mapToObj(i -> new FileNameIndex.Entry("dir1/file" + i + ".txt", i, 0))
+                .toList());
+        entries.add(new FileNameIndex.Entry("dir1-other/file.txt", 1, 0));
+        entries.add(new FileNameIndex.Entry("dir10/file.txt", 1, 0));
+        entries.add(new FileNameIndex.Entry("dir1.txt", 1, 0));
+        Path file = tempDir.resolve("range.idx");
+        FileNameIndex.write(file, "C:/root", 1L, entries);
+        FileNameIndex index = FileNameIndex.open(file);
+
+        List<String> hits = new ArrayList<>();
+        index.search(FileNamePattern.compile("*"), "dir1/", () -> false, (path, size, modified) -> hits.add(path));
+        List<String> none = new ArrayList<>();
+        index.search(FileNamePattern.compile("*"), "dir2/", () -> false, (path, size, modified) -> none.add(path));
+
+        Assertions.assertThat(hits).hasSize(150).allMatch(path -> path.startsWith("dir1/"));
+        Assertions.assertThat(none).isEmpty();
+    }
+
+    @Test
+    void serviceAnswersSearchesUnderIndexedRoot() throws Exception {
+        Path root = Files.createDirectories(tempDir.resolve("data"));
+        Files.createDirectories(root.resolve("a/b"));
+        Files.writeString(root.resolve("a/b/photo.jpg"), "x");
+        Files.writeString(root.resolve("a/notes.txt"), "x");
+        Files.writeString(root.resolve("other.jpg"), "x");
+
+        try (FileNameIndexService service = new FileNameIndexService(tempDir.resolve("index"), Duration.ofHours(1))) {
+            service.start(List.of(root));
+            service.rebuildAll().get(10, TimeUnit.SECONDS);
+
+            List<Path> found = new CopyOnWriteArrayList<>();
+            CancellableSearch search = service.searchUnder(root.resolve("a"), FileNamePattern.compile("*.jpg"), found::add).orElseThrow();
+            long count = search.start().get(10, TimeUnit.SECONDS);
+
+            Assertions.assertThat(count).isEqualTo(1);
+            Assertions.assertThat(found).containsExactly(root.resolve("a/b/photo.jpg"));
+            Assertions.assertThat(service.searchUnder(tempDir, FileNamePattern.compile("*"), found::add)).isEmpty();
+        }
+    }
+
+    @Test
+    void serviceSkipsHiddenFilesLikeTheWalkingSearch() throws Exception {
+        Path root = Files.createDirectories(tempDir.resolve("root"));
+        Files.createDirectories(root.resolve(".cache"));
+        Files.writeString(root.resolve("photo.jpg"), "x");
+        Files.writeString(root.resolve(".thumb.jpg"), "x");
+        Files.writeString(root.resolve(".cache/photo.jpg"), "x");
+
+        try (FileNameIndexService service = new FileNameIndexService(tempDir.resolve("index"), Duration.ofHours(1))) {
+            service.start(List.of(root));
+            service.rebuildAll().get(10, TimeUnit.SECONDS);
+
+            List<Path> found = new CopyOnWriteArrayList<>();
+            service.searchUnder(root, FileNamePattern.compile("*.jpg"), found::add).orElseThrow()
+                    .start().get(10, TimeUnit.SECONDS);
+
+            Assertions.assertThat(found).containsExactly(root.resolve("photo.jpg"));
+        }
+    }
+
+    @Test
+    void keepsRootsDifferingOnlyInCaseApart() throws Exception {
+        Path upper = Files.createDirectories(tempDir.resolve("Data"));
+        Assumptions.assumeFalse(Files.exists(tempDir.resolve("data")), "the file system ignores case");
+        Path lower = Files.createDirectories(tempDir.resolve("data"));
+        Files.writeString(upper.resolve("upper.txt"), "x");
+        Files.writeString(lower.resolve("lower.txt"), "x");
+
+        try (FileNameIndexService service = new FileNameIndexService(tempDir.resolve("index"), Duration.ofHours(1))) {
+            service.start(List.of(upper, lower));
+            service.rebuildAll().get(10, TimeUnit.SECONDS);
+
+            List<Path> found = new CopyOnWriteArrayList<>();
+            service.searchUnder(lower, FileNamePattern.compile("*.txt"), found::add).orElseThrow()
+                    .start().get(10, TimeUnit.SECONDS);
+
+            Assertions.assertThat(found).containsExactly(lower.resolve("lower.txt"));
+            Assertions.assertThat(service.searchAll(FileNamePattern.compile("*.txt"), found::add)).hasSize(2);
+        }
+    }
+}
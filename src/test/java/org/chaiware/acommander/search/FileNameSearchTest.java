@@ -0,0 +1,69 @@
+package org.chaiware.acommander.search;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+class FileNameSearchTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void wildcardPatternsMatchCaseInsensitively() {
+        Assertions.assertThat(FileNamePattern.compile("*report*").matches("Q1-REPORT.docx")).isTrue();
+        Assertions.assertThat(FileNamePattern.compile("*.txt").matches("notes.TXT")).isTrue();
+        Assertions.assertThat(FileNamePattern.compile("*.txt").matches("txt")).isFalse();
+        Assertions.assertThat(FileNamePattern.compile("img_??.jpg").matches("IMG_01.jpg")).isTrue();
+        Assertions.assertThat(FileNamePattern.compile("img_??.jpg").matches("IMG_001.jpg")).isFalse();
+        Assertions.assertThat(FileNamePattern.compile("a*b*c").matches("axxbyyc")).isTrue();
+    }
+
+    @Test
+    void globAndRegexPatternsAreSupported() {
+        FileNamePattern glob = FileNamePattern.compile("glob:*.{jpg,png}");
+        Assertions.assertThat(glob.matches("photo.PNG")).isTrue();
+        Assertions.assertThat(glob.matches("photo.gif")).isFalse();
+
+        FileNamePattern regex = FileNamePattern.compile("re:^build-\\d+\\.log$");
+        Assertions.assertThat(regex.matches("build-42.log")).isTrue();
+        Assertions.assertThat(regex.matches("build-x.log")).isFalse();
+    }
+
+    @Test
+    void findsMatchingFilesAndSkipsExcludedFolders() throws Exception {
+        Files.createDirectories(tempDir.resolve("a/b/c"));
+        Files.createDirectories(tempDir.resolve("skipme"));
+        Files.writeString(tempDir.resolve("top.txt"), "x");
+        Files.writeString(tempDir.resolve("a/b/c/deep.txt"), "x");
+        Files.writeString(tempDir.resolve("a/other.log"), "x");
+        Files.writeString(tempDir.resolve("skipme/hidden.txt"), "x");
+
+        List<Path> found = new CopyOnWriteArrayList<>();
+        FileNameSearch search = new FileNameSearch(tempDir, FileNamePattern.compile("*.txt"), Set.of("SkipMe"), found::add);
+        long count = search.start().get(10, TimeUnit.SECONDS);
+
+        Assertions.assertThat(count).isEqualTo(2);
+        Assertions.assertThat(found).containsExactlyInAnyOrder(tempDir.resolve("top.txt"), tempDir.resolve("a/b/c/deep.txt"));
+    }
+
+    @Test
+    void cancelledSearchReportsNothingFurther() throws Exception {
+        Files.writeString(tempDir.resolve("one.txt"), "x");
+
+        List<Path> found = new CopyOnWriteArrayList<>();
+        FileNameSearch search = new FileNameSearch(tempDir, FileNamePattern.compile("*"), Set.of(), found::add);
+        search.cancel();
+        search.start().get(10, TimeUnit.SECONDS);
+
+        Assertions.assertThat(found).isEmpty();
+        Assertions.assertThat(search.isCancelled()).isTrue();
+    }
+}
@@ -0,0 +1,130 @@
+package org.chaiware.acommander.viewer;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+class MappedTextFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsLinesPastCheckpointsWithCrlfAndNoTrailingNewline() throws Exception {
+        StringBuilder text = new StringBuilder();
+        int lines = MappedTextFile.LINES_PER_CHECKPOINT * 3 + 17;
+        for (int i = 0; i < lines; i++) {
+            text.append("line ").append(i);
+            if (i < lines - 1) {
+                text.append(i % 2 == 0 ? "\r\n" : "\n");
+            }
+        }
+        Path file = Files.writeString(tempDir.resolve("big.log"), text);
+
+        try (MappedTextFile mapped = MappedTextFile.open(file)) {
+            Assertions.assertThat(mapped.line(0)).isNull();
+            Assertions.assertThat(mapped.startIndexing(count -> {
+            }).get(30, TimeUnit.SECONDS)).isEqualTo(lines);
+
+            Assertions.assertThat(mapped.isIndexComplete()).isTrue();
+            Assertions.assertThat(mapped.lineCount()).isEqualTo(lines);
+            Assertions.assertThat(mapped.line(0)).isEqualTo("line 0");
+            Assertions.assertThat(mapped.line(1025)).isEqualTo("line 1025");
+            Assertions.assertThat(mapped.line(2048)).isEqualTo("line 2048");
+            Assertions.assertThat(mapped.line(1)).isEqualTo("line 1");
+            Assertions.assertThat(mapped.line(lines - 1)).isEqualTo("line " + (lines - 1));
+            Assertions.assertThat(mapped.line(lines)).isNull();
+        }
+    }
+
+    @Test
+    void answersLineLookupsWhileTheCheckpointsGrow() throws Exception {
+        int lines = MappedTextFile.LINES_PER_CHECKPOINT * 600; // well past the initial checkpoint capacity
+        Path file = Files.writeString(tempDir.resolve("growing.log"), "x\n".repeat(lines));
+
+        try (MappedTextFile mapped = MappedTextFile.open(file)) {
+            CompletableFuture<Long> indexing = mapped.startIndexing(count -> {
+            });
+            Random random = new Random(7);
+            while (!indexing.isDone()) {
+                long offset = random.nextLong(mapped.size());
+                long line = mapped.lineOf(offset);
+                Assertions.assertThat(line).isIn(-1L, offset / 2);
+            }
+            indexing.get(30, TimeUnit.SECONDS);
+
+            Assertions.assertThat(mapped.lineOf(mapped.size() - 1)).isEqualTo(lines - 1);
+            Assertions.assertThat(mapped.line(lines - 1)).isEqualTo("x");
+        }
+    }
+
+    @Test
+    void findsTextAndTheLineHoldingIt() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("a.txt"), "alpha\nbeta\nGamma ray\ngamma\n");
+
+        try (MappedTextFile mapped = MappedTextFile.open(file)) {
+            mapped.startIndexing(count -> {
+            }).get(30, TimeUnit.SECONDS);
+
+            byte[] pattern = "gamma".getBytes(StandardCharsets.UTF_8);
+            long caseSensitive = mapped.find(pattern, 0, false, () -> false);
+            long ignoringCase = mapped.find(pattern, 0, true, () -> false);
+
+            Assertions.assertThat(mapped.lineOf(caseSensitive)).isEqualTo(3);
+            Assertions.assertThat(mapped.lineOf(ignoringCase)).isEqualTo(2);
+            Assertions.assertThat(mapped.find(pattern, caseSensitive + 1, true, () -> false)).isEqualTo(-1);
+            Assertions.assertThat(mapped.find(pattern, 0, true, () -> true)).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void followsAppendedLinesAndNoticesTruncation() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("app.log"), "first\nsecond");
+
+        try (MappedTextFile mapped = MappedTextFile.open(file)) {
+            mapped.startIndexing(count -> {
+            }).get(30, TimeUnit.SECONDS);
+            Assertions.assertThat(mapped.refresh()).isEqualTo(MappedTextFile.Change.UNCHANGED);
+            Assertions.assertThat(mapped.line(1)).isEqualTo("second"); // the partial last line, before it grows
+
+            Files.writeString(file, " half\nthird\n", StandardOpenOption.APPEND);
+            Assertions.assertThat(mapped.refresh()).isEqualTo(MappedTextFile.Change.GREW);
+            Assertions.assertThat(mapped.lineCount()).isEqualTo(3);
+            Assertions.assertThat(mapped.line(2)).isEqualTo("third");
+            Assertions.assertThat(mapped.line(1)).isEqualTo("second half");
+
+            StringBuilder more = new StringBuilder();
+            for (int i = 0; i < MappedTextFile.LINES_PER_CHECKPOINT * 2; i++) {
+                more.append("appended ").append(i).append('\n');
+            }
+            Files.writeString(file, more, StandardOpenOption.APPEND);
+            Assertions.assertThat(mapped.refresh()).isEqualTo(MappedTextFile.Change.GREW);
+            Assertions.assertThat(mapped.lineCount()).isEqualTo(3 + MappedTextFile.LINES_PER_CHECKPOINT * 2);
+            Assertions.assertThat(mapped.line(3 + 1500)).isEqualTo("appended 1500");
+            long offset = mapped.find("appended 2000".getBytes(StandardCharsets.UTF_8), 0, false, () -> false);
+            Assertions.assertThat(mapped.lineOf(offset)).isEqualTo(3 + 2000);
+
+            Files.writeString(file, "rotated\n");
+            Assertions.assertThat(mapped.refresh()).isIn(MappedTextFile.Change.TRUNCATED, MappedTextFile.Change.REPLACED);
+        }
+    }
+
+    @Test
+    void formatsHexRows() throws Exception {
+        Path file = Files.write(tempDir.resolve("data.bin"), new byte[]{'A', 'B', 0, (byte) 0xFF, 'z'});
+
+        try (MappedTextFile mapped = MappedTextFile.open(file)) {
+            Assertions.assertThat(mapped.hexRowCount()).isEqualTo(1);
+            Assertions.assertThat(mapped.hexRow(0)).startsWith("000000000000  41 42 00 FF 7A ").endsWith(" AB..z");
+            Assertions.assertThat(mapped.read(3, 10)).containsExactly((byte) 0xFF, 'z');
+        }
+    }
+}
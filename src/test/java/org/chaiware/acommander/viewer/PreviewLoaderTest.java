@@ -0,0 +1,63 @@
+package org.chaiware.acommander.viewer;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+class PreviewLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void previewsTextHeadsArchivesAndFolders() throws Exception {
+        PreviewLoader loader = new PreviewLoader(8, 64);
+        Path text = Files.writeString(tempDir.resolve("notes.txt"), "0123456789abcdef");
+        Path binary = Files.write(tempDir.resolve("data.bin"), new byte[]{1, 0, 2, 0});
+        Path zip = tempDir.resolve("bundle.zip");
+        try (OutputStream output = Files.newOutputStream(zip); ZipOutputStream zipOutput = new ZipOutputStream(output)) {
+            zipOutput.putNextEntry(new ZipEntry("docs/readme.md"));
+            zipOutput.write("hi".getBytes());
+            zipOutput.closeEntry();
+        }
+
+        Assertions.assertThat(loader.load(text, () -> false)).isEqualTo(new PreviewLoader.Text("01234567", true));
+        Assertions.assertThat(loader.load(binary, () -> false)).isInstanceOf(PreviewLoader.Message.class);
+        Assertions.assertThat(loader.load(zip, () -> false)).isEqualTo(new PreviewLoader.Listing(List.of("docs/readme.md  (2)"), 1));
+        Assertions.assertThat(((PreviewLoader.Listing) loader.load(tempDir, () -> false)).entries())
+                .containsExactly("bundle.zip", "data.bin", "notes.txt");
+        Assertions.assertThat(loader.load(tempDir, () -> true)).isNull();
+    }
+
+    @Test
+    void onlyTheLastOfQuickRequestsLoadsAndItIsCached() throws Exception {
+        PreviewLoader loader = new PreviewLoader(1024, 64);
+        List<PreviewLoader.Preview> delivered = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        for (int i = 0; i < 20; i++) {
+            Path file = Files.writeString(tempDir.resolve("file" + i + ".txt"), "content " + i);
+            loader.request(file, preview -> {
+                delivered.add(preview);
+                done.countDown();
+            });
+        }
+
+        Assertions.assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(PreviewLoader.DEBOUNCE_MILLIS * 3);
+        Assertions.assertThat(delivered).containsExactly(new PreviewLoader.Text("content 19", false));
+
+        List<PreviewLoader.Preview> cached = new CopyOnWriteArrayList<>();
+        loader.request(tempDir.resolve("file19.txt"), cached::add);
+        Assertions.assertThat(cached).containsExactly(new PreviewLoader.Text("content 19", false));
+    }
+}